@@ -10,31 +10,58 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.model.service.core.catalog.cache;
 
-import java.util.HashMap;
-import java.util.List;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.maven.model.Dependency;
-import org.apache.maven.model.Repository;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.osgi.util.NLS;
 import org.fusesource.ide.camel.model.service.core.CamelServiceManagerUtil;
 import org.fusesource.ide.camel.model.service.core.internal.Messages;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
 import org.fusesource.ide.camel.model.service.core.util.CamelCatalogUtils;
-import org.fusesource.ide.camel.model.service.core.util.CamelMavenUtils;
 
 /**
+ * Caches the Camel models per catalog coordinates.
+ * 
+ * Models already in cache are returned without blocking. A model not yet in
+ * cache is loaded only once, concurrent requests for the same coordinates wait
+ * for that load (and can stop waiting by canceling their progress monitor).
+ * The least recently used models are evicted once more than
+ * {@link #MAX_CACHED_CATALOGS} catalogs are cached.
+ * 
  * @author lhein
  */
 public class CamelCatalogCacheManager {
 
-	private static Map<CamelCatalogCoordinates, CamelModel> camelModelCache = new HashMap<>();
+	/**
+	 * system property allowing to change the number of cached catalogs
+	 */
+	public static final String MAX_CACHED_CATALOGS_PROPERTY = "org.fusesource.ide.camel.catalog.cache.size"; //$NON-NLS-1$
+	public static final int MAX_CACHED_CATALOGS = Integer.getInteger(MAX_CACHED_CATALOGS_PROPERTY, 8);
+	
+	private static final long WAIT_INTERVAL_IN_MS = 100;
+
+	private static volatile Map<CamelCatalogCoordinates, CamelModel> camelModelCache = createCache();
+	private static final Map<CamelCatalogCoordinates, CompletableFuture<CamelModel>> loadingCatalogs = new ConcurrentHashMap<>();
 
 	private static final CamelCatalogCacheManager instance = new CamelCatalogCacheManager();
-	private static CamelModel lastRetrievedCamelCatalog;
+	private static volatile CamelModel lastRetrievedCamelCatalog;
+	
+	private final AtomicLong hitCount = new AtomicLong();
+	private final AtomicLong missCount = new AtomicLong();
+	private final AtomicLong loadTimeInMs = new AtomicLong();
 
 	protected CamelCatalogCacheManager() {
 	}
@@ -42,6 +69,21 @@ public class CamelCatalogCacheManager {
 	public static CamelCatalogCacheManager getInstance() {
 		return instance;
 	}
+	
+	private static Map<CamelCatalogCoordinates, CamelModel> createCache() {
+		return Collections.synchronizedMap(new LinkedHashMap<CamelCatalogCoordinates, CamelModel>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<CamelCatalogCoordinates, CamelModel> eldest) {
+				boolean evict = size() > MAX_CACHED_CATALOGS;
+				if (evict) {
+					Trace.tracePerformance(() -> "Evicting least recently used Camel model " + eldest.getKey()); //$NON-NLS-1$
+				}
+				return evict;
+			}
+		});
+	}
 
 	/**
 	 * flushes the cache
@@ -58,15 +100,101 @@ public class CamelCatalogCacheManager {
 	 *            the coordinates
 	 * @param monitor 
 	 * @return the cached catalog or an empty one if not yet in cache
+	 * @throws OperationCanceledException if the monitor is canceled while the catalog is loading
 	 */
-	private synchronized CamelModel getCachedCatalog(CamelCatalogCoordinates coordinates, IProgressMonitor monitor) {
-		if (!camelModelCache.containsKey(coordinates)) {
-			initializeCatalog(coordinates, monitor);
+	private CamelModel getCachedCatalog(CamelCatalogCoordinates coordinates, IProgressMonitor monitor) {
+		Map<CamelCatalogCoordinates, CamelModel> cache = camelModelCache;
+		CamelModel camelModel;
+		boolean cached;
+		synchronized (cache) {
+			cached = cache.containsKey(coordinates);
+			camelModel = cache.get(coordinates);
+		}
+		if (cached) {
+			hitCount.incrementAndGet();
+		} else {
+			missCount.incrementAndGet();
+			camelModel = loadCatalog(coordinates, monitor);
 		}
-		CamelModel camelModel = camelModelCache.get(coordinates);
 		lastRetrievedCamelCatalog = camelModel;
 		return camelModel;
 	}
+	
+	/**
+	 * loads the catalog for the given coordinates. Only the first caller loads
+	 * the catalog, all other callers wait for the result.
+	 */
+	private CamelModel loadCatalog(CamelCatalogCoordinates coordinates, IProgressMonitor monitor) {
+		CompletableFuture<CamelModel> loading = new CompletableFuture<>();
+		CompletableFuture<CamelModel> inFlight = loadingCatalogs.putIfAbsent(coordinates, loading);
+		if (inFlight != null) {
+			return waitForCatalog(inFlight, monitor);
+		}
+		long startTime = System.currentTimeMillis();
+		try {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			if (!camelModelCache.containsKey(coordinates)) {
+				// could have been loaded since our first look into the cache
+				initializeCatalog(coordinates, monitor);
+			}
+			CamelModel camelModel = camelModelCache.get(coordinates);
+			loading.complete(camelModel);
+			return camelModel;
+		} catch (RuntimeException ex) {
+			loading.completeExceptionally(ex);
+			throw ex;
+		} finally {
+			loadingCatalogs.remove(coordinates, loading);
+			long duration = System.currentTimeMillis() - startTime;
+			loadTimeInMs.addAndGet(duration);
+			Trace.tracePerformance(() -> String.format("Loaded Camel model %s in %d ms (cache hits: %d, misses: %d, total load time: %d ms)", //$NON-NLS-1$
+					coordinates, duration, getHitCount(), getMissCount(), getLoadTimeInMs()));
+		}
+	}
+
+	private CamelModel waitForCatalog(CompletableFuture<CamelModel> inFlight, IProgressMonitor monitor) {
+		while (true) {
+			if (monitor.isCanceled()) {
+				throw new OperationCanceledException();
+			}
+			try {
+				return inFlight.get(WAIT_INTERVAL_IN_MS, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				// check for cancellation and wait again
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new OperationCanceledException();
+			} catch (ExecutionException e) {
+				if (e.getCause() instanceof RuntimeException) {
+					throw (RuntimeException) e.getCause();
+				}
+				throw new IllegalStateException(e.getCause());
+			}
+		}
+	}
+	
+	/**
+	 * @return the number of requests served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+	
+	/**
+	 * @return the number of requests which required to load a catalog
+	 */
+	public long getMissCount() {
+		return missCount.get();
+	}
+	
+	/**
+	 * @return the time spent loading catalogs
+	 */
+	public long getLoadTimeInMs() {
+		return loadTimeInMs.get();
+	}
 
 	/**
 	 * removes the cached catalog for the given coordinates
@@ -125,10 +253,7 @@ public class CamelCatalogCacheManager {
 			}
 			coords = CamelCatalogUtils.getDefaultCatalogCoordinates();
 		} else {
-			coords = CamelCatalogUtils.getCatalogCoordinatesForProject(project, subMonitor.split(1));
-			// initialize repos for the dep lookup
-			List<Repository> mavenRepositories = new CamelMavenUtils().getRepositories(project, subMonitor.split(1));
-			CamelServiceManagerUtil.getManagerService().updateMavenRepositoryLookup(mavenRepositories, coords);
+			coords = ProjectCatalogCoordinatesCache.getInstance().getCatalogCoordinates(project, subMonitor.split(2));
 		}
 
 		subMonitor.setWorkRemaining(1);
@@ -13,9 +13,15 @@ package org.fusesource.ide.camel.model.service.core.catalog.cache;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
 import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
 import org.fusesource.ide.camel.model.service.core.catalog.dataformats.DataFormat;
@@ -23,13 +29,37 @@ import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
 import org.fusesource.ide.camel.model.service.core.catalog.languages.Language;
 
 /**
+ * The model can be filled eagerly with the add/set methods or lazily by
+ * registering loaders for the element names of a catalog. Lazily registered
+ * elements are materialized on first access (or by {@link #loadPendingElements()}).
+ * 
+ * Lookups by case-insensitive scheme, alternative scheme, component class,
+ * dataformat model name and eip tag use indexes built on first use and dropped
+ * whenever the content of the model changes. Changes made directly on already
+ * added elements are not reflected in these indexes. The component indexes
+ * only load lazily registered components which were registered without a
+ * {@link ComponentSummary}.
+ * 
  * @author lhein
  */
 public class CamelModel {
-	private Map<String, Component> components = new HashMap<>();
-	private Map<String, DataFormat> dataformats = new HashMap<>();
-	private Map<String, Eip> eips = new HashMap<>();
-	private Map<String, Language> languages = new HashMap<>();
+	private Map<String, Component> components = new ConcurrentHashMap<>();
+	private Map<String, DataFormat> dataformats = new ConcurrentHashMap<>();
+	private Map<String, Eip> eips = new ConcurrentHashMap<>();
+	private Map<String, Language> languages = new ConcurrentHashMap<>();
+	
+	private Map<String, Supplier<Component>> pendingComponents = new ConcurrentHashMap<>();
+	private Map<String, Supplier<DataFormat>> pendingDataformats = new ConcurrentHashMap<>();
+	private Map<String, Supplier<Eip>> pendingEips = new ConcurrentHashMap<>();
+	private Map<String, Supplier<Language>> pendingLanguages = new ConcurrentHashMap<>();
+	private Map<String, Supplier<ComponentSummary>> pendingComponentSummaries = new ConcurrentHashMap<>();
+	
+	private final Object componentIndexLock = new Object();
+	private volatile Map<String, String> schemesByLowerCaseScheme;
+	private volatile Map<String, String> schemesByAlternativeScheme;
+	private volatile Map<String, String> schemesByClass;
+	private volatile Map<String, List<DataFormat>> dataformatsByModelName;
+	private volatile Map<String, List<Eip>> eipsByTag;
 	
 	/**
 	 * adds a component to the cache (overwrites existing component with same id)
@@ -38,6 +68,39 @@ public class CamelModel {
 	 */
 	public void addComponent(Component component) {
 		components.put(component.getScheme(), component);
+		pendingComponents.remove(component.getScheme());
+		pendingComponentSummaries.remove(component.getScheme());
+		invalidateComponentIndexes();
+	}
+	
+	/**
+	 * registers a component which is only loaded on first access
+	 * 
+	 * @param scheme	the scheme of the component
+	 * @param loader	the loader creating the component
+	 */
+	public void addLazyComponent(String scheme, Supplier<Component> loader) {
+		addLazyComponent(scheme, null, loader);
+	}
+	
+	/**
+	 * registers a component which is only loaded on first access. The summary
+	 * is used to index the component without loading it.
+	 * 
+	 * @param scheme	the scheme of the component
+	 * @param summary	the loader creating the summary of the component or null
+	 * @param loader	the loader creating the component
+	 */
+	public void addLazyComponent(String scheme, Supplier<ComponentSummary> summary, Supplier<Component> loader) {
+		if (!components.containsKey(scheme)) {
+			pendingComponents.put(scheme, loader);
+			if (summary != null) {
+				pendingComponentSummaries.put(scheme, summary);
+			} else {
+				pendingComponentSummaries.remove(scheme);
+			}
+			invalidateComponentIndexes();
+		}
 	}
 	
 	/**
@@ -47,7 +110,7 @@ public class CamelModel {
 	 * @return	the cached component or null if not existing
 	 */
 	public Component getComponent(String scheme) {
-		return components.get(scheme);
+		return getOrLoad(scheme, components, pendingComponents);
 	}
 	
 	/**
@@ -56,22 +119,61 @@ public class CamelModel {
 	 * @return	a collection containing all supported components
 	 */
 	public Collection<Component> getComponents() {
+		loadAll(components, pendingComponents);
 		return components.values();
 	}
 	
 	/**
-	 * returns the component which supports the given scheme
+	 * returns the schemes of all components of this model without loading them
+	 * 
+	 * @return	the schemes of all supported components
+	 */
+	public Set<String> getComponentNames() {
+		return getNames(components, pendingComponents);
+	}
+	
+	/**
+	 * returns the component with the given scheme ignoring the case. Alternative
+	 * schemes are not matched, see {@link #getComponentForAlternativeScheme(String)}.
 	 * 
 	 * @param scheme
-	 * @return	the component or null if no component supports the scheme
+	 * @return	the component or null if no component has the scheme
 	 */
 	public Component getComponentForScheme(String scheme) {
-		for (Entry<String, Component> e : components.entrySet()) {
-			if (e.getKey().equalsIgnoreCase(scheme)) {
-				return e.getValue();
-			}
+		if (scheme == null) {
+			return null;
+		}
+		String name = getLowerCaseSchemeIndex().get(scheme.toLowerCase(Locale.ENGLISH));
+		return name != null ? getComponent(name) : null;
+	}
+	
+	/**
+	 * returns the component declaring the given scheme as one of its
+	 * alternative schemes (for instance "https4" for the "http4" component)
+	 * 
+	 * @param scheme
+	 * @return	the component or null if no component declares the scheme
+	 */
+	public Component getComponentForAlternativeScheme(String scheme) {
+		if (scheme == null) {
+			return null;
 		}
-		return null;
+		String name = getAlternativeSchemeIndex().get(scheme);
+		return name != null ? getComponent(name) : null;
+	}
+	
+	/**
+	 * returns the component implemented by the given class
+	 * 
+	 * @param clazz	the class of the component (for instance "org.apache.camel.component.file.FileComponent")
+	 * @return	the component or null if no component has this class
+	 */
+	public Component getComponentForClass(String clazz) {
+		if (clazz == null) {
+			return null;
+		}
+		String name = getClassIndex().get(clazz);
+		return name != null ? getComponent(name) : null;
 	}
 	
 	/**
@@ -81,6 +183,9 @@ public class CamelModel {
 	 */
 	public void setComponents(Map<String, Component> components) {
 		this.components.putAll(components);
+		pendingComponents.keySet().removeAll(components.keySet());
+		pendingComponentSummaries.keySet().removeAll(components.keySet());
+		invalidateComponentIndexes();
 	}
 	
 	/**
@@ -89,7 +194,7 @@ public class CamelModel {
 	 * @param dataformat	the dataformat to add
 	 */
 	public void addDataFormat(DataFormat dataformat) {
-		dataformats.put(dataformat.getName(), dataformat);
+		addDataFormat(dataformat.getName(), dataformat);
 	}
 	
 	/**
@@ -100,6 +205,21 @@ public class CamelModel {
 	 */
 	public void addDataFormat(String overriddenName, DataFormat dataformat) {
 		dataformats.put(overriddenName, dataformat);
+		pendingDataformats.remove(overriddenName);
+		dataformatsByModelName = null;
+	}
+	
+	/**
+	 * registers a dataformat which is only loaded on first access
+	 * 
+	 * @param name		the name of the dataformat
+	 * @param loader	the loader creating the dataformat
+	 */
+	public void addLazyDataFormat(String name, Supplier<DataFormat> loader) {
+		if (!dataformats.containsKey(name)) {
+			pendingDataformats.put(name, loader);
+			dataformatsByModelName = null;
+		}
 	}
 	
 	/**
@@ -109,7 +229,7 @@ public class CamelModel {
 	 * @return	the cached dataformat or null if not existing
 	 */
 	public DataFormat getDataFormat(String name) {
-		return dataformats.get(name);
+		return getOrLoad(name, dataformats, pendingDataformats);
 	}
 	
 	/**
@@ -118,6 +238,7 @@ public class CamelModel {
 	 * @return	a collection containing all supported dataformats
 	 */
 	public Collection<DataFormat> getDataFormats() {
+		loadAll(dataformats, pendingDataformats);
 		return dataformats.values();
 	}
 	
@@ -128,15 +249,11 @@ public class CamelModel {
 	 * @return
 	 */
 	public Collection<DataFormat> getDataFormatsByModelName(String modelName) {
-		List<DataFormat> dfs = new ArrayList<>();
-		
-		for (DataFormat df : dataformats.values()) {
-			if (df.getModelName().equalsIgnoreCase(modelName)) {
-				dfs.add(df);
-			}
+		if (modelName == null) {
+			return new ArrayList<>();
 		}
-		
-		return dfs;
+		List<DataFormat> dfs = getModelNameIndex().get(modelName.toLowerCase(Locale.ENGLISH));
+		return dfs != null ? new ArrayList<>(dfs) : new ArrayList<>();
 	}
 	
 	/**
@@ -146,6 +263,8 @@ public class CamelModel {
 	 */
 	public void setDataFormats(Map<String, DataFormat> dataformats) {
 		this.dataformats.putAll(dataformats);
+		pendingDataformats.keySet().removeAll(dataformats.keySet());
+		dataformatsByModelName = null;
 	}
 	
 	/**
@@ -155,6 +274,21 @@ public class CamelModel {
 	 */
 	public void addEip(Eip eip) {
 		eips.put(eip.getName(), eip);
+		pendingEips.remove(eip.getName());
+		eipsByTag = null;
+	}
+	
+	/**
+	 * registers an eip which is only loaded on first access
+	 * 
+	 * @param name		the name of the eip
+	 * @param loader	the loader creating the eip
+	 */
+	public void addLazyEip(String name, Supplier<Eip> loader) {
+		if (!eips.containsKey(name)) {
+			pendingEips.put(name, loader);
+			eipsByTag = null;
+		}
 	}
 	
 	/**
@@ -164,7 +298,7 @@ public class CamelModel {
 	 * @return	the cached eip or null if not existing
 	 */
 	public Eip getEip(String name) {
-		return eips.get(name);
+		return getOrLoad(name, eips, pendingEips);
 	}
 	
 	/**
@@ -173,9 +307,21 @@ public class CamelModel {
 	 * @return	a collection containing all supported eips
 	 */
 	public Collection<Eip> getEips() {
+		loadAll(eips, pendingEips);
 		return eips.values();
 	}
 	
+	/**
+	 * returns all eips having the given tag
+	 * 
+	 * @param tag	the tag (for instance "rest")
+	 * @return	the eips with this tag
+	 */
+	public Collection<Eip> getEipsByTag(String tag) {
+		List<Eip> taggedEips = getTagIndex().get(tag);
+		return taggedEips != null ? new ArrayList<>(taggedEips) : new ArrayList<>();
+	}
+	
 	/**
 	 * sets the eips
 	 * 
@@ -183,6 +329,8 @@ public class CamelModel {
 	 */
 	public void setEips(Map<String, Eip> eips) {
 		this.eips.putAll(eips);
+		pendingEips.keySet().removeAll(eips.keySet());
+		eipsByTag = null;
 	}
 	
 	/**
@@ -192,6 +340,19 @@ public class CamelModel {
 	 */
 	public void addLanguage(Language language) {
 		languages.put(language.getName(), language);
+		pendingLanguages.remove(language.getName());
+	}
+	
+	/**
+	 * registers a language which is only loaded on first access
+	 * 
+	 * @param name		the name of the language
+	 * @param loader	the loader creating the language
+	 */
+	public void addLazyLanguage(String name, Supplier<Language> loader) {
+		if (!languages.containsKey(name)) {
+			pendingLanguages.put(name, loader);
+		}
 	}
 	
 	/**
@@ -201,7 +362,7 @@ public class CamelModel {
 	 * @return	the cached language or null if not existing
 	 */
 	public Language getLanguage(String name) {
-		return languages.get(name);
+		return getOrLoad(name, languages, pendingLanguages);
 	}
 	
 	/**
@@ -210,6 +371,7 @@ public class CamelModel {
 	 * @return	a collection containing all supported languages
 	 */
 	public Collection<Language> getLanguages() {
+		loadAll(languages, pendingLanguages);
 		return languages.values();
 	}
 	
@@ -220,6 +382,220 @@ public class CamelModel {
 	 */
 	public void setLanguages(Map<String, Language> languages) {
 		this.languages.putAll(languages);
+		pendingLanguages.keySet().removeAll(languages.keySet());
+	}
+
+	/**
+	 * checks if there are registered elements which are not yet loaded
+	 * 
+	 * @return	true if at least one element is still pending
+	 */
+	public boolean hasPendingElements() {
+		return !pendingComponents.isEmpty()
+				|| !pendingDataformats.isEmpty()
+				|| !pendingEips.isEmpty()
+				|| !pendingLanguages.isEmpty();
+	}
+	
+	/**
+	 * loads all elements not yet loaded using parallel streams on the common
+	 * fork join pool. Elements requested concurrently through the getters are
+	 * loaded only once.
+	 */
+	public void loadPendingElements() {
+		new HashSet<>(pendingComponents.keySet()).parallelStream().forEach(this::getComponent);
+		new HashSet<>(pendingDataformats.keySet()).parallelStream().forEach(this::getDataFormat);
+		new HashSet<>(pendingEips.keySet()).parallelStream().forEach(this::getEip);
+		new HashSet<>(pendingLanguages.keySet()).parallelStream().forEach(this::getLanguage);
+	}
+
+	/**
+	 * returns the components keyed by the name they were registered with
+	 * 
+	 * @return	the backing map of components
+	 */
+	Map<String, Component> getComponentMap() {
+		loadAll(components, pendingComponents);
+		return components;
+	}
+
+	/**
+	 * returns the dataformats keyed by the name they were registered with
+	 * (including names registered as alias)
+	 * 
+	 * @return	the backing map of dataformats
+	 */
+	Map<String, DataFormat> getDataFormatMap() {
+		loadAll(dataformats, pendingDataformats);
+		return dataformats;
+	}
+
+	/**
+	 * returns the eips keyed by the name they were registered with
+	 * 
+	 * @return	the backing map of eips
+	 */
+	Map<String, Eip> getEipMap() {
+		loadAll(eips, pendingEips);
+		return eips;
+	}
+
+	/**
+	 * returns the languages keyed by the name they were registered with
+	 * 
+	 * @return	the backing map of languages
+	 */
+	Map<String, Language> getLanguageMap() {
+		loadAll(languages, pendingLanguages);
+		return languages;
+	}
+	
+	private void invalidateComponentIndexes() {
+		// under the lock, so an index being built is not stored after it has been dropped
+		synchronized (componentIndexLock) {
+			schemesByLowerCaseScheme = null;
+			schemesByAlternativeScheme = null;
+			schemesByClass = null;
+		}
+	}
+	
+	private Map<String, String> getLowerCaseSchemeIndex() {
+		Map<String, String> index = schemesByLowerCaseScheme;
+		if (index == null) {
+			synchronized (componentIndexLock) {
+				index = schemesByLowerCaseScheme;
+				if (index == null) {
+					// only needs the names, so it doesn't load lazily registered components
+					index = new HashMap<>();
+					for (String name : getComponentNames()) {
+						index.putIfAbsent(name.toLowerCase(Locale.ENGLISH), name);
+					}
+					schemesByLowerCaseScheme = index;
+				}
+			}
+		}
+		return index;
+	}
+	
+	private Map<String, String> getAlternativeSchemeIndex() {
+		Map<String, String> index = schemesByAlternativeScheme;
+		if (index == null) {
+			synchronized (componentIndexLock) {
+				index = schemesByAlternativeScheme;
+				if (index == null) {
+					index = new HashMap<>();
+					for (Entry<String, ComponentSummary> entry : getComponentSummaries().entrySet()) {
+						for (String alternativeScheme : entry.getValue().getAlternativeSchemes()) {
+							index.putIfAbsent(alternativeScheme, entry.getKey());
+						}
+					}
+					schemesByAlternativeScheme = index;
+				}
+			}
+		}
+		return index;
+	}
+	
+	private Map<String, String> getClassIndex() {
+		Map<String, String> index = schemesByClass;
+		if (index == null) {
+			synchronized (componentIndexLock) {
+				index = schemesByClass;
+				if (index == null) {
+					index = new HashMap<>();
+					for (Entry<String, ComponentSummary> entry : getComponentSummaries().entrySet()) {
+						if (entry.getValue().getClazz() != null) {
+							index.putIfAbsent(entry.getValue().getClazz(), entry.getKey());
+						}
+					}
+					schemesByClass = index;
+				}
+			}
+		}
+		return index;
+	}
+	
+	/**
+	 * @return the summaries of all components, taken from the loaded components
+	 *         or from the summaries of the lazily registered ones
+	 */
+	private Map<String, ComponentSummary> getComponentSummaries() {
+		Map<String, ComponentSummary> summaries = new TreeMap<>();
+		for (String name : getComponentNames()) {
+			Component component = components.get(name);
+			Supplier<ComponentSummary> summaryLoader = pendingComponentSummaries.get(name);
+			ComponentSummary summary = null;
+			if (component == null && summaryLoader != null) {
+				summary = summaryLoader.get();
+			} else if (component == null) {
+				component = getComponent(name);
+			}
+			if (component != null) {
+				summary = ComponentSummary.of(component);
+			}
+			if (summary != null) {
+				summaries.put(name, summary);
+			}
+		}
+		return summaries;
+	}
+	
+	private Map<String, List<DataFormat>> getModelNameIndex() {
+		Map<String, List<DataFormat>> index = dataformatsByModelName;
+		if (index == null) {
+			index = new HashMap<>();
+			for (DataFormat df : getDataFormats()) {
+				if (df.getModelName() != null) {
+					index.computeIfAbsent(df.getModelName().toLowerCase(Locale.ENGLISH), key -> new ArrayList<>()).add(df);
+				}
+			}
+			dataformatsByModelName = index;
+		}
+		return index;
+	}
+	
+	private Map<String, List<Eip>> getTagIndex() {
+		Map<String, List<Eip>> index = eipsByTag;
+		if (index == null) {
+			index = new HashMap<>();
+			for (Eip eip : getEips()) {
+				for (String tag : eip.getTags()) {
+					index.computeIfAbsent(tag, key -> new ArrayList<>()).add(eip);
+				}
+			}
+			eipsByTag = index;
+		}
+		return index;
+	}
+	
+	private <T> T getOrLoad(String name, Map<String, T> loaded, Map<String, Supplier<T>> pending) {
+		if (name == null) {
+			return null;
+		}
+		T element = loaded.get(name);
+		if (element != null || !pending.containsKey(name)) {
+			return element;
+		}
+		// atomic per name, so concurrent callers wait for a single load
+		element = loaded.computeIfAbsent(name, key -> {
+			Supplier<T> loader = pending.get(key);
+			return loader != null ? loader.get() : null;
+		});
+		pending.remove(name);
+		return element;
+	}
+	
+	private <T> void loadAll(Map<String, T> loaded, Map<String, Supplier<T>> pending) {
+		for (String name : new ArrayList<>(pending.keySet())) {
+			getOrLoad(name, loaded, pending);
+		}
+	}
+	
+	private <T> Set<String> getNames(Map<String, T> loaded, Map<String, Supplier<T>> pending) {
+		// pending first, an element loaded in between is then found in loaded
+		Set<String> names = new HashSet<>(pending.keySet());
+		names.addAll(loaded.keySet());
+		return names;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
+import org.fusesource.ide.camel.model.service.core.catalog.dataformats.DataFormat;
+import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
+import org.fusesource.ide.camel.model.service.core.catalog.languages.Language;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * compact on-disk representation of a fully loaded and patched {@link CamelModel}.
+ *
+ * The snapshot starts with a small uncompressed header (magic number, format
+ * version and the checksum of the catalog it was created from) followed by a
+ * single gzipped document holding all catalog elements. The header allows to
+ * detect stale snapshots without inflating the content.
+ */
+public class CamelModelSnapshot {
+
+	/**
+	 * increase whenever the layout of the snapshot or the serialized catalog
+	 * classes change in an incompatible way
+	 */
+	public static final int FORMAT_VERSION = 1;
+
+	private static final int MAGIC = 0xCA3E1CAC;
+
+	private static ObjectReader snapshotReader;
+	private static ObjectWriter snapshotWriter;
+
+	private CamelModelSnapshot() {
+		// util class
+	}
+
+	/**
+	 * writes the given model to the stream
+	 *
+	 * @param model		the model to persist
+	 * @param checksum	the checksum of the catalog the model was loaded from
+	 * @param out		the stream to write to (will not be closed)
+	 * @throws IOException
+	 */
+	public static void write(CamelModel model, String checksum, OutputStream out) throws IOException {
+		DataOutputStream header = new DataOutputStream(out);
+		header.writeInt(MAGIC);
+		header.writeInt(FORMAT_VERSION);
+		header.writeUTF(checksum);
+		header.flush();
+
+		Content content = new Content();
+		content.components = model.getComponentMap();
+		content.dataformats = model.getDataFormatMap();
+		content.eips = model.getEipMap();
+		content.languages = model.getLanguageMap();
+
+		GZIPOutputStream zip = new GZIPOutputStream(out);
+		getSnapshotWriter().writeValue(zip, content);
+		zip.finish();
+	}
+
+	/**
+	 * reads a model from the given stream
+	 *
+	 * @param in				the stream to read from (will not be closed)
+	 * @param expectedChecksum	the checksum of the catalog currently available
+	 * @return	the model or null if the snapshot is stale or of another format version
+	 * @throws IOException
+	 */
+	public static CamelModel read(InputStream in, String expectedChecksum) throws IOException {
+		DataInputStream header = new DataInputStream(in);
+		if (header.readInt() != MAGIC || header.readInt() != FORMAT_VERSION) {
+			return null;
+		}
+		if (!header.readUTF().equals(expectedChecksum)) {
+			return null;
+		}
+
+		Content content = getSnapshotReader().readValue(new GZIPInputStream(in));
+		CamelModel model = new CamelModel();
+		model.setComponents(content.components);
+		model.setDataFormats(content.dataformats);
+		model.setEips(content.eips);
+		model.setLanguages(content.languages);
+		return model;
+	}
+
+	private static synchronized ObjectReader getSnapshotReader() {
+		if (snapshotReader == null) {
+			// same mapping as used to read the catalog json schemas
+			snapshotReader = new ObjectMapper().readerFor(Content.class);
+		}
+		return snapshotReader;
+	}
+
+	private static synchronized ObjectWriter getSnapshotWriter() {
+		if (snapshotWriter == null) {
+			// only write the annotated fields so the output has the same shape
+			// as the catalog json schemas and not the derived getter values
+			ObjectMapper mapper = new ObjectMapper();
+			mapper.setVisibility(PropertyAccessor.GETTER, Visibility.NONE);
+			mapper.setVisibility(PropertyAccessor.IS_GETTER, Visibility.NONE);
+			mapper.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+			snapshotWriter = mapper.writerFor(Content.class);
+		}
+		return snapshotWriter;
+	}
+
+	static class Content {
+		@JsonProperty
+		Map<String, Component> components = new HashMap<>();
+		@JsonProperty
+		Map<String, DataFormat> dataformats = new HashMap<>();
+		@JsonProperty
+		Map<String, Eip> eips = new HashMap<>();
+		@JsonProperty
+		Map<String, Language> languages = new HashMap<>();
+	}
+}
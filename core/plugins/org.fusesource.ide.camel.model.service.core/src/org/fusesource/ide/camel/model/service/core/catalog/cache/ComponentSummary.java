@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
+
+/**
+ * the class and the alternative schemes of a component, which are enough to
+ * index a lazily registered component without loading it
+ */
+public class ComponentSummary {
+
+	private final String clazz;
+	private final List<String> alternativeSchemes;
+
+	/**
+	 * @param clazz	the class of the component or null
+	 * @param alternativeSchemes	the alternative schemes of the component
+	 */
+	public ComponentSummary(String clazz, List<String> alternativeSchemes) {
+		this.clazz = clazz;
+		this.alternativeSchemes = alternativeSchemes != null ? alternativeSchemes : Collections.emptyList();
+	}
+
+	static ComponentSummary of(Component component) {
+		return new ComponentSummary(component.getClazz(), component.getAlternativeSchemes());
+	}
+
+	/**
+	 * @return the class of the component or null
+	 */
+	public String getClazz() {
+		return clazz;
+	}
+
+	/**
+	 * @return the alternative schemes of the component
+	 */
+	public List<String> getAlternativeSchemes() {
+		return alternativeSchemes;
+	}
+}
@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.maven.model.Repository;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.eclipse.m2e.core.internal.IMavenConstants;
+import org.eclipse.m2e.core.project.IMavenProjectChangedListener;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+import org.fusesource.ide.camel.model.service.core.CamelServiceManagerUtil;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
+import org.fusesource.ide.camel.model.service.core.util.CamelCatalogUtils;
+import org.fusesource.ide.camel.model.service.core.util.CamelMavenUtils;
+
+/**
+ * Remembers the catalog coordinates of each project, so that looking up the
+ * Camel model of a project does not read its Maven model again.
+ *
+ * A resolution is reused as long as the project keeps the same m2e project
+ * facade and pom.xml, and is dropped when m2e reports a change of the project
+ * or when the project is closed or deleted.
+ */
+public class ProjectCatalogCoordinatesCache implements IMavenProjectChangedListener, IResourceChangeListener {
+
+	private static final ProjectCatalogCoordinatesCache instance = new ProjectCatalogCoordinatesCache();
+
+	private final Map<IProject, Resolution> resolutions = new ConcurrentHashMap<>();
+	private final AtomicLong resolutionCount = new AtomicLong();
+	private final AtomicLong hitCount = new AtomicLong();
+
+	protected ProjectCatalogCoordinatesCache() {
+	}
+
+	public static ProjectCatalogCoordinatesCache getInstance() {
+		return instance;
+	}
+
+	/**
+	 * returns the catalog coordinates of the project, and makes the Maven
+	 * repositories of the project known to the catalog when they are resolved
+	 *
+	 * @param project
+	 *            the project
+	 * @param monitor
+	 * @return the coordinates or NULL
+	 */
+	public CamelCatalogCoordinates getCatalogCoordinates(IProject project, IProgressMonitor monitor) {
+		Object generation = getGeneration(project);
+		Resolution resolution = resolutions.get(project);
+		if (resolution != null && resolution.generation.equals(generation)) {
+			hitCount.incrementAndGet();
+			return resolution.coordinates;
+		}
+		long startTime = System.currentTimeMillis();
+		CamelCatalogCoordinates coordinates = resolve(project, monitor);
+		// a change reported meanwhile comes with a new generation
+		resolutions.put(project, new Resolution(generation, coordinates));
+		resolutionCount.incrementAndGet();
+		Trace.tracePerformance(() -> String.format("Resolved catalog coordinates %s of project %s in %d ms (resolutions: %d, cache hits: %d)", //$NON-NLS-1$
+				coordinates, project.getName(), System.currentTimeMillis() - startTime, getResolutionCount(), getHitCount()));
+		return coordinates;
+	}
+
+	/**
+	 * reads the catalog coordinates and the Maven repositories from the Maven
+	 * model of the project
+	 */
+	protected CamelCatalogCoordinates resolve(IProject project, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, 2);
+		CamelCatalogCoordinates coords = CamelCatalogUtils.getCatalogCoordinatesForProject(project, subMonitor.split(1));
+		// initialize repos for the dep lookup
+		List<Repository> mavenRepositories = new CamelMavenUtils().getRepositories(project, subMonitor.split(1));
+		CamelServiceManagerUtil.getManagerService().updateMavenRepositoryLookup(mavenRepositories, coords);
+		return coords;
+	}
+
+	/**
+	 * @return a value which changes whenever the Maven model of the project may
+	 *         have changed
+	 */
+	protected Object getGeneration(IProject project) {
+		IFile pom = project.getFile(IMavenConstants.POM_FILE_NAME);
+		return Arrays.asList(MavenPlugin.getMavenProjectRegistry().getProject(project), pom.getModificationStamp());
+	}
+
+	@Override
+	public void mavenProjectChanged(MavenProjectChangedEvent[] events, IProgressMonitor monitor) {
+		for (MavenProjectChangedEvent event : events) {
+			IFile pom = event.getSource();
+			if (pom != null) {
+				invalidate(pom.getProject());
+			}
+		}
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if ((event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE)
+				&& event.getResource() instanceof IProject) {
+			invalidate((IProject) event.getResource());
+		}
+	}
+
+	/**
+	 * forgets the resolution of the given project
+	 */
+	public void invalidate(IProject project) {
+		resolutions.remove(project);
+	}
+
+	/**
+	 * @return the number of times the coordinates of a project were read from
+	 *         its Maven model
+	 */
+	public long getResolutionCount() {
+		return resolutionCount.get();
+	}
+
+	/**
+	 * @return the number of requests served from the cache
+	 */
+	public long getHitCount() {
+		return hitCount.get();
+	}
+
+	private static class Resolution {
+		private final Object generation;
+		private final CamelCatalogCoordinates coordinates;
+
+		private Resolution(Object generation, CamelCatalogCoordinates coordinates) {
+			this.generation = generation;
+			this.coordinates = coordinates;
+		}
+	}
+}
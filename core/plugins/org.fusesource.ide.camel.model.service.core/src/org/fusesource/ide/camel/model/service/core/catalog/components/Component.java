@@ -41,6 +41,7 @@ public class Component implements ICamelCatalogElement, IParameterContainer {
 	public static final String PROPERTY_CONSUMER_ONLY = "consumerOnly";
 	public static final String PROPERTY_PRODUCER_ONLY = "producerOnly";
 	public static final String PROPERTY_SCHEME = "scheme";
+	public static final String PROPERTY_ALTERNATIVE_SCHEMES = "alternativeSchemes";
 	public static final String PROPERTY_KIND = "kind";
 	public static final String PROPERTY_JAVA_TYPE = "javaType";
 	public static final String PROPERTY_SYNTAX = "syntax";
@@ -178,6 +179,22 @@ public class Component implements ICamelCatalogElement, IParameterContainer {
 		this.model.put(PROPERTY_SCHEME, scheme);
 	}
 
+	/**
+	 * @return the alternative schemes of the component (for instance "https4" for "http4")
+	 */
+	public List<String> getAlternativeSchemes() {
+		List<String> alternativeSchemes = new ArrayList<>();
+		String value = this.model.get(PROPERTY_ALTERNATIVE_SCHEMES);
+		if (!Strings.isBlank(value)) {
+			for (String alternativeScheme : value.split(",")) {
+				if (!Strings.isBlank(alternativeScheme)) {
+					alternativeSchemes.add(alternativeScheme.trim());
+				}
+			}
+		}
+		return alternativeSchemes;
+	}
+
 	/**
 	 * @return the clazz
 	 */
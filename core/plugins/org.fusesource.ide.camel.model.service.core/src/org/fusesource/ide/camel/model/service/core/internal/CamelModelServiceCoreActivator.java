@@ -11,10 +11,15 @@
 
 package org.fusesource.ide.camel.model.service.core.internal;
 
+import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.m2e.core.MavenPlugin;
+import org.fusesource.ide.camel.model.service.core.catalog.cache.ProjectCatalogCoordinatesCache;
+import org.fusesource.ide.camel.model.service.core.util.CamelFileContentTypeCache;
+import org.fusesource.ide.camel.model.service.core.util.ComponentJarIndex;
 import org.fusesource.ide.camel.model.service.core.util.ProjectClasspathChangedListener;
 import org.jboss.tools.foundation.core.plugin.log.IPluginLog;
 import org.jboss.tools.foundation.core.plugin.log.StatusFactory;
@@ -58,16 +63,21 @@ public class CamelModelServiceCoreActivator extends BaseUIPlugin {
 		registerDebugOptionsListener(PLUGIN_ID, Trace.getInstance(this), context);
 		registerWorkspaceProjectListener();
 		JavaCore.addElementChangedListener(listener);
+		MavenPlugin.getMavenProjectRegistry().addMavenProjectChangedListener(ProjectCatalogCoordinatesCache.getInstance());
 	}
 
 
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		setContext(null);
+		MavenPlugin.getMavenProjectRegistry().removeMavenProjectChangedListener(ProjectCatalogCoordinatesCache.getInstance());
 		JavaCore.removeElementChangedListener(listener);
 		IWorkspace wsp = ResourcesPlugin.getWorkspace();
 		wsp.removeResourceChangeListener(listener);
+		wsp.removeResourceChangeListener(CamelFileContentTypeCache.getInstance());
+		wsp.removeResourceChangeListener(ProjectCatalogCoordinatesCache.getInstance());
 		setListener(null);
+		ComponentJarIndex.saveInstance();
 		super.stop(context);
 	}
 
@@ -83,6 +93,10 @@ public class CamelModelServiceCoreActivator extends BaseUIPlugin {
 		IWorkspace wsp = ResourcesPlugin.getWorkspace();
 		setListener(new ProjectClasspathChangedListener());
 		wsp.addResourceChangeListener(listener);
+		wsp.addResourceChangeListener(CamelFileContentTypeCache.getInstance(),
+				IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
+		wsp.addResourceChangeListener(ProjectCatalogCoordinatesCache.getInstance(),
+				IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
 	}
 
 	/**
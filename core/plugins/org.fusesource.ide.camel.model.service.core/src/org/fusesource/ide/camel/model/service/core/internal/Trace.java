@@ -10,6 +10,8 @@
  *******************************************************************************/
 package org.fusesource.ide.camel.model.service.core.internal;
 
+import java.util.function.Supplier;
+
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.osgi.service.debug.DebugOptions;
 import org.eclipse.osgi.service.debug.DebugOptionsListener;
@@ -47,6 +49,20 @@ public class Trace extends AbstractTrace implements DebugOptionsListener {
 		trace(level, s, null);
 	}
 
+	/**
+	 * traces the message if the performance trace option is activated. The
+	 * message is only built then, and nothing is traced outside OSGi, for
+	 * instance in plain unit tests.
+	 * 
+	 * @param message	supplies the message to trace
+	 */
+	public static void tracePerformance(Supplier<String> message) {
+		CamelModelServiceCoreActivator activator = CamelModelServiceCoreActivator.getDefault();
+		if (activator != null && getInstance(activator).isPerformanceTraceOptionActivated()) {
+			trace(PERFORMANCE_TRACE_OPTION, message.get());
+		}
+	}
+
 	/**
 	 * Trace the given message and exception.
 	 * 
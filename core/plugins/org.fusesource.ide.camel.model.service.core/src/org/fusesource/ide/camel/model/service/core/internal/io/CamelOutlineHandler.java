@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.internal.io;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.fusesource.ide.camel.model.service.core.io.CamelFileOutline.Element;
+import org.xml.sax.Attributes;
+import org.xml.sax.Locator;
+import org.xml.sax.helpers.DefaultHandler;
+
+/**
+ * builds the outline of a Camel file from the SAX events. Text content is
+ * skipped and tag and attribute names are shared between the elements, so
+ * the outline of a large file stays smaller than its DOM.
+ */
+public class CamelOutlineHandler extends DefaultHandler {
+
+	private static final String[] NO_ATTRIBUTES = new String[0];
+
+	private final Map<String, String> strings = new HashMap<>();
+	private Locator locator;
+	private Element current;
+	private Element rootElement;
+	private int elementCount;
+
+	@Override
+	public void setDocumentLocator(Locator locator) {
+		this.locator = locator;
+	}
+
+	@Override
+	public void startElement(String uri, String localName, String qName, Attributes attributes) {
+		String[] attributeArray = attributes.getLength() == 0 ? NO_ATTRIBUTES : new String[attributes.getLength() * 2];
+		for (int i = 0; i < attributes.getLength(); i++) {
+			attributeArray[2 * i] = share(attributes.getQName(i));
+			attributeArray[2 * i + 1] = attributes.getValue(i);
+		}
+		String name = localName != null && !localName.isEmpty() ? localName : qName.substring(qName.indexOf(':') + 1);
+		current = new Element(current, share(name), uri != null && !uri.isEmpty() ? share(uri) : null, attributeArray, locator != null ? locator.getLineNumber() : -1);
+		if (rootElement == null) {
+			rootElement = current;
+		}
+		elementCount++;
+	}
+
+	@Override
+	public void endElement(String uri, String localName, String qName) {
+		current = current.getParent();
+	}
+
+	private String share(String value) {
+		String shared = strings.putIfAbsent(value, value);
+		return shared != null ? shared : value;
+	}
+
+	/**
+	 * @return the document element or null if no element has been read
+	 */
+	public Element getRootElement() {
+		return rootElement;
+	}
+
+	/**
+	 * @return the number of elements read
+	 */
+	public int getElementCount() {
+		return elementCount;
+	}
+}
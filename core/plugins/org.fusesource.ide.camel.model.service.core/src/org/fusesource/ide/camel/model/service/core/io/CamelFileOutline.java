@@ -0,0 +1,237 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.io;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelFile;
+import org.fusesource.ide.camel.model.service.core.model.CamelRouteContainerElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
+
+/**
+ * read-only outline of a Camel file which is read by streaming over the xml
+ * without building a DOM. It only knows about the element structure, the
+ * attributes and the line numbers which is enough for tooling like the
+ * project explorer. The editable, DOM backed model is loaded on demand via
+ * {@link #getCamelFile(IProgressMonitor)}.
+ */
+public class CamelFileOutline {
+
+	private static final String CAMEL_CONTEXT = "camelContext"; //$NON-NLS-1$
+	private static final String ROUTE_CONTEXT = "routeContext"; //$NON-NLS-1$
+
+	private final IResource resource;
+	private final Element rootElement;
+	private CamelFile camelFile;
+
+	/**
+	 * @param resource		the resource the outline has been read from, may be null
+	 * @param rootElement	the document element
+	 */
+	public CamelFileOutline(IResource resource, Element rootElement) {
+		this.resource = resource;
+		this.rootElement = rootElement;
+	}
+
+	/**
+	 * @return the resource the outline has been read from, may be null
+	 */
+	public IResource getResource() {
+		return this.resource;
+	}
+
+	/**
+	 * @return the document element
+	 */
+	public Element getRootElement() {
+		return this.rootElement;
+	}
+
+	/**
+	 * returns the element holding the routes, the same one the editable model
+	 * uses as its route container
+	 *
+	 * @return the route container or null if the file has none
+	 */
+	public Element getRouteContainer() {
+		if (CamelIOHandler.CAMEL_ROUTES.equals(rootElement.getName())) {
+			return rootElement;
+		}
+		for (Element child : rootElement.getChildren()) {
+			if (CAMEL_CONTEXT.equals(child.getName()) || CamelIOHandler.CAMEL_ROUTES.equals(child.getName()) || ROUTE_CONTEXT.equals(child.getName())) {
+				return child;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @return the routes of the route container
+	 */
+	public List<Element> getRoutes() {
+		Element container = getRouteContainer();
+		if (container == null) {
+			return Collections.emptyList();
+		}
+		return container.getChildren().stream()
+				.filter(child -> AbstractCamelModelElement.ROUTE_NODE_NAME.equals(child.getName()))
+				.collect(Collectors.toList());
+	}
+
+	/**
+	 * returns the editable model of the file. It is loaded from the resource
+	 * on first access and then kept.
+	 *
+	 * @param monitor	the progress monitor
+	 * @return the camel file or null if it can't be loaded
+	 */
+	public synchronized CamelFile getCamelFile(IProgressMonitor monitor) {
+		if (camelFile == null && resource != null) {
+			camelFile = new CamelIOHandler().loadCamelModel(resource, monitor);
+		}
+		return camelFile;
+	}
+
+	/**
+	 * returns the route of the editable model matching the given route of
+	 * this outline, loading the editable model if needed
+	 *
+	 * @param route		a route of this outline
+	 * @param monitor	the progress monitor
+	 * @return the route of the editable model or null if not found
+	 */
+	public CamelRouteElement getCamelRoute(Element route, IProgressMonitor monitor) {
+		int index = getRoutes().indexOf(route);
+		CamelFile cf = index != -1 ? getCamelFile(monitor) : null;
+		CamelRouteContainerElement container = cf != null ? cf.getRouteContainer() : null;
+		if (container == null) {
+			return null;
+		}
+		List<CamelRouteElement> routes = container.getChildElements().stream()
+				.filter(CamelRouteElement.class::isInstance)
+				.map(CamelRouteElement.class::cast)
+				.collect(Collectors.toList());
+		return index < routes.size() ? routes.get(index) : null;
+	}
+
+	/**
+	 * a single xml element of the outline
+	 */
+	public static class Element {
+
+		private final Element parent;
+		private final String name;
+		private final String namespaceURI;
+		private final String[] attributes;
+		private final int lineNumber;
+		private List<Element> children = Collections.emptyList();
+
+		/**
+		 * @param parent		the parent element or null for the document element
+		 * @param name			the tag name without prefix
+		 * @param namespaceURI	the namespace or null
+		 * @param attributes	the qualified names and values of the attributes, alternating
+		 * @param lineNumber	the line of the start tag
+		 */
+		public Element(Element parent, String name, String namespaceURI, String[] attributes, int lineNumber) {
+			this.parent = parent;
+			this.name = name;
+			this.namespaceURI = namespaceURI;
+			this.attributes = attributes;
+			this.lineNumber = lineNumber;
+			if (parent != null) {
+				if (parent.children.isEmpty()) {
+					// most elements are leaves, so the list is only created for the first child
+					parent.children = new ArrayList<>(2);
+				}
+				parent.children.add(this);
+			}
+		}
+
+		public Element getParent() {
+			return this.parent;
+		}
+
+		/**
+		 * @return the tag name without prefix
+		 */
+		public String getName() {
+			return this.name;
+		}
+
+		public String getNamespaceURI() {
+			return this.namespaceURI;
+		}
+
+		/**
+		 * @param name	the qualified name of the attribute
+		 * @return the value or null if the attribute is not set
+		 */
+		public String getAttribute(String name) {
+			for (int i = 0; i < attributes.length; i += 2) {
+				if (attributes[i].equals(name)) {
+					return attributes[i + 1];
+				}
+			}
+			return null;
+		}
+
+		public String getId() {
+			return getAttribute("id"); //$NON-NLS-1$
+		}
+
+		/**
+		 * @return the line of the start tag
+		 */
+		public int getLineNumber() {
+			return this.lineNumber;
+		}
+
+		public List<Element> getChildren() {
+			return Collections.unmodifiableList(this.children);
+		}
+
+		/**
+		 * @param id	the id to look for
+		 * @return true if this element or one of its descendants has the given id
+		 */
+		public boolean containsId(String id) {
+			if (id.equals(getId())) {
+				return true;
+			}
+			for (Element child : children) {
+				if (child.containsId(id)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return the same text the editable model uses to display the element,
+		 * 			based on the attributes of the element
+		 */
+		public String getDisplayText() {
+			return AbstractCamelModelElement.getDisplayText(name, getId(), true, this::getAttribute);
+		}
+
+		@Override
+		public String toString() {
+			return getDisplayText();
+		}
+	}
+}
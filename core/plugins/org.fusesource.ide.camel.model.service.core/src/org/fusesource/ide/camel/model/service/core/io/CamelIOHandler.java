@@ -12,13 +12,16 @@ package org.fusesource.ide.camel.model.service.core.io;
 
 import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.IOException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.StandardCopyOption;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.XMLConstants;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
@@ -27,8 +30,12 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.SubMonitor;
 import org.fusesource.ide.camel.model.service.core.internal.CamelModelServiceCoreActivator;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
+import org.fusesource.ide.camel.model.service.core.internal.io.CamelOutlineHandler;
 import org.fusesource.ide.camel.model.service.core.model.CamelFile;
 import org.w3c.dom.Document;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
 
 /**
  * @author lhein
@@ -136,6 +143,104 @@ public class CamelIOHandler {
 		return reloadedModel;
 	}
 
+	/**
+	 * loads the camel xml from a string for the given resource
+	 * 
+	 * @param text
+	 * @param resource
+	 * @param monitor
+	 * @return the camel file object representation or null on errors
+	 */
+	public CamelFile loadCamelModel(String text, IResource resource, IProgressMonitor monitor) {
+		try {
+			DocumentBuilder db = createDocumentBuilder();
+			document = db.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+			return readDocumentToModel(document, resource);
+		} catch (Exception ex) {
+			CamelModelServiceCoreActivator.pluginLog().logError("Error loading Camel XML from string", ex);
+		}
+		return null;
+	}
+
+	/**
+	 * builds the camel model of an already parsed document. The document
+	 * becomes part of the model, so it must not be shared with another model.
+	 * 
+	 * @param document
+	 * @param resource
+	 * @return the camel file object representation or null on errors
+	 */
+	public CamelFile loadCamelModel(Document document, IResource resource) {
+		try {
+			this.document = document;
+			return readDocumentToModel(document, resource);
+		} catch (Exception ex) {
+			CamelModelServiceCoreActivator.pluginLog().logError("Error loading Camel XML from document", ex);
+		}
+		return null;
+	}
+
+	/**
+	 * parses the camel xml from a string without building the model
+	 * 
+	 * @param text
+	 * @return the document or null on errors
+	 */
+	public Document loadDocument(String text) {
+		try {
+			DocumentBuilder db = createDocumentBuilder();
+			return db.parse(new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8)));
+		} catch (Exception ex) {
+			CamelModelServiceCoreActivator.pluginLog().logError("Error parsing Camel XML from string", ex);
+		}
+		return null;
+	}
+
+	/**
+	 * loads the read-only outline of the camel xml from a resource without
+	 * building a DOM. Use this instead of the full model when only the
+	 * structure of the file is needed.
+	 * 
+	 * @param res
+	 * @param monitor
+	 * @return the outline of the camel file or null on errors
+	 */
+	public CamelFileOutline loadCamelOutline(IResource res, IProgressMonitor monitor) {
+		File xmlFile = getFileFromResource(res);
+		if (!xmlFile.isFile() || xmlFile.length() == 0) {
+			return null;
+		}
+		try {
+			return readOutline(new InputSource(xmlFile.toURI().toString()), res);
+		} catch (Exception ex) {
+			CamelModelServiceCoreActivator.pluginLog()
+					.logError("Error loading Camel XML outline from " + res.getFullPath().toOSString(), ex);
+		}
+		return null;
+	}
+
+	/**
+	 * streams over the xml and builds its outline
+	 * 
+	 * @param source
+	 * @param res	the resource the xml belongs to, may be null
+	 * @return the outline or null if the xml has no document element
+	 * @throws IOException
+	 * @throws SAXException
+	 * @throws ParserConfigurationException
+	 */
+	protected CamelFileOutline readOutline(InputSource source, IResource res) throws IOException, SAXException, ParserConfigurationException {
+		long start = System.currentTimeMillis();
+		SAXParserFactory spf = SAXParserFactory.newInstance();
+		spf.setNamespaceAware(true);
+		spf.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+		CamelOutlineHandler handler = new CamelOutlineHandler();
+		spf.newSAXParser().parse(source, handler);
+		Trace.tracePerformance(() -> String.format("Read outline of %d elements from %s in %d ms", //$NON-NLS-1$
+				handler.getElementCount(), source.getSystemId(), System.currentTimeMillis() - start));
+		return handler.getRootElement() != null ? new CamelFileOutline(res, handler.getRootElement()) : null;
+	}
+
 	/**
 	 * reads the document into internal model
 	 * 
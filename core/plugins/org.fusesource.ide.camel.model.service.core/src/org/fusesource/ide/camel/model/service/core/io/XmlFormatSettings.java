@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.io;
+
+import org.apache.xml.serialize.OutputFormat;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.wst.xml.core.internal.XMLCorePlugin;
+import org.w3c.dom.Document;
+
+/**
+ * The formatting used to serialize a camel file, taken from the XML and text
+ * editor preferences. The settings can be kept as long as these preferences
+ * don't change, see {@link #addPreferenceChangeListener(IPreferenceChangeListener)}.
+ */
+public class XmlFormatSettings {
+
+	private static final String XML_CORE_PREFERENCES = "org.eclipse.wst.xml.core"; //$NON-NLS-1$
+	private static final String EDITORS_PREFERENCES = "org.eclipse.ui.editors"; //$NON-NLS-1$
+
+	private final int lineWidth;
+	private final int indent;
+
+	public XmlFormatSettings(int lineWidth, int indent) {
+		this.lineWidth = lineWidth;
+		this.indent = indent;
+	}
+
+	/**
+	 * reads the settings from the preferences
+	 *
+	 * @return the settings
+	 */
+	public static XmlFormatSettings fromPreferences() {
+		// taking line width and indentation size from xml / editor preferences of eclipse -> we always use spaces for indentation...
+		int lineWidth = Integer.parseInt(XMLCorePlugin.getDefault().getPluginPreferences().getString("lineWidth"));
+		int indentValue = XMLCorePlugin.getDefault().getPluginPreferences().getInt("indentationSize");
+		String indentChar = XMLCorePlugin.getDefault().getPluginPreferences().getString("indentationChar");
+		if ("tab".equalsIgnoreCase(indentChar)) {
+			// calculate tabWidth * indent
+			int tabWidth = org.eclipse.ui.internal.editors.text.EditorsPlugin.getDefault().getPreferenceStore().getInt("tabWidth");
+			indentValue = indentValue * tabWidth;
+		}
+		return new XmlFormatSettings(lineWidth, indentValue);
+	}
+
+	/**
+	 * registers a listener notified when the preferences the settings are read
+	 * from are changed
+	 *
+	 * @param listener
+	 */
+	public static void addPreferenceChangeListener(IPreferenceChangeListener listener) {
+		InstanceScope.INSTANCE.getNode(XML_CORE_PREFERENCES).addPreferenceChangeListener(listener);
+		InstanceScope.INSTANCE.getNode(EDITORS_PREFERENCES).addPreferenceChangeListener(listener);
+	}
+
+	/**
+	 * @param listener
+	 */
+	public static void removePreferenceChangeListener(IPreferenceChangeListener listener) {
+		InstanceScope.INSTANCE.getNode(XML_CORE_PREFERENCES).removePreferenceChangeListener(listener);
+		InstanceScope.INSTANCE.getNode(EDITORS_PREFERENCES).removePreferenceChangeListener(listener);
+	}
+
+	/**
+	 * creates the output format for serializing the given document
+	 *
+	 * @param document
+	 * @return the output format
+	 */
+	public OutputFormat createOutputFormat(Document document) {
+		OutputFormat format = new OutputFormat(document);
+		format.setIndenting(true);
+		format.setIndent(indent);
+		format.setEncoding("UTF-8");
+		format.setPreserveEmptyAttributes(false);
+		format.setMethod("xml");
+		format.setPreserveSpace(false);
+		format.setOmitComments(false);
+		format.setOmitDocumentType(false);
+		format.setOmitXMLDeclaration(false);
+		format.setLineWidth(lineWidth);
+		return format;
+	}
+
+	public int getLineWidth() {
+		return lineWidth;
+	}
+
+	public int getIndent() {
+		return indent;
+	}
+}
@@ -16,14 +16,20 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.management.Attribute;
 import javax.management.MBeanServerConnection;
 import javax.management.MBeanServerInvocationHandler;
 import javax.management.MalformedObjectNameException;
 import javax.management.ObjectInstance;
 import javax.management.ObjectName;
+import javax.management.Query;
 import javax.management.QueryExp;
 
 /**
@@ -33,6 +39,9 @@ import javax.management.QueryExp;
 public abstract class CamelFacadeSupport implements CamelJMXFacade {
     
     private static final String ORG_APACHE_CAMEL_CONTEXT = "org.apache.camel:context=";
+    private static final String[] PERFORMANCE_COUNTER_ATTRIBUTES = { "RouteId", "ProcessorId", "ExchangesCompleted",
+            "ExchangesFailed", "FailuresHandled", "Redeliveries", "ExternalRedeliveries", "MinProcessingTime",
+            "MaxProcessingTime", "TotalProcessingTime", "LastProcessingTime", "MeanProcessingTime" };
 	protected String camelContextManagementName;
     protected final MBeanServerConnection mBeanServer;
 
@@ -280,4 +289,35 @@ public abstract class CamelFacadeSupport implements CamelJMXFacade {
         // fallback and use backwards compatible which is slower
         return CamelBackwardsCompatibleSupport.dumpRoutesStatsAsXml(this, managementName);
     }
+
+    @Override
+    public Map<String, Map<String, Object>> getRoutesStatistics(String managementName, Collection<String> routeIds) throws Exception {
+        Map<String, Map<String, Object>> answer = new HashMap<>();
+        if (routeIds.isEmpty()) {
+            return answer;
+        }
+        String id = managementName != null ? managementName : camelContextManagementName;
+
+        // the route filter is evaluated by the remote MBean server so only the MBeans of these routes come back
+        QueryExp ofRoutes = null;
+        for (String routeId : routeIds) {
+            QueryExp ofRoute = Query.eq(Query.attr("RouteId"), Query.value(routeId));
+            ofRoutes = ofRoutes == null ? ofRoute : Query.or(ofRoutes, ofRoute);
+        }
+        Set<ObjectName> names = new HashSet<>();
+        names.addAll(getMBeanServerConnection().queryNames(ObjectName.getInstance(ORG_APACHE_CAMEL_CONTEXT + id + ",type=routes,*"), ofRoutes));
+        names.addAll(getMBeanServerConnection().queryNames(ObjectName.getInstance(ORG_APACHE_CAMEL_CONTEXT + id + ",type=processors,*"), ofRoutes));
+
+        for (ObjectName name : names) {
+            Map<String, Object> counters = new HashMap<>();
+            for (Attribute attribute : getMBeanServerConnection().getAttributes(name, PERFORMANCE_COUNTER_ATTRIBUTES).asList()) {
+                counters.put(attribute.getName(), attribute.getValue());
+            }
+            Object nodeId = counters.containsKey("ProcessorId") ? counters.get("ProcessorId") : counters.get("RouteId");
+            if (nodeId != null) {
+                answer.put(nodeId.toString(), counters);
+            }
+        }
+        return answer;
+    }
 }
@@ -11,7 +11,9 @@
 
 package org.fusesource.ide.camel.model.service.core.jmx.camel;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author lhein
@@ -93,4 +95,21 @@ public interface CamelJMXFacade {
      * @param managementName  the camel context management name (<b>not</b> context id)
      */
     String dumpRoutesStatsAsXml(String managementName) throws Exception;
+
+    /**
+     * Reads the performance counters of the given routes and of their processors only,
+     * which is much cheaper than dumping the statistics of the whole CamelContext
+     *
+     * @param managementName  the camel context management name (<b>not</b> context id)
+     * @param routeIds  the ids of the routes to read
+     * @return the counters keyed by attribute name, by route or processor id
+     */
+    Map<String, Map<String, Object>> getRoutesStatistics(String managementName, Collection<String> routeIds) throws Exception;
+
+    /**
+     * Forgets the results the facade may have kept, so that the next calls read the current state
+     */
+    default void invalidateCaches() {
+        // nothing is cached by default
+    }
 }
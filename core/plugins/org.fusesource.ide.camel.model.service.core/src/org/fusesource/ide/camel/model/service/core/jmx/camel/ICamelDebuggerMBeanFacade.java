@@ -376,4 +376,33 @@ public interface ICamelDebuggerMBeanFacade {
      * @return	the total processing time
      */
 	long getTotalProcessingTime(String processorId);
+	
+	/**
+	 * registers a listener which is called whenever the debugger of the runtime
+	 * sends a notification, for instance when a breakpoint has been hit
+	 * 
+	 * @param listener	the listener
+	 * @return	true if the runtime sends notifications, false if it has to be polled
+	 */
+	default boolean addNotificationListener(Runnable listener) {
+		return false;
+	}
+	
+	/**
+	 * unregisters a listener added with {@link #addNotificationListener(Runnable)}
+	 * 
+	 * @param listener	the listener
+	 */
+	default void removeNotificationListener(Runnable listener) {
+		// no notifications by default
+	}
+	
+	/**
+	 * returns the number of remote calls made to the runtime so far
+	 * 
+	 * @return	the number of calls or -1 if not counted
+	 */
+	default long getRemoteCallCount() {
+		return -1;
+	}
 }
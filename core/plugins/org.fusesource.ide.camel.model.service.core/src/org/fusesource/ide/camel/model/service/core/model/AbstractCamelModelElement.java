@@ -18,6 +18,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
 import org.eclipse.core.resources.IProject;
 import org.eclipse.e4.core.services.events.IEventBroker;
@@ -379,8 +380,44 @@ public abstract class AbstractCamelModelElement {
 	 * @return
 	 */
 	public final String getDisplayText(boolean useID) {
-		String result = String.format("%s ", Strings.capitalize(getNodeTypeId()));
-		String eipType = getNodeTypeId();
+		return getDisplayText(getNodeTypeId(), getId(), useID, this::getDisplayParameter);
+	}
+
+	/**
+	 * returns the text of a parameter shown in the label, falling back to the
+	 * default value of the parameter and to the expression of an expression
+	 * parameter
+	 * 
+	 * @param name	the name of the parameter
+	 * @return the text or null if there is none
+	 */
+	private String getDisplayParameter(String name) {
+		Object propVal = getParameter(name);
+		if (propVal == null && getUnderlyingMetaModelObject() != null) {
+			// try to get the default value
+			Parameter param = getUnderlyingMetaModelObject().getProperties().get(name);
+			propVal = param == null ? null : param.getDefaultValue();
+		}
+		if (propVal instanceof AbstractCamelModelElement) {
+			// seems to be an expression
+			return (String)((AbstractCamelModelElement)propVal).getParameter(NODE_KIND_EXPRESSION);
+		}
+		return propVal != null ? propVal.toString() : null;
+	}
+
+	/**
+	 * returns the label of an element, honoring the label preferences of the
+	 * editor. Used by the elements of the editable model and by the outline
+	 * which is read without building the model.
+	 * 
+	 * @param eipType		the node type id of the element
+	 * @param id			the id of the element or null
+	 * @param useID			whether the id is used if the preferences ask for it
+	 * @param parameters	returns the text of a parameter of the element or null
+	 * @return the label
+	 */
+	public static String getDisplayText(String eipType, String id, boolean useID, Function<String, String> parameters) {
+		String result = String.format("%s ", Strings.capitalize(eipType));
 
 		// honor the PREFER_ID_AS_LABEL preference
 		// we initially set it to the value of the contains method
@@ -405,14 +442,14 @@ public abstract class AbstractCamelModelElement {
 
 		// we only return the id if we are told so by the preference AND the
 		// value of the ID is set != null AND it is not overridden by any user label 
-		if (preferID && getId() != null && getId().trim().length() > 0
+		if (preferID && id != null && id.trim().length() > 0
 				&& Arrays.stream(userLabels).noneMatch(str -> str.contains(eipType))) {
-			result += getId();
+			result += id;
 			return result;
 		}
 
-		if (isEndpointElement()) {
-			String uri = (String)this.getParameter(URI_PARAMETER_KEY);
+		if (Arrays.asList(ENDPOINT_TYPE_FROM, ENDPOINT_TYPE_TO, ENDPOINT_NODE_NAME).contains(eipType)) {
+			String uri = parameters.apply(URI_PARAMETER_KEY);
 			if (uri != null && uri.trim().length() > 0) {
 				// uri specified, use it
 				result = uri;
@@ -453,37 +490,13 @@ public abstract class AbstractCamelModelElement {
 
 		String propertyToCheck = singlePropertyDisplay.get(eipType);
 		if( propertyToCheck != null ) {
-			Object propVal = getParameter(propertyToCheck);
-			if (propVal == null) {
-				// try to get the default value
-				Parameter param = getUnderlyingMetaModelObject().getProperties().get(propertyToCheck);
-				propVal = param == null ? null : param.getDefaultValue();
-			}
+			String propVal = parameters.apply(propertyToCheck);
 			if (propVal != null) {
-				if( propVal instanceof AbstractCamelModelElement) {
-					// seems to be an expression
-					String expression = ((AbstractCamelModelElement)propVal).getParameter(NODE_KIND_EXPRESSION) != null ? (String)((AbstractCamelModelElement)propVal).getParameter(NODE_KIND_EXPRESSION) : null;
-					if (expression != null) {
-						return result + expression;
-					}
-				} else {
-					return result + propVal.toString();
-				}
+				return result + propVal;
 			}
 		}
 
-		String answer = null;
-		if (Strings.isBlank(answer)) {
-			answer = result + getId();
-		}
-		if (Strings.isBlank(answer) && getUnderlyingMetaModelObject() != null) {
-			answer = getUnderlyingMetaModelObject().getName();
-		}
-		if (Strings.isBlank(answer) && getNodeTypeId() != null) {
-			answer = getNodeTypeId();
-		}
-
-		return answer;
+		return result + id;
 	}
 
 	/**
@@ -1146,6 +1159,27 @@ public abstract class AbstractCamelModelElement {
 		return true;
 	}
 
+	/**
+	 * parses the attributes of the node again after they have been changed in
+	 * the underlying xml. The child elements are kept.
+	 */
+	public void reinitializeAttributes() {
+		if (this.xmlNode == null || !shouldParseNode()) {
+			return;
+		}
+		Map<String, Object> oldParameters = this.parameters;
+		this.parameters = new HashMap<>();
+		this.description = null;
+		// keep the child elements held as parameters, like the otherwise of a choice
+		for (Map.Entry<String, Object> parameter : oldParameters.entrySet()) {
+			if (getChildElements().contains(parameter.getValue())) {
+				this.parameters.put(parameter.getKey(), parameter.getValue());
+			}
+		}
+		parseAttributes();
+		linkChildrenToAttributes();
+	}
+
 	/**
 	 * parses direct attributes of the node
 	 */
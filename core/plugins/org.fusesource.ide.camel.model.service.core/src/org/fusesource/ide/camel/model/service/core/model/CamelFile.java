@@ -14,19 +14,22 @@ import java.io.StringWriter;
 import java.io.Writer;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 
 import org.apache.xml.serialize.OutputFormat;
 import org.apache.xml.serialize.XMLSerializer;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.NullProgressMonitor;
-import org.eclipse.wst.xml.core.internal.XMLCorePlugin;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelCatalogCacheManager;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
 import org.fusesource.ide.camel.model.service.core.internal.CamelModelServiceCoreActivator;
 import org.fusesource.ide.camel.model.service.core.io.CamelIOHandler;
+import org.fusesource.ide.camel.model.service.core.io.XmlFormatSettings;
 import org.fusesource.ide.foundation.core.util.CamelUtils;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
@@ -76,6 +79,12 @@ public class CamelFile extends AbstractCamelModelElement implements EventListene
 	 * list of listeners looking for changes in the internal model
 	 */
 	private List<ICamelModelListener> modelListeners = new ArrayList<>();
+	
+	/**
+	 * counts the changes of the document, also while the dom listener is unregistered
+	 */
+	private long modificationCount;
+	private final EventListener modificationCounter = evt -> modificationCount++;
 
 	/**
 	 * creates a camel file object for the given resource
@@ -188,6 +197,51 @@ public class CamelFile extends AbstractCamelModelElement implements EventListene
 		return null;
 	}
 	
+	/**
+	 * updates the model in place from the given xml, if it only differs from
+	 * the current document in attributes and texts of the route elements.
+	 * Otherwise the model has to be reloaded with {@link #reloadModelFromXML(String)}.
+	 * 
+	 * @param xmlString
+	 * @return the updated elements or null if the model could not be updated
+	 */
+	public List<AbstractCamelModelElement> updateModelFromXML(String xmlString) {
+		XmlDocumentPatch patch = XmlDocumentPatch.compute(getDocument(), new CamelIOHandler().loadDocument(xmlString));
+		if (patch == null) {
+			return null;
+		}
+		Map<Node, AbstractCamelModelElement> elementsByNode = new IdentityHashMap<>();
+		collectElementsByNode(this, elementsByNode);
+		Set<AbstractCamelModelElement> changedElements = new LinkedHashSet<>();
+		for (Element changedNode : patch.getChangedElements()) {
+			// texts of expressions and the like belong to the enclosing element
+			Node node = changedNode;
+			while (node != null && !elementsByNode.containsKey(node)) {
+				node = node.getParentNode();
+			}
+			AbstractCamelModelElement changedElement = node != null ? elementsByNode.get(node) : null;
+			if (!(changedElement instanceof CamelBasicModelElement || changedElement instanceof CamelRouteElement)) {
+				// global definitions and containers are only handled by a reload
+				return null;
+			}
+			changedElements.add(changedElement);
+		}
+		patch.apply();
+		for (AbstractCamelModelElement changedElement : changedElements) {
+			changedElement.reinitializeAttributes();
+		}
+		return new ArrayList<>(changedElements);
+	}
+
+	private static void collectElementsByNode(AbstractCamelModelElement element, Map<Node, AbstractCamelModelElement> elementsByNode) {
+		for (AbstractCamelModelElement child : element.getChildElements()) {
+			if (child.getXmlNode() != null) {
+				elementsByNode.put(child.getXmlNode(), child);
+			}
+			collectElementsByNode(child, elementsByNode);
+		}
+	}
+
 	/**
 	 * @return the globalDefinitions
 	 */
@@ -302,7 +356,21 @@ public class CamelFile extends AbstractCamelModelElement implements EventListene
 	 * @param document the document to set
 	 */
 	public void setDocument(Document document) {
+		if (this.document instanceof EventTarget) {
+			((EventTarget)this.document).removeEventListener("DOMSubtreeModified", modificationCounter, false);
+		}
 		this.document = document;
+		if (document instanceof EventTarget) {
+			((EventTarget)document).addEventListener("DOMSubtreeModified", modificationCounter, false);
+		}
+	}
+	
+	/**
+	 * @return the number of changes made to the document, which allows to
+	 *         find out whether the model changed since it was last looked at
+	 */
+	public long getModificationCount() {
+		return this.modificationCount;
 	}
 	
 	/**
@@ -366,29 +434,19 @@ public class CamelFile extends AbstractCamelModelElement implements EventListene
 	 * @return	the dom model as string or null on error
 	 */
 	public String getDocumentAsXML() {
-		try {
-			// taking line width and indentation size from xml / editor preferences of eclipse -> we always use spaces for indentation...
-			int lineWidth = Integer.parseInt(XMLCorePlugin.getDefault().getPluginPreferences().getString("lineWidth"));
-			int indentValue = XMLCorePlugin.getDefault().getPluginPreferences().getInt("indentationSize");
-			String indentChar = XMLCorePlugin.getDefault().getPluginPreferences().getString("indentationChar");
-			if ("tab".equalsIgnoreCase(indentChar)) {
-				// calculate tabWidth * indent
-				int tabWidth = org.eclipse.ui.internal.editors.text.EditorsPlugin.getDefault().getPreferenceStore().getInt("tabWidth");
-				indentValue = indentValue * tabWidth;
-			}
+		return getDocumentAsXML(XmlFormatSettings.fromPreferences());
+	}
 
+	/**
+	 * returns the string representing the dom model
+	 * 
+	 * @param formatSettings	the formatting to use
+	 * @return	the dom model as string or null on error
+	 */
+	public String getDocumentAsXML(XmlFormatSettings formatSettings) {
+		try {
 			final Document document = getDocument();
-			OutputFormat format = new OutputFormat(document);
-			format.setIndenting(true);
-			format.setIndent(indentValue);
-			format.setEncoding("UTF-8");
-			format.setPreserveEmptyAttributes(false);
-			format.setMethod("xml");
-			format.setPreserveSpace(false);
-			format.setOmitComments(false);
-			format.setOmitDocumentType(false);
-			format.setOmitXMLDeclaration(false);
-			format.setLineWidth(lineWidth);
+			OutputFormat format = formatSettings.createOutputFormat(document);
 
 			Writer out = new StringWriter();
 			XMLSerializer serializer = new XMLSerializer(out, format);
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * The differences between the current document of a camel file and a reloaded
+ * version of it which has the same elements, only with other attributes or
+ * texts.
+ *
+ * Applying the patch copies the attributes and texts of the changed elements
+ * into the current document, so the elements of the current document and the
+ * model elements referencing them stay valid.
+ */
+public class XmlDocumentPatch {
+
+	private final Map<Element, Element> changedElements;
+
+	private XmlDocumentPatch(Map<Element, Element> changedElements) {
+		this.changedElements = changedElements;
+	}
+
+	/**
+	 * compares the elements of both documents
+	 *
+	 * @param current
+	 *            the document to patch
+	 * @param reloaded
+	 *            the document to take the attributes and texts from
+	 * @return the patch or null if the documents differ in their elements
+	 */
+	public static XmlDocumentPatch compute(Document current, Document reloaded) {
+		if (current == null || reloaded == null || current.getDocumentElement() == null || reloaded.getDocumentElement() == null) {
+			return null;
+		}
+		Map<Element, Element> changedElements = new LinkedHashMap<>();
+		if (!compare(current.getDocumentElement(), reloaded.getDocumentElement(), changedElements)) {
+			return null;
+		}
+		return new XmlDocumentPatch(changedElements);
+	}
+
+	private static boolean compare(Element current, Element reloaded, Map<Element, Element> changedElements) {
+		if (!Objects.equals(current.getNodeName(), reloaded.getNodeName())
+				|| !Objects.equals(current.getNamespaceURI(), reloaded.getNamespaceURI())) {
+			return false;
+		}
+		List<Element> currentChildren = getChildElements(current);
+		List<Element> reloadedChildren = getChildElements(reloaded);
+		if (currentChildren.size() != reloadedChildren.size()) {
+			return false;
+		}
+		if (!hasSameContent(current, reloaded)) {
+			changedElements.put(current, reloaded);
+		}
+		for (int i = 0; i < currentChildren.size(); i++) {
+			if (!compare(currentChildren.get(i), reloadedChildren.get(i), changedElements)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * compares the attributes and the texts of both elements, but not their
+	 * child elements
+	 */
+	private static boolean hasSameContent(Element current, Element reloaded) {
+		if (!current.cloneNode(false).isEqualNode(reloaded.cloneNode(false))) {
+			return false;
+		}
+		List<Node> currentTexts = getOtherChildNodes(current);
+		List<Node> reloadedTexts = getOtherChildNodes(reloaded);
+		if (currentTexts.size() != reloadedTexts.size()) {
+			return false;
+		}
+		for (int i = 0; i < currentTexts.size(); i++) {
+			if (!currentTexts.get(i).isEqualNode(reloadedTexts.get(i))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * @return the elements of the current document whose attributes or texts
+	 *         differ, in document order
+	 */
+	public List<Element> getChangedElements() {
+		return new ArrayList<>(changedElements.keySet());
+	}
+
+	public boolean isEmpty() {
+		return changedElements.isEmpty();
+	}
+
+	/**
+	 * copies the attributes and texts of the changed elements into the current
+	 * document
+	 */
+	public void apply() {
+		for (Map.Entry<Element, Element> change : changedElements.entrySet()) {
+			copyAttributes(change.getValue(), change.getKey());
+			copyTexts(change.getValue(), change.getKey());
+		}
+	}
+
+	private static void copyAttributes(Element from, Element to) {
+		NamedNodeMap currentAttributes = to.getAttributes();
+		for (int i = currentAttributes.getLength() - 1; i >= 0; i--) {
+			Node attribute = currentAttributes.item(i);
+			if (from.getAttributes().getNamedItem(attribute.getNodeName()) == null) {
+				to.removeAttribute(attribute.getNodeName());
+			}
+		}
+		NamedNodeMap attributes = from.getAttributes();
+		for (int i = 0; i < attributes.getLength(); i++) {
+			Node attribute = attributes.item(i);
+			if (!to.hasAttribute(attribute.getNodeName()) || !attribute.getNodeValue().equals(to.getAttribute(attribute.getNodeName()))) {
+				to.setAttributeNS(attribute.getNamespaceURI(), attribute.getNodeName(), attribute.getNodeValue());
+			}
+		}
+	}
+
+	/**
+	 * replaces the texts, comments and CDATA sections between the child
+	 * elements while keeping the child elements themselves
+	 */
+	private static void copyTexts(Element from, Element to) {
+		for (Node text : getOtherChildNodes(to)) {
+			to.removeChild(text);
+		}
+		List<Element> children = getChildElements(to);
+		int elementIndex = 0;
+		NodeList childNodes = from.getChildNodes();
+		for (int i = 0; i < childNodes.getLength(); i++) {
+			Node child = childNodes.item(i);
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				elementIndex++;
+			} else {
+				Node nextElement = elementIndex < children.size() ? children.get(elementIndex) : null;
+				to.insertBefore(to.getOwnerDocument().importNode(child, true), nextElement);
+			}
+		}
+	}
+
+	private static List<Element> getChildElements(Element element) {
+		List<Element> children = new ArrayList<>();
+		NodeList childNodes = element.getChildNodes();
+		for (int i = 0; i < childNodes.getLength(); i++) {
+			if (childNodes.item(i).getNodeType() == Node.ELEMENT_NODE) {
+				children.add((Element) childNodes.item(i));
+			}
+		}
+		return children;
+	}
+
+	private static List<Node> getOtherChildNodes(Element element) {
+		List<Node> nodes = new ArrayList<>();
+		NodeList childNodes = element.getChildNodes();
+		for (int i = 0; i < childNodes.getLength(); i++) {
+			if (childNodes.item(i).getNodeType() != Node.ELEMENT_NODE) {
+				nodes.add(childNodes.item(i));
+			}
+		}
+		return nodes;
+	}
+}
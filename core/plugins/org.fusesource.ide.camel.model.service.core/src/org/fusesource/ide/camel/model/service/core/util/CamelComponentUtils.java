@@ -11,28 +11,20 @@
 package org.fusesource.ide.camel.model.service.core.util;
 
 import java.io.ByteArrayInputStream;
-import java.io.File;
-import java.io.IOException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collection;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Properties;
 import java.util.Set;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.resources.IProject;
-import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.JavaCore;
-import org.eclipse.jdt.core.JavaModelException;
 import org.fusesource.ide.camel.model.service.core.catalog.Parameter;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
 import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
@@ -40,15 +32,13 @@ import org.fusesource.ide.camel.model.service.core.internal.CamelModelServiceCor
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelContextElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelFile;
-import org.fusesource.ide.foundation.core.util.IOUtils;
-import org.fusesource.ide.foundation.core.util.Strings;
 
 /**
  * @author lhein
  */
 public final class CamelComponentUtils {
 
-	private static Map<CamelModel, Map<String, Component>> knownComponentsForCamelModel = new HashMap<>();
+	private static Map<CamelModel, Map<String, Component>> knownComponentsForCamelModel = new ConcurrentHashMap<>();
 
 	private CamelComponentUtils() {
 		throw new IllegalAccessError("Utility class");
@@ -66,7 +56,9 @@ public final class CamelComponentUtils {
 		CamelModel camelModel = camelFile.getCamelModel();
 		Map<String, Component> knownComponents = retrieveKnownComponents(camelModel);
 		String componentClass = getComponentClass(protocol, camelFile, camelModel);
-		if (knownComponents.containsKey(componentClass)) {
+		if (componentClass == null) {
+			return buildModelForComponent(protocol, null, camelFile, camelModel);
+		} else if (knownComponents.containsKey(componentClass)) {
 			return knownComponents.get(componentClass);
 		} else {
 			Component c = buildModelForComponent(protocol, componentClass, camelFile, camelModel);
@@ -79,14 +71,8 @@ public final class CamelComponentUtils {
 	}
 
 	private static Map<String, Component> retrieveKnownComponents(CamelModel camelModel) {
-		Map<String, Component> knownComponents;
-		if (knownComponentsForCamelModel.containsKey(camelModel)) {
-			knownComponents = knownComponentsForCamelModel.get(camelModel);
-		} else {
-			knownComponents = new HashMap<>();
-			knownComponentsForCamelModel.put(camelModel, knownComponents);
-		}
-		return knownComponents;
+		// validation of several files may run in parallel
+		return knownComponentsForCamelModel.computeIfAbsent(camelModel, model -> new ConcurrentHashMap<>());
 	}
 
 	public static String[] getRefs(CamelFile cf) {
@@ -219,49 +205,13 @@ public final class CamelComponentUtils {
 	}
 
 	public static String getComponentClassForScheme(String scheme, CamelModel camelModel) {
-		String compClass = null;
-		Collection<Component> components = camelModel.getComponents();
-		for (Component c : components) {
-			if (c.supportsScheme(scheme)) {
-				compClass = c.getClazz();
-				break;
-			}
+		Component component = camelModel.getComponent(scheme);
+		if (component == null) {
+			component = camelModel.getComponentForAlternativeScheme(scheme);
 		}
-		return compClass;
+		return component != null ? component.getClazz() : null;
 	}
 
-	private static String getClassFromZipEntry(String scheme, File cpEntryFile) {
-		if (isJarFile(cpEntryFile)) {
-			try (ZipFile zf = new ZipFile(cpEntryFile)) {
-				ZipEntry ze = zf.getEntry(String.format("META-INF/services/org/apache/camel/component/%s", scheme));
-				if (ze != null) {
-					// try to generate a model entry for the component class
-					Properties p = new Properties();
-					p.load(zf.getInputStream(ze));
-					return p.getProperty("class");
-				}
-			} catch (IOException ex) {
-				CamelModelServiceCoreActivator.pluginLog().logError(ex);
-			}
-		}
-		return null;
-	}
-	
-	private static String getComponentClassFromJar(IJavaProject jpr, String scheme){
-		try {
-			for (IClasspathEntry e : jpr.getResolvedClasspath(true)) {
-				File cpEntryFile = e.getPath().toFile();
-				String compClass = getClassFromZipEntry(scheme, cpEntryFile);
-				if (!Strings.isBlank(compClass)) {
-					return compClass;
-				}
-			}
-		} catch (JavaModelException ex) {
-			CamelModelServiceCoreActivator.pluginLog().logError(ex);
-		}
-		return null;
-	}
-	
 	/**
 	 * returns the component class for the given scheme
 	 *
@@ -274,37 +224,12 @@ public final class CamelComponentUtils {
 		String compClass = getComponentClassForScheme(scheme, camelModel);
 		if (compClass == null) {
 			// seems this scheme has no model entry -> check dependency
-			IProject project = camelFile.getResource().getProject();
-			IJavaProject jpr = JavaCore.create(project);
-			if (jpr.exists() && jpr.isOpen()) {
-				compClass = getComponentClassFromJar(jpr, scheme);
-			}
+			compClass = ComponentJarIndex.getInstance().getComponentClass(camelFile.getResource().getProject(), scheme);
 		}
 
 		return compClass;
 	}
 
-	private static String getComponentJsonFromJar(File cpEntryFile, String scheme) {
-		try (ZipFile zf = new ZipFile(cpEntryFile)) {
-			ZipEntry ze = zf.getEntry(String.format("META-INF/services/org/apache/camel/component/%s", scheme));
-			if (ze != null) {
-				// try to generate a model entry for the component class
-				Properties p = new Properties();
-				p.load(zf.getInputStream(ze));
-				String compClass = p.getProperty("class");
-				String packageName = compClass.substring(0, compClass.lastIndexOf('.'));
-				String folder = packageName.replaceAll("\\.", "/");
-				ze = zf.getEntry(String.format("%s/%s.json", folder, scheme));
-				if (ze != null) {
-					return IOUtils.loadText(zf.getInputStream(ze), null);
-				}
-			}
-		} catch (IOException ex) {
-			CamelModelServiceCoreActivator.pluginLog().logError(ex);
-		}
-		return null;
-	}
-	
 	/**
 	 * returns the component class for the given scheme
 	 *
@@ -313,29 +238,7 @@ public final class CamelComponentUtils {
 	 * @return the class or null if not found
 	 */
 	protected static String getComponentJSon(String scheme, IProject project) {
-		IJavaProject jpr = JavaCore.create(project);
-		
-		if (jpr.exists() && jpr.isOpen()) {
-			try {
-				for (IClasspathEntry e : jpr.getResolvedClasspath(true)) {
-					File cpEntryFile = e.getPath().toFile();
-					if (!isJarFile(cpEntryFile)) {
-						continue;
-					}
-					String compJSON = getComponentJsonFromJar(cpEntryFile, scheme);
-					if (!Strings.isBlank(compJSON)) {
-						return compJSON;
-					}
-				}
-			} catch (JavaModelException ex) {
-				CamelModelServiceCoreActivator.pluginLog().logError(ex);
-			}
-		}
-		return null;
-	}
-
-	private static boolean isJarFile(File f) {
-		return f.isFile() && f.getName().toLowerCase().endsWith(".jar");
+		return ComponentJarIndex.getInstance().getComponentJSon(project, scheme);
 	}
 
 	protected static Component buildModelForComponent(String scheme, String clazz, CamelFile camelFile, CamelModel camelModel) {
@@ -385,10 +288,9 @@ public final class CamelComponentUtils {
 	}
 
 	private static void saveModel(CamelModel camelModel, Component component) {
-		if(!knownComponentsForCamelModel.containsKey(camelModel)){
-			knownComponentsForCamelModel.put(camelModel, new HashMap<>());
+		if (component.getClazz() != null) {
+			retrieveKnownComponents(camelModel).put(component.getClazz(), component);
 		}
-		knownComponentsForCamelModel.get(camelModel).put(component.getClazz(), component);
 	}
 
 	public static URLClassLoader getProjectClassLoader(IProject project) {
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.fusesource.ide.camel.model.service.core.internal.CamelModelServiceCoreActivator;
+
+/**
+ * remembers for the files of the workspace whether they are Camel files.
+ *
+ * An entry is only used as long as the modification stamp of the file is
+ * the one it has been computed for. Entries of changed, removed or closed
+ * resources are dropped by listening to resource changes, so the cache does
+ * not grow with files which are not there anymore.
+ */
+public class CamelFileContentTypeCache implements IResourceChangeListener {
+
+	private static final CamelFileContentTypeCache INSTANCE = new CamelFileContentTypeCache();
+
+	private final Map<IPath, Entry> entries = new ConcurrentHashMap<>();
+
+	CamelFileContentTypeCache() {
+		// use getInstance()
+	}
+
+	public static CamelFileContentTypeCache getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param file	the file
+	 * @return	whether the file is a Camel file or null if it is not known for
+	 * 			the current modification stamp of the file
+	 */
+	public Boolean isCamelFile(IFile file) {
+		Entry entry = entries.get(file.getFullPath());
+		if (entry != null && entry.modificationStamp == file.getModificationStamp()) {
+			return entry.camelFile;
+		}
+		return null;
+	}
+
+	/**
+	 * @param file		the file
+	 * @param camelFile	whether the file is a Camel file
+	 */
+	public void setCamelFile(IFile file, boolean camelFile) {
+		long modificationStamp = file.getModificationStamp();
+		if (modificationStamp != IResource.NULL_STAMP) {
+			entries.put(file.getFullPath(), new Entry(modificationStamp, camelFile));
+		}
+	}
+
+	/**
+	 * @return	the number of cached files
+	 */
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * drops all entries
+	 */
+	public void clear() {
+		entries.clear();
+	}
+
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if ((event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) && event.getResource() != null) {
+			removeAll(event.getResource().getFullPath());
+		} else if (event.getDelta() != null) {
+			try {
+				event.getDelta().accept(this::visit);
+			} catch (CoreException ex) {
+				CamelModelServiceCoreActivator.pluginLog().logError(ex);
+			}
+		}
+	}
+
+	private boolean visit(IResourceDelta delta) {
+		if (entries.isEmpty()) {
+			return false;
+		}
+		if (delta.getResource().getType() == IResource.FILE) {
+			if (delta.getKind() == IResourceDelta.REMOVED || (delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED)) != 0) {
+				entries.remove(delta.getResource().getFullPath());
+			}
+			return false;
+		}
+		if (delta.getKind() == IResourceDelta.REMOVED) {
+			removeAll(delta.getResource().getFullPath());
+			return false;
+		}
+		return true;
+	}
+
+	private void removeAll(IPath container) {
+		entries.keySet().removeIf(container::isPrefixOf);
+	}
+
+	private static class Entry {
+		private final long modificationStamp;
+		private final boolean camelFile;
+
+		private Entry(long modificationStamp, boolean camelFile) {
+			this.modificationStamp = modificationStamp;
+			this.camelFile = camelFile;
+		}
+	}
+}
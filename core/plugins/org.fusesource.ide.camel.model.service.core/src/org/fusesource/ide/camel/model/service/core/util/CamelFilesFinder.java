@@ -10,10 +10,15 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.model.service.core.util;
 
+import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 import org.eclipse.core.resources.IContainer;
@@ -37,6 +42,10 @@ import org.fusesource.ide.foundation.ui.io.CamelXMLEditorInput;
 public class CamelFilesFinder {
 	
 	private static final String COM_SPRINGSOURCE_STS_CONFIG_UI_BEAN_CONFIG_FILE_CONTENT_TYPE = "com.springsource.sts.config.ui.beanConfigFile"; //$NON-NLS-1$
+	/**
+	 * the describer only reads the xml declaration before rewinding the stream
+	 */
+	private static final int DESCRIBER_READ_LIMIT = 64 * 1024;
 	
 	/**
 	 * @param resource the resource in which the search occurs
@@ -106,10 +115,19 @@ public class CamelFilesFinder {
 	 * @throws CoreException
 	 */
 	public boolean isFuseCamelContentType(IFile ifile) throws CoreException {
-		if(isFileReadyForCheck(ifile) && ifile.getName().endsWith(".xml")){
+		if (ifile == null || !ifile.getName().endsWith(".xml")) {
+			return false;
+		}
+		CamelFileContentTypeCache cache = CamelFileContentTypeCache.getInstance();
+		Boolean cached = cache.isCamelFile(ifile);
+		if (cached != null) {
+			return cached;
+		}
+		if(isFileReadyForCheck(ifile) && ifile.getLocation() != null){
 			try {
-				ByteArrayInputStream markableAndResettableStream = createMarkableAndResetableInputStream(ifile);
-				return XMLContentDescriber.VALID == new CamelNamespaceXmlContentDescriber().describe(markableAndResettableStream, null);
+				boolean camelFile = describe(ifile.getLocation().toFile());
+				cache.setCamelFile(ifile, camelFile);
+				return camelFile;
 			} catch (IOException e) {
 				CamelModelServiceCoreActivator.pluginLog().logInfo("Cannot check Content type of "+ ifile.getName(), e); //$NON-NLS-1$
 			}
@@ -117,8 +135,20 @@ public class CamelFilesFinder {
 		return false;
 	}
 
-	private ByteArrayInputStream createMarkableAndResetableInputStream(IFile ifile) throws IOException {
-		return new ByteArrayInputStream(Files.readAllBytes(ifile.getLocation().toFile().toPath()));
+	/**
+	 * streams the file to the describer which stops reading as soon as it
+	 * found a Camel namespace
+	 */
+	private boolean describe(File file) throws IOException {
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()))) {
+			in.mark(DESCRIBER_READ_LIMIT);
+			return XMLContentDescriber.VALID == new CamelNamespaceXmlContentDescriber().describe(in, null);
+		} catch (IOException e) {
+			// the xml declaration didn't fit into the mark limit, fall back to reading the whole file
+			try (InputStream in = new ByteArrayInputStream(Files.readAllBytes(file.toPath()))) {
+				return XMLContentDescriber.VALID == new CamelNamespaceXmlContentDescriber().describe(in, null);
+			}
+		}
 	}
 
 	private boolean isFileReadyForCheck(IFile ifile) {
@@ -152,4 +182,30 @@ public class CamelFilesFinder {
 		}
 		return null;
 	}
+
+	/**
+	 * returns the models of the camel editors showing a file of the given
+	 * project which has no unsaved changes. Must be called in the UI thread.
+	 * 
+	 * @param project
+	 * @return the models by file
+	 */
+	public static Map<IFile, CamelFile> getSavedFilesFromEditors(IProject project) {
+		Map<IFile, CamelFile> res = new HashMap<>();
+		for (IWorkbenchWindow window : PlatformUI.getWorkbench().getWorkbenchWindows()) {
+			for (IWorkbenchPage page : window.getPages()) {
+				for (IEditorReference editor : page.getEditorReferences()) {
+					IEditorPart oEditor = CamelUtils.CAMEL_EDITOR_ID.equals(editor.getId()) ? editor.getEditor(false) : null;
+					if (oEditor != null && !oEditor.isDirty() && oEditor.getEditorInput() instanceof CamelXMLEditorInput) {
+						IFile file = ((CamelXMLEditorInput) oEditor.getEditorInput()).getCamelContextFile();
+						CamelFile camelFile = oEditor.getAdapter(CamelFile.class);
+						if (file != null && project.equals(file.getProject()) && camelFile != null) {
+							res.put(file, camelFile);
+						}
+					}
+				}
+			}
+		}
+		return res;
+	}
 }
@@ -0,0 +1,338 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.fusesource.ide.camel.model.service.core.internal.CamelModelServiceCoreActivator;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
+import org.fusesource.ide.foundation.core.util.IOUtils;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * index of the Camel component descriptors found in the jars on the classpath
+ * of the workspace projects.
+ *
+ * Every jar is scanned only once per modification and the result is kept
+ * on disk across IDE restarts. For each project the schemes of its classpath
+ * are merged into a single lookup table which is dropped when the classpath
+ * of the project changes (see {@link ProjectClasspathChangedListener}) or,
+ * checked once per validation run, one of its jars is modified, for instance
+ * by a Maven build. Lookups never touch the jars on disk. Schemes
+ * not contributed by any jar are answered from that table as well, so an
+ * unknown endpoint no longer triggers a rescan of the whole classpath.
+ */
+public class ComponentJarIndex {
+
+	static final String COMPONENT_DESCRIPTOR_FOLDER = "META-INF/services/org/apache/camel/component/"; //$NON-NLS-1$
+
+	private static final String INDEX_FILE = "component-jar-index.json"; //$NON-NLS-1$
+	private static final int FORMAT_VERSION = 1;
+
+	private static ComponentJarIndex instance;
+
+	private final File indexFile;
+	private final Map<String, IndexedJar> jars = new ConcurrentHashMap<>();
+	private final Map<IProject, ProjectIndex> projects = new ConcurrentHashMap<>();
+	private final AtomicLong invalidations = new AtomicLong();
+	private volatile boolean dirty;
+
+	ComponentJarIndex(File indexFile) {
+		this.indexFile = indexFile;
+		load();
+	}
+
+	public static synchronized ComponentJarIndex getInstance() {
+		if (instance == null) {
+			instance = new ComponentJarIndex(getDefaultIndexFile());
+		}
+		return instance;
+	}
+
+	/**
+	 * saves the index if it has been used since the IDE was started
+	 */
+	public static synchronized void saveInstance() {
+		if (instance != null) {
+			instance.save();
+		}
+	}
+
+	private static File getDefaultIndexFile() {
+		CamelModelServiceCoreActivator activator = CamelModelServiceCoreActivator.getDefault();
+		if (activator == null || activator.getBundle() == null) {
+			// not running inside OSGi - index is kept in memory only
+			return null;
+		}
+		return activator.getStateLocation().append(INDEX_FILE).toFile();
+	}
+
+	/**
+	 * returns the component class registered for the given scheme by one of the
+	 * jars on the classpath of the project
+	 *
+	 * @param project	the project
+	 * @param scheme	the scheme
+	 * @return	the component class or null if no jar provides that scheme
+	 */
+	public String getComponentClass(IProject project, String scheme) {
+		IndexedJar jar = getProjectIndex(project).get(scheme);
+		return jar != null ? jar.classes.get(scheme) : null;
+	}
+
+	/**
+	 * returns the json schema of the component registered for the given scheme
+	 * by one of the jars on the classpath of the project
+	 *
+	 * @param project	the project
+	 * @param scheme	the scheme
+	 * @return	the json schema or null if no jar provides a schema for that scheme
+	 */
+	public String getComponentJSon(IProject project, String scheme) {
+		IndexedJar jar = getProjectIndex(project).get(scheme);
+		if (jar == null || !jar.jsonEntries.containsKey(scheme)) {
+			return null;
+		}
+		try (ZipFile zf = new ZipFile(jar.path)) {
+			ZipEntry ze = zf.getEntry(jar.jsonEntries.get(scheme));
+			if (ze != null) {
+				return IOUtils.loadText(zf.getInputStream(ze), null);
+			}
+		} catch (IOException ex) {
+			CamelModelServiceCoreActivator.pluginLog().logError(ex);
+		}
+		return null;
+	}
+
+	/**
+	 * drops the lookup table of the given project. It is rebuilt from the
+	 * (mostly still valid) jar entries on the next lookup.
+	 *
+	 * @param project	the project whose classpath changed or which has been closed
+	 */
+	public void invalidate(IProject project) {
+		invalidations.incrementAndGet();
+		projects.remove(project);
+	}
+
+	/**
+	 * drops the lookup table of the given project if one of the jars it was
+	 * built from has been modified since
+	 *
+	 * @param project	the project
+	 */
+	public void invalidateIfModified(IProject project) {
+		ProjectIndex index = projects.get(project);
+		if (index != null && index.isStale()) {
+			invalidate(project);
+		}
+	}
+
+	/**
+	 * writes the jar entries to disk if they changed since they were loaded
+	 */
+	public synchronized void save() {
+		if (!dirty || indexFile == null) {
+			return;
+		}
+		jars.values().removeIf(jar -> !new File(jar.path).isFile());
+		Content content = new Content();
+		content.version = FORMAT_VERSION;
+		content.jars = new HashMap<>(jars);
+		try {
+			Files.createDirectories(indexFile.getParentFile().toPath());
+			Path tmp = Files.createTempFile(indexFile.getParentFile().toPath(), INDEX_FILE, null);
+			new ObjectMapper().writeValue(tmp.toFile(), content);
+			Files.move(tmp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			dirty = false;
+		} catch (IOException ex) {
+			CamelModelServiceCoreActivator.pluginLog().logWarning("Unable to save the Camel component index of the project classpaths.", ex); //$NON-NLS-1$
+		}
+	}
+
+	private void load() {
+		if (indexFile == null || !indexFile.isFile()) {
+			return;
+		}
+		try {
+			Content content = new ObjectMapper().readValue(indexFile, Content.class);
+			if (content.version == FORMAT_VERSION && content.jars != null) {
+				jars.putAll(content.jars);
+			}
+		} catch (IOException ex) {
+			CamelModelServiceCoreActivator.pluginLog().logWarning("Unable to read the Camel component index of the project classpaths, it will be rebuilt.", ex); //$NON-NLS-1$
+		}
+	}
+
+	private Map<String, IndexedJar> getProjectIndex(IProject project) {
+		ProjectIndex index = projects.get(project);
+		if (index == null) {
+			long invalidationCount = invalidations.get();
+			// scanned outside of the map so that lookups of other projects are not blocked meanwhile
+			index = indexProject(project);
+			if (invalidations.get() == invalidationCount) {
+				projects.put(project, index);
+			}
+		}
+		return index.schemes;
+	}
+
+	private ProjectIndex indexProject(IProject project) {
+		long start = System.currentTimeMillis();
+		IJavaProject jpr = JavaCore.create(project);
+		if (jpr == null || !jpr.exists() || !jpr.isOpen()) {
+			return new ProjectIndex();
+		}
+		try {
+			IClasspathEntry[] classpath = jpr.getResolvedClasspath(true);
+			List<File> jarFiles = new ArrayList<>();
+			for (IClasspathEntry e : classpath) {
+				File cpEntryFile = e.getPath().toFile();
+				if (isJarFile(cpEntryFile)) {
+					jarFiles.add(cpEntryFile);
+				}
+			}
+			ProjectIndex index = indexJars(jarFiles);
+			Trace.tracePerformance(() -> String.format("Indexed %d Camel components of %d classpath entries for project %s in %d ms", //$NON-NLS-1$
+					index.schemes.size(), classpath.length, project.getName(), System.currentTimeMillis() - start));
+			return index;
+		} catch (JavaModelException ex) {
+			CamelModelServiceCoreActivator.pluginLog().logError(ex);
+		}
+		return new ProjectIndex();
+	}
+
+	ProjectIndex indexJars(List<File> jarFiles) {
+		ProjectIndex index = new ProjectIndex();
+		for (File jarFile : jarFiles) {
+			IndexedJar jar = getIndexedJar(jarFile);
+			index.jars.add(jar);
+			// first jar on the classpath wins like in the Camel runtime
+			jar.classes.keySet().forEach(scheme -> index.schemes.putIfAbsent(scheme, jar));
+		}
+		return index;
+	}
+
+	IndexedJar getIndexedJar(File jarFile) {
+		String path = jarFile.getAbsolutePath();
+		IndexedJar jar = jars.get(path);
+		if (jar == null || jar.isModified(jarFile)) {
+			jar = scan(jarFile);
+			jars.put(path, jar);
+			dirty = true;
+		}
+		return jar;
+	}
+
+	private IndexedJar scan(File jarFile) {
+		IndexedJar jar = new IndexedJar();
+		jar.path = jarFile.getAbsolutePath();
+		jar.lastModified = jarFile.lastModified();
+		jar.length = jarFile.length();
+		try (ZipFile zf = new ZipFile(jarFile)) {
+			Enumeration<? extends ZipEntry> entries = zf.entries();
+			while (entries.hasMoreElements()) {
+				ZipEntry ze = entries.nextElement();
+				String scheme = ze.getName().substring(Math.min(ze.getName().length(), COMPONENT_DESCRIPTOR_FOLDER.length()));
+				if (ze.isDirectory() || !ze.getName().startsWith(COMPONENT_DESCRIPTOR_FOLDER) || scheme.isEmpty() || scheme.contains("/")) { //$NON-NLS-1$
+					continue;
+				}
+				String compClass = readComponentClass(zf, ze);
+				if (compClass != null) {
+					jar.classes.put(scheme, compClass);
+					String jsonEntry = String.format("%s/%s.json", compClass.substring(0, Math.max(0, compClass.lastIndexOf('.'))).replace('.', '/'), scheme); //$NON-NLS-1$
+					if (zf.getEntry(jsonEntry) != null) {
+						jar.jsonEntries.put(scheme, jsonEntry);
+					}
+				}
+			}
+		} catch (IOException ex) {
+			// remember the broken jar as empty until it is modified again
+			CamelModelServiceCoreActivator.pluginLog().logWarning("Unable to scan " + jarFile + " for Camel components.", ex); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		return jar;
+	}
+
+	private String readComponentClass(ZipFile zf, ZipEntry ze) throws IOException {
+		Properties p = new Properties();
+		try (InputStream in = zf.getInputStream(ze)) {
+			p.load(in);
+		}
+		String compClass = p.getProperty("class"); //$NON-NLS-1$
+		return compClass != null ? compClass.trim() : null;
+	}
+
+	private static boolean isJarFile(File f) {
+		return f.isFile() && f.getName().toLowerCase().endsWith(".jar"); //$NON-NLS-1$
+	}
+
+	static class IndexedJar {
+		@JsonProperty
+		String path;
+		@JsonProperty
+		long lastModified;
+		@JsonProperty
+		long length;
+		@JsonProperty
+		Map<String, String> classes = new LinkedHashMap<>();
+		@JsonProperty
+		Map<String, String> jsonEntries = new LinkedHashMap<>();
+
+		boolean isModified(File jarFile) {
+			return lastModified != jarFile.lastModified() || length != jarFile.length();
+		}
+	}
+
+	/**
+	 * the lookup table of a project together with the jars it was built from
+	 */
+	static class ProjectIndex {
+		final Map<String, IndexedJar> schemes = new HashMap<>();
+		final List<IndexedJar> jars = new ArrayList<>();
+
+		/**
+		 * @return true if one of the jars was modified since the table was built
+		 */
+		boolean isStale() {
+			return jars.stream().anyMatch(jar -> jar.isModified(new File(jar.path)));
+		}
+	}
+
+	static class Content {
+		@JsonProperty
+		int version;
+		@JsonProperty
+		Map<String, IndexedJar> jars = new HashMap<>();
+	}
+}
@@ -72,6 +72,7 @@ public class ProjectClasspathChangedListener implements IElementChangedListener,
 					event.getType() == IResourceChangeEvent.PRE_DELETE) {
 				// closed and deleted projects are not considered
 				knownProjects.remove(prj);
+				ComponentJarIndex.getInstance().invalidate(prj);
 			} else {
 				if (isActivated && !knownProjects.containsKey(prj)) {
 					initializeProject(prj);
@@ -140,8 +141,10 @@ public class ProjectClasspathChangedListener implements IElementChangedListener,
 	}
 	
 	private void notifyClasspathChanged(IJavaProject project) {
-		// refresh catalog if needed
 		IProject prj = project.getProject();
+		// the jars contributing custom components may have changed
+		ComponentJarIndex.getInstance().invalidate(prj);
+		// refresh catalog if needed
 		String camelVersion = new CamelMavenUtils().getCamelVersionFromMaven(prj, false);
 		if (camelVersion != null) {
 			boolean camelVersionChanged = true;
@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ * Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.internal;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.CRC32;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelCatalogCoordinates;
+import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
+import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModelSnapshot;
+import org.fusesource.ide.camel.model.service.impl.ICamelCatalogWrapper;
+import org.jboss.tools.foundation.core.plugin.log.IPluginLog;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * keeps snapshots of fully loaded and patched Camel models in the plugin state
+ * location so that they survive IDE restarts.
+ *
+ * A snapshot is only used if the checksum of the catalog it has been created
+ * from is still the same. Otherwise the caller has to fall back to loading the
+ * model from the catalog json schemas.
+ */
+public class CamelModelDiskCache {
+
+	private static final String CACHE_FOLDER = "camel-models";
+	private static final String SNAPSHOT_EXTENSION = ".camelmodel";
+	private static final String SNAPSHOT_VERSION_SUFFIX = "-SNAPSHOT";
+
+	private final File cacheFolder;
+	private final IPluginLog logger;
+
+	public CamelModelDiskCache(IPluginLog logger) {
+		this(getDefaultCacheFolder(), logger);
+	}
+
+	public CamelModelDiskCache(File cacheFolder, IPluginLog logger) {
+		this.cacheFolder = cacheFolder;
+		this.logger = logger;
+	}
+
+	private static File getDefaultCacheFolder() {
+		CamelServiceImplementationActivator activator = CamelServiceImplementationActivator.getDefault();
+		if (activator == null || activator.getBundle() == null) {
+			// not running inside OSGi - disk cache disabled
+			return null;
+		}
+		return activator.getStateLocation().append(CACHE_FOLDER).toFile();
+	}
+
+	/**
+	 * computes the checksum identifying the catalog content used for the given
+	 * coordinates
+	 *
+	 * @param coords			the requested coordinates
+	 * @param embeddedCatalog	the embedded catalog for these coordinates or null if the catalog is resolved dynamically
+	 * @return	the checksum or null if models of that catalog must not be cached on disk
+	 */
+	public String computeChecksum(CamelCatalogCoordinates coords, ICamelCatalogWrapper embeddedCatalog) {
+		if (cacheFolder == null) {
+			return null;
+		}
+		String patcherStamp = getBundleStamp(FrameworkUtil.getBundle(CamelModelPatcher.class));
+		if (embeddedCatalog != null) {
+			Bundle catalogBundle = FrameworkUtil.getBundle(embeddedCatalog.getClass());
+			return String.format("%s|%s|%s", coords, getBundleChecksum(catalogBundle), patcherStamp);
+		}
+		if (coords.getVersion().endsWith(SNAPSHOT_VERSION_SUFFIX)) {
+			// snapshot catalogs can change anytime in the remote repositories
+			return null;
+		}
+		// released catalog artifacts are immutable in the maven repositories
+		return String.format("%s|dynamic|%s", coords, patcherStamp);
+	}
+
+	/**
+	 * loads the snapshot of the model for the given coordinates
+	 *
+	 * @param coords	the coordinates
+	 * @param checksum	the checksum of the catalog currently available
+	 * @return	the model or null if there is no valid snapshot
+	 */
+	public CamelModel load(CamelCatalogCoordinates coords, String checksum) {
+		if (checksum == null) {
+			return null;
+		}
+		File snapshot = getSnapshotFile(coords);
+		if (!snapshot.isFile()) {
+			return null;
+		}
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(snapshot.toPath()))) {
+			CamelModel model = CamelModelSnapshot.read(in, checksum);
+			if (model == null) {
+				Files.deleteIfExists(snapshot.toPath());
+			}
+			return model;
+		} catch (IOException | RuntimeException ex) {
+			logger.logWarning("Unable to read cached Camel model for " + coords + ", it will be reloaded from the catalog.", ex);
+			deleteQuietly(snapshot);
+		}
+		return null;
+	}
+
+	/**
+	 * stores a snapshot of the given model
+	 *
+	 * @param coords	the coordinates
+	 * @param checksum	the checksum of the catalog the model has been loaded from
+	 * @param model		the model
+	 */
+	public void store(CamelCatalogCoordinates coords, String checksum, CamelModel model) {
+		if (checksum == null || model == null) {
+			return;
+		}
+		File snapshot = getSnapshotFile(coords);
+		try {
+			Files.createDirectories(cacheFolder.toPath());
+			Path tmp = Files.createTempFile(cacheFolder.toPath(), snapshot.getName(), null);
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(tmp))) {
+				CamelModelSnapshot.write(model, checksum, out);
+			}
+			Files.move(tmp, snapshot.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException | RuntimeException ex) {
+			logger.logWarning("Unable to cache Camel model for " + coords + " on disk.", ex);
+			deleteQuietly(snapshot);
+		}
+	}
+
+	/**
+	 * deletes all snapshots
+	 */
+	public void clear() {
+		File[] snapshots = cacheFolder != null ? cacheFolder.listFiles() : null;
+		if (snapshots != null) {
+			for (File snapshot : snapshots) {
+				deleteQuietly(snapshot);
+			}
+		}
+	}
+
+	File getSnapshotFile(CamelCatalogCoordinates coords) {
+		String fileName = String.format("%s_%s_%s", coords.getGroupId(), coords.getArtifactId(), coords.getVersion());
+		return new File(cacheFolder, fileName.replaceAll("[^a-zA-Z0-9._-]", "_") + SNAPSHOT_EXTENSION);
+	}
+
+	private String getBundleStamp(Bundle bundle) {
+		if (bundle == null) {
+			return "";
+		}
+		return String.format("%s_%s_%d", bundle.getSymbolicName(), bundle.getVersion(), bundle.getLastModified());
+	}
+
+	private String getBundleChecksum(Bundle bundle) {
+		try {
+			File bundleFile = bundle != null ? FileLocator.getBundleFile(bundle) : null;
+			if (bundleFile != null && bundleFile.isFile()) {
+				return String.format("%s_%s_%x", bundle.getSymbolicName(), bundle.getVersion(), crc(bundleFile));
+			}
+		} catch (IOException ex) {
+			logger.logWarning("Unable to compute checksum of the Camel catalog bundle " + bundle.getSymbolicName(), ex);
+		}
+		// unpacked bundle (for instance launched from a workspace) - the install stamp has to do
+		return getBundleStamp(bundle);
+	}
+
+	private long crc(File file) throws IOException {
+		CRC32 crc = new CRC32();
+		byte[] buffer = new byte[64 * 1024];
+		try (InputStream in = Files.newInputStream(file.toPath())) {
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				crc.update(buffer, 0, read);
+			}
+		}
+		return crc.getValue();
+	}
+
+	private void deleteQuietly(File file) {
+		try {
+			Files.deleteIfExists(file.toPath());
+		} catch (IOException ex) {
+			logger.logWarning("Unable to delete " + file, ex);
+		}
+	}
+}
@@ -42,13 +42,29 @@ public class CamelModelPatcher {
 			// can't work with a null value here - thats usually caused by a non existing catalog
 			return;
 		}
-		applyMissingOneOfValuesForExpressionsPatch(loadedModel);
-		applyMissingWhenChildDefinitionForChoice(loadedModel);
 		applyFixesToComponentsSyntax(loadedModel);
 		applyMissingCamelContextEip(camelVersion, loadedModel);
 		applyZipFileDataformatNameInconsistencyWorkaround(loadedModel);
 	}
 
+	/**
+	 * fixes applying to a single eip. They are applied while loading each eip
+	 * so that eips of a lazily loaded model do not need to be loaded all at once.
+	 * 
+	 * @param catalog	the catalog the eip has been loaded from
+	 * @param eip		the loaded eip
+	 * @return	the patched eip
+	 */
+	public static Eip applyVersionSpecificEipFixes(ICamelCatalogWrapper catalog, Eip eip) {
+		if (eip != null && catalog.getLoadedVersion() != null) {
+			ensureAllParametersWithOneOfContainsAllPossibleValues(eip);
+			if (AbstractCamelModelElement.CHOICE_NODE_NAME.equals(eip.getName())) {
+				applyMissingWhenChildDefinitionForChoice(eip);
+			}
+		}
+		return eip;
+	}
+
 	private static void applyZipFileDataformatNameInconsistencyWorkaround(CamelModel loadedModel) {
 		DataFormat zipfileDataformat = loadedModel.getDataFormat("zipfile");
 		if (zipfileDataformat != null) {
@@ -85,14 +101,6 @@ public class CamelModelPatcher {
 		return Eip.getJSONFactoryInstance(inputStream);
 	}
 
-	private static void applyMissingOneOfValuesForExpressionsPatch(CamelModel loadedModel) {
-		for (Eip eip : loadedModel.getEips()) {
-			if (eip != null) {
-				ensureAllParametersWithOneOfContainsAllPossibleValues(eip);
-			}
-		}
-	}
-
 	private static void ensureAllParametersWithOneOfContainsAllPossibleValues(Eip eip) {
 		for (Parameter p : eip.getParameters()) {
 			if (AbstractCamelModelElement.NODE_KIND_EXPRESSION.equalsIgnoreCase(p.getKind())) {
@@ -118,12 +126,9 @@ public class CamelModelPatcher {
 		}
 	}
 
-	private static void applyMissingWhenChildDefinitionForChoice(CamelModel loadedModel) {
-		Eip choiceEip = loadedModel.getEip(AbstractCamelModelElement.CHOICE_NODE_NAME);
-		if (choiceEip != null) {
-			for (Parameter p : choiceEip.getParameters()) {
-				applyMissingWhenChildDefinitionForChoice(p);
-			}
+	private static void applyMissingWhenChildDefinitionForChoice(Eip choiceEip) {
+		for (Parameter p : choiceEip.getParameters()) {
+			applyMissingWhenChildDefinitionForChoice(p);
 		}
 	}
 
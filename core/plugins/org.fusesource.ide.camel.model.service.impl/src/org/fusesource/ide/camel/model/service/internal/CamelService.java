@@ -17,27 +17,40 @@ import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.camel.catalog.TimePatternConverter;
 import org.apache.camel.catalog.URISupport;
 import org.apache.camel.catalog.maven.MavenVersionManager;
 import org.apache.maven.model.Repository;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.osgi.util.NLS;
 import org.fusesource.ide.camel.model.service.core.CamelSchemaProvider;
 import org.fusesource.ide.camel.model.service.core.ICamelManagerService;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelCatalogCoordinates;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
+import org.fusesource.ide.camel.model.service.core.catalog.cache.ComponentSummary;
 import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
 import org.fusesource.ide.camel.model.service.core.catalog.dataformats.DataFormat;
 import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
 import org.fusesource.ide.camel.model.service.core.catalog.languages.Language;
 import org.fusesource.ide.camel.model.service.core.util.CamelCatalogUtils;
 import org.fusesource.ide.camel.model.service.impl.ICamelCatalogWrapper;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
 import org.fusesource.ide.preferences.StagingRepositoriesUtils;
 import org.jboss.tools.foundation.core.plugin.log.IPluginLog;
 
@@ -47,26 +60,57 @@ import org.jboss.tools.foundation.core.plugin.log.IPluginLog;
 public class CamelService implements ICamelManagerService {
 	
 	private static final boolean ENCODE_DEFAULT = false;
-	private Map<CamelCatalogCoordinates, ICamelCatalogWrapper> cachedCatalogs = new HashMap<>();
+	private Map<CamelCatalogCoordinates, CompletableFuture<ICamelCatalogWrapper>> cachedCatalogs = new ConcurrentHashMap<>();
 	private IPluginLog logger;
+	private CamelModelDiskCache diskCache;
 
 	public CamelService() {
 		this(CamelServiceImplementationActivator.pluginLog());
 	}
 	
 	public CamelService(IPluginLog logger) {
+		this(logger, new CamelModelDiskCache(logger));
+	}
+	
+	public CamelService(IPluginLog logger, CamelModelDiskCache diskCache) {
 		this.logger = logger;
+		this.diskCache = diskCache;
 	}
 	
+	/**
+	 * returns the catalog for the given coordinates. The catalog is created only
+	 * once per coordinates, concurrent callers wait for the creation.
+	 * 
+	 * For catalogs which are not embedded the version of the given coordinates
+	 * is updated to the version really loaded.
+	 * 
+	 * @param coords	the coordinates
+	 * @return	the catalog
+	 */
 	private ICamelCatalogWrapper getCatalog(CamelCatalogCoordinates coords) {
-		if (!cachedCatalogs.containsKey(coords)) {
+		// the coordinates can be modified while loading so use a copy as key
+		CamelCatalogCoordinates key = new CamelCatalogCoordinates(coords.getGroupId(), coords.getArtifactId(), coords.getVersion());
+		CompletableFuture<ICamelCatalogWrapper> creation = new CompletableFuture<>();
+		CompletableFuture<ICamelCatalogWrapper> existing = cachedCatalogs.putIfAbsent(key, creation);
+		if (existing != null) {
+			ICamelCatalogWrapper catalog = existing.join();
+			if (catalog instanceof DynamicCamelCatalog) {
+				coords.setVersion(catalog.getLoadedVersion());
+			}
+			return catalog;
+		}
+		try {
 			ICamelCatalogWrapper catalog = getEmbeddedCatalog(coords);
 			if (catalog == null) {
 				catalog = createCatalogForNotEmbeddedVersions(coords);
 			}
-			cachedCatalogs.put(coords, catalog);
+			creation.complete(catalog);
+			return catalog;
+		} catch (RuntimeException ex) {
+			cachedCatalogs.remove(key, creation);
+			creation.completeExceptionally(ex);
+			throw ex;
 		}
-		return cachedCatalogs.get(coords);
 	}
 
 	protected ICamelCatalogWrapper getEmbeddedCatalog(CamelCatalogCoordinates coords) {
@@ -117,12 +161,66 @@ public class CamelService implements ICamelManagerService {
 	@Override
 	public CamelModel getCamelModel(String camelVersion, String runtimeProvider) {
 		CamelCatalogCoordinates coords = CamelCatalogUtils.getCatalogCoordinatesFor(runtimeProvider, camelVersion);
+		CamelCatalogCoordinates requestedCoords = new CamelCatalogCoordinates(coords.getGroupId(), coords.getArtifactId(), coords.getVersion());
+		String checksum = diskCache.computeChecksum(requestedCoords, getEmbeddedCatalog(coords));
+		CamelModel cachedModel = diskCache.load(requestedCoords, checksum);
+		if (cachedModel != null) {
+			return cachedModel;
+		}
 		ICamelCatalogWrapper catalog = getCatalog(coords);
+		// do not persist fallback catalogs, the requested version might become available later
+		String checksumToStore = isRequestedCatalog(requestedCoords, catalog) ? checksum : null;
+		if (isLazyLoadingEnabled()) {
+			CamelModel lazyModel = loadLazyCamelModelFromCatalog(catalog);
+			CamelModelPatcher.applyVersionSpecificCatalogFixes(catalog, lazyModel);
+			scheduleWarmUp(requestedCoords, checksumToStore, lazyModel);
+			return lazyModel;
+		}
 		CamelModel loadedModel = loadCamelModelFromCatalog(catalog);
 		CamelModelPatcher.applyVersionSpecificCatalogFixes(catalog, loadedModel);
+		diskCache.store(requestedCoords, checksumToStore, loadedModel);
 		return loadedModel;
 	}
 	
+	/**
+	 * @return true if the catalog is the one of the given coordinates and not
+	 *         one loaded as fallback because the version or the runtime
+	 *         provider could not be loaded
+	 */
+	private boolean isRequestedCatalog(CamelCatalogCoordinates requestedCoords, ICamelCatalogWrapper catalog) {
+		if (catalog instanceof DynamicCamelCatalog && !((DynamicCamelCatalog) catalog).isRuntimeProviderLoaded()) {
+			return false;
+		}
+		return requestedCoords.getVersion().equals(catalog.getLoadedVersion());
+	}
+
+	private boolean isLazyLoadingEnabled() {
+		PreferenceManager preferences = PreferenceManager.getInstance();
+		return preferences.containsPreference(PreferencesConstants.CATALOG_LAZY_LOADING)
+				&& preferences.loadPreferenceAsBoolean(PreferencesConstants.CATALOG_LAZY_LOADING);
+	}
+	
+	/**
+	 * loads the elements of the model which were not yet requested in background
+	 * 
+	 * @param coords	the coordinates of the model
+	 * @param checksum	the checksum used to store the fully loaded model on disk or null
+	 * @param model		the lazy model
+	 */
+	private void scheduleWarmUp(CamelCatalogCoordinates coords, String checksum, CamelModel model) {
+		Job warmUp = new Job(NLS.bind("Loading Camel catalog {0}", coords)) { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				model.loadPendingElements();
+				diskCache.store(coords, checksum, model);
+				return Status.OK_STATUS;
+			}
+		};
+		warmUp.setSystem(true);
+		warmUp.setPriority(Job.DECORATE);
+		warmUp.schedule();
+	}
+	
 	@Override
 	public CamelSchemaProvider getCamelSchemaProvider(CamelCatalogCoordinates coords) {
 		ICamelCatalogWrapper catalog = getCatalog(coords);
@@ -215,36 +313,118 @@ public class CamelService implements ICamelManagerService {
 		return model;
 	}
 
+	/**
+	 * creates a model which only knows the names of the catalog elements. Each
+	 * element is parsed on first access.
+	 * 
+	 * @param catalog	the catalog
+	 * @return	the lazy model
+	 */
+	CamelModel loadLazyCamelModelFromCatalog(ICamelCatalogWrapper catalog) {
+		CamelModel model = new CamelModel();
+		for (String name : catalog.findComponentNames()) {
+			model.addLazyComponent(name, () -> loadComponentSummary(catalog, name), () -> loadComponent(catalog, name));
+		}
+		for (String name : catalog.findDataFormatNames()) {
+			model.addLazyDataFormat(name, () -> loadDataformat(catalog, name));
+		}
+		for (String name : catalog.findLanguageNames()) {
+			model.addLazyLanguage(name, () -> loadLanguage(catalog, name));
+		}
+		for (String name : catalog.findModelNames()) {
+			model.addLazyEip(name, () -> loadEip(catalog, name));
+		}
+		return model;
+	}
+
 	private void loadEips(ICamelCatalogWrapper catalog, CamelModel model) {
 		for (String name : catalog.findModelNames()) {
-			String json = catalog.modelJSonSchema(name);
-			Eip elem = Eip.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
-			model.addEip(elem);
+			model.addEip(loadEip(catalog, name));
 		}
 	}
 
 	private void loadLanguages(ICamelCatalogWrapper catalog, CamelModel model) {
 		for (String name : catalog.findLanguageNames()) {
-			String json = catalog.languageJSonSchema(name);
-			Language elem = Language.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
-			model.addLanguage(elem);
+			model.addLanguage(loadLanguage(catalog, name));
 		}
 	}
 
 	private void loadDataformats(ICamelCatalogWrapper catalog, CamelModel model) {
 		for (String name : catalog.findDataFormatNames()) {
-			String json = catalog.dataFormatJSonSchema(name);
-			DataFormat elem = DataFormat.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
-			model.addDataFormat(elem);
+			model.addDataFormat(loadDataformat(catalog, name));
 		}
 	}
 
 	private void loadCamelComponents(ICamelCatalogWrapper catalog, CamelModel model) {
 		for (String name : catalog.findComponentNames()) {
-			String json = catalog.componentJSonSchema(name);
-			Component elem = Component.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
-			model.addComponent(elem);
+			model.addComponent(loadComponent(catalog, name));
+		}
+	}
+	
+	private Eip loadEip(ICamelCatalogWrapper catalog, String name) {
+		String json;
+		// the catalogs are not thread safe, only the parsing is done concurrently
+		synchronized (catalog) {
+			json = catalog.modelJSonSchema(name);
+		}
+		Eip eip = Eip.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
+		return CamelModelPatcher.applyVersionSpecificEipFixes(catalog, eip);
+	}
+
+	private Language loadLanguage(ICamelCatalogWrapper catalog, String name) {
+		String json;
+		synchronized (catalog) {
+			json = catalog.languageJSonSchema(name);
+		}
+		return Language.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
+	}
+
+	private DataFormat loadDataformat(ICamelCatalogWrapper catalog, String name) {
+		String json;
+		synchronized (catalog) {
+			json = catalog.dataFormatJSonSchema(name);
 		}
+		return DataFormat.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
+	}
+
+	private Component loadComponent(ICamelCatalogWrapper catalog, String name) {
+		String json;
+		synchronized (catalog) {
+			json = catalog.componentJSonSchema(name);
+		}
+		return Component.getJSONFactoryInstance(new ByteArrayInputStream(getUnicodeEncodedStreamIfPossible(json)));
+	}
+	
+	/**
+	 * reads the class and the alternative schemes from the header of the
+	 * component json without parsing the whole component
+	 */
+	ComponentSummary loadComponentSummary(ICamelCatalogWrapper catalog, String name) {
+		String json;
+		synchronized (catalog) {
+			json = catalog.componentJSonSchema(name);
+		}
+		if (json == null) {
+			return null;
+		}
+		// the options of the component declare java types too
+		int headerEnd = json.indexOf("\"componentProperties\""); //$NON-NLS-1$
+		String header = headerEnd >= 0 ? json.substring(0, headerEnd) : json;
+		List<String> alternativeSchemes = new ArrayList<>();
+		String alternativeSchemesValue = readJsonValue(header, Component.PROPERTY_ALTERNATIVE_SCHEMES);
+		if (alternativeSchemesValue != null) {
+			for (String alternativeScheme : alternativeSchemesValue.split(",")) { //$NON-NLS-1$
+				if (!alternativeScheme.trim().isEmpty()) {
+					alternativeSchemes.add(alternativeScheme.trim());
+				}
+			}
+		}
+		return new ComponentSummary(readJsonValue(header, Component.PROPERTY_JAVA_TYPE), alternativeSchemes);
+	}
+
+	private static String readJsonValue(String json, String key) {
+		Matcher matcher = Pattern.compile("\"" + Pattern.quote(key) + "\"\\s*:\\s*\"([^\"]*)\"").matcher(json); //$NON-NLS-1$ //$NON-NLS-2$
+		return matcher.find() ? matcher.group(1) : null;
 	}
 	
 	private byte[] getUnicodeEncodedStreamIfPossible(String json) {
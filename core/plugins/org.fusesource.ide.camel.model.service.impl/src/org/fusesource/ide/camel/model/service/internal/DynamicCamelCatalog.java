@@ -33,6 +33,7 @@ public class DynamicCamelCatalog implements ICamelCatalogWrapper {
 	
 	private CamelCatalog catalog;
 	private IPluginLog logger;
+	private boolean runtimeProviderLoaded = true;
 	
 	public DynamicCamelCatalog(IPluginLog logger) {
 		this.logger = logger;
@@ -87,7 +88,16 @@ public class DynamicCamelCatalog implements ICamelCatalogWrapper {
 	}
 
 	public boolean loadRuntimeProviderVersion(String groupId, String artifactId, String version) {
-		return catalog.loadRuntimeProviderVersion(groupId, artifactId, version);
+		runtimeProviderLoaded = catalog.loadRuntimeProviderVersion(groupId, artifactId, version);
+		return runtimeProviderLoaded;
+	}
+
+	/**
+	 * @return false if loading the runtime provider failed and the catalog
+	 *         only holds the fallback model
+	 */
+	public boolean isRuntimeProviderLoaded() {
+		return runtimeProviderLoaded;
 	}
 
 	@Override
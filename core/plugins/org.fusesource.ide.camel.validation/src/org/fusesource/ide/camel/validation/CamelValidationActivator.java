@@ -10,11 +10,14 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.validation;
 
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.validation.diagram.BasicNodeValidator;
+import org.fusesource.ide.camel.validation.xml.CamelFileValidationSnapshots;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -49,6 +52,8 @@ public class CamelValidationActivator extends AbstractUIPlugin {
 			eventHandler = new ClearValidationMarkerOnRemoveEventHandler(new BasicNodeValidator());
 			eventBroker.subscribe(AbstractCamelModelElement.TOPIC_REMOVE_CAMEL_ELEMENT, eventHandler);
 		}
+		ResourcesPlugin.getWorkspace().addResourceChangeListener(CamelFileValidationSnapshots.getInstance(),
+				IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.PRE_CLOSE | IResourceChangeEvent.PRE_DELETE);
 	}
 
 	/*
@@ -58,6 +63,7 @@ public class CamelValidationActivator extends AbstractUIPlugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		plugin = null;
+		ResourcesPlugin.getWorkspace().removeResourceChangeListener(CamelFileValidationSnapshots.getInstance());
 		IEventBroker eventBroker = PlatformUI.getWorkbench().getService(IEventBroker.class);
 		if (eventHandler != null && eventBroker != null) {
 			eventBroker.unsubscribe(eventHandler);
@@ -21,10 +21,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.databinding.validation.IValidator;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.fusesource.ide.camel.model.service.core.catalog.Parameter;
@@ -48,7 +52,35 @@ import org.jboss.tools.foundation.core.plugin.log.StatusFactory;
  */
 public class BasicNodeValidator implements ValidationSupport {
 
-	private static Map<IMarker, AbstractCamelModelElement> markers = new HashMap<>();
+	private static Map<IMarker, AbstractCamelModelElement> markers = new ConcurrentHashMap<>();
+
+	private final MarkerIndex markerIndex;
+	private final Map<CamelFile, String> documentsAsXML = new HashMap<>();
+
+	public BasicNodeValidator() {
+		this.markerIndex = null;
+	}
+
+	/**
+	 * creates a validator for a validation run over many elements of the
+	 * given resource. The markers of the resource are queried only once and
+	 * the serialized documents are reused, so the validator must not be kept
+	 * beyond the run.
+	 * 
+	 * @param resource
+	 * @throws CoreException
+	 */
+	public BasicNodeValidator(IResource resource) throws CoreException {
+		this.markerIndex = new MarkerIndex(resource, markers);
+	}
+
+	/**
+	 * @return the number of validation markers of the resource of the current
+	 *         run or -1 if this validator is not bound to a run
+	 */
+	public int getMarkerCount() {
+		return markerIndex != null ? markerIndex.size() : -1;
+	}
 
 	/*
 	 * (non-Javadoc)
@@ -71,21 +103,46 @@ public class BasicNodeValidator implements ValidationSupport {
 				checkFor(result, camelModelElement, new EIPMandatoryChildValidator());
 			}
 
-      Set<IMarker> markersRelatedToElement = getMarkersFor(camelModelElement);
-			
-			createOrReuseMarkers(camelModelElement, result, markersRelatedToElement);
+			runInWorkspace(monitor -> {
+				Set<IMarker> markersRelatedToElement = getMarkersFor(camelModelElement);
+
+				createOrReuseMarkers(camelModelElement, result, markersRelatedToElement);
 
-			for (IMarker markerToDelete : markersRelatedToElement) {
-				try {
-					markerToDelete.delete();
-				} catch (CoreException e) {
-					CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error while clearing validation marker.", e)); //$NON-NLS-0$
+				for (IMarker markerToDelete : markersRelatedToElement) {
+					deleteMarker(markerToDelete, "Error while clearing validation marker."); //$NON-NLS-1$
 				}
-			}
+			});
 		}
 		return result;
 	}
 
+	/**
+	 * runs the marker changes as a single workspace operation so that only one
+	 * resource change event is sent. Nested in an outer operation they are
+	 * batched with the changes of the outer operation.
+	 * 
+	 * @param markerChanges
+	 */
+	private void runInWorkspace(IWorkspaceRunnable markerChanges) {
+		try {
+			ResourcesPlugin.getWorkspace().run(markerChanges, null, IWorkspace.AVOID_UPDATE, null);
+		} catch (CoreException e) {
+			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error while updating validation markers.", e)); //$NON-NLS-0$
+		}
+	}
+
+	private void deleteMarker(IMarker marker, String errorMessage) {
+		try {
+			if (markerIndex != null) {
+				markerIndex.remove(marker);
+			}
+			markers.remove(marker);
+			marker.delete();
+		} catch (CoreException e) {
+			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, errorMessage, e)); //$NON-NLS-0$
+		}
+	}
+
 	/**
 	 * @param camelModelElement
 	 * @param result
@@ -127,6 +184,9 @@ public class BasicNodeValidator implements ValidationSupport {
 	}
 
 	protected Set<IMarker> getMarkersFor(AbstractCamelModelElement camelModelElement, final IResource resource) throws CoreException {
+		if (markerIndex != null && markerIndex.getResource().equals(resource)) {
+			return markerIndex.getMarkersFor(camelModelElement);
+		}
 		Set<IMarker> res = new HashSet<>();
 		for (IMarker marker : resource.findMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE)) {
 			if (camelModelElement.getId() != null && camelModelElement.getId().equals(marker.getAttribute(IFuseMarker.CAMEL_ID))) {
@@ -196,6 +256,9 @@ public class BasicNodeValidator implements ValidationSupport {
 				res = createMarker(resource, message, severity, attributesForPosition);
 			}
 			markers.put(res, cme);
+			if (markerIndex != null && markerIndex.getResource().equals(resource)) {
+				markerIndex.add(res, cme);
+			}
 		} catch (CoreException e) {
 			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error creating validation marker.", e)); //$NON-NLS-0$
 		}
@@ -264,7 +327,7 @@ public class BasicNodeValidator implements ValidationSupport {
 		Map<String, Object> attributesForPosition = new HashMap<>();
 		Integer lineNumber = -1;
 		if (cme.getId() != null) {
-			List<Integer> foundIds = findLineNumbers("id=\"" + cme.getId() + "\"", cme.getCamelFile().getDocumentAsXML());
+			List<Integer> foundIds = findLineNumbers("id=\"" + cme.getId() + "\"", getDocumentAsXML(cme.getCamelFile()));
 			if (foundIds.size() == 1) {
 				lineNumber = foundIds.get(0);
 				attributesForPosition.put(IMarker.LINE_NUMBER, lineNumber);
@@ -279,6 +342,14 @@ public class BasicNodeValidator implements ValidationSupport {
 		return attributesForPosition;
 	}
 
+	private String getDocumentAsXML(CamelFile camelFile) {
+		if (markerIndex == null) {
+			return camelFile.getDocumentAsXML();
+		}
+		// the document does not change during a validation run
+		return documentsAsXML.computeIfAbsent(camelFile, CamelFile::getDocumentAsXML);
+	}
+
 	public List<Integer> findLineNumbers(String word, String text) {
 		List<Integer> results = new ArrayList<>();
 		try(LineNumberReader rdr = new LineNumberReader(new StringReader(text))) {
@@ -309,15 +380,61 @@ public class BasicNodeValidator implements ValidationSupport {
 
 	/**
 	 * @param cme
+	 * @return the ids of the markers created for the element during the
+	 *         current run
 	 */
-	public void clearMarkers(AbstractCamelModelElement cme) {
-		for (IMarker marker : getMarkersFor(cme)) {
-			try {
-				marker.delete();
-			} catch (CoreException e) {
-				CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error while deleting validation marker.", e)); //$NON-NLS-0$
+	public long[] getMarkerIds(AbstractCamelModelElement cme) {
+		if (markerIndex == null) {
+			return new long[0];
+		}
+		return markerIndex.getMarkersCreatedFor(cme).stream().mapToLong(IMarker::getId).toArray();
+	}
+
+	/**
+	 * associates the markers of a previous validation with the element
+	 * replacing the one they have been created for
+	 * 
+	 * @param markerIds
+	 * @param cme
+	 */
+	public void assignMarkers(long[] markerIds, AbstractCamelModelElement cme) {
+		if (markerIndex == null) {
+			return;
+		}
+		for (long markerId : markerIds) {
+			IMarker marker = markerIndex.getResource().getMarker(markerId);
+			if (marker.exists()) {
+				markers.put(marker, cme);
+				markerIndex.add(marker, cme);
 			}
 		}
 	}
 
+	/**
+	 * deletes the markers of the resource of the current run with the given ids
+	 * 
+	 * @param markerIds
+	 */
+	public void clearMarkersById(long[] markerIds) {
+		if (markerIndex == null || markerIds.length == 0) {
+			return;
+		}
+		runInWorkspace(monitor -> {
+			for (long markerId : markerIds) {
+				deleteMarker(markerIndex.getResource().getMarker(markerId), "Error while deleting validation marker."); //$NON-NLS-1$
+			}
+		});
+	}
+
+	/**
+	 * @param cme
+	 */
+	public void clearMarkers(AbstractCamelModelElement cme) {
+		runInWorkspace(monitor -> {
+			for (IMarker marker : getMarkersFor(cme)) {
+				deleteMarker(marker, "Error while deleting validation marker."); //$NON-NLS-1$
+			}
+		});
+	}
+
 }
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.diagram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+
+/**
+ * the Fuse validation markers of a resource indexed by Camel id and by the
+ * element they have been created for.
+ *
+ * The index is built with a single marker query and then kept up to date by
+ * the validator while it creates and deletes markers, so looking up the
+ * markers of an element does not need to scan all markers of the resource.
+ */
+public class MarkerIndex {
+
+	private final IResource resource;
+	private final Set<IMarker> allMarkers = new HashSet<>();
+	private final Map<String, Set<IMarker>> markersById = new HashMap<>();
+	private final Map<AbstractCamelModelElement, Set<IMarker>> markersByElement = new HashMap<>();
+	private final Map<IMarker, String> idsByMarker = new HashMap<>();
+	private final Map<IMarker, AbstractCamelModelElement> elementsByMarker = new HashMap<>();
+
+	/**
+	 * @param resource			the resource
+	 * @param elementsByMarker	the elements the existing markers have been created for
+	 * @throws CoreException
+	 */
+	public MarkerIndex(IResource resource, Map<IMarker, AbstractCamelModelElement> elementsByMarker) throws CoreException {
+		this.resource = resource;
+		for (IMarker marker : resource.findMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE)) {
+			add(marker, elementsByMarker.get(marker));
+		}
+	}
+
+	public IResource getResource() {
+		return resource;
+	}
+
+	/**
+	 * @return	the number of markers of the resource
+	 */
+	public int size() {
+		return allMarkers.size();
+	}
+
+	/**
+	 * @param camelModelElement	the element
+	 * @return	the markers having the id of the element or created for it
+	 */
+	public Set<IMarker> getMarkersFor(AbstractCamelModelElement camelModelElement) {
+		Set<IMarker> res = new HashSet<>();
+		if (camelModelElement.getId() != null) {
+			res.addAll(markersById.getOrDefault(camelModelElement.getId(), Collections.emptySet()));
+		}
+		res.addAll(markersByElement.getOrDefault(camelModelElement, Collections.emptySet()));
+		return res;
+	}
+
+	/**
+	 * @param camelModelElement	the element
+	 * @return	the markers created for the element
+	 */
+	public Set<IMarker> getMarkersCreatedFor(AbstractCamelModelElement camelModelElement) {
+		return new HashSet<>(markersByElement.getOrDefault(camelModelElement, Collections.emptySet()));
+	}
+
+	/**
+	 * registers a marker or associates an existing one with another element
+	 *
+	 * @param marker	the marker
+	 * @param camelModelElement	the element it has been created for, may be null
+	 */
+	public void add(IMarker marker, AbstractCamelModelElement camelModelElement) {
+		if (allMarkers.add(marker)) {
+			String id = marker.getAttribute(IFuseMarker.CAMEL_ID, null);
+			if (id != null) {
+				idsByMarker.put(marker, id);
+				markersById.computeIfAbsent(id, key -> new HashSet<>()).add(marker);
+			}
+		}
+		AbstractCamelModelElement previousElement = camelModelElement != null ? elementsByMarker.put(marker, camelModelElement) : null;
+		if (previousElement != null && previousElement != camelModelElement) {
+			removeFrom(markersByElement, previousElement, marker);
+		}
+		if (camelModelElement != null) {
+			markersByElement.computeIfAbsent(camelModelElement, key -> new HashSet<>()).add(marker);
+		}
+	}
+
+	/**
+	 * @param marker	the deleted marker
+	 */
+	public void remove(IMarker marker) {
+		if (allMarkers.remove(marker)) {
+			String id = idsByMarker.remove(marker);
+			if (id != null) {
+				removeFrom(markersById, id, marker);
+			}
+			AbstractCamelModelElement element = elementsByMarker.remove(marker);
+			if (element != null) {
+				removeFrom(markersByElement, element, marker);
+			}
+		}
+	}
+
+	private static <K> void removeFrom(Map<K, Set<IMarker>> index, K key, IMarker marker) {
+		Set<IMarker> markers = index.get(key);
+		if (markers != null) {
+			markers.remove(marker);
+			if (markers.isEmpty()) {
+				index.remove(key);
+			}
+		}
+	}
+}
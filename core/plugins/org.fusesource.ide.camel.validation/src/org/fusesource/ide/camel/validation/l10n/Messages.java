@@ -24,6 +24,10 @@ public class Messages extends NLS {
 	public static String validationSameComponentIdAndComponentDefinitionId;
 	public static String numberValidatorMessageErrorForDouble;
 	public static String numberValidatorMessageErrorForFloat;
+	public static String parallelValidationJobGroupName;
+	public static String parallelValidationJobName;
+	public static String validationPreferencePageDescription;
+	public static String validationPreferencePageParallelFilesSetting;
 
 	static {
 		// initialize resource bundle
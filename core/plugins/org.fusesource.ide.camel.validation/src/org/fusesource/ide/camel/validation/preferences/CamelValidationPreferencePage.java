@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.preferences;
+
+import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
+import org.eclipse.ui.IWorkbench;
+import org.eclipse.ui.IWorkbenchPreferencePage;
+import org.fusesource.ide.camel.validation.l10n.Messages;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+
+/**
+ * preference page of the validation of Camel files
+ */
+public class CamelValidationPreferencePage extends FieldEditorPreferencePage implements IWorkbenchPreferencePage {
+
+	public CamelValidationPreferencePage() {
+		super(GRID);
+	}
+
+	@Override
+	public void createFieldEditors() {
+		IntegerFieldEditor parallelValidationEditor = new IntegerFieldEditor(
+				PreferencesConstants.VALIDATION_PARALLEL_FILES, Messages.validationPreferencePageParallelFilesSetting,
+				getFieldEditorParent());
+		parallelValidationEditor.setValidRange(1, 64);
+
+		addField(parallelValidationEditor);
+	}
+
+	@Override
+	public void init(IWorkbench workbench) {
+		setPreferenceStore(PreferenceManager.getInstance().getUnderlyingStorage());
+		setDescription(Messages.validationPreferencePageDescription);
+	}
+}
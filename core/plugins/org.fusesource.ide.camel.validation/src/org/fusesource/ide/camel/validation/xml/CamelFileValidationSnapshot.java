@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.xml;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelContextElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelFile;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+
+/**
+ * fingerprints of all elements of a Camel file taken when it was validated.
+ *
+ * Comparing the snapshot of the previous validation with the current one
+ * tells which elements changed and which unchanged elements depend on them
+ * (same id, reference to a changed endpoint, dataformat or global bean).
+ * Only those have to be validated again.
+ *
+ * Once the validation is done, {@link #detach()} drops the references to the
+ * validated model, so a kept snapshot only consists of ids and hashes.
+ */
+public class CamelFileValidationSnapshot {
+
+	private static final String REF_PREFIX = "ref:"; //$NON-NLS-1$
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	private final WeakReference<CamelModel> camelModel;
+	private final long routeContainerHash;
+	private final Set<String> globalDefinitionIds;
+	private final Map<String, ElementState> elements = new LinkedHashMap<>();
+	private final Map<Node, Long> treeHashes = new IdentityHashMap<>();
+	private int markerCount;
+
+	/**
+	 * takes the fingerprints of all elements of the given file
+	 *
+	 * @param camelFile	the file
+	 */
+	public CamelFileValidationSnapshot(CamelFile camelFile) {
+		this.camelModel = new WeakReference<>(camelFile.getCamelModel());
+		AbstractCamelModelElement routeContainer = camelFile.getRouteContainer();
+		this.routeContainerHash = routeContainer != null && routeContainer.getXmlNode() != null ? ownHash(routeContainer.getXmlNode()) : 0L;
+		this.globalDefinitionIds = new HashSet<>(camelFile.getGlobalDefinitions().keySet());
+		Map<String, Integer> siblingIndexes = new HashMap<>();
+		for (AbstractCamelModelElement cme : camelFile.getChildElements()) {
+			collectChild("", cme, siblingIndexes);
+		}
+		treeHashes.clear();
+	}
+
+	/**
+	 * @return	the states of all elements in validation order
+	 */
+	public Collection<ElementState> getElements() {
+		return elements.values();
+	}
+
+	/**
+	 * @return	the states of the elements which are not part of this snapshot
+	 * 			anymore compared to the given previous one
+	 */
+	public List<ElementState> getRemovedElements(CamelFileValidationSnapshot previous) {
+		List<ElementState> removed = new ArrayList<>();
+		for (Map.Entry<String, ElementState> entry : previous.elements.entrySet()) {
+			if (!elements.containsKey(entry.getKey())) {
+				removed.add(entry.getValue());
+			}
+		}
+		return removed;
+	}
+
+	/**
+	 * determines the elements which need to be validated again. The elements
+	 * which do not need validation take over the validation state of the
+	 * previous snapshot.
+	 *
+	 * @param previous	the snapshot of the previous validation
+	 * @return	the states of the elements to validate, or null if the whole
+	 * 			file has to be validated because a setting affecting all elements changed
+	 */
+	public List<ElementState> diff(CamelFileValidationSnapshot previous) {
+		if (previous.camelModel.get() != camelModel.get() || previous.routeContainerHash != routeContainerHash) {
+			return null;
+		}
+		Set<String> changedIds = getChangedIds(previous);
+		List<ElementState> toValidate = new ArrayList<>();
+		for (Map.Entry<String, ElementState> entry : elements.entrySet()) {
+			ElementState current = entry.getValue();
+			ElementState old = previous.elements.get(entry.getKey());
+			if (old == null || current.needsValidation(old, changedIds)) {
+				current.replaced = old;
+				toValidate.add(current);
+			} else {
+				current.takeOver(old);
+			}
+		}
+		return toValidate;
+	}
+
+	private Set<String> getChangedIds(CamelFileValidationSnapshot previous) {
+		Set<String> changedIds = new HashSet<>();
+		for (String id : globalDefinitionIds) {
+			if (!previous.globalDefinitionIds.contains(id)) {
+				changedIds.add(id);
+			}
+		}
+		for (String id : previous.globalDefinitionIds) {
+			if (!globalDefinitionIds.contains(id)) {
+				changedIds.add(id);
+			}
+		}
+		for (Map.Entry<String, ElementState> entry : elements.entrySet()) {
+			ElementState old = previous.elements.get(entry.getKey());
+			if (old == null || old.ownHash != entry.getValue().ownHash) {
+				addId(changedIds, entry.getValue().id);
+				addId(changedIds, old != null ? old.id : null);
+			}
+		}
+		for (ElementState removed : getRemovedElements(previous)) {
+			addId(changedIds, removed.id);
+		}
+		return changedIds;
+	}
+
+	private static void addId(Set<String> ids, String id) {
+		if (id != null) {
+			ids.add(id);
+		}
+	}
+
+	/**
+	 * drops the references to the validated model, keeping only the ids,
+	 * hashes and validation results of the elements
+	 */
+	public void detach() {
+		for (ElementState element : elements.values()) {
+			element.element = null;
+			element.replaced = null;
+		}
+	}
+
+	public int getMarkerCount() {
+		return markerCount;
+	}
+
+	public void setMarkerCount(int markerCount) {
+		this.markerCount = markerCount;
+	}
+
+	private void collectChild(String parentKey, AbstractCamelModelElement child, Map<String, Integer> siblingIndexes) {
+		// position among the siblings of the same kind keeps keys stable when
+		// elements of another kind are inserted
+		String tagName = getTagName(child);
+		int index = siblingIndexes.merge(tagName, 1, Integer::sum) - 1;
+		collect(child, String.format("%s/%s[%d]", parentKey, tagName, index)); //$NON-NLS-1$
+	}
+
+	/**
+	 * walks the elements in the same order as the validation does
+	 */
+	private void collect(AbstractCamelModelElement cme, String key) {
+		elements.put(key, new ElementState(cme, cme.getXmlNode()));
+		Map<String, Integer> siblingIndexes = new HashMap<>();
+		for (AbstractCamelModelElement child : cme.getChildElements()) {
+			collectChild(key, child, siblingIndexes);
+		}
+		if (cme instanceof CamelContextElement) {
+			for (Map.Entry<String, AbstractCamelModelElement> endpoint : ((CamelContextElement) cme).getEndpointDefinitions().entrySet()) {
+				collect(endpoint.getValue(), key + "/endpoint:" + endpoint.getKey()); //$NON-NLS-1$
+			}
+			for (Map.Entry<String, AbstractCamelModelElement> dataformat : ((CamelContextElement) cme).getDataformats().entrySet()) {
+				collect(dataformat.getValue(), key + "/dataFormat:" + dataformat.getKey()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private static String getTagName(AbstractCamelModelElement cme) {
+		Node node = cme.getXmlNode();
+		return node != null ? node.getNodeName() : cme.getNodeTypeId();
+	}
+
+	/**
+	 * hash of the attributes and direct text of the node
+	 */
+	private static long ownHash(Node node) {
+		long hash = hash(FNV_OFFSET, node.getNodeName());
+		NamedNodeMap attributes = node.getAttributes();
+		if (attributes != null) {
+			Map<String, String> sorted = new TreeMap<>();
+			for (int i = 0; i < attributes.getLength(); i++) {
+				Node attribute = attributes.item(i);
+				sorted.put(attribute.getNodeName(), attribute.getNodeValue());
+			}
+			for (Map.Entry<String, String> attribute : sorted.entrySet()) {
+				hash = hash(hash(hash, attribute.getKey()), attribute.getValue());
+			}
+		}
+		for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child.getNodeType() == Node.TEXT_NODE || child.getNodeType() == Node.CDATA_SECTION_NODE) {
+				hash = hash(hash, child.getNodeValue().trim());
+			}
+		}
+		return hash;
+	}
+
+	/**
+	 * hash of the node including all nested nodes, computed only once per node
+	 */
+	private long treeHash(Node node) {
+		Long cached = treeHashes.get(node);
+		if (cached != null) {
+			return cached;
+		}
+		long hash = ownHash(node);
+		for (Node child = node.getFirstChild(); child != null; child = child.getNextSibling()) {
+			if (child.getNodeType() == Node.ELEMENT_NODE) {
+				hash = (hash ^ treeHash(child)) * FNV_PRIME;
+			}
+		}
+		treeHashes.put(node, hash);
+		return hash;
+	}
+
+	private static long hash(long hash, String value) {
+		long h = hash;
+		if (value != null) {
+			for (int i = 0; i < value.length(); i++) {
+				h = (h ^ value.charAt(i)) * FNV_PRIME;
+			}
+		}
+		// separator so that "ab"+"c" and "a"+"bc" differ
+		return (h ^ 0xff) * FNV_PRIME;
+	}
+
+	/**
+	 * validation state of a single element
+	 */
+	public class ElementState {
+
+		private AbstractCamelModelElement element;
+		private final String id;
+		private final boolean hasXmlNode;
+		private final long ownHash;
+		private final long treeHash;
+		private final Set<String> references = new HashSet<>();
+		private ElementState replaced;
+		private long[] markerIds = new long[0];
+		private int errors;
+		private int warnings;
+		private int infos;
+
+		ElementState(AbstractCamelModelElement element, Node node) {
+			this.element = element;
+			this.id = element.getId();
+			this.hasXmlNode = node != null;
+			this.ownHash = hasXmlNode ? ownHash(node) : 0L;
+			this.treeHash = hasXmlNode ? treeHash(node) : 0L;
+			NamedNodeMap attributes = hasXmlNode ? node.getAttributes() : null;
+			for (int i = 0; attributes != null && i < attributes.getLength(); i++) {
+				String value = attributes.item(i).getNodeValue();
+				references.add(value.startsWith(REF_PREFIX) ? value.substring(REF_PREFIX.length()) : value);
+			}
+		}
+
+		private boolean needsValidation(ElementState old, Set<String> changedIds) {
+			if (!hasXmlNode || !old.hasXmlNode || old.treeHash != treeHash) {
+				return true;
+			}
+			if (id != null && changedIds.contains(id)) {
+				// uniqueness of the id may have changed
+				return true;
+			}
+			for (String reference : references) {
+				if (changedIds.contains(reference)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		private void takeOver(ElementState old) {
+			// the markers of the previous validation are still valid
+			this.markerIds = old.markerIds;
+			this.errors = old.errors;
+			this.warnings = old.warnings;
+			this.infos = old.infos;
+		}
+
+		/**
+		 * @return	the element, or null once the snapshot is detached
+		 */
+		public AbstractCamelModelElement getElement() {
+			return element;
+		}
+
+		/**
+		 * @return	the state of the previous validation of the element or null
+		 */
+		public ElementState getReplaced() {
+			return replaced;
+		}
+
+		/**
+		 * @return	the ids of the markers of the element
+		 */
+		public long[] getMarkerIds() {
+			return markerIds;
+		}
+
+		public void setMarkerIds(long[] markerIds) {
+			this.markerIds = markerIds;
+		}
+
+		public void setResult(int errors, int warnings, int infos) {
+			this.errors = errors;
+			this.warnings = warnings;
+			this.infos = infos;
+			this.replaced = null;
+		}
+
+		public int getErrors() {
+			return errors;
+		}
+
+		public int getWarnings() {
+			return warnings;
+		}
+
+		public int getInfos() {
+			return infos;
+		}
+	}
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.xml;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.fusesource.ide.camel.validation.CamelValidationActivator;
+import org.jboss.tools.foundation.core.plugin.log.StatusFactory;
+
+/**
+ * the snapshots of the last validation per file. Snapshots of files which are
+ * deleted or moved and of projects which are closed or deleted are dropped.
+ */
+public class CamelFileValidationSnapshots implements IResourceChangeListener {
+
+	private static final CamelFileValidationSnapshots INSTANCE = new CamelFileValidationSnapshots();
+
+	private final Map<IPath, CamelFileValidationSnapshot> snapshots = new ConcurrentHashMap<>();
+
+	public static CamelFileValidationSnapshots getInstance() {
+		return INSTANCE;
+	}
+
+	/**
+	 * @param path	the full path of the file
+	 * @return	the snapshot of the last validation or null
+	 */
+	public CamelFileValidationSnapshot get(IPath path) {
+		return snapshots.get(path);
+	}
+
+	/**
+	 * @param path	the full path of the file
+	 * @param snapshot	the snapshot, which must not reference the validated model anymore
+	 */
+	public void put(IPath path, CamelFileValidationSnapshot snapshot) {
+		snapshots.put(path, snapshot);
+	}
+
+	/**
+	 * drops the snapshots of the resource and all resources below it
+	 *
+	 * @param path	the full path of the resource
+	 */
+	public void remove(IPath path) {
+		snapshots.keySet().removeIf(path::isPrefixOf);
+	}
+
+	public int size() {
+		return snapshots.size();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.eclipse.core.resources.IResourceChangeListener#resourceChanged(org.eclipse.core.resources.IResourceChangeEvent)
+	 */
+	@Override
+	public void resourceChanged(IResourceChangeEvent event) {
+		if (snapshots.isEmpty()) {
+			return;
+		}
+		if (event.getType() == IResourceChangeEvent.PRE_CLOSE || event.getType() == IResourceChangeEvent.PRE_DELETE) {
+			if (event.getResource() != null) {
+				remove(event.getResource().getFullPath());
+			}
+		} else if (event.getDelta() != null) {
+			try {
+				event.getDelta().accept(delta -> {
+					if (delta.getKind() == IResourceDelta.REMOVED) {
+						// also sent for the old location of moved resources
+						remove(delta.getFullPath());
+						return false;
+					}
+					return delta.getResource().getType() != IResource.FILE;
+				});
+			} catch (CoreException e) {
+				CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error dropping Fuse validation snapshots.", e)); //$NON-NLS-0$
+			}
+		}
+	}
+}
@@ -10,24 +10,78 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.validation.xml;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRunnable;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.wst.validation.AbstractValidator;
 import org.eclipse.wst.validation.ValidationEvent;
 import org.eclipse.wst.validation.ValidationResult;
 import org.eclipse.wst.validation.ValidationState;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
 import org.fusesource.ide.camel.model.service.core.io.CamelIOHandler;
-import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
-import org.fusesource.ide.camel.model.service.core.model.CamelContextElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelFile;
+import org.fusesource.ide.camel.model.service.core.util.CamelFilesFinder;
+import org.fusesource.ide.camel.model.service.core.util.ComponentJarIndex;
 import org.fusesource.ide.camel.validation.CamelValidationActivator;
 import org.fusesource.ide.camel.validation.diagram.BasicNodeValidator;
 import org.fusesource.ide.camel.validation.diagram.IFuseMarker;
+import org.fusesource.ide.camel.validation.l10n.Messages;
+import org.fusesource.ide.camel.validation.xml.CamelFileValidationSnapshot.ElementState;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
 import org.jboss.tools.foundation.core.plugin.log.StatusFactory;
+import org.w3c.dom.Document;
 
 public class XMLCamelRoutesValidator extends AbstractValidator {
 
+	/**
+	 * prefix of the validation state entries holding the job group of a
+	 * project whose files are validated in parallel. The job group is kept in
+	 * the state of the validation run so that concurrent runs for the same
+	 * project do not share it.
+	 */
+	private static final String PARALLEL_VALIDATION_STATE_ID = CamelValidationActivator.PLUGIN_ID + ".parallelValidation/"; //$NON-NLS-1$
+
+	/**
+	 * prefix of the validation state entries holding detached copies of the
+	 * documents of the editors showing saved files of a project
+	 */
+	private static final String EDITOR_DOCUMENTS_STATE_ID = CamelValidationActivator.PLUGIN_ID + ".editorDocuments/"; //$NON-NLS-1$
+
+	/**
+	 * how long a validation run waits for the UI thread to copy the documents
+	 * of the editors before it parses all files from disk
+	 */
+	private static final long EDITOR_DOCUMENTS_TIMEOUT_MILLIS = 1000;
+
 	/*
 	 * (non-Javadoc)
 	 * 
@@ -39,23 +93,198 @@ public class XMLCamelRoutesValidator extends AbstractValidator {
 	@Override
 	public ValidationResult validate(ValidationEvent event, ValidationState state, IProgressMonitor monitor) {
 		IResource resource = event.getResource();
-		try {
-			resource.deleteMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE);
-		} catch (CoreException e) {
-			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error deleting Fuse validation markers.", e)); //$NON-NLS-0$
-		}
-
 		ValidationResult validationResult = super.validate(event, state, monitor);
 		if (validationResult == null) {
 			validationResult = new ValidationResult();
 		}
-		CamelFile camelFile = loadCamelFile(monitor, resource);
-		if (camelFile != null) {
-			checkCamelFile(camelFile, validationResult, resource);
+		Document editorDocument = takeEditorDocument(state, resource);
+		ParallelValidation parallelValidation = getParallelValidation(state, resource.getProject());
+		if (parallelValidation != null) {
+			// the markers are written by the job, the build waits for it in validationFinishing
+			if (parallelValidation.awaitFreeSlot(monitor)) {
+				scheduleValidation(resource, editorDocument, parallelValidation);
+			}
+			parallelValidation.transferCounts(validationResult);
+		} else {
+			validateFile(resource, editorDocument, validationResult, monitor);
 		}
 		return validationResult;
 	}
 
+	@Override
+	public void validationStarting(IProject project, ValidationState state, IProgressMonitor monitor) {
+		super.validationStarting(project, state, monitor);
+		if (project != null) {
+			// jars may have been rebuilt without a classpath change
+			ComponentJarIndex.getInstance().invalidateIfModified(project);
+		}
+		int maxParallelFiles = getMaxParallelFiles();
+		if (project != null && state != null && maxParallelFiles > 1) {
+			state.put(getParallelValidationStateId(project), new ParallelValidation(
+					new JobGroup(NLS.bind(Messages.parallelValidationJobGroupName, project.getName()), maxParallelFiles, 0), maxParallelFiles));
+		}
+		if (project != null && state != null && PlatformUI.isWorkbenchRunning()) {
+			state.put(getEditorDocumentsStateId(project), copyEditorDocuments(project));
+		}
+	}
+
+	@Override
+	public void validationFinishing(IProject project, ValidationState state, IProgressMonitor monitor) {
+		ParallelValidation parallelValidation = getParallelValidation(state, project);
+		if (parallelValidation != null) {
+			state.put(getParallelValidationStateId(project), null);
+			JobGroup jobGroup = parallelValidation.getJobGroup();
+			try {
+				jobGroup.join(0, monitor);
+			} catch (OperationCanceledException e) {
+				jobGroup.cancel();
+			} catch (InterruptedException e) {
+				jobGroup.cancel();
+				Thread.currentThread().interrupt();
+			}
+		}
+		if (project != null && state != null) {
+			state.put(getEditorDocumentsStateId(project), null);
+		}
+		super.validationFinishing(project, state, monitor);
+	}
+
+	@Override
+	public void clean(IProject project, ValidationState state, IProgressMonitor monitor) {
+		super.clean(project, state, monitor);
+		CamelFileValidationSnapshots.getInstance().remove(project.getFullPath());
+	}
+
+	/**
+	 * @return the parallel validation of the files of the project within the
+	 * 			given validation run, or null
+	 */
+	ParallelValidation getParallelValidation(ValidationState state, IProject project) {
+		if (state == null || project == null) {
+			return null;
+		}
+		Object parallelValidation = state.get(getParallelValidationStateId(project));
+		return parallelValidation instanceof ParallelValidation ? (ParallelValidation) parallelValidation : null;
+	}
+
+	private static String getParallelValidationStateId(IProject project) {
+		return PARALLEL_VALIDATION_STATE_ID + project.getName();
+	}
+
+	private static String getEditorDocumentsStateId(IProject project) {
+		return EDITOR_DOCUMENTS_STATE_ID + project.getName();
+	}
+
+	/**
+	 * copies the documents of the editors showing saved files of the project,
+	 * so that their models are built without parsing the files again. The
+	 * copies are detached from the editors, whose models are changed in the UI
+	 * thread, and are taken once per validation run in a short UI runnable.
+	 * Files with unsaved changes are validated as saved on disk.
+	 * 
+	 * @param project
+	 * @return the copies by file path, empty if the UI thread is busy
+	 */
+	private Map<IPath, Document> copyEditorDocuments(IProject project) {
+		CompletableFuture<Map<IPath, Document>> documents = new CompletableFuture<>();
+		Runnable copyDocuments = () -> {
+			Map<IPath, Document> copies = new ConcurrentHashMap<>();
+			try {
+				CamelFilesFinder.getSavedFilesFromEditors(project).forEach((file, camelFile) -> {
+					if (camelFile.getDocument() != null) {
+						copies.put(file.getFullPath(), (Document) camelFile.getDocument().cloneNode(true));
+					}
+				});
+			} finally {
+				documents.complete(copies);
+			}
+		};
+		Display display = PlatformUI.getWorkbench().getDisplay();
+		if (Display.getCurrent() == display) {
+			copyDocuments.run();
+		} else if (!display.isDisposed()) {
+			// never wait on the UI thread without a bound, it may wait for the workspace held by the build
+			display.asyncExec(() -> {
+				if (!documents.isDone()) {
+					copyDocuments.run();
+				}
+			});
+		} else {
+			return Collections.emptyMap();
+		}
+		try {
+			return documents.get(EDITOR_DOCUMENTS_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+		} catch (TimeoutException | ExecutionException e) {
+			documents.cancel(false);
+		} catch (InterruptedException e) {
+			documents.cancel(false);
+			Thread.currentThread().interrupt();
+		}
+		return Collections.emptyMap();
+	}
+
+	/**
+	 * @return the copy of the document of the editor showing the file, taken
+	 *         at the start of the validation run, or null
+	 */
+	private Document takeEditorDocument(ValidationState state, IResource resource) {
+		if (state == null || resource.getProject() == null) {
+			return null;
+		}
+		Object documents = state.get(getEditorDocumentsStateId(resource.getProject()));
+		// each copy becomes part of the model of one validation
+		return documents instanceof Map<?, ?> ? (Document) ((Map<?, ?>) documents).remove(resource.getFullPath()) : null;
+	}
+
+	private void scheduleValidation(IResource resource, Document editorDocument, ParallelValidation parallelValidation) {
+		Job job = new Job(NLS.bind(Messages.parallelValidationJobName, resource.getName())) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				ValidationResult fileResult = new ValidationResult();
+				try {
+					validateFile(resource, editorDocument, fileResult, monitor);
+				} finally {
+					parallelValidation.fileValidated(fileResult);
+				}
+				return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.setRule(new CamelFileValidationRule(resource.getFullPath()));
+		job.setJobGroup(parallelValidation.getJobGroup());
+		job.schedule();
+	}
+
+	private int getMaxParallelFiles() {
+		PreferenceManager preferences = PreferenceManager.getInstance();
+		return preferences.containsPreference(PreferencesConstants.VALIDATION_PARALLEL_FILES)
+				? preferences.loadPreferenceAsInt(PreferencesConstants.VALIDATION_PARALLEL_FILES) : 1;
+	}
+
+	private void validateFile(IResource resource, Document editorDocument, ValidationResult validationResult, IProgressMonitor monitor) {
+		long start = System.currentTimeMillis();
+		CamelFile camelFile = editorDocument != null
+				? new CamelIOHandler().loadCamelModel(editorDocument, resource)
+				: loadCamelFile(monitor, resource);
+		long loaded = System.currentTimeMillis();
+		AtomicInteger validatedElements = new AtomicInteger();
+		try {
+			// batch all marker changes into a single resource change event
+			ResourcesPlugin.getWorkspace().run((IWorkspaceRunnable) runnableMonitor -> {
+				if (camelFile != null) {
+					validatedElements.set(checkCamelFile(camelFile, validationResult, resource));
+				} else {
+					CamelFileValidationSnapshots.getInstance().remove(resource.getFullPath());
+					deleteMarkers(resource);
+				}
+			}, null, IWorkspace.AVOID_UPDATE, monitor);
+		} catch (CoreException e) {
+			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error updating Fuse validation markers.", e)); //$NON-NLS-0$
+		}
+		Trace.tracePerformance(() -> String.format("Validated %s in %d ms (loading %d ms, %d elements validated)", //$NON-NLS-1$
+				resource.getFullPath(), System.currentTimeMillis() - start, loaded - start, validatedElements.get()));
+	}
+
 	/**
 	 * /!\ Public for test purpose
 	 * 
@@ -68,37 +297,163 @@ public class XMLCamelRoutesValidator extends AbstractValidator {
 	}
 
 	/**
+	 * validates the elements which changed since the last validation of the
+	 * file and the elements depending on them, or all elements if there is no
+	 * usable snapshot of the last validation
+	 * 
 	 * @param camelFile
 	 * @param validationResult
 	 * @param resource
+	 * @return the number of validated elements
+	 * @throws CoreException
 	 */
-	private void checkCamelFile(CamelFile camelFile, ValidationResult validationResult, IResource resource) {
-		for (AbstractCamelModelElement cme : camelFile.getChildElements()) {
-			checkCamelModelElement(cme, validationResult, resource);
+	private int checkCamelFile(CamelFile camelFile, ValidationResult validationResult, IResource resource) throws CoreException {
+		CamelFileValidationSnapshot previous = CamelFileValidationSnapshots.getInstance().get(resource.getFullPath());
+		CamelFileValidationSnapshot current = new CamelFileValidationSnapshot(camelFile);
+		BasicNodeValidator validator = new BasicNodeValidator(resource);
+		Collection<ElementState> toValidate = null;
+		if (previous != null && previous.getMarkerCount() == validator.getMarkerCount()) {
+			toValidate = current.diff(previous);
+		}
+		if (toValidate == null) {
+			deleteMarkers(resource);
+			validator = new BasicNodeValidator(resource);
+			toValidate = current.getElements();
+		} else {
+			for (ElementState removed : current.getRemovedElements(previous)) {
+				validator.clearMarkersById(removed.getMarkerIds());
+			}
+			Set<ElementState> changed = new HashSet<>(toValidate);
+			for (ElementState element : current.getElements()) {
+				if (!changed.contains(element)) {
+					// the markers of unchanged elements now belong to the element of the new model
+					validator.assignMarkers(element.getMarkerIds(), element.getElement());
+				}
+			}
+		}
+		for (ElementState element : toValidate) {
+			ElementState replaced = element.getReplaced();
+			checkCamelModelElement(validator, element);
+			element.setMarkerIds(validator.getMarkerIds(element.getElement()));
+			if (replaced != null) {
+				// the markers created for the element of the previous model which were not reused
+				validator.clearMarkersById(LongStream.of(replaced.getMarkerIds())
+						.filter(id -> LongStream.of(element.getMarkerIds()).noneMatch(reused -> reused == id))
+						.toArray());
+			}
+		}
+		for (ElementState element : current.getElements()) {
+			validationResult.incrementError(element.getErrors());
+			validationResult.incrementWarning(element.getWarnings());
+			validationResult.incrementInfo(element.getInfos());
+		}
+		current.setMarkerCount(validator.getMarkerCount());
+		current.detach();
+		CamelFileValidationSnapshots.getInstance().put(resource.getFullPath(), current);
+		return toValidate.size();
+	}
+
+	private void checkCamelModelElement(BasicNodeValidator validator, ElementState element) {
+		org.fusesource.ide.camel.validation.ValidationResult result = validator.validate(element.getElement());
+		element.setResult(result.getErrorCount(), result.getWarningCount(), result.getInformationCount());
+	}
+
+	private void deleteMarkers(IResource resource) {
+		try {
+			resource.deleteMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE);
+		} catch (CoreException e) {
+			CamelValidationActivator.getDefault().getLog().log(StatusFactory.errorStatus(CamelValidationActivator.PLUGIN_ID, "Error deleting Fuse validation markers.", e)); //$NON-NLS-0$
 		}
 	}
 
 	/**
-	 * @param cme
-	 * @param validationResult
-	 * @param resource
-	 * @param locator
+	 * the files of a project validated in parallel within one validation run.
+	 * WST only takes problem counts from the results returned by validate(),
+	 * so the counts of the validated files are handed over with the result of
+	 * the next file. At most as many files as validated at once are pending,
+	 * the next file waits for one of them.
 	 */
-	private void checkCamelModelElement(AbstractCamelModelElement cme, ValidationResult validationResult, IResource resource) {
-		org.fusesource.ide.camel.validation.ValidationResult result = new BasicNodeValidator().validate(cme);
-		validationResult.incrementError(result.getErrorCount());
-		validationResult.incrementWarning(result.getWarningCount());
-		validationResult.incrementInfo(result.getInformationCount());
-		for (AbstractCamelModelElement cmeChild : cme.getChildElements()) {
-			checkCamelModelElement(cmeChild, validationResult, resource);
-		}
-		if (cme instanceof CamelContextElement) {
-			for (AbstractCamelModelElement globalEndpoint : ((CamelContextElement) cme).getEndpointDefinitions().values()) {
-				checkCamelModelElement(globalEndpoint, validationResult, resource);
+	static class ParallelValidation {
+
+		private final JobGroup jobGroup;
+		private final Semaphore slots;
+		private int errors;
+		private int warnings;
+		private int infos;
+
+		ParallelValidation(JobGroup jobGroup, int maxParallelFiles) {
+			this.jobGroup = jobGroup;
+			this.slots = new Semaphore(maxParallelFiles);
+		}
+
+		JobGroup getJobGroup() {
+			return jobGroup;
+		}
+
+		/**
+		 * waits until less files than validated at once are pending
+		 * 
+		 * @return false if the validation has been canceled meanwhile
+		 */
+		boolean awaitFreeSlot(IProgressMonitor monitor) {
+			try {
+				while (!slots.tryAcquire(100, TimeUnit.MILLISECONDS)) {
+					if (monitor != null && monitor.isCanceled()) {
+						return false;
+					}
+				}
+				return true;
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
 			}
-			for (AbstractCamelModelElement globalEndpoint : ((CamelContextElement) cme).getDataformats().values()) {
-				checkCamelModelElement(globalEndpoint, validationResult, resource);
+		}
+
+		/**
+		 * adds the counts of a validated file and frees its slot
+		 */
+		void fileValidated(ValidationResult fileResult) {
+			synchronized (this) {
+				errors += fileResult.getSeverityError();
+				warnings += fileResult.getSeverityWarning();
+				infos += fileResult.getSeverityInfo();
 			}
+			slots.release();
+		}
+
+		/**
+		 * moves the counts of the files validated so far to the given result
+		 */
+		synchronized void transferCounts(ValidationResult result) {
+			result.incrementError(errors);
+			result.incrementWarning(warnings);
+			result.incrementInfo(infos);
+			errors = 0;
+			warnings = 0;
+			infos = 0;
+		}
+	}
+
+	/**
+	 * makes sure a file is not validated by two jobs at the same time without
+	 * conflicting with the rules of the build
+	 */
+	private static class CamelFileValidationRule implements ISchedulingRule {
+
+		private final IPath path;
+
+		CamelFileValidationRule(IPath path) {
+			this.path = path;
+		}
+
+		@Override
+		public boolean contains(ISchedulingRule rule) {
+			return rule == this;
+		}
+
+		@Override
+		public boolean isConflicting(ISchedulingRule rule) {
+			return rule instanceof CamelFileValidationRule && path.equals(((CamelFileValidationRule) rule).path);
 		}
 	}
 
@@ -26,8 +26,13 @@ public interface PreferencesConstants {
 	static final String EDITOR_TEXT_COLOR = "diagramTextColorPreference";
 	static final String EDITOR_TABLE_CHART_BG_COLOR = "diagramTableChartBackgroundColorPreference";
 	static final String EDITOR_PREFERRED_LABEL = "diagramPreferredLabelPreference";
+	static final String EDITOR_LAZY_LOADING_THRESHOLD = "diagramLazyLoadingThresholdPreference";
 
 	static final String EDITOR_TABLE_HEALTH_CHART_COLOR_PREFIX = "tableHealthChartColor";
 
+	static final String CATALOG_LAZY_LOADING = "catalogLazyLoadingPreference";
+	static final String VALIDATION_PARALLEL_FILES = "validationParallelFilesPreference";
+	static final String JMX_REQUEST_CACHE_MILLIS = "jmxRequestCacheMillisPreference";
+
 	static final String DEPLOYMENT_STORAGE_KEY = "org.fusesource.ide.deployment.storage";
 }
@@ -41,6 +41,10 @@ public class PreferencesInitializer extends AbstractPreferenceInitializer {
 		store.setDefault(PreferencesConstants.EDITOR_FIGURE_BG_COLOR, "ED,F5,FC"); // E2,E5,E9
 		store.setDefault(PreferencesConstants.EDITOR_FIGURE_FG_COLOR, "128,128,128");
 		store.setDefault(PreferencesConstants.EDITOR_TEXT_COLOR, "0,0,0");
+		store.setDefault(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD, 500);
+		store.setDefault(PreferencesConstants.CATALOG_LAZY_LOADING, true);
+		store.setDefault(PreferencesConstants.VALIDATION_PARALLEL_FILES, Runtime.getRuntime().availableProcessors());
+		store.setDefault(PreferencesConstants.JMX_REQUEST_CACHE_MILLIS, 2000);
 
 		Display.getDefault().asyncExec( () -> {
 			Color c = Display.getDefault().getSystemColor(SWT.COLOR_WIDGET_LIGHT_SHADOW);
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
+import org.fusesource.ide.camel.model.service.core.catalog.dataformats.DataFormat;
+import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
+import org.fusesource.ide.camel.model.service.core.util.CamelComponentUtils;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CamelModelIndexTest {
+
+	private CamelModel model;
+	private Component file;
+
+	@Before
+	public void setup() throws IOException {
+		model = new CamelModel();
+		file = Component.getJSONFactoryInstance(new FileInputStream("testdata/file.json"));
+		file.setCustomComponentModelValue(Component.PROPERTY_ALTERNATIVE_SCHEMES, "file,localfile");
+		model.addComponent(file);
+		model.addDataFormat(DataFormat.getJSONFactoryInstance(new FileInputStream("testdata/base64.json")));
+		model.addEip(Eip.getJSONFactoryInstance(new FileInputStream("testdata/choice.json")));
+	}
+
+	@Test
+	public void testGetComponentForSchemeIgnoresCase() {
+		assertThat(model.getComponentForScheme("FiLe")).isSameAs(file);
+		assertThat(model.getComponentForScheme("unknown")).isNull();
+	}
+
+	@Test
+	public void testGetComponentForAlternativeScheme() {
+		assertThat(model.getComponentForAlternativeScheme("localfile")).isSameAs(file);
+		assertThat(model.getComponentForScheme("localfile")).isNull();
+		assertThat(CamelComponentUtils.getComponentClassForScheme("localfile", model)).isEqualTo(file.getClazz());
+	}
+
+	@Test
+	public void testGetComponentForClass() {
+		assertThat(model.getComponentForClass("org.apache.camel.component.file.FileComponent")).isSameAs(file);
+		assertThat(model.getComponentForClass("org.apache.camel.component.unknown.UnknownComponent")).isNull();
+	}
+
+	@Test
+	public void testLazyComponentIsIndexedByItsSummaryWithoutLoading() {
+		AtomicInteger loads = new AtomicInteger();
+		Component ftp = new Component();
+		ftp.setScheme("ftp");
+		ftp.setClazz("org.apache.camel.component.file.remote.FtpComponent");
+		model.addLazyComponent("ftp",
+				() -> new ComponentSummary("org.apache.camel.component.file.remote.FtpComponent", Arrays.asList("ftp", "ftps")),
+				() -> {
+					loads.incrementAndGet();
+					return ftp;
+				});
+
+		assertThat(model.getComponentForClass("org.apache.camel.component.file.FileComponent")).isSameAs(file);
+		assertThat(model.getComponentForAlternativeScheme("localfile")).isSameAs(file);
+		assertThat(loads.get()).isZero();
+
+		assertThat(model.getComponentForAlternativeScheme("ftps")).isSameAs(ftp);
+		assertThat(model.getComponentForClass("org.apache.camel.component.file.remote.FtpComponent")).isSameAs(ftp);
+		assertThat(loads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testIndexesAreUpdatedWhenModelChanges() {
+		assertThat(model.getDataFormatsByModelName("BASE64")).hasSize(1);
+		assertThat(model.getEipsByTag("routing")).hasSize(1);
+
+		DataFormat other = new DataFormat();
+		other.setName("otherBase64");
+		other.setModelName("base64");
+		model.addDataFormat(other);
+
+		assertThat(model.getDataFormatsByModelName("base64")).hasSize(2);
+	}
+}
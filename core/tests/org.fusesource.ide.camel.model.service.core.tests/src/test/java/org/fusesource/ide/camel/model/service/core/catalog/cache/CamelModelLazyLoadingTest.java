@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
+import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CamelModelLazyLoadingTest {
+
+	private CamelModel model;
+	private AtomicInteger componentLoads;
+
+	@Before
+	public void setup() {
+		model = new CamelModel();
+		componentLoads = new AtomicInteger();
+		model.addLazyComponent("file", () -> {
+			componentLoads.incrementAndGet();
+			return load("testdata/file.json");
+		});
+		model.addLazyEip("choice", () -> {
+			try {
+				return Eip.getJSONFactoryInstance(new FileInputStream("testdata/choice.json"));
+			} catch (FileNotFoundException e) {
+				throw new IllegalStateException(e);
+			}
+		});
+	}
+
+	@Test
+	public void testElementsAreLoadedOnFirstAccessOnly() {
+		assertThat(model.getComponentNames()).containsOnly("file");
+		assertThat(componentLoads.get()).isZero();
+
+		assertThat(model.getComponent("file").getScheme()).isEqualTo("file");
+		assertThat(model.getComponent("file")).isSameAs(model.getComponentForScheme("FILE"));
+		assertThat(componentLoads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testLoadPendingElements() {
+		assertThat(model.hasPendingElements()).isTrue();
+
+		model.loadPendingElements();
+
+		assertThat(model.hasPendingElements()).isFalse();
+		assertThat(model.getComponents()).hasSize(1);
+		assertThat(model.getEips()).hasSize(1);
+		assertThat(componentLoads.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testConcurrentAccessLoadsOnlyOnce() throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			List<Callable<Component>> requests = new ArrayList<>();
+			for (int i = 0; i < 20; i++) {
+				requests.add(() -> model.getComponent("file"));
+			}
+			requests.add(() -> {
+				model.loadPendingElements();
+				return model.getComponent("file");
+			});
+			Component first = model.getComponent("file");
+			for (Future<Component> result : executor.invokeAll(requests)) {
+				assertThat(result.get()).isSameAs(first);
+			}
+		} finally {
+			executor.shutdown();
+		}
+		assertThat(componentLoads.get()).isEqualTo(1);
+		assertThat(model.getComponentNames()).containsOnly("file");
+	}
+
+	@Test
+	public void testEagerlyAddedElementWinsOverLazyOne() {
+		Component eager = load("testdata/file.json");
+		model.addComponent(eager);
+
+		assertThat(model.getComponent("file")).isSameAs(eager);
+		assertThat(componentLoads.get()).isZero();
+	}
+
+	private Component load(String path) {
+		try {
+			return Component.getJSONFactoryInstance(new FileInputStream(path));
+		} catch (FileNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,67 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+
+import org.fusesource.ide.camel.model.service.core.catalog.components.Component;
+import org.fusesource.ide.camel.model.service.core.catalog.dataformats.DataFormat;
+import org.fusesource.ide.camel.model.service.core.catalog.eips.Eip;
+import org.fusesource.ide.camel.model.service.core.catalog.languages.Language;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CamelModelSnapshotTest {
+
+	private CamelModel model;
+
+	@Before
+	public void setup() throws IOException {
+		model = new CamelModel();
+		model.addComponent(Component.getJSONFactoryInstance(new FileInputStream("testdata/file.json")));
+		DataFormat base64 = DataFormat.getJSONFactoryInstance(new FileInputStream("testdata/base64.json"));
+		model.addDataFormat(base64);
+		model.addDataFormat("base64Alias", base64);
+		model.addEip(Eip.getJSONFactoryInstance(new FileInputStream("testdata/choice.json")));
+		model.addLanguage(Language.getJSONFactoryInstance(new FileInputStream("testdata/constant.json")));
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		model.getComponent("file").setSyntax("file:patchedSyntax");
+
+		CamelModel reloaded = CamelModelSnapshot.read(new ByteArrayInputStream(write("checksum")), "checksum");
+
+		Component file = reloaded.getComponent("file");
+		assertThat(file.getSyntax()).isEqualTo("file:patchedSyntax");
+		assertThat(file.getProperties()).hasSameSizeAs(model.getComponent("file").getProperties());
+		assertThat(file.getParameter("directoryName").getName()).isEqualTo("directoryName");
+		assertThat(reloaded.getDataFormat("base64Alias").getName()).isEqualTo("base64");
+		assertThat(reloaded.getEip("choice").getParameters()).hasSameSizeAs(model.getEip("choice").getParameters());
+		assertThat(reloaded.getLanguage("constant")).isNotNull();
+	}
+
+	@Test
+	public void testStaleSnapshotIsIgnored() throws IOException {
+		assertThat(CamelModelSnapshot.read(new ByteArrayInputStream(write("old")), "new")).isNull();
+	}
+
+	private byte[] write(String checksum) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		CamelModelSnapshot.write(model, checksum, out);
+		return out.toByteArray();
+	}
+}
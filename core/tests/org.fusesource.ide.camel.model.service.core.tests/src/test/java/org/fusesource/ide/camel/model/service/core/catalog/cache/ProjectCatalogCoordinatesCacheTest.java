@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.catalog.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.m2e.core.project.MavenProjectChangedEvent;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectCatalogCoordinatesCacheTest {
+
+	@Mock
+	private IProject project;
+	@Mock
+	private IFile pom;
+	@Mock
+	private IResourceChangeEvent closeEvent;
+
+	private Object generation = "1";
+
+	private ProjectCatalogCoordinatesCache cache = new ProjectCatalogCoordinatesCache() {
+
+		@Override
+		protected CamelCatalogCoordinates resolve(IProject project, IProgressMonitor monitor) {
+			return new CamelCatalogCoordinates("org.apache.camel", "camel-catalog", "2.21.0");
+		}
+
+		@Override
+		protected Object getGeneration(IProject project) {
+			return generation;
+		}
+	};
+
+	@Test
+	public void testResolutionIsReusedForSameGeneration() {
+		CamelCatalogCoordinates coordinates = cache.getCatalogCoordinates(project, new NullProgressMonitor());
+
+		assertThat(cache.getCatalogCoordinates(project, new NullProgressMonitor())).isSameAs(coordinates);
+		assertThat(cache.getResolutionCount()).isEqualTo(1);
+		assertThat(cache.getHitCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testProjectIsResolvedAgainForNewGeneration() {
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+		generation = "2";
+
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+
+		assertThat(cache.getResolutionCount()).isEqualTo(2);
+		assertThat(cache.getHitCount()).isZero();
+	}
+
+	@Test
+	public void testProjectIsResolvedAgainAfterMavenProjectChange() {
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+		doReturn(project).when(pom).getProject();
+
+		cache.mavenProjectChanged(new MavenProjectChangedEvent[] {
+				new MavenProjectChangedEvent(pom, MavenProjectChangedEvent.KIND_CHANGED, MavenProjectChangedEvent.FLAG_DEPENDENCIES, null, null) },
+				new NullProgressMonitor());
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+
+		assertThat(cache.getResolutionCount()).isEqualTo(2);
+	}
+
+	@Test
+	public void testResolutionIsDroppedWhenProjectIsClosed() {
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+
+		doReturn(IResourceChangeEvent.PRE_CLOSE).when(closeEvent).getType();
+		doReturn(project).when(closeEvent).getResource();
+
+		cache.resourceChanged(closeEvent);
+		cache.getCatalogCoordinates(project, new NullProgressMonitor());
+
+		assertThat(cache.getResolutionCount()).isEqualTo(2);
+	}
+}
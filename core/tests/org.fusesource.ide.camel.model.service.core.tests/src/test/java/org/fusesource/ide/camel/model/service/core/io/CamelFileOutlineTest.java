@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.io;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+
+import org.fusesource.ide.camel.model.service.core.io.CamelFileOutline.Element;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+import org.junit.Test;
+import org.xml.sax.InputSource;
+
+public class CamelFileOutlineTest {
+
+	private static final String BLUEPRINT = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n"
+			+ "<blueprint xmlns=\"http://www.osgi.org/xmlns/blueprint/v1.0.0\">\n"
+			+ "  <bean id=\"myBean\" class=\"org.acme.MyBean\"/>\n"
+			+ "  <camelContext id=\"ctx\" xmlns=\"http://camel.apache.org/schema/blueprint\">\n"
+			+ "    <route id=\"first\">\n"
+			+ "      <from id=\"start\" uri=\"timer:foo\"/>\n"
+			+ "      <log id=\"log\" message=\"${body}\"/>\n"
+			+ "    </route>\n"
+			+ "    <route id=\"second\">\n"
+			+ "      <from uri=\"direct:b\"/>\n"
+			+ "    </route>\n"
+			+ "  </camelContext>\n"
+			+ "</blueprint>";
+
+	private static final String ROUTES = "<routes xmlns=\"http://camel.apache.org/schema/spring\">"
+			+ "<route id=\"only\"><from uri=\"direct:a\"/></route>"
+			+ "</routes>";
+
+	@Test
+	public void testRoutesOfCamelContextAreFound() throws Exception {
+		CamelFileOutline outline = read(BLUEPRINT);
+
+		assertThat(outline.getRouteContainer().getId()).isEqualTo("ctx");
+		assertThat(outline.getRoutes()).extracting(Element::getId).containsExactly("first", "second");
+		assertThat(outline.getRoutes().get(0).getDisplayText()).isEqualTo("Route first");
+	}
+
+	@Test
+	public void testRoutesElementIsRouteContainer() throws Exception {
+		CamelFileOutline outline = read(ROUTES);
+
+		assertThat(outline.getRouteContainer()).isSameAs(outline.getRootElement());
+		assertThat(outline.getRoutes()).extracting(Element::getId).containsExactly("only");
+	}
+
+	@Test
+	public void testElementsKeepNamespaceAttributesAndLines() throws Exception {
+		Element from = read(BLUEPRINT).getRoutes().get(0).getChildren().get(0);
+
+		assertThat(from.getName()).isEqualTo("from");
+		assertThat(from.getNamespaceURI()).isEqualTo("http://camel.apache.org/schema/blueprint");
+		assertThat(from.getAttribute("uri")).isEqualTo("timer:foo");
+		assertThat(from.getLineNumber()).isEqualTo(6);
+	}
+
+	@Test
+	public void testIdsAreSearchedInNestedElements() throws Exception {
+		Element firstRoute = read(BLUEPRINT).getRoutes().get(0);
+
+		assertThat(firstRoute.containsId("log")).isTrue();
+		assertThat(firstRoute.containsId("myBean")).isFalse();
+	}
+
+	@Test
+	public void testDisplayTextHonorsPreferredLabels() throws Exception {
+		String initialLabels = PreferenceManager.getInstance().loadPreferenceAsString(PreferencesConstants.EDITOR_PREFERRED_LABEL);
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.EDITOR_PREFERRED_LABEL, "route.group;log.message");
+		try {
+			Element route = read("<routes xmlns=\"http://camel.apache.org/schema/spring\">"
+					+ "<route id=\"only\" group=\"orders\"><from uri=\"direct:a\"/><log message=\"${body}\"/></route>"
+					+ "</routes>").getRoutes().get(0);
+
+			assertThat(route.getDisplayText()).isEqualTo("Route orders");
+			assertThat(route.getChildren().get(0).getDisplayText()).isEqualTo("direct:a");
+			assertThat(route.getChildren().get(1).getDisplayText()).isEqualTo("Log ${body}");
+		} finally {
+			PreferenceManager.getInstance().savePreference(PreferencesConstants.EDITOR_PREFERRED_LABEL, initialLabels);
+		}
+	}
+
+	private CamelFileOutline read(String xml) throws Exception {
+		return new CamelIOHandler().readOutline(new InputSource(new StringReader(xml)), null);
+	}
+}
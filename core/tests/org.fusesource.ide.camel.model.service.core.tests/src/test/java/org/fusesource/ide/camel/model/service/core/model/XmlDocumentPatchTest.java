@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.junit.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+
+public class XmlDocumentPatchTest {
+
+	private static final String ROUTE = "<route id=\"route1\"><from uri=\"%s\"/><filter><simple>%s</simple><to uri=\"log:out\"/></filter></route>";
+
+	@Test
+	public void testUnchangedDocumentHasEmptyPatch() throws Exception {
+		XmlDocumentPatch patch = XmlDocumentPatch.compute(parse(route("timer:a", "${body}")), parse(route("timer:a", "${body}")));
+
+		assertThat(patch).isNotNull();
+		assertThat(patch.isEmpty()).isTrue();
+	}
+
+	@Test
+	public void testChangedAttributeIsPatchedInPlace() throws Exception {
+		Document current = parse(route("timer:a", "${body}"));
+		Element from = (Element) current.getElementsByTagName("from").item(0);
+
+		XmlDocumentPatch patch = XmlDocumentPatch.compute(current, parse(route("timer:b", "${body}")));
+		patch.apply();
+
+		assertThat(patch.getChangedElements()).containsExactly(from);
+		assertThat(current.getElementsByTagName("from").item(0)).isSameAs(from);
+		assertThat(from.getAttribute("uri")).isEqualTo("timer:b");
+	}
+
+	@Test
+	public void testChangedTextIsPatchedInPlace() throws Exception {
+		Document current = parse(route("timer:a", "${body}"));
+		Element simple = (Element) current.getElementsByTagName("simple").item(0);
+
+		XmlDocumentPatch patch = XmlDocumentPatch.compute(current, parse(route("timer:a", "${header.foo}")));
+		patch.apply();
+
+		assertThat(patch.getChangedElements()).containsExactly(simple);
+		assertThat(simple.getTextContent()).isEqualTo("${header.foo}");
+	}
+
+	@Test
+	public void testRemovedAttributeIsRemoved() throws Exception {
+		Document current = parse(route("timer:a", "${body}"));
+		Element route = current.getDocumentElement();
+
+		XmlDocumentPatch.compute(current, parse(route("timer:a", "${body}").replace(" id=\"route1\"", ""))).apply();
+
+		assertThat(route.hasAttribute("id")).isFalse();
+	}
+
+	@Test
+	public void testAddedElementIsNotPatched() throws Exception {
+		String reloaded = route("timer:a", "${body}").replace("</filter>", "</filter><to uri=\"log:end\"/>");
+
+		assertThat(XmlDocumentPatch.compute(parse(route("timer:a", "${body}")), parse(reloaded))).isNull();
+	}
+
+	@Test
+	public void testRenamedElementIsNotPatched() throws Exception {
+		String reloaded = route("timer:a", "${body}").replace("<to uri=\"log:out\"/>", "<log message=\"out\"/>");
+
+		assertThat(XmlDocumentPatch.compute(parse(route("timer:a", "${body}")), parse(reloaded))).isNull();
+	}
+
+	private String route(String uri, String expression) {
+		return String.format(ROUTE, uri, expression);
+	}
+
+	private Document parse(String xml) throws Exception {
+		DocumentBuilderFactory dbf = DocumentBuilderFactory.newInstance();
+		dbf.setNamespaceAware(true);
+		return dbf.newDocumentBuilder().parse(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)));
+	}
+}
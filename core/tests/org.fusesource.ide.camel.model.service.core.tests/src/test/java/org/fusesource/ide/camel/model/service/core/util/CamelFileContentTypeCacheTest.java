@@ -0,0 +1,70 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.runtime.Path;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CamelFileContentTypeCacheTest {
+
+	@Mock
+	private IFile file;
+	@Mock
+	private IProject project;
+	@Mock
+	private IResourceChangeEvent closeEvent;
+
+	private CamelFileContentTypeCache cache = new CamelFileContentTypeCache();
+
+	@Before
+	public void setup() {
+		doReturn(new Path("/project/src/main/resources/camel.xml")).when(file).getFullPath();
+		doReturn(1L).when(file).getModificationStamp();
+	}
+
+	@Test
+	public void testResultIsCachedForModificationStamp() {
+		cache.setCamelFile(file, true);
+
+		assertThat(cache.isCamelFile(file)).isTrue();
+	}
+
+	@Test
+	public void testResultIsIgnoredWhenFileHasBeenModified() {
+		cache.setCamelFile(file, true);
+		doReturn(2L).when(file).getModificationStamp();
+
+		assertThat(cache.isCamelFile(file)).isNull();
+	}
+
+	@Test
+	public void testEntriesOfClosedProjectAreDropped() {
+		cache.setCamelFile(file, false);
+		doReturn(new Path("/project")).when(project).getFullPath();
+		doReturn(IResourceChangeEvent.PRE_CLOSE).when(closeEvent).getType();
+		doReturn(project).when(closeEvent).getResource();
+
+		cache.resourceChanged(closeEvent);
+
+		assertThat(cache.size()).isZero();
+	}
+}
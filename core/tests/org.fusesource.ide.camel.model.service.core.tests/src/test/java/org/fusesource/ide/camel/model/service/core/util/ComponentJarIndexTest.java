@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.fusesource.ide.camel.model.service.core.util.ComponentJarIndex.IndexedJar;
+import org.fusesource.ide.camel.model.service.core.util.ComponentJarIndex.ProjectIndex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ComponentJarIndexTest {
+
+	@Rule
+	public TemporaryFolder tmp = new TemporaryFolder();
+
+	@Test
+	public void testJarIsScannedForComponentDescriptors() throws IOException {
+		File jarFile = createComponentJar("my", "org.acme.MyComponent");
+
+		IndexedJar jar = new ComponentJarIndex(null).getIndexedJar(jarFile);
+
+		assertThat(jar.classes).containsEntry("my", "org.acme.MyComponent").hasSize(1);
+		assertThat(jar.jsonEntries).containsEntry("my", "org/acme/my.json");
+	}
+
+	@Test
+	public void testUnmodifiedJarIsNotScannedAgain() throws IOException {
+		File jarFile = createComponentJar("my", "org.acme.MyComponent");
+		ComponentJarIndex index = new ComponentJarIndex(null);
+
+		assertThat(index.getIndexedJar(jarFile)).isSameAs(index.getIndexedJar(jarFile));
+	}
+
+	@Test
+	public void testIndexIsRestoredFromDisk() throws IOException {
+		File jarFile = createComponentJar("my", "org.acme.MyComponent");
+		File indexFile = new File(tmp.getRoot(), "index.json");
+		ComponentJarIndex index = new ComponentJarIndex(indexFile);
+		index.getIndexedJar(jarFile);
+		index.save();
+
+		IndexedJar restored = new ComponentJarIndex(indexFile).getIndexedJar(jarFile);
+
+		assertThat(restored.classes).containsEntry("my", "org.acme.MyComponent");
+		assertThat(restored.lastModified).isEqualTo(jarFile.lastModified());
+	}
+
+	@Test
+	public void testModifiedJarMakesProjectIndexStale() throws IOException {
+		File jarFile = createComponentJar("my", "org.acme.MyComponent");
+		ComponentJarIndex index = new ComponentJarIndex(null);
+		ProjectIndex projectIndex = index.indexJars(Collections.singletonList(jarFile));
+		assertThat(projectIndex.schemes).containsKey("my");
+		assertThat(projectIndex.isStale()).isFalse();
+
+		writeComponentJar(jarFile, "other", "org.acme.OtherComponent");
+		jarFile.setLastModified(jarFile.lastModified() + 2000);
+
+		assertThat(projectIndex.isStale()).isTrue();
+		assertThat(index.indexJars(Collections.singletonList(jarFile)).schemes).containsOnlyKeys("other");
+	}
+
+	private File createComponentJar(String scheme, String componentClass) throws IOException {
+		File jarFile = tmp.newFile(scheme + ".jar");
+		writeComponentJar(jarFile, scheme, componentClass);
+		return jarFile;
+	}
+
+	private void writeComponentJar(File jarFile, String scheme, String componentClass) throws IOException {
+		try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jarFile))) {
+			out.putNextEntry(new ZipEntry(ComponentJarIndex.COMPONENT_DESCRIPTOR_FOLDER + scheme));
+			out.write(("class=" + componentClass).getBytes(StandardCharsets.UTF_8));
+			out.putNextEntry(new ZipEntry(componentClass.substring(0, componentClass.lastIndexOf('.')).replace('.', '/') + "/" + scheme + ".json"));
+			out.write("{}".getBytes(StandardCharsets.UTF_8));
+		}
+	}
+}
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.model.service.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
+import org.fusesource.ide.camel.model.service.core.util.CamelCatalogUtils;
+import org.fusesource.ide.camel.model.service.core.util.versionmapper.CamelForFuseOnOpenShiftToBomMapper;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+import org.jboss.tools.foundation.core.plugin.log.IPluginLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.junit.runners.Parameterized.Parameters;
+
+/**
+ * times the loading of the embedded catalogs until the elements needed to open
+ * a simple route are available, with and without lazy loading. The on-disk
+ * cache is not used so that the catalog is really read.
+ */
+@RunWith(Parameterized.class)
+public class CamelServiceCatalogLazyLoadingIT {
+
+	private static final int RUNS = 3;
+
+	private String camelVersion;
+	private boolean initialLazyLoading;
+
+	@Parameters(name = "{0}")
+	public static List<String> parameters() {
+		return Arrays.asList(
+				"2.23.3",
+				CamelForFuseOnOpenShiftToBomMapper.FUSE_780_CAMEL_VERSION);
+	}
+
+	public CamelServiceCatalogLazyLoadingIT(String camelVersion) {
+		this.camelVersion = camelVersion;
+	}
+
+	@Before
+	public void setup() {
+		initialLazyLoading = PreferenceManager.getInstance().loadPreferenceAsBoolean(PreferencesConstants.CATALOG_LAZY_LOADING);
+		// the first load also pays for reading the catalog jar
+		load(false);
+	}
+
+	@After
+	public void tearDown() {
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.CATALOG_LAZY_LOADING, initialLazyLoading);
+	}
+
+	@Test
+	public void testLazyLoadingIsFasterThanEagerLoading() {
+		long eagerMillis = Long.MAX_VALUE;
+		long lazyMillis = Long.MAX_VALUE;
+		for (int run = 0; run < RUNS; run++) {
+			eagerMillis = Math.min(eagerMillis, load(false));
+			lazyMillis = Math.min(lazyMillis, load(true));
+		}
+		System.out.println(String.format("Camel catalog %s loaded in %d ms eagerly, %d ms lazily", camelVersion, eagerMillis, lazyMillis)); //$NON-NLS-1$
+
+		assertThat(lazyMillis).isLessThan(eagerMillis);
+	}
+
+	@Test
+	public void testLazyModelHasTheSameElements() {
+		CamelModel eagerModel = getCamelModel(false);
+		CamelModel lazyModel = getCamelModel(true);
+
+		assertThat(lazyModel.getComponentNames()).isEqualTo(eagerModel.getComponentNames());
+		assertThat(lazyModel.getEips()).hasSameSizeAs(eagerModel.getEips());
+		assertThat(lazyModel.getDataFormats()).hasSameSizeAs(eagerModel.getDataFormats());
+		assertThat(lazyModel.getLanguages()).hasSameSizeAs(eagerModel.getLanguages());
+		assertThat(lazyModel.getEip("camelContext").getProperties().keySet()).isEqualTo(eagerModel.getEip("camelContext").getProperties().keySet());
+	}
+
+	/**
+	 * @return the time in milliseconds until the elements of a route reading
+	 *         files and logging them are available
+	 */
+	private long load(boolean lazy) {
+		long start = System.nanoTime();
+		CamelModel model = getCamelModel(lazy);
+		assertThat(model.getEip("camelContext")).isNotNull();
+		assertThat(model.getEip("route")).isNotNull();
+		assertThat(model.getEip("from")).isNotNull();
+		assertThat(model.getEip("log")).isNotNull();
+		assertThat(model.getEip("to")).isNotNull();
+		assertThat(model.getComponent("file")).isNotNull();
+		long millis = (System.nanoTime() - start) / 1000000L;
+		// the background loading of the lazy model must not slow down the next run
+		model.loadPendingElements();
+		return millis;
+	}
+
+	private CamelModel getCamelModel(boolean lazy) {
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.CATALOG_LAZY_LOADING, lazy);
+		IPluginLog logger = CamelServiceImplementationActivator.pluginLog();
+		CamelService camelService = new CamelService(logger, new CamelModelDiskCache(null, logger));
+		return camelService.getCamelModel(camelVersion, CamelCatalogUtils.RUNTIME_PROVIDER_KARAF);
+	}
+}
@@ -89,4 +89,14 @@ public class AbstractXMLCamelRouteValidorTestHelper {
 		assertThat(camelFile.getResource().findMarkers(null, true, IResource.DEPTH_ONE)).hasSize(numbersOFMarkersExpected);
 	}
 
+	protected void testRevalidate(String newContentName, int numbersOFMarkersExpected) throws CoreException {
+		if (newContentName != null) {
+			camelFileUnderTest.setContents(getClass().getClassLoader().getResourceAsStream("/" + newContentName), true, false, new NullProgressMonitor());
+		}
+		ValidationEvent event = new ValidationEvent(camelFileUnderTest, IResourceDelta.CHANGED, null);
+
+		xmlCamelRoutesValidator.validate(event, new ValidationState(), new NullProgressMonitor());
+		assertThat(camelFileUnderTest.findMarkers(null, true, IResource.DEPTH_ONE)).hasSize(numbersOFMarkersExpected);
+	}
+
 }
\ No newline at end of file
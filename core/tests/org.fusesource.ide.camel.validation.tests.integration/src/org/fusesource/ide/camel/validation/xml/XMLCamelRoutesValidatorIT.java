@@ -44,4 +44,22 @@ public class XMLCamelRoutesValidatorIT extends AbstractXMLCamelRouteValidorTestH
 		testValidateCreatesAValidationMarker("routeWithUnmarshalWithInvalidRefSet.xml");
 	}
 
+	@Test
+	public void testRevalidateUnchangedFileKeepsMarkers() throws Exception {
+		testValidateCreatesAValidationMarker("routeWithGlobalEndpointWithInvalidNumberParameter.xml");
+		testRevalidate(null, 1);
+	}
+
+	@Test
+	public void testRevalidateFixedFileRemovesMarkers() throws Exception {
+		testValidateCreatesAValidationMarker("routeWithUnmarshalWithInvalidRefSet.xml");
+		testRevalidate("routeWithUnmarshalValid.xml", 0);
+	}
+
+	@Test
+	public void testRevalidateBrokenFileAddsMarkers() throws Exception {
+		testValidate("routeWithUnmarshalValid.xml", 0);
+		testRevalidate("routeWithUnmarshalMissingChild.xml", 1);
+	}
+
 }
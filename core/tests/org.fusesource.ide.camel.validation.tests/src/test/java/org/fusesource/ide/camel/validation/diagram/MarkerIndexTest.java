@@ -0,0 +1,81 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.diagram;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelEndpoint;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class MarkerIndexTest {
+
+	@Mock
+	private IResource resource;
+	@Mock
+	private IMarker markerWithId;
+	@Mock
+	private IMarker markerWithoutId;
+	@Mock
+	private IMarker newMarker;
+
+	private AbstractCamelModelElement elementWithoutId = new CamelEndpoint("log:withoutId");
+	private MarkerIndex index;
+
+	@Before
+	public void setup() throws Exception {
+		doReturn("myId").when(markerWithId).getAttribute(IFuseMarker.CAMEL_ID, null);
+		doReturn(new IMarker[] { markerWithId, markerWithoutId }).when(resource).findMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE);
+		Map<IMarker, AbstractCamelModelElement> elementsByMarker = new HashMap<>();
+		elementsByMarker.put(markerWithoutId, elementWithoutId);
+		index = new MarkerIndex(resource, elementsByMarker);
+	}
+
+	@Test
+	public void testMarkersAreFoundByIdAndByElement() {
+		AbstractCamelModelElement elementWithId = new CamelEndpoint("log:withId");
+		elementWithId.setId("myId");
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.getMarkersFor(elementWithId)).containsOnly(markerWithId);
+		assertThat(index.getMarkersFor(elementWithoutId)).containsOnly(markerWithoutId);
+	}
+
+	@Test
+	public void testIndexIsUpdatedOnAddAndRemove() {
+		index.add(newMarker, elementWithoutId);
+		index.remove(markerWithoutId);
+
+		assertThat(index.size()).isEqualTo(2);
+		assertThat(index.getMarkersFor(elementWithoutId)).containsOnly(newMarker);
+	}
+
+	@Test
+	public void testMarkerCanBeReassignedToAnotherElement() {
+		AbstractCamelModelElement otherElement = new CamelEndpoint("log:other");
+
+		index.add(markerWithoutId, otherElement);
+
+		assertThat(index.getMarkersFor(elementWithoutId)).isEmpty();
+		assertThat(index.getMarkersFor(otherElement)).containsOnly(markerWithoutId);
+	}
+}
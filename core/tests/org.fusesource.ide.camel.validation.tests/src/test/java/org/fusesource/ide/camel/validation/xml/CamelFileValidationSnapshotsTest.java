@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CamelFileValidationSnapshotsTest {
+
+	private static final IPath FILE = new Path("/project/src/main/resources/camel.xml");
+	private static final IPath OTHER_FILE = new Path("/other/camel.xml");
+
+	private CamelFileValidationSnapshots snapshots = CamelFileValidationSnapshots.getInstance();
+
+	@Before
+	public void setup() {
+		snapshots.remove(Path.ROOT);
+		snapshots.put(FILE, mock(CamelFileValidationSnapshot.class));
+		snapshots.put(OTHER_FILE, mock(CamelFileValidationSnapshot.class));
+	}
+
+	@Test
+	public void testSnapshotOfRemovedFileIsDropped() throws Exception {
+		snapshots.resourceChanged(createPostChangeEvent(FILE, IResourceDelta.REMOVED));
+
+		assertThat(snapshots.get(FILE)).isNull();
+		assertThat(snapshots.get(OTHER_FILE)).isNotNull();
+	}
+
+	@Test
+	public void testSnapshotOfChangedFileIsKept() throws Exception {
+		snapshots.resourceChanged(createPostChangeEvent(FILE, IResourceDelta.CHANGED));
+
+		assertThat(snapshots.get(FILE)).isNotNull();
+	}
+
+	@Test
+	public void testSnapshotsOfClosedProjectAreDropped() throws Exception {
+		IProject project = mock(IProject.class);
+		doReturn(new Path("/project")).when(project).getFullPath();
+		IResourceChangeEvent event = mock(IResourceChangeEvent.class);
+		doReturn(IResourceChangeEvent.PRE_CLOSE).when(event).getType();
+		doReturn(project).when(event).getResource();
+
+		snapshots.resourceChanged(event);
+
+		assertThat(snapshots.size()).isEqualTo(1);
+		assertThat(snapshots.get(OTHER_FILE)).isNotNull();
+	}
+
+	private IResourceChangeEvent createPostChangeEvent(IPath path, int kind) throws Exception {
+		IResource file = mock(IResource.class);
+		doReturn(IResource.FILE).when(file).getType();
+		IResourceDelta delta = mock(IResourceDelta.class);
+		doReturn(kind).when(delta).getKind();
+		doReturn(path).when(delta).getFullPath();
+		doReturn(file).when(delta).getResource();
+		doAnswer(invocation -> ((IResourceDeltaVisitor) invocation.getArguments()[0]).visit(delta)).when(delta).accept(any(IResourceDeltaVisitor.class));
+		IResourceChangeEvent event = mock(IResourceChangeEvent.class);
+		doReturn(IResourceChangeEvent.POST_CHANGE).when(event).getType();
+		doReturn(delta).when(event).getDelta();
+		return event;
+	}
+}
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.validation.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.jobs.JobGroup;
+import org.eclipse.wst.validation.ValidationResult;
+import org.eclipse.wst.validation.ValidationState;
+import org.fusesource.ide.camel.validation.xml.XMLCamelRoutesValidator.ParallelValidation;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class XMLCamelRoutesValidatorTest {
+
+	private IProject project = mock(IProject.class);
+	private int initialParallelFiles;
+
+	@Before
+	public void setup() {
+		doReturn("project").when(project).getName();
+		initialParallelFiles = PreferenceManager.getInstance().loadPreferenceAsInt(PreferencesConstants.VALIDATION_PARALLEL_FILES);
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.VALIDATION_PARALLEL_FILES, 2);
+	}
+
+	@After
+	public void tearDown() {
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.VALIDATION_PARALLEL_FILES, initialParallelFiles);
+	}
+
+	@Test
+	public void testConcurrentValidationsOfAProjectKeepTheirJobGroup() {
+		ValidationState firstRun = new ValidationState();
+		ValidationState secondRun = new ValidationState();
+		XMLCamelRoutesValidator firstValidator = new XMLCamelRoutesValidator();
+		XMLCamelRoutesValidator secondValidator = new XMLCamelRoutesValidator();
+
+		firstValidator.validationStarting(project, firstRun, new NullProgressMonitor());
+		JobGroup firstJobGroup = firstValidator.getParallelValidation(firstRun, project).getJobGroup();
+		secondValidator.validationStarting(project, secondRun, new NullProgressMonitor());
+		JobGroup secondJobGroup = secondValidator.getParallelValidation(secondRun, project).getJobGroup();
+
+		assertThat(firstJobGroup).isNotNull().isNotSameAs(secondJobGroup);
+		assertThat(firstValidator.getParallelValidation(firstRun, project).getJobGroup()).isSameAs(firstJobGroup);
+
+		firstValidator.validationFinishing(project, firstRun, new NullProgressMonitor());
+
+		assertThat(firstValidator.getParallelValidation(firstRun, project)).isNull();
+		assertThat(secondValidator.getParallelValidation(secondRun, project).getJobGroup()).isSameAs(secondJobGroup);
+
+		secondValidator.validationFinishing(project, secondRun, new NullProgressMonitor());
+
+		assertThat(secondValidator.getParallelValidation(secondRun, project)).isNull();
+	}
+
+	@Test
+	public void testCountsOfParallelValidatedFilesAreHandedOver() {
+		ParallelValidation parallelValidation = new ParallelValidation(new JobGroup("test", 2, 0), 2);
+		assertThat(parallelValidation.awaitFreeSlot(new NullProgressMonitor())).isTrue();
+		assertThat(parallelValidation.awaitFreeSlot(new NullProgressMonitor())).isTrue();
+		ValidationResult fileResult = new ValidationResult();
+		fileResult.incrementError(2);
+		fileResult.incrementWarning(1);
+
+		parallelValidation.fileValidated(fileResult);
+		ValidationResult nextFileResult = new ValidationResult();
+		parallelValidation.transferCounts(nextFileResult);
+
+		assertThat(nextFileResult.getSeverityError()).isEqualTo(2);
+		assertThat(nextFileResult.getSeverityWarning()).isEqualTo(1);
+		assertThat(parallelValidation.awaitFreeSlot(new NullProgressMonitor())).isTrue();
+		ValidationResult laterResult = new ValidationResult();
+		parallelValidation.transferCounts(laterResult);
+		assertThat(laterResult.getSeverityError()).isZero();
+	}
+}
@@ -75,6 +75,7 @@ import org.fusesource.ide.camel.editor.internal.CamelDesignEditorFlyoutPaletteCo
 import org.fusesource.ide.camel.editor.internal.CamelEditorUIActivator;
 import org.fusesource.ide.camel.editor.outline.CamelModelOutlinePage;
 import org.fusesource.ide.camel.editor.provider.CamelEditorContextMenuProvider;
+import org.fusesource.ide.camel.editor.provider.CamelFeatureProvider;
 import org.fusesource.ide.camel.editor.utils.DiagramUtils;
 import org.fusesource.ide.camel.editor.utils.INodeViewer;
 import org.fusesource.ide.camel.editor.utils.NodeUtils;
@@ -174,6 +175,9 @@ public class CamelDesignEditor extends DiagramEditor implements ISelectionListen
 		if (getModel() != null){
 			getModel().removeModelListener(this);
 		}
+		if (getFeatureProvider() instanceof CamelFeatureProvider) {
+			((CamelFeatureProvider) getFeatureProvider()).getLayoutCache().clear();
+		}
 		if(paletteRefresher != null){
 			IWorkbenchWindow activeWorkbenchWindow = PlatformUI.getWorkbench().getActiveWorkbenchWindow();
 			if(activeWorkbenchWindow != null){
@@ -713,7 +717,9 @@ public class CamelDesignEditor extends DiagramEditor implements ISelectionListen
 	@Override
 	public void setSelectedNode(AbstractCamelModelElement newSelection) {
 		if (newSelection != null) {
-			Object editPart = getGraphicalViewer().getEditPartRegistry().get(getFeatureProvider().getPictogramElementForBusinessObject(newSelection));
+			// nodes within collapsed containers of large diagrams may not be shown yet
+			PictogramElement pe = DiagramOperations.revealNode(getFeatureProvider(), newSelection);
+			Object editPart = getGraphicalViewer().getEditPartRegistry().get(pe);
 			if (editPart != null) {
 				getEditorSite().getSelectionProvider().setSelection(new StructuredSelection(editPart));
 				getGraphicalViewer().reveal((EditPart) editPart);
@@ -727,7 +733,7 @@ public class CamelDesignEditor extends DiagramEditor implements ISelectionListen
 	 * layouts the camel diagram elements
 	 */
 	public void autoLayoutRoute() {
-		Display.getCurrent().asyncExec(() -> DiagramOperations.layoutDiagram(CamelDesignEditor.this));		
+		Display.getCurrent().asyncExec(() -> DiagramOperations.layoutDiagramInBackground(CamelDesignEditor.this));
 	}
 
 	/**
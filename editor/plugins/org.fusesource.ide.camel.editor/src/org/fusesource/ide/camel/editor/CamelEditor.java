@@ -12,6 +12,7 @@ package org.fusesource.ide.camel.editor;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
 
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
@@ -25,11 +26,14 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences.IPreferenceChangeListener;
 import org.eclipse.graphiti.ui.editor.DiagramEditorInput;
 import org.eclipse.jface.dialogs.ErrorDialog;
 import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.text.BadLocationException;
 import org.eclipse.jface.text.DocumentEvent;
 import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 import org.eclipse.jface.text.IDocumentListener;
 import org.eclipse.jface.util.IPropertyChangeListener;
 import org.eclipse.jface.util.PropertyChangeEvent;
@@ -38,6 +42,7 @@ import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.custom.CTabFolder;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.text.edits.ReplaceEdit;
 import org.eclipse.ui.IEditorInput;
 import org.eclipse.ui.IEditorPart;
 import org.eclipse.ui.IEditorReference;
@@ -64,7 +69,9 @@ import org.fusesource.ide.camel.editor.internal.CamelEditorUIActivator;
 import org.fusesource.ide.camel.editor.internal.UIMessages;
 import org.fusesource.ide.camel.editor.restconfiguration.RestConfigEditor;
 import org.fusesource.ide.camel.editor.utils.DiagramUtils;
+import org.fusesource.ide.camel.editor.utils.TextChangeUtils;
 import org.fusesource.ide.camel.model.service.core.io.CamelIOHandler;
+import org.fusesource.ide.camel.model.service.core.io.XmlFormatSettings;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelContextElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelFile;
@@ -113,6 +120,9 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 	
 	private boolean disableDirtyFlag = false;
 	
+	/** true if the source has been edited since the model was last updated from it **/
+	private boolean sourceModified = false;
+	
 	/** 
 	 * this flag is used when invalid xml is detected in source and then 
 	 * a tab switch is performed. if the user ignores the warning all changes 
@@ -123,6 +133,15 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 	
 	private RestConfigEditor restConfigEditor;
 	
+	/** the formatting used to write the model into the source, read again when the preferences change **/
+	private XmlFormatSettings xmlFormatSettings;
+	private final IPreferenceChangeListener xmlFormatListener = event -> xmlFormatSettings = null;
+	
+	/** the model, its modification count and the document stamp when the model was last written into the source **/
+	private CamelFile syncedModel;
+	private long syncedModelModificationCount;
+	private long syncedDocumentStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	
 	/**
 	 * creates a new editor instance
 	 */
@@ -130,6 +149,7 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 		super();
 		ResourcesPlugin.getWorkspace().addResourceChangeListener(this);
 		PreferenceManager.getInstance().getUnderlyingStorage().addPropertyChangeListener(this);
+		XmlFormatSettings.addPreferenceChangeListener(xmlFormatListener);
 	}
 	
 	@Override
@@ -254,6 +274,10 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 	public void documentChanged(DocumentEvent event) {
 		if (getActivePage() == SOURCE_PAGE_INDEX) {
 			setDirtyFlag(true);
+			if (!disableDirtyFlag) {
+				// changes made while updating the source from the model are already in the model
+				sourceModified = true;
+			}
 		}
 	}
 
@@ -452,6 +476,7 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 	public void dispose() {
 		ResourcesPlugin.getWorkspace().removeResourceChangeListener(this);
 		PreferenceManager.getInstance().getUnderlyingStorage().removePropertyChangeListener(this);
+		XmlFormatSettings.removePreferenceChangeListener(xmlFormatListener);
 		super.dispose();
 		editorInput.dispose();
 	}
@@ -542,24 +567,33 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 				try {
 					stopDirtyListener();
 					IDocument document = getDocument();
-					if (document != null) {
+					CamelFile model = designEditor.getModel();
+					if (document != null && model != null && !isSourceInSync(document, model)) {
 						String text = document.get();
-						CamelFile model = designEditor.getModel();
-						if (model != null) {
-							String newText = model.getDocumentAsXML();
-							if (!text.equals(newText)) {
-								// only update the document if its actually
-								// different
-								// to avoid setting the dirty flag unnecessarily
-								boolean designEditorWasDirty = designEditor.isDirty();
-								document.set(newText);
-								if (!designEditorWasDirty) {
-									// stopping dirty listener wasn't enough
-									doSave(new NullProgressMonitor());
-								}
-							}
+						if (xmlFormatSettings == null) {
+							xmlFormatSettings = XmlFormatSettings.fromPreferences();
+						}
+						String newText = model.getDocumentAsXML(xmlFormatSettings);
+						// only update the changed region of the document if it's actually
+						// different to avoid setting the dirty flag unnecessarily and
+						// to keep the undo history and positions in the rest of the text
+						ReplaceEdit edit = newText != null ? TextChangeUtils.computeReplaceEdit(text, newText) : null;
+						boolean designEditorWasDirty = designEditor.isDirty();
+						if (edit != null) {
+							document.replace(edit.getOffset(), edit.getLength(), edit.getText());
+						}
+						if (newText != null) {
+							syncedModel = model;
+							syncedModelModificationCount = model.getModificationCount();
+							syncedDocumentStamp = getModificationStamp(document);
+						}
+						if (edit != null && !designEditorWasDirty) {
+							// stopping dirty listener wasn't enough
+							doSave(new NullProgressMonitor());
 						}
 					}
+				} catch (BadLocationException ex) {
+					CamelEditorUIActivator.pluginLog().logError("Unable to update the source from the model", ex);
 				} finally {
 					startDirtyListener();
 				}
@@ -573,6 +607,25 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 		}
 	}
 
+	/**
+	 * @return true if neither the model nor the document changed since the
+	 *         model was last written into the document
+	 */
+	private boolean isSourceInSync(IDocument document, CamelFile model) {
+		long documentStamp = getModificationStamp(document);
+		return model == syncedModel
+				&& model.getModificationCount() == syncedModelModificationCount
+				&& documentStamp != IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+				&& documentStamp == syncedDocumentStamp;
+	}
+
+	private long getModificationStamp(IDocument document) {
+		if (document instanceof IDocumentExtension4) {
+			return ((IDocumentExtension4) document).getModificationStamp();
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/**
 	 * this method is responsible for updating the model from the XML source
 	 */
@@ -592,6 +645,11 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 				// reload model
 				String text = getDocument().get();
 				if (designEditor != null) {
+					boolean upToDate = designEditor.getModel() != null && (!sourceModified || updateModelIncrementally(text));
+					sourceModified = false;
+					if (upToDate) {
+						return;
+					}
 					designEditor.clearCache();
 					if (designEditor.getModel() == null) {
 						// in this case we lost our model due to invalid xml and
@@ -620,6 +678,33 @@ public class CamelEditor extends MultiPageEditorPart implements IResourceChangeL
 		}
 	}
 	
+	/**
+	 * updates only the model elements changed in the source and their figures
+	 * 
+	 * @param text
+	 * @return false if the model has to be reloaded from the source instead
+	 */
+	private boolean updateModelIncrementally(String text) {
+		CamelFile model = designEditor.getModel();
+		List<AbstractCamelModelElement> changedElements;
+		model.unregisterDOMListener();
+		try {
+			changedElements = model.updateModelFromXML(text);
+		} catch (RuntimeException ex) {
+			CamelEditorUIActivator.pluginLog().logError("Unable to update the model from the source, reloading it", ex);
+			changedElements = null;
+		} finally {
+			model.registerDOMListener();
+		}
+		if (changedElements == null) {
+			return false;
+		}
+		if (!changedElements.isEmpty()) {
+			DiagramOperations.updateNodes(designEditor, changedElements);
+		}
+		return true;
+	}
+	
 	/**
 	 * checks if the text is xml compliant
 	 * 
@@ -10,19 +10,28 @@
  ******************************************************************************/ 
 package org.fusesource.ide.camel.editor.commands;
 
+import java.util.List;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.emf.transaction.util.TransactionUtil;
+import org.eclipse.gef.GraphicalViewer;
 import org.eclipse.graphiti.dt.IDiagramTypeProvider;
 import org.eclipse.graphiti.features.IFeatureProvider;
 import org.eclipse.graphiti.mm.pictograms.Diagram;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
 import org.eclipse.graphiti.platform.IDiagramBehavior;
 import org.eclipse.graphiti.ui.services.GraphitiUi;
 import org.eclipse.swt.widgets.Display;
 import org.fusesource.ide.camel.editor.CamelDesignEditor;
+import org.fusesource.ide.camel.editor.features.custom.DiagramLayout;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelFile;
 
@@ -65,6 +74,56 @@ public class DiagramOperations {
 		return operation;
 	}
 
+	/**
+	 * lays out the diagram of the editor. The new coordinates are computed in
+	 * a background job and applied in the UI thread afterwards, unless the
+	 * diagram was changed in the meantime.
+	 *
+	 * @param designEditor
+	 */
+	public static void layoutDiagramInBackground(final CamelDesignEditor designEditor) {
+		if (designEditor == null || designEditor.getModel() == null) {
+			return;
+		}
+		final TransactionalEditingDomain editingDomain = createEditingDomain(designEditor);
+		if (editingDomain == null) {
+			return;
+		}
+		final IFeatureProvider featureProvider = designEditor.getFeatureProvider();
+		final Diagram diagram = designEditor.getDiagramTypeProvider().getDiagram();
+		final DiagramLayout layout = LayoutCommand.createLayout(featureProvider, diagram, designEditor.getModel().getRouteContainer());
+		Job job = new Job("Layout diagram") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				layout.compute();
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				Display.getDefault().asyncExec(() -> {
+					if (!isShowing(designEditor, diagram)) {
+						// the editor was closed or its diagram reloaded meanwhile
+						return;
+					}
+					if (layout.isStale()) {
+						layoutDiagram(designEditor);
+					} else {
+						execute(editingDomain, new LayoutCommand(featureProvider, layout, editingDomain), false);
+					}
+				});
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+	}
+
+	private static boolean isShowing(CamelDesignEditor designEditor, Diagram diagram) {
+		GraphicalViewer viewer = designEditor.getGraphicalViewer();
+		return viewer != null && viewer.getControl() != null && !viewer.getControl().isDisposed()
+				&& designEditor.getDiagramTypeProvider() != null
+				&& designEditor.getDiagramTypeProvider().getDiagram() == diagram;
+	}
+
 	public static UpdateCommand updateSelectedNode(CamelDesignEditor designEditor) {
 		TransactionalEditingDomain editingDomain = createEditingDomain(designEditor);
 		UpdateCommand operation = new UpdateCommand(designEditor, editingDomain, designEditor.getSelectedNode());
@@ -73,6 +132,13 @@ public class DiagramOperations {
 		return operation;
 	}
 
+	public static UpdateCommand updateNodes(CamelDesignEditor designEditor, List<AbstractCamelModelElement> nodes) {
+		TransactionalEditingDomain editingDomain = createEditingDomain(designEditor);
+		UpdateCommand operation = new UpdateCommand(designEditor, editingDomain, nodes);
+		execute(editingDomain, operation, true);
+		return operation;
+	}
+
 	public static UpdateCommand updateDiagram(CamelDesignEditor designEditor) {
 		CamelFile designEditorModel = designEditor.getModel();
 		if(designEditorModel != null){
@@ -150,6 +216,28 @@ public class DiagramOperations {
 		return operation;
 	}
 	
+	/**
+	 * returns the figure of the node, expanding the collapsed figures of a
+	 * large diagram whose children were left out. Must not be called within
+	 * a transaction, use
+	 * {@link org.fusesource.ide.camel.editor.internal.CamelDiagramLoader#revealNode(IFeatureProvider, AbstractCamelModelElement)}
+	 * there.
+	 * 
+	 * @param featureProvider	the feature provider of the diagram
+	 * @param node	the node
+	 * @return	the figure of the node or of its nearest shown parent, or null
+	 */
+	public static PictogramElement revealNode(IFeatureProvider featureProvider, AbstractCamelModelElement node) {
+		PictogramElement pe = featureProvider.getPictogramElementForBusinessObject(node);
+		IDiagramBehavior diagramBehavior = featureProvider.getDiagramTypeProvider().getDiagramBehavior();
+		if (pe != null || node == null || diagramBehavior == null || diagramBehavior.getEditingDomain() == null) {
+			return pe;
+		}
+		RevealNodeCommand operation = new RevealNodeCommand(featureProvider, diagramBehavior.getEditingDomain(), node);
+		execute(diagramBehavior.getEditingDomain(), operation, false);
+		return operation.getPictogramElement();
+	}
+
 	public static void highlightNode(final CamelDesignEditor designEditor, final AbstractCamelModelElement node,  final boolean highlight) {
 		Display.getDefault().asyncExec(new Runnable() {
 			@Override
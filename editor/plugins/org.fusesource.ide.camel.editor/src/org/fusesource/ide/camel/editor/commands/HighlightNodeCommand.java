@@ -20,6 +20,7 @@ import org.eclipse.graphiti.services.Graphiti;
 import org.eclipse.graphiti.services.IGaService;
 import org.fusesource.ide.camel.editor.CamelDesignEditor;
 import org.fusesource.ide.camel.editor.CamelEditor;
+import org.fusesource.ide.camel.editor.internal.CamelDiagramLoader;
 import org.fusesource.ide.camel.editor.internal.CamelEditorUIActivator;
 import org.fusesource.ide.camel.editor.utils.StyleUtil;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
@@ -58,8 +59,8 @@ public class HighlightNodeCommand extends RecordingCommand {
 			this.designEditor.setSelectedContainer(node.getRoute());											
 		}
 		
-		PictogramElement pe = designEditor.getFeatureProvider().getPictogramElementForBusinessObject(node);
-		if (pe == null) {
+		PictogramElement pe = CamelDiagramLoader.revealNode(designEditor.getFeatureProvider(), node);
+		if (pe == null || designEditor.getFeatureProvider().getBusinessObjectForPictogramElement(pe) != node) {
 			CamelEditorUIActivator.pluginLog().logWarning("Warning could not find PictogramElement for highlight node: " + node);
 			return;
 		}
@@ -11,15 +11,17 @@
 
 package org.fusesource.ide.camel.editor.commands;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
+
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.graphiti.features.IFeatureProvider;
-import org.eclipse.graphiti.features.context.impl.CustomContext;
-import org.eclipse.graphiti.features.custom.ICustomFeature;
 import org.eclipse.graphiti.mm.pictograms.Diagram;
 import org.eclipse.graphiti.mm.pictograms.PictogramElement;
 import org.fusesource.ide.camel.editor.features.custom.CollapseFeature;
-import org.fusesource.ide.camel.editor.features.custom.LayoutDiagramFeature;
+import org.fusesource.ide.camel.editor.features.custom.DiagramLayout;
+import org.fusesource.ide.camel.editor.features.custom.DiagramLayoutCache;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelRouteContainerElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
@@ -29,6 +31,7 @@ public class LayoutCommand extends RecordingCommand {
 	private final IFeatureProvider featureProvider;
 	private AbstractCamelModelElement container;
 	private PictogramElement diagram;
+	private DiagramLayout layout;
 
 	public LayoutCommand(IFeatureProvider featureProvider, Diagram diagram, AbstractCamelModelElement container, TransactionalEditingDomain editingDomain) {
 		super(editingDomain);
@@ -37,46 +40,72 @@ public class LayoutCommand extends RecordingCommand {
 		this.diagram = diagram;
 	}
 
+	/**
+	 * creates a command applying a layout computed beforehand
+	 *
+	 * @param featureProvider
+	 * @param layout
+	 *            the layout, see {@link #createLayout(IFeatureProvider, Diagram, AbstractCamelModelElement)}
+	 * @param editingDomain
+	 */
+	public LayoutCommand(IFeatureProvider featureProvider, DiagramLayout layout, TransactionalEditingDomain editingDomain) {
+		super(editingDomain);
+		this.featureProvider = featureProvider;
+		this.layout = layout;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.eclipse.emf.transaction.RecordingCommand#doExecute()
 	 */
 	@Override
 	protected void doExecute() {
-		layout(featureProvider, container);
+		if (layout == null) {
+			layout = createLayout(featureProvider, (Diagram) diagram, container);
+		}
+		layout.apply(featureProvider);
+	}
+
+	/**
+	 * takes a snapshot of the figures of the given container and all its
+	 * children to be laid out. Has to be called in the UI thread.
+	 *
+	 * @param featureProvider
+	 * @param diagram
+	 * @param container
+	 * @return the layout
+	 */
+	public static DiagramLayout createLayout(IFeatureProvider featureProvider, Diagram diagram, AbstractCamelModelElement container) {
+		Set<PictogramElement> containersToLayout = new LinkedHashSet<>();
+		collectContainers(featureProvider, container, containersToLayout);
+		PictogramElement root;
 		if (container instanceof CamelRouteContainerElement) {
-			layout(featureProvider, diagram);
+			if (!CollapseFeature.isCollapsed(diagram)) {
+				containersToLayout.add(diagram);
+			}
+			root = diagram;
+		} else {
+			root = container != null ? featureProvider.getPictogramElementForBusinessObject(container) : null;
 		}
+		return DiagramLayout.snapshot(root, containersToLayout, DiagramLayoutCache.of(featureProvider));
 	}
-	
-	private void layout(IFeatureProvider featureProvider, AbstractCamelModelElement container) {
+
+	private static void collectContainers(IFeatureProvider featureProvider, AbstractCamelModelElement container, Set<PictogramElement> containersToLayout) {
 		if (container == null) {
 			return;
 		}
 
 		if (!CollapseFeature.isCollapsed(featureProvider, container)) {
 			for (AbstractCamelModelElement cme : container.getChildElements()) {
-				layout(featureProvider, cme);
+				collectContainers(featureProvider, cme, containersToLayout);
 			}
 		}
-		
+
 		if (container instanceof CamelRouteElement || (container.getUnderlyingMetaModelObject() != null && container.getUnderlyingMetaModelObject().canHaveChildren())) {
-			layout(featureProvider, featureProvider.getPictogramElementForBusinessObject(container));
-		}
-	}
-	
-	private void layout(IFeatureProvider featureProvider, PictogramElement pe) {
-		// do not layout collapsed figures
-		if (CollapseFeature.isCollapsed(pe)) {
-			return;
-		}
-		
-		CustomContext cc = new CustomContext(new PictogramElement[] { pe });
-		ICustomFeature[] cfs = featureProvider.getCustomFeatures(null);
-		for (ICustomFeature cf : cfs) {
-			if (cf instanceof LayoutDiagramFeature) {
-				cf.execute(cc);
-				break;
+			PictogramElement pe = featureProvider.getPictogramElementForBusinessObject(container);
+			// do not layout collapsed figures
+			if (pe != null && !CollapseFeature.isCollapsed(pe)) {
+				containersToLayout.add(pe);
 			}
 		}
 	}
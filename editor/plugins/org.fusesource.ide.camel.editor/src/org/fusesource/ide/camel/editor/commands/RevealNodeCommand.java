@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.commands;
+
+import org.eclipse.emf.transaction.RecordingCommand;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.graphiti.features.IFeatureProvider;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.fusesource.ide.camel.editor.internal.CamelDiagramLoader;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+
+/**
+ * expands the collapsed figures of a large diagram whose children were left
+ * out, so that the given node is shown
+ * 
+ * @see CamelDiagramLoader#revealNode(IFeatureProvider, AbstractCamelModelElement)
+ */
+public class RevealNodeCommand extends RecordingCommand {
+
+	private final IFeatureProvider featureProvider;
+	private final AbstractCamelModelElement node;
+	private PictogramElement pictogramElement;
+
+	public RevealNodeCommand(IFeatureProvider featureProvider, TransactionalEditingDomain editingDomain, AbstractCamelModelElement node) {
+		super(editingDomain);
+		this.featureProvider = featureProvider;
+		this.node = node;
+	}
+
+	@Override
+	protected void doExecute() {
+		pictogramElement = CamelDiagramLoader.revealNode(featureProvider, node);
+	}
+
+	/**
+	 * @return the figure of the node or of its nearest shown parent
+	 */
+	public PictogramElement getPictogramElement() {
+		return pictogramElement;
+	}
+}
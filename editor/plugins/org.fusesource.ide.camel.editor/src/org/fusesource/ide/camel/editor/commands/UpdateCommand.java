@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.editor.commands;
 
+import java.util.List;
+
 import org.eclipse.emf.transaction.RecordingCommand;
 import org.eclipse.emf.transaction.TransactionalEditingDomain;
 import org.eclipse.graphiti.features.IFeatureProvider;
@@ -28,6 +30,7 @@ public class UpdateCommand extends RecordingCommand {
 	
 	private final CamelDesignEditor designEditor;
 	private AbstractCamelModelElement node;
+	private List<AbstractCamelModelElement> nodes;
 
 	public UpdateCommand(CamelDesignEditor designEditor, TransactionalEditingDomain editingDomain, AbstractCamelModelElement node) {
 		super(editingDomain);
@@ -35,17 +38,32 @@ public class UpdateCommand extends RecordingCommand {
 		this.node = node;
 	}
 
+	/**
+	 * updates only the figures of the given nodes, but not of their children
+	 */
+	public UpdateCommand(CamelDesignEditor designEditor, TransactionalEditingDomain editingDomain, List<AbstractCamelModelElement> nodes) {
+		super(editingDomain);
+		this.designEditor = designEditor;
+		this.nodes = nodes;
+	}
+
 	@Override
 	protected void doExecute() {
+		if (nodes != null) {
+			for (AbstractCamelModelElement changedNode : nodes) {
+				updateFigure(changedNode, false);
+			}
+			return;
+		}
 		AbstractCamelModelElement selectedNode = this.node == null ? designEditor.getSelectedNode() : node;
 		if (selectedNode == null) {
 			// use the route node in this case
 			selectedNode = designEditor.getModel().getRouteContainer();
 		}
-		updateFigure(selectedNode);
+		updateFigure(selectedNode, true);
 	}
 	
-	private void updateFigure(AbstractCamelModelElement node) {
+	private void updateFigure(AbstractCamelModelElement node, boolean includeChildren) {
 		if (node == null){
 			return;
 		}
@@ -71,8 +89,10 @@ public class UpdateCommand extends RecordingCommand {
 		if(updateFeature != null){
 			updateFeature.update(ctx);
 		}
-		for (AbstractCamelModelElement elem : node.getChildElements()) {
-			updateFigure(elem);
+		if (includeChildren) {
+			for (AbstractCamelModelElement elem : node.getChildElements()) {
+				updateFigure(elem, true);
+			}
 		}
 	}
 }
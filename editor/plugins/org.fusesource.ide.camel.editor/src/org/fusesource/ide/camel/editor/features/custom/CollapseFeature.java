@@ -30,6 +30,7 @@ import org.eclipse.graphiti.mm.pictograms.Shape;
 import org.eclipse.graphiti.services.Graphiti;
 import org.eclipse.graphiti.services.IGaService;
 import org.fusesource.ide.camel.editor.CamelDesignEditor;
+import org.fusesource.ide.camel.editor.internal.CamelDiagramLoader;
 import org.fusesource.ide.camel.editor.utils.StyleUtil;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 
@@ -141,6 +142,8 @@ public class CollapseFeature extends AbstractCustomFeature {
 			Graphiti.getPeService().setPropertyValue(pe, PROP_EXPANDED_WIDTH, String.valueOf(width));
 			Graphiti.getPeService().setPropertyValue(pe, PROP_EXPANDED_HEIGHT, String.valueOf(height));
 		} else if (initialCollapsedState.equals("true")) {
+			// children left out when loading a large diagram are added on first expand
+			new CamelDiagramLoader(getDiagram(), getFeatureProvider()).loadDeferredChildren(cs);
 			changeWidth = Integer.parseInt(Graphiti.getPeService().getPropertyValue(pe, PROP_EXPANDED_WIDTH));
 			changeHeight = Integer.parseInt(Graphiti.getPeService().getPropertyValue(pe, PROP_EXPANDED_HEIGHT));
 			Graphiti.getPeService().setPropertyValue(pe, PROP_COLLAPSED_STATE, "false");
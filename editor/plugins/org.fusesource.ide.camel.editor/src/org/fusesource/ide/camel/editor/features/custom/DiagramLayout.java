@@ -0,0 +1,414 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.features.custom;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.draw2d.geometry.Insets;
+import org.eclipse.draw2d.graph.CompoundDirectedGraph;
+import org.eclipse.draw2d.graph.CompoundDirectedGraphLayout;
+import org.eclipse.draw2d.graph.Edge;
+import org.eclipse.draw2d.graph.EdgeList;
+import org.eclipse.draw2d.graph.Node;
+import org.eclipse.draw2d.graph.NodeList;
+import org.eclipse.graphiti.features.IFeatureProvider;
+import org.eclipse.graphiti.features.IResizeShapeFeature;
+import org.eclipse.graphiti.features.context.impl.ResizeShapeContext;
+import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
+import org.eclipse.graphiti.mm.pictograms.AnchorContainer;
+import org.eclipse.graphiti.mm.pictograms.Connection;
+import org.eclipse.graphiti.mm.pictograms.ContainerShape;
+import org.eclipse.graphiti.mm.pictograms.Diagram;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.eclipse.graphiti.mm.pictograms.Shape;
+import org.eclipse.graphiti.services.Graphiti;
+import org.fusesource.ide.camel.editor.utils.FigureUIFactory;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+
+/**
+ * Lays out the figures of a diagram in a single bottom-up pass.
+ *
+ * The layout works on a detached copy of the figures taken by
+ * {@link #snapshot(PictogramElement, Collection, DiagramLayoutCache)}, so
+ * {@link #compute()} can run outside of the UI thread.
+ * {@link #apply(IFeatureProvider)} then writes the coordinates back into the
+ * diagram, which has to happen in a single transaction.
+ *
+ * The children of a container are arranged with the GEF directed graph
+ * layouter. Its result is remembered per container in the
+ * {@link DiagramLayoutCache} of the editor and reused as long as the children
+ * of the container, their sizes and connections stay the same.
+ */
+public class DiagramLayout {
+
+	/**
+	 * Minimal distance between nodes.
+	 */
+	static final int PADDING_H = 10;
+	static final int PADDING_V = 10;
+	static final int SPACING_H = 10;
+	static final int SPACING_V = 40;
+
+	private final LayoutNode root;
+	private final int direction;
+	private final DiagramLayoutCache cache;
+	private boolean computed;
+	private int arrangedContainers;
+
+	private DiagramLayout(LayoutNode root, int direction, DiagramLayoutCache cache) {
+		this.root = root;
+		this.direction = direction;
+		this.cache = cache;
+	}
+
+	/**
+	 * copies the figures below the given root into a detached graph model.
+	 * Has to be called in the UI thread.
+	 *
+	 * @param root
+	 *            the figure to lay out, usually the diagram
+	 * @param containersToLayout
+	 *            the figures whose children are arranged. The figures
+	 *            below them are resized to fit their children.
+	 * @param cache
+	 *            the layouts of the containers computed before
+	 * @return the layout
+	 */
+	public static DiagramLayout snapshot(PictogramElement root, Collection<? extends PictogramElement> containersToLayout, DiagramLayoutCache cache) {
+		int direction = PreferenceManager.getInstance().loadPreferenceAsInt(PreferencesConstants.EDITOR_LAYOUT_ORIENTATION);
+		if (!(root instanceof ContainerShape)) {
+			return new DiagramLayout(null, direction, cache);
+		}
+		Map<ContainerShape, List<Connection>> connectionIndex = createConnectionIndex(Graphiti.getPeService().getDiagramForPictogramElement(root));
+		return new DiagramLayout(createNode((ContainerShape) root, false, containersToLayout, connectionIndex), direction, cache);
+	}
+
+	/**
+	 * lays out the figures below the given root right away
+	 *
+	 * @see #snapshot(PictogramElement, Collection, DiagramLayoutCache)
+	 */
+	public static void layout(IFeatureProvider featureProvider, PictogramElement root, Collection<? extends PictogramElement> containersToLayout) {
+		DiagramLayout layout = snapshot(root, containersToLayout, DiagramLayoutCache.of(featureProvider));
+		layout.compute();
+		layout.apply(featureProvider);
+	}
+
+	/**
+	 * groups the connections by the container holding both of their ends
+	 */
+	private static Map<ContainerShape, List<Connection>> createConnectionIndex(Diagram diagram) {
+		Map<ContainerShape, List<Connection>> connectionIndex = new HashMap<>();
+		if (diagram == null) {
+			return connectionIndex;
+		}
+		for (Connection connection : diagram.getConnections()) {
+			if (connection.getStart() == null || connection.getEnd() == null) {
+				continue;
+			}
+			AnchorContainer source = connection.getStart().getParent();
+			AnchorContainer target = connection.getEnd().getParent();
+			if (source instanceof Shape && target instanceof Shape) {
+				ContainerShape container = ((Shape) source).getContainer();
+				if (container != null && container == ((Shape) target).getContainer()) {
+					connectionIndex.computeIfAbsent(container, c -> new ArrayList<>()).add(connection);
+				}
+			}
+		}
+		return connectionIndex;
+	}
+
+	private static LayoutNode createNode(Shape shape, boolean parentResized, Collection<? extends PictogramElement> containersToLayout, Map<ContainerShape, List<Connection>> connectionIndex) {
+		LayoutNode node = new LayoutNode(shape);
+		node.collapsed = CollapseFeature.isCollapsed(shape);
+		node.layoutChildren = containersToLayout.contains(shape) && !node.collapsed;
+		node.resized = node.graphicsAlgorithm != null && (parentResized || containersToLayout.contains(shape));
+		if (shape instanceof ContainerShape) {
+			Map<Shape, Integer> indexes = new HashMap<>();
+			for (Shape child : ((ContainerShape) shape).getChildren()) {
+				indexes.put(child, node.children.size());
+				node.children.add(createNode(child, node.resized, containersToLayout, connectionIndex));
+			}
+			if (node.layoutChildren) {
+				for (Connection connection : connectionIndex.getOrDefault(shape, Collections.emptyList())) {
+					Integer source = indexes.get(connection.getStart().getParent());
+					Integer target = indexes.get(connection.getEnd().getParent());
+					if (source != null && target != null) {
+						node.edges.add(new int[] { source, target });
+					}
+				}
+			}
+		}
+		return node;
+	}
+
+	/**
+	 * computes the new coordinates of the figures. This only works on the
+	 * detached graph model, so it can be called outside of the UI thread.
+	 */
+	public synchronized void compute() {
+		if (root != null && !computed) {
+			compute(root);
+			computed = true;
+		}
+	}
+
+	private void compute(LayoutNode node) {
+		for (LayoutNode child : node.children) {
+			compute(child);
+		}
+		if (node.layoutChildren && !node.children.isEmpty()) {
+			layoutChildren(node);
+		}
+		if (node.resized) {
+			fitToChildren(node);
+		}
+	}
+
+	private void layoutChildren(LayoutNode container) {
+		CachedLayout key = new CachedLayout(container, direction);
+		CachedLayout cached = cache.get(container.shape);
+		if (cached != null && cached.hasSameInput(key)) {
+			for (int i = 0; i < container.children.size(); i++) {
+				container.children.get(i).x = cached.positions[2 * i];
+				container.children.get(i).y = cached.positions[2 * i + 1];
+			}
+			return;
+		}
+		arrangedContainers++;
+
+		NodeList nodes = new NodeList();
+		for (LayoutNode child : container.children) {
+			Node node = new Node(child);
+			node.x = child.x;
+			node.y = child.y;
+			node.width = child.width;
+			node.height = child.height;
+			nodes.add(node);
+		}
+		EdgeList edges = new EdgeList();
+		for (int[] edge : container.edges) {
+			edges.add(new Edge(nodes.getNode(edge[0]), nodes.getNode(edge[1])));
+		}
+		CompoundDirectedGraph graph = new CompoundDirectedGraph();
+		graph.nodes = nodes;
+		graph.edges = edges;
+		graph.setDefaultPadding(new Insets(PADDING_V, PADDING_H, PADDING_V, PADDING_H));
+		graph.setDirection(direction);
+		new CompoundDirectedGraphLayout().visit(graph);
+
+		for (int i = 0; i < nodes.size(); i++) {
+			Node node = nodes.getNode(i);
+			LayoutNode child = (LayoutNode) node.data;
+			child.x = node.x + SPACING_H;
+			child.y = node.y + SPACING_V;
+			child.width = node.width;
+			child.height = node.height;
+			key.positions[2 * i] = child.x;
+			key.positions[2 * i + 1] = child.y;
+		}
+		cache.put(container.shape, key);
+	}
+
+	/**
+	 * resizes the container to fit all children
+	 */
+	private void fitToChildren(LayoutNode container) {
+		if (!container.collapsed && !container.children.isEmpty()) {
+			int newWidth = 0;
+			int newHeight = 0;
+			for (LayoutNode child : container.children) {
+				newWidth = Math.max(newWidth, child.x + child.width + PADDING_H + PADDING_H);
+				newHeight = Math.max(newHeight, child.y + child.height + PADDING_V + PADDING_V);
+			}
+			container.width = newWidth;
+			container.height = newHeight;
+		} else {
+			// if the container is collapsed we always assume the max collapsed height
+			container.height = FigureUIFactory.IMAGE_DEFAULT_HEIGHT;
+		}
+	}
+
+	/**
+	 * @return the number of containers whose children were arranged by the
+	 *         layouter, the others were taken from the cache
+	 */
+	public int getArrangedContainerCount() {
+		return arrangedContainers;
+	}
+
+	/**
+	 * @return true if figures were added, removed or resized since the
+	 *         snapshot was taken, so the layout should not be applied
+	 */
+	public boolean isStale() {
+		return root != null && isStale(root);
+	}
+
+	private boolean isStale(LayoutNode node) {
+		GraphicsAlgorithm ga = node.shape.getGraphicsAlgorithm();
+		if (ga != node.graphicsAlgorithm
+				|| (ga != null && (ga.getWidth() != node.originalBounds[2] || ga.getHeight() != node.originalBounds[3]))) {
+			return true;
+		}
+		List<Shape> children = node.shape instanceof ContainerShape ? ((ContainerShape) node.shape).getChildren() : Collections.emptyList();
+		if (children.size() != node.children.size()) {
+			return true;
+		}
+		for (int i = 0; i < children.size(); i++) {
+			if (children.get(i) != node.children.get(i).shape || isStale(node.children.get(i))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * writes the computed coordinates into the diagram. Has to be called in
+	 * the UI thread within a transaction.
+	 *
+	 * @param featureProvider
+	 */
+	public void apply(IFeatureProvider featureProvider) {
+		compute();
+		if (root != null) {
+			apply(featureProvider, root);
+		}
+	}
+
+	private void apply(IFeatureProvider featureProvider, LayoutNode node) {
+		for (LayoutNode child : node.children) {
+			apply(featureProvider, child);
+		}
+		if (node.graphicsAlgorithm == null) {
+			return;
+		}
+		if (!node.isMoved() && !node.isResized()) {
+			return;
+		}
+		IResizeShapeFeature resizeFeature = null;
+		ResizeShapeContext cc = new ResizeShapeContext(node.shape);
+		if (node.resized) {
+			// do a resize feature call
+			cc.setX(node.x);
+			cc.setY(node.y);
+			cc.setWidth(node.width);
+			cc.setHeight(node.height);
+			resizeFeature = featureProvider.getResizeShapeFeature(cc);
+		}
+		if (resizeFeature != null) {
+			resizeFeature.execute(cc);
+		} else {
+			node.graphicsAlgorithm.setX(node.x);
+			node.graphicsAlgorithm.setY(node.y);
+			node.graphicsAlgorithm.setWidth(node.width);
+			node.graphicsAlgorithm.setHeight(node.height);
+		}
+	}
+
+	/**
+	 * a figure of the detached graph model
+	 */
+	private static class LayoutNode {
+		private final Shape shape;
+		private final GraphicsAlgorithm graphicsAlgorithm;
+		private final int[] originalBounds;
+		private final List<LayoutNode> children = new ArrayList<>();
+		private final List<int[]> edges = new ArrayList<>();
+		private boolean collapsed;
+		private boolean layoutChildren;
+		private boolean resized;
+		private int x;
+		private int y;
+		private int width;
+		private int height;
+
+		private LayoutNode(Shape shape) {
+			this.shape = shape;
+			this.graphicsAlgorithm = shape.getGraphicsAlgorithm();
+			if (graphicsAlgorithm != null) {
+				x = graphicsAlgorithm.getX();
+				y = graphicsAlgorithm.getY();
+				width = graphicsAlgorithm.getWidth();
+				height = graphicsAlgorithm.getHeight();
+			}
+			this.originalBounds = new int[] { x, y, width, height };
+		}
+
+		private boolean isMoved() {
+			return x != originalBounds[0] || y != originalBounds[1];
+		}
+
+		private boolean isResized() {
+			return width != originalBounds[2] || height != originalBounds[3];
+		}
+	}
+
+	/**
+	 * the input and result of laying out the children of a container. The
+	 * children are only weakly referenced, they point to the container and
+	 * would otherwise keep the entry of the container in the cache.
+	 */
+	static class CachedLayout {
+		private final int direction;
+		private final List<WeakReference<Shape>> children;
+		private final int[] sizes;
+		private final int[] edges;
+		private final int[] positions;
+
+		private CachedLayout(LayoutNode container, int direction) {
+			this.direction = direction;
+			int count = container.children.size();
+			this.children = new ArrayList<>(count);
+			this.sizes = new int[2 * count];
+			this.positions = new int[2 * count];
+			for (int i = 0; i < count; i++) {
+				LayoutNode child = container.children.get(i);
+				children.add(new WeakReference<>(child.shape));
+				sizes[2 * i] = child.width;
+				sizes[2 * i + 1] = child.height;
+			}
+			this.edges = new int[2 * container.edges.size()];
+			for (int i = 0; i < container.edges.size(); i++) {
+				edges[2 * i] = container.edges.get(i)[0];
+				edges[2 * i + 1] = container.edges.get(i)[1];
+			}
+		}
+
+		private boolean hasSameInput(CachedLayout other) {
+			return direction == other.direction
+					&& hasSameChildren(other)
+					&& Arrays.equals(sizes, other.sizes)
+					&& Arrays.equals(edges, other.edges);
+		}
+
+		private boolean hasSameChildren(CachedLayout other) {
+			if (children.size() != other.children.size()) {
+				return false;
+			}
+			for (int i = 0; i < children.size(); i++) {
+				Shape child = children.get(i).get();
+				if (child == null || child != other.children.get(i).get()) {
+					return false;
+				}
+			}
+			return true;
+		}
+	}
+}
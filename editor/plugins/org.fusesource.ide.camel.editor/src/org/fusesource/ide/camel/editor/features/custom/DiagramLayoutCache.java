@@ -0,0 +1,58 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.features.custom;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.graphiti.features.IFeatureProvider;
+import org.eclipse.graphiti.mm.pictograms.Shape;
+import org.fusesource.ide.camel.editor.features.custom.DiagramLayout.CachedLayout;
+import org.fusesource.ide.camel.editor.provider.CamelFeatureProvider;
+
+/**
+ * the layouts of the containers of a diagram computed by
+ * {@link DiagramLayout}. Each editor has its own cache, which is cleared when
+ * the editor is disposed. Entries of removed containers are dropped by the
+ * garbage collector.
+ */
+public class DiagramLayoutCache {
+
+	private final Map<Shape, CachedLayout> layouts = new WeakHashMap<>();
+
+	/**
+	 * @param featureProvider
+	 * @return the cache of the diagram of the feature provider, or an empty
+	 *         cache if the feature provider has none
+	 */
+	public static DiagramLayoutCache of(IFeatureProvider featureProvider) {
+		if (featureProvider instanceof CamelFeatureProvider) {
+			return ((CamelFeatureProvider) featureProvider).getLayoutCache();
+		}
+		return new DiagramLayoutCache();
+	}
+
+	synchronized CachedLayout get(Shape container) {
+		return layouts.get(container);
+	}
+
+	synchronized void put(Shape container, CachedLayout layout) {
+		layouts.put(container, layout);
+	}
+
+	public synchronized int size() {
+		return layouts.size();
+	}
+
+	public synchronized void clear() {
+		layouts.clear();
+	}
+}
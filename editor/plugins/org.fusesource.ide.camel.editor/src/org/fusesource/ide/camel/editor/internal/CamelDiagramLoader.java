@@ -10,9 +10,10 @@
  ******************************************************************************/
 package org.fusesource.ide.camel.editor.internal;
 
-import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.emf.common.util.EList;
@@ -26,9 +27,12 @@ import org.eclipse.graphiti.mm.pictograms.AnchorContainer;
 import org.eclipse.graphiti.mm.pictograms.ContainerShape;
 import org.eclipse.graphiti.mm.pictograms.Diagram;
 import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.eclipse.graphiti.services.Graphiti;
+import org.fusesource.ide.camel.editor.CamelDesignEditor;
 import org.fusesource.ide.camel.editor.commands.DiagramOperations;
 import org.fusesource.ide.camel.editor.features.add.AddFlowFeature;
 import org.fusesource.ide.camel.editor.features.add.AddNodeFeature;
+import org.fusesource.ide.camel.editor.features.custom.CollapseFeature;
 import org.fusesource.ide.camel.editor.features.create.CreateFlowFeature;
 import org.fusesource.ide.camel.editor.utils.FigureUIFactory;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
@@ -39,13 +43,25 @@ import org.fusesource.ide.preferences.PreferencesConstants;
 /**
  * this class loads a camel route element into the diagram 
  * 
+ * If the route has more nodes than configured in the preferences, only that
+ * many nodes are added to the diagram. The remaining containers are added
+ * collapsed and their children are added once they are expanded, see
+ * {@link #loadDeferredChildren(ContainerShape)}.
+ * 
  * @author lhein
  */
 public class CamelDiagramLoader {
 	
+	/**
+	 * marks a collapsed figure whose children were not added to the diagram yet
+	 */
+	public static final String PROP_DEFERRED_CHILDREN = "deferredChildren";
+	
 	private Diagram diagram;
 	private IFeatureProvider featureProvider;
 	private int orientation = PositionConstants.EAST;
+	private int lazyLoadingThreshold;
+	private int remainingNodes = Integer.MAX_VALUE;
 
 	/**
 	 * 
@@ -58,6 +74,9 @@ public class CamelDiagramLoader {
 		if (PreferenceManager.getInstance().containsPreference(PreferencesConstants.EDITOR_LAYOUT_ORIENTATION)) {
 			this.orientation = PreferenceManager.getInstance().loadPreferenceAsInt(PreferencesConstants.EDITOR_LAYOUT_ORIENTATION);
 		}
+		if (PreferenceManager.getInstance().containsPreference(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD)) {
+			this.lazyLoadingThreshold = PreferenceManager.getInstance().loadPreferenceAsInt(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD);
+		}
 	}
 
 	/**
@@ -68,7 +87,8 @@ public class CamelDiagramLoader {
 		if (container == null) {
 			return;
 		}
-		List<AbstractCamelModelElement> processedNodes = new ArrayList<>();
+		Set<AbstractCamelModelElement> processedNodes = new HashSet<>();
+		resetNodeBudget();
 		List<AbstractCamelModelElement> children = container instanceof CamelRouteElement ? Arrays.asList(container) : container.getChildElements();
 		int x = 40;
 		int y = 40;
@@ -85,7 +105,75 @@ public class CamelDiagramLoader {
 		DiagramOperations.layoutDiagram(editingDomain, featureProvider, diagram, container);
 	}
 
-	private int addProcessor(AbstractCamelModelElement lastElement, AbstractCamelModelElement node, int x, int y, List<AbstractCamelModelElement> processedNodes, ContainerShape container) {
+	/**
+	 * adds the children of a figure which were left out when the diagram was
+	 * loaded. Does nothing if the children of the figure were added already.
+	 * 
+	 * @param containerShape	the figure
+	 */
+	public void loadDeferredChildren(ContainerShape containerShape) {
+		if (!hasDeferredChildren(containerShape)) {
+			return;
+		}
+		Graphiti.getPeService().removeProperty(containerShape, PROP_DEFERRED_CHILDREN);
+		Object bo = featureProvider.getBusinessObjectForPictogramElement(containerShape);
+		if (bo instanceof AbstractCamelModelElement) {
+			Set<AbstractCamelModelElement> processedNodes = new HashSet<>();
+			resetNodeBudget();
+			addChildren((AbstractCamelModelElement) bo, processedNodes, containerShape);
+		}
+	}
+
+	/**
+	 * returns the figure of the node. If the node is within collapsed figures
+	 * whose children were left out when loading the diagram, these figures
+	 * are expanded first. Has to be called within a transaction.
+	 * 
+	 * @param featureProvider	the feature provider of the diagram
+	 * @param node	the node
+	 * @return	the figure of the node or, if it is not in the diagram, of its
+	 * 			nearest parent in the diagram. Null if there is none.
+	 */
+	public static PictogramElement revealNode(IFeatureProvider featureProvider, AbstractCamelModelElement node) {
+		if (node == null) {
+			return null;
+		}
+		PictogramElement pe = featureProvider.getPictogramElementForBusinessObject(node);
+		boolean expanded = false;
+		while (pe == null) {
+			PictogramElement parentPe = null;
+			for (AbstractCamelModelElement parent = node.getParent(); parent != null && parentPe == null; parent = parent.getParent()) {
+				parentPe = featureProvider.getPictogramElementForBusinessObject(parent);
+			}
+			if (!hasDeferredChildren(parentPe)) {
+				pe = parentPe;
+				break;
+			}
+			// expanding adds the deferred children
+			new CollapseFeature(featureProvider).collapseShape(parentPe);
+			expanded = true;
+			pe = featureProvider.getPictogramElementForBusinessObject(node);
+		}
+		if (expanded && featureProvider.getDiagramTypeProvider().getDiagramBehavior() != null
+				&& featureProvider.getDiagramTypeProvider().getDiagramBehavior().getDiagramContainer() instanceof CamelDesignEditor) {
+			((CamelDesignEditor) featureProvider.getDiagramTypeProvider().getDiagramBehavior().getDiagramContainer()).autoLayoutRoute();
+		}
+		return pe;
+	}
+
+	/**
+	 * @param pe	the figure
+	 * @return	true if the children of the figure were not added to the diagram yet
+	 */
+	public static boolean hasDeferredChildren(PictogramElement pe) {
+		return pe != null && Boolean.parseBoolean(Graphiti.getPeService().getPropertyValue(pe, PROP_DEFERRED_CHILDREN));
+	}
+
+	private void resetNodeBudget() {
+		this.remainingNodes = lazyLoadingThreshold > 0 ? lazyLoadingThreshold : Integer.MAX_VALUE;
+	}
+
+	private int addProcessor(AbstractCamelModelElement lastElement, AbstractCamelModelElement node, int x, int y, Set<AbstractCamelModelElement> processedNodes, ContainerShape container) {
 		// Create the context information
 		AddContext addContext = new AddContext();
 		addContext.setNewObject(node);
@@ -135,17 +223,12 @@ public class CamelDiagramLoader {
 				}
 			}
 
+			remainingNodes--;
 			if (!node.getChildElements().isEmpty()) {
-				int subX = 40, subY = 40;
-				AbstractCamelModelElement lastSub = null;
-				for (AbstractCamelModelElement subNode : node.getChildElements()) {
-					int res = addProcessor(lastSub, subNode, subX, subY, processedNodes, getContainerShape(destState));
-					if (this.orientation == PositionConstants.EAST) {
-						subX = res;	
-					} else {
-						subY = res;
-					}
-					lastSub = subNode;
+				if (lazyLoadingThreshold > 0 && countNodes(node.getChildElements(), remainingNodes) > remainingNodes) {
+					deferChildren(getContainerShape(destState));
+				} else {
+					addChildren(node, processedNodes, getContainerShape(destState));
 				}
 			}
 			if (this.orientation == PositionConstants.EAST) {
@@ -160,6 +243,50 @@ public class CamelDiagramLoader {
 		return retVal;
 	}
 
+	private void addChildren(AbstractCamelModelElement node, Set<AbstractCamelModelElement> processedNodes, ContainerShape containerShape) {
+		int subX = 40, subY = 40;
+		AbstractCamelModelElement lastSub = null;
+		for (AbstractCamelModelElement subNode : node.getChildElements()) {
+			int res = addProcessor(lastSub, subNode, subX, subY, processedNodes, containerShape);
+			if (this.orientation == PositionConstants.EAST) {
+				subX = res;	
+			} else {
+				subY = res;
+			}
+			lastSub = subNode;
+		}
+	}
+
+	/**
+	 * shows the figure collapsed without adding its children
+	 * 
+	 * @param containerShape
+	 */
+	private void deferChildren(ContainerShape containerShape) {
+		Graphiti.getPeService().setPropertyValue(containerShape, PROP_DEFERRED_CHILDREN, Boolean.TRUE.toString());
+		Graphiti.getPeService().setPropertyValue(containerShape, CollapseFeature.PROP_COLLAPSED_STATE, Boolean.TRUE.toString());
+		Graphiti.getPeService().setPropertyValue(containerShape, CollapseFeature.PROP_EXPANDED_WIDTH, String.valueOf(containerShape.getGraphicsAlgorithm().getWidth()));
+		Graphiti.getPeService().setPropertyValue(containerShape, CollapseFeature.PROP_EXPANDED_HEIGHT, String.valueOf(containerShape.getGraphicsAlgorithm().getHeight()));
+		new CollapseFeature(featureProvider).updateBorderStyle(containerShape, true);
+	}
+
+	/**
+	 * counts the given nodes and all their children, stopping once the limit
+	 * is exceeded
+	 * 
+	 * @return	the number of nodes, or any number above the limit
+	 */
+	private int countNodes(List<AbstractCamelModelElement> nodes, int limit) {
+		int count = nodes.size();
+		for (AbstractCamelModelElement node : nodes) {
+			if (count > limit) {
+				break;
+			}
+			count += countNodes(node.getChildElements(), limit - count);
+		}
+		return count;
+	}
+
 	private ContainerShape getContainerShape(PictogramElement pe) {
 		return (ContainerShape)pe;
 	}
@@ -70,6 +70,8 @@ public class UIMessages extends NLS {
 	public static String editorPreferencePageLayoutOrientationEAST;
 	public static String editorPreferencePageGridVisibilitySetting;
 	public static String editorPreferencePageUserLabels;
+	public static String editorPreferencePageLazyLoadingThresholdSetting;
+	public static String editorPreferencePageCatalogLazyLoadingSetting;
 	public static String colorPreferencePageDescription;
 	public static String colorPreferencePageGridColorSetting;
 	public static String colorPreferencePageTextColorSetting;
@@ -35,9 +35,8 @@ import org.eclipse.ui.navigator.ICommonContentExtensionSite;
 import org.eclipse.ui.navigator.ICommonContentProvider;
 import org.fusesource.ide.camel.editor.internal.CamelEditorUIActivator;
 import org.fusesource.ide.camel.editor.internal.UIMessages;
+import org.fusesource.ide.camel.model.service.core.io.CamelFileOutline;
 import org.fusesource.ide.camel.model.service.core.io.CamelIOHandler;
-import org.fusesource.ide.camel.model.service.core.model.CamelFile;
-import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
 import org.fusesource.ide.foundation.ui.util.Widgets;
 
 /**
@@ -159,12 +158,12 @@ public class CamelCtxNavContentProvider implements ICommonContentProvider, IReso
 		private CamelCtxNavRouteNode[] getRoutes(IFile camelFile, IProgressMonitor monitor) {
 			SubMonitor subMonitor = SubMonitor.convert(monitor, 1);
 			CamelIOHandler ioHandler = new CamelIOHandler();
-			final CamelFile rc = ioHandler.loadCamelModel(camelFile, subMonitor.newChild(1));
-			if (rc != null && rc.getRouteContainer() != null) {
-				return rc.getRouteContainer().getChildElements()
+			// only the outline is needed, the editable model is loaded by the nodes on demand
+			final CamelFileOutline outline = ioHandler.loadCamelOutline(camelFile, subMonitor.newChild(1));
+			if (outline != null) {
+				return outline.getRoutes()
 						.stream()
-						.filter(node -> node instanceof CamelRouteElement)
-						.map(route -> new CamelCtxNavRouteNode((CamelRouteElement)route, camelFile))
+						.map(route -> new CamelCtxNavRouteNode(outline, route, camelFile))
 						.toArray(CamelCtxNavRouteNode[]::new);
 			}
 			return new CamelCtxNavRouteNode[0];
@@ -29,7 +29,7 @@ public class CamelCtxNavLabelProvider extends LabelProvider {
 		if( element instanceof AbstractCamelModelElement) {
 			return CamelEditorUIActivator.getDefault().getImage(((AbstractCamelModelElement) element).getIconName() + "16.png");
 		} else if (element instanceof CamelCtxNavRouteNode) {
-			return CamelEditorUIActivator.getDefault().getImage(((CamelCtxNavRouteNode) element).getCamelRoute().getIconName() + "16.png");
+			return CamelEditorUIActivator.getDefault().getImage(((CamelCtxNavRouteNode) element).getIconName() + "16.png");
 		}
 		return null;
 	}
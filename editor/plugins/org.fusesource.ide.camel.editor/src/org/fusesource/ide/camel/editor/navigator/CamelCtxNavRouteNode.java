@@ -14,6 +14,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.fusesource.ide.camel.model.service.core.io.CamelFileOutline;
 import org.fusesource.ide.camel.model.service.core.model.CamelRouteContainerElement;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
@@ -21,11 +23,16 @@ import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
 /**
  * Helper class that holds a reference to the route and enclosing camel context file
  * 
+ * The node is created from the outline of the file, the route of the editable
+ * model is only loaded when it is asked for.
+ * 
  * @author Renjith M. 
  */
 public class CamelCtxNavRouteNode  {
 	
-	private final CamelRouteElement mRouteSupport;
+	private final CamelFileOutline mOutline;
+	private final CamelFileOutline.Element mOutlineRoute;
+	private CamelRouteElement mRouteSupport;
 	private final IFile mFile;
 
 	/**
@@ -34,14 +41,48 @@ public class CamelCtxNavRouteNode  {
 	 * @param file
 	 */
 	public CamelCtxNavRouteNode(CamelRouteElement routeSupport, IFile file) {
+		this.mOutline = null;
+		this.mOutlineRoute = null;
 		this.mRouteSupport = routeSupport;
 		this.mFile = file;
 	}
 	
-	public CamelRouteElement getCamelRoute(){
+	/**
+	 * 
+	 * @param outline	the outline of the file
+	 * @param route		the route of the outline
+	 * @param file
+	 */
+	public CamelCtxNavRouteNode(CamelFileOutline outline, CamelFileOutline.Element route, IFile file) {
+		this.mOutline = outline;
+		this.mOutlineRoute = route;
+		this.mFile = file;
+	}
+	
+	/**
+	 * @return the route of the editable model, loads the model of the file on first access
+	 */
+	public synchronized CamelRouteElement getCamelRoute(){
+		if (this.mRouteSupport == null && this.mOutline != null) {
+			this.mRouteSupport = this.mOutline.getCamelRoute(this.mOutlineRoute, new NullProgressMonitor());
+		}
 		return this.mRouteSupport;
 	}
 	
+	/**
+	 * @return the route of the outline or null if the node has been created from the editable model
+	 */
+	public CamelFileOutline.Element getOutlineRoute() {
+		return this.mOutlineRoute;
+	}
+	
+	/**
+	 * @return the name of the icon of the route
+	 */
+	public String getIconName() {
+		return this.mOutlineRoute != null ? this.mOutlineRoute.getName() : getCamelRoute().getIconName();
+	}
+	
 	public IFile getCamelContextFile(){
 		return this.mFile;
 	}
@@ -52,7 +93,7 @@ public class CamelCtxNavRouteNode  {
 	 */
 	@Override
 	public String toString() {
-		return this.mRouteSupport.toString();
+		return this.mOutlineRoute != null ? this.mOutlineRoute.toString() : this.mRouteSupport.toString();
 	}
 	
 	private static List<String> getChildNodesDisplayText(AbstractCamelModelElement routeSupport) {
@@ -73,8 +114,12 @@ public class CamelCtxNavRouteNode  {
 	 */
 	public CamelRouteElement getMatchingRouteFromEditorModel(CamelRouteContainerElement model) {
 		if(model!=null){
-			List<String> nodeKeys = getChildNodesDisplayText(this.mRouteSupport);
-			String nodeDisplayText = this.mRouteSupport.getDisplayText();
+			CamelRouteElement camelRoute = getCamelRoute();
+			if (camelRoute == null) {
+				return null;
+			}
+			List<String> nodeKeys = getChildNodesDisplayText(camelRoute);
+			String nodeDisplayText = camelRoute.getDisplayText();
 			if(nodeDisplayText!=null){
 				for(AbstractCamelModelElement node : model.getChildElements()) {
 					if(node instanceof CamelRouteElement && nodeDisplayText.equals(node.getDisplayText())) {
@@ -16,6 +16,7 @@ import org.eclipse.draw2d.PositionConstants;
 import org.eclipse.jface.preference.BooleanFieldEditor;
 import org.eclipse.jface.preference.ComboFieldEditor;
 import org.eclipse.jface.preference.FieldEditorPreferencePage;
+import org.eclipse.jface.preference.IntegerFieldEditor;
 import org.eclipse.ui.IWorkbench;
 import org.eclipse.ui.IWorkbenchPreferencePage;
 import org.eclipse.ui.IWorkbenchPropertyPage;
@@ -87,6 +88,19 @@ implements IWorkbenchPreferencePage, IWorkbenchPropertyPage {
 
 		addField(userLabelsEditor);
 
+		IntegerFieldEditor lazyLoadingThresholdEditor = new IntegerFieldEditor(
+				PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD, UIMessages.editorPreferencePageLazyLoadingThresholdSetting,
+				getFieldEditorParent());
+		lazyLoadingThresholdEditor.setValidRange(0, Integer.MAX_VALUE);
+
+		addField(lazyLoadingThresholdEditor);
+
+		BooleanFieldEditor catalogLazyLoadingEditor = new BooleanFieldEditor(
+				PreferencesConstants.CATALOG_LAZY_LOADING, UIMessages.editorPreferencePageCatalogLazyLoadingSetting,
+				getFieldEditorParent());
+
+		addField(catalogLazyLoadingEditor);
+
 		// Sets up the context sensitive help for this page
 		PlatformUI.getWorkbench().getHelpSystem().setHelp(getFieldEditorParent(), "org.fusesource.ide.camel.editor.editorConfig");
 	}
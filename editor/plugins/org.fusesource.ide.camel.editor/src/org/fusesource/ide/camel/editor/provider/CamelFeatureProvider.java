@@ -45,6 +45,7 @@ import org.fusesource.ide.camel.editor.features.custom.DisableCamelBreakpointFea
 import org.fusesource.ide.camel.editor.features.custom.EditConditionalBreakpoint;
 import org.fusesource.ide.camel.editor.features.custom.EnableCamelBreakpointFeature;
 import org.fusesource.ide.camel.editor.features.custom.GoIntoContainerFeature;
+import org.fusesource.ide.camel.editor.features.custom.DiagramLayoutCache;
 import org.fusesource.ide.camel.editor.features.custom.LayoutDiagramFeature;
 import org.fusesource.ide.camel.editor.features.custom.SetConditionalBreakpointFeature;
 import org.fusesource.ide.camel.editor.features.custom.SetEndpointBreakpointFeature;
@@ -65,6 +66,7 @@ public class CamelFeatureProvider extends DefaultFeatureProvider {
 
 //	private AddNodeMenuFactory menuFactory = new AddNodeMenuFactory();
 	private CamelModelIndependenceSolver modelIndependenceSolver;
+	private final DiagramLayoutCache layoutCache = new DiagramLayoutCache();
 	
 	public CamelFeatureProvider(IDiagramTypeProvider dtp) {
 		super(dtp);
@@ -74,6 +76,13 @@ public class CamelFeatureProvider extends DefaultFeatureProvider {
 		setIndependenceSolver(modelIndependenceSolver);
 	}
 
+	/**
+	 * @return the layouts of the containers of the diagram computed before
+	 */
+	public DiagramLayoutCache getLayoutCache() {
+		return layoutCache;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.eclipse.graphiti.features.impl.AbstractFeatureProvider#getAddFeature(org.eclipse.graphiti.features.context.IAddContext)
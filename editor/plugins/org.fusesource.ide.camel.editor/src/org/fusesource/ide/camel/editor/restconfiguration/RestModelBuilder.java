@@ -60,9 +60,9 @@ public class RestModelBuilder {
 		SubMonitor subMon = SubMonitor.convert(monitor, 2);
 		Map<String, Eip> restModel = new HashMap<>();
 		CamelModel catalogModel = CamelCatalogCacheManager.getInstance().getCamelModelForProject(project, subMon.split(1));
-		catalogModel.getEips().stream()
-			.filter( (Eip t) -> t.getTags().contains(RestConfigurationElement.REST_CONFIGURATION_TAG) || 
-								t.getTags().contains(RestElement.REST_TAG) )
+		catalogModel.getEipsByTag(RestConfigurationElement.REST_CONFIGURATION_TAG)
+			.forEach( (Eip t) -> restModel.put(t.getName(), t) );
+		catalogModel.getEipsByTag(RestElement.REST_TAG)
 			.forEach( (Eip t) -> restModel.put(t.getName(), t) );
 		subMon.setWorkRemaining(0);
 		return restModel;
@@ -26,6 +26,7 @@ import org.eclipse.graphiti.ui.internal.parts.ContainerShapeEditPart;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.widgets.Display;
+import org.fusesource.ide.camel.editor.commands.DiagramOperations;
 import org.fusesource.ide.camel.model.service.core.catalog.Parameter;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelCatalogCacheManager;
 import org.fusesource.ide.camel.model.service.core.catalog.cache.CamelModel;
@@ -196,8 +197,10 @@ public class NodeUtils {
 		Display.getCurrent().asyncExec(new Runnable() {
 			@Override
 			public void run() {
-				PictogramElement pe = fp.getPictogramElementForBusinessObject(node);
-		        fp.getDiagramTypeProvider().getDiagramBehavior().getDiagramContainer().selectPictogramElements(new PictogramElement[] {pe});		
+				PictogramElement pe = DiagramOperations.revealNode(fp, node);
+				if (pe != null) {
+					fp.getDiagramTypeProvider().getDiagramBehavior().getDiagramContainer().selectPictogramElements(new PictogramElement[] {pe});
+				}
 			}
 		});
     }
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.utils;
+
+import org.eclipse.text.edits.ReplaceEdit;
+
+public class TextChangeUtils {
+
+	private TextChangeUtils() {
+		// utility class
+	}
+
+	/**
+	 * computes the edit turning the old text into the new one, which only
+	 * replaces the region between the common start and end of both texts
+	 *
+	 * @param oldText
+	 * @param newText
+	 * @return the edit or null if both texts are equal
+	 */
+	public static ReplaceEdit computeReplaceEdit(String oldText, String newText) {
+		int maxLength = Math.min(oldText.length(), newText.length());
+		int start = 0;
+		while (start < maxLength && oldText.charAt(start) == newText.charAt(start)) {
+			start++;
+		}
+		if (start == oldText.length() && start == newText.length()) {
+			return null;
+		}
+		int oldEnd = oldText.length();
+		int newEnd = newText.length();
+		while (oldEnd > start && newEnd > start && oldText.charAt(oldEnd - 1) == newText.charAt(newEnd - 1)) {
+			oldEnd--;
+			newEnd--;
+		}
+		return new ReplaceEdit(start, oldEnd - start, newText.substring(start, newEnd));
+	}
+}
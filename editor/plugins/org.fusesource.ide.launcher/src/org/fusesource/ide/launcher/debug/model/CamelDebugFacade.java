@@ -11,13 +11,22 @@
 package org.fusesource.ide.launcher.debug.model;
 
 import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
 
+import javax.management.Attribute;
 import javax.management.MBeanServerConnection;
 import javax.management.MalformedObjectNameException;
+import javax.management.NotificationListener;
 import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 
@@ -39,6 +48,24 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	private static final String CAMEL_CONTEXT_MBEAN = "org.apache.camel:type=context,name=\"%s\",*";
 	
 	
+	/**
+	 * the configuration attributes of the debugger, fetched all at once. The
+	 * debug counter and the single step mode change while the exchanges run
+	 * and are always read from the runtime.
+	 */
+	private static final String[] DEBUGGER_ATTRIBUTES = { "LoggingLevel", "Enabled", "BodyMaxChars", "BodyIncludeStreams", "BodyIncludeFiles" };
+	/**
+	 * the attributes of a processor which only change with its route, fetched
+	 * all at once.
+	 */
+	private static final String[] PROCESSOR_ATTRIBUTES = { "RouteId", "CamelId" };
+	/**
+	 * the exchange statistics of a processor, fetched all at once. They don't
+	 * change while the exchanges are suspended.
+	 */
+	private static final String[] PROCESSOR_STATISTICS = { "ExchangesCompleted", "ExchangesFailed", "ExchangesTotal", "Redeliveries", "ExternalRedeliveries", "FailuresHandled",
+			"LastProcessingTime", "MinProcessingTime", "MaxProcessingTime", "MeanProcessingTime", "TotalProcessingTime" };
+	
 	private static final long TIMEOUT_MBEAN_REGISTRATION = JMXCamelConnectJob.CONNECTION_TIMEOUT_IN_MILLIS + 5 * 60 * 1000L;
 	
 	private ObjectName objectNameDebugger = null;
@@ -52,6 +79,23 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	 */
 	private MBeanServerConnection mbsc;
 	
+	private final AtomicLong remoteCalls = new AtomicLong();
+	private final Map<Runnable, NotificationListener> notificationListeners = new ConcurrentHashMap<>();
+	
+	/*
+	 * client-side caches so that a breakpoint hit and the variables of its
+	 * stack frame do not cost a remote call per setting. The debugger
+	 * settings, processor statistics and message dumps are invalidated when an
+	 * exchange is resumed or stepped, or when the set of suspended nodes
+	 * changes, the processors when the routes are updated.
+	 */
+	private final Map<String, Object> debuggerAttributes = new ConcurrentHashMap<>();
+	private final Map<String, ObjectName> processorMBeans = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, Object>> processorAttributes = new ConcurrentHashMap<>();
+	private final Map<String, Map<String, Object>> processorStatistics = new ConcurrentHashMap<>();
+	private final Map<String, String> messageDumps = new ConcurrentHashMap<>();
+	private volatile Set<String> suspendedNodeIds = Collections.emptySet();
+	
 	/**
 	 * creates a debugger facade via JMX
 	 * 
@@ -64,7 +108,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	 * @throws Exception
 	 */
 	public CamelDebugFacade(CamelDebugTarget debugTarget, MBeanServerConnection mbsc, String contextId) throws MalformedObjectNameException, IOException {
-		this.mbsc = mbsc;
+		this.mbsc = countRemoteCalls(mbsc);
 		this.debugTarget = debugTarget;
 		this.contextId = contextId;
 		long startTime = System.currentTimeMillis();
@@ -79,6 +123,26 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		}
 	}
 	
+	/**
+	 * wraps the connection so that every call going to the runtime is counted
+	 * 
+	 * @param connection
+	 * @return
+	 */
+	private MBeanServerConnection countRemoteCalls(MBeanServerConnection connection) {
+		if (connection == null) {
+			return null;
+		}
+		return (MBeanServerConnection) Proxy.newProxyInstance(MBeanServerConnection.class.getClassLoader(), new Class<?>[] { MBeanServerConnection.class }, (proxy, method, args) -> {
+			remoteCalls.incrementAndGet();
+			try {
+				return method.invoke(connection, args);
+			} catch (InvocationTargetException ex) {
+				throw ex.getCause();
+			}
+		});
+	}
+	
 	/**
 	 * initialize the mbean
 	 * @param contextId 
@@ -140,12 +204,17 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	 * @throws Exception
 	 */
 	private ObjectName initializeProcessorMBean(String processorId) throws MalformedObjectNameException, IOException {
+		ObjectName cachedObjectName = processorMBeans.get(processorId);
+		if (cachedObjectName != null) {
+			return cachedObjectName;
+		}
     	Set<ObjectInstance> mbeans = mbsc.queryMBeans(new ObjectName(String.format(CAMEL_PROCESSOR_MBEAN, processorId)), null);
     	if (mbeans.size() == 1) {
 	    	// remember the mbean
 	    	Object oMbean = mbeans.iterator().next();
 	    	if (oMbean instanceof ObjectInstance) {
 	    		ObjectInstance oi = (ObjectInstance)oMbean;
+	    		processorMBeans.put(processorId, oi.getObjectName());
 	    		return oi.getObjectName();
 	    	}
 	    }
@@ -171,6 +240,10 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 			this.debugTarget.resumeAllThreads();
 			// then invoke the update
 			mbsc.invoke(this.objectNameContext, "addOrUpdateRoutesFromXml", new Object[] { xmlDump } , new String[] { String.class.getName() }); 
+			// the processors are registered again for the updated routes
+			processorMBeans.clear();
+			processorAttributes.clear();
+			invalidateCaches();
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		} finally {
@@ -190,7 +263,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public String getLoggingLevel() {
 		log("getLoggingLevel()");
 		try {
-			return (String) mbsc.invoke(this.objectNameDebugger, "getLoggingLevel", new Object[] { } , new String[] { }); 
+			return (String) getDebuggerAttribute("LoggingLevel", "getLoggingLevel"); 
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -205,6 +278,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setLoggingLevel(" + level + ")");	
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setLoggingLevel", new Object[] { level } , new String[] { String.class.getName() }); 
+			debuggerAttributes.remove("LoggingLevel");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -217,7 +291,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public boolean isEnabled() {
 		log("isEnabled()");
 		try {
-			return (boolean) mbsc.invoke(this.objectNameDebugger, "isEnabled", new Object[] { } , new String[] { }); 
+			return (boolean) getDebuggerAttribute("Enabled", "isEnabled"); 
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -232,6 +306,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("enableDebugger()");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "enableDebugger", new Object[] { } , new String[] { }); 
+			debuggerAttributes.remove("Enabled");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -245,6 +320,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("disableDebugger()");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "disableDebugger", new Object[] { } , new String[] { }); 
+			debuggerAttributes.remove("Enabled");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -311,6 +387,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("resumeBreakpoint(" + nodeId + ")");	
 		try {
 			mbsc.invoke(this.objectNameDebugger, "resumeBreakpoint", new Object[] { nodeId } , new String[] { String.class.getName() }); 
+			invalidateCaches();
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -324,6 +401,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setMessageBodyOnBreakpoint(" + nodeId + ", " + body + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setMessageBodyOnBreakpoint", new Object[] { nodeId, body } , new String[] { String.class.getName(), Object.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -338,6 +416,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setMessageBodyOnBreakpoint(" + nodeId + ", " + body + ", " + type + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setMessageBodyOnBreakpoint", new Object[] { nodeId, body, type } , new String[] { String.class.getName(), Object.class.getName(), String.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -351,6 +430,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("removeMessageBodyOnBreakpoint(" + nodeId + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "removeMessageBodyOnBreakpoint", new Object[] { nodeId } , new String[] { String.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -365,6 +445,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setMessageHeaderOnBreakpoint(" + nodeId + ", " + headerName + ", " + value + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setMessageHeaderOnBreakpoint", new Object[] { nodeId, headerName, value } , new String[] { String.class.getName(), String.class.getName(), Object.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -378,6 +459,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("removeMessageHeaderOnBreakpoint(" + nodeId + ", " + headerName + ")");	
 		try {
 			mbsc.invoke(this.objectNameDebugger, "removeMessageHeaderOnBreakpoint", new Object[] { nodeId, headerName } , new String[] { String.class.getName(), String.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -392,6 +474,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setMessageHeaderOnBreakpoint(" + nodeId +", " + headerName + ", " + value + ", " + type + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setMessageHeaderOnBreakpoint", new Object[] { nodeId, headerName, value, type } , new String[] { String.class.getName(), String.class.getName(), Object.class.getName(), String.class.getName() }); 
+			messageDumps.remove(nodeId);
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -405,6 +488,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("resumeAll()");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "resumeAll", new Object[] { } , new String[] { }); 
+			invalidateCaches();
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -418,6 +502,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("stepBreakpoint(" + nodeId + ")");	
 		try {
 			mbsc.invoke(this.objectNameDebugger, "stepBreakpoint", new Object[] { nodeId } , new String[] { String.class.getName() }); 
+			invalidateCaches();
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -445,6 +530,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("step()");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "step", new Object[] { } , new String[] { }); 
+			invalidateCaches();
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -472,7 +558,14 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public Set<String> getSuspendedBreakpointNodeIds() throws Exception {
 		log("getSuspendedBreakpointsNodeIds()");
 		Collection<String> suspendedBreakpointNodeIds = (Collection<String>) mbsc.invoke(this.objectNameDebugger, "getSuspendedBreakpointNodeIds", new Object[] { } , new String[] { });
-		return new HashSet<>(suspendedBreakpointNodeIds); 
+		Set<String> nodeIds = new HashSet<>(suspendedBreakpointNodeIds);
+		if (!nodeIds.equals(suspendedNodeIds)) {
+			// exchanges have been suspended, or resumed by the runtime (fallback timeout), in between
+			processorStatistics.clear();
+			messageDumps.keySet().retainAll(nodeIds);
+		}
+		suspendedNodeIds = nodeIds;
+		return nodeIds; 
 	}
 
 	/* (non-Javadoc)
@@ -508,7 +601,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public int getBodyMaxChars() {
 		log("getBodyMaxChars()");
 		try {
-			return (int) mbsc.invoke(this.objectNameDebugger, "getBodyMaxChars", new Object[] { } , new String[] { });
+			return (int) getDebuggerAttribute("BodyMaxChars", "getBodyMaxChars");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -523,6 +616,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setBodyMaxChars(" + bodyMaxChars + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setBodyMaxChars", new Object[] { bodyMaxChars } , new String[] { "int" }); 
+			debuggerAttributes.remove("BodyMaxChars");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -535,7 +629,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public boolean isBodyIncludeStreams() {
 		log("isBodyIncludeStreams()");
 		try {
-			return (boolean) mbsc.invoke(this.objectNameDebugger, "isBodyIncludeStreams", new Object[] { } , new String[] { });
+			return (boolean) getDebuggerAttribute("BodyIncludeStreams", "isBodyIncludeStreams");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -550,6 +644,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setBodyIncludeStreams(" + bodyIncludeStreams + ")");	
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setBodyIncludeStreams", new Object[] { bodyIncludeStreams } , new String[] { "boolean" }); 
+			debuggerAttributes.remove("BodyIncludeStreams");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -562,7 +657,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public boolean isBodyIncludeFiles() {
 		log("isBodyIncludeFiles()");
 		try {
-			return (boolean) mbsc.invoke(this.objectNameDebugger, "isBodyIncludeFiles", new Object[] { } , new String[] { });
+			return (boolean) getDebuggerAttribute("BodyIncludeFiles", "isBodyIncludeFiles");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -577,6 +672,7 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		log("setBodyIncludeFiles(" + bodyIncludeFiles + ")");
 		try {
 			mbsc.invoke(this.objectNameDebugger, "setBodyIncludeFiles", new Object[] { bodyIncludeFiles } , new String[] { "boolean" }); 
+			debuggerAttributes.remove("BodyIncludeFiles");
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
 		}
@@ -589,8 +685,15 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public String dumpTracedMessagesAsXml(String nodeId) {
 		log("dumpTracedMessagesAsXml()");
 		try {
-			String dump = (String) mbsc.invoke(this.objectNameDebugger, "dumpTracedMessagesAsXml", new Object[] { nodeId } , new String[] { String.class.getName() });
+			String dump = messageDumps.get(nodeId);
+			if (dump != null) {
+				return dump;
+			}
+			dump = (String) mbsc.invoke(this.objectNameDebugger, "dumpTracedMessagesAsXml", new Object[] { nodeId } , new String[] { String.class.getName() });
 			log(">>>>>>>>>>>>> DUMP:\n" + dump);
+			if (dump != null && !dump.isEmpty() && suspendedNodeIds.contains(nodeId)) {
+				messageDumps.put(nodeId, dump);
+			}
 			return dump;
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -656,9 +759,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public String getRouteId(String processorId) {
 		log("getRouteId(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (String) mbsc.getAttribute(objName, "RouteId");
+			Object value = getProcessorAttribute(processorId, "RouteId");
+			if (value != null){
+				return (String) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -673,9 +776,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public String getCamelId(String processorId) {
 		log("getCamelId(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (String) mbsc.getAttribute(objName, "CamelId");
+			Object value = getProcessorAttribute(processorId, "CamelId");
+			if (value != null){
+				return (String) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -690,9 +793,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getCompletedExchanges(String processorId) {
 		log("getCompletedExchanges(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "ExchangesCompleted");
+			Object value = getProcessorStatistic(processorId, "ExchangesCompleted");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -707,9 +810,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getFailedExchanges(String processorId) {
 		log("getFailedExchanges(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "ExchangesFailed");
+			Object value = getProcessorStatistic(processorId, "ExchangesFailed");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -724,9 +827,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getTotalExchanges(String processorId) {
 		log("getTotalExchanges(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "ExchangesTotal");
+			Object value = getProcessorStatistic(processorId, "ExchangesTotal");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -741,9 +844,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getRedeliveries(String processorId) {
 		log("getRedeliveries(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "Redeliveries");
+			Object value = getProcessorStatistic(processorId, "Redeliveries");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -758,9 +861,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getExternalRedeliveries(String processorId) {
 		log("getExternalRedeliveries(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "ExternalRedeliveries");
+			Object value = getProcessorStatistic(processorId, "ExternalRedeliveries");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -775,9 +878,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getHandledFailures(String processorId) {
 		log("getHandledFailures(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "FailuresHandled");
+			Object value = getProcessorStatistic(processorId, "FailuresHandled");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -792,9 +895,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getLastProcessingTime(String processorId) {
 		log("getLastProcessingTime(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "LastProcessingTime");
+			Object value = getProcessorStatistic(processorId, "LastProcessingTime");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -809,9 +912,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getMinProcessingTime(String processorId) {
 		log("getMinProcessingTime(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "MinProcessingTime");
+			Object value = getProcessorStatistic(processorId, "MinProcessingTime");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -826,9 +929,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getMaxProcessingTime(String processorId) {
 		log("getMaxProcessingTime(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "MaxProcessingTime");
+			Object value = getProcessorStatistic(processorId, "MaxProcessingTime");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -843,9 +946,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getAverageProcessingTime(String processorId) {
 		log("getAverageProcessingTime(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "MeanProcessingTime");
+			Object value = getProcessorStatistic(processorId, "MeanProcessingTime");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -860,9 +963,9 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 	public long getTotalProcessingTime(String processorId) {
 		log("getTotalProcessingTime(" + processorId + ")");
 		try {
-			ObjectName objName = initializeProcessorMBean(processorId);
-			if (objName != null){
-				return (long) mbsc.getAttribute(objName, "TotalProcessingTime");
+			Object value = getProcessorStatistic(processorId, "TotalProcessingTime");
+			if (value != null){
+				return (long) value;
 			}
 		} catch (Exception ex) {
 			Activator.getLogger().error(ex);
@@ -870,6 +973,145 @@ public class CamelDebugFacade implements ICamelDebuggerMBeanFacade {
 		return -1;
 	}
 	
+	/* (non-Javadoc)
+	 * @see org.fusesource.ide.camel.model.service.core.jmx.camel.ICamelDebuggerMBeanFacade#addNotificationListener(java.lang.Runnable)
+	 */
+	@Override
+	public boolean addNotificationListener(Runnable listener) {
+		log("addNotificationListener()");
+		try {
+			// only subscribe if the debugger of this Camel version declares notifications
+			if (this.objectNameDebugger == null || mbsc.getMBeanInfo(this.objectNameDebugger).getNotifications().length == 0) {
+				return false;
+			}
+			NotificationListener notificationListener = (notification, handback) -> listener.run();
+			mbsc.addNotificationListener(this.objectNameDebugger, notificationListener, null, null);
+			notificationListeners.put(listener, notificationListener);
+			return true;
+		} catch (Exception ex) {
+			Activator.getLogger().warning("Unable to subscribe to the notifications of the Camel debugger, it will be polled instead.", ex);
+		}
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see org.fusesource.ide.camel.model.service.core.jmx.camel.ICamelDebuggerMBeanFacade#removeNotificationListener(java.lang.Runnable)
+	 */
+	@Override
+	public void removeNotificationListener(Runnable listener) {
+		log("removeNotificationListener()");
+		NotificationListener notificationListener = notificationListeners.remove(listener);
+		if (notificationListener != null) {
+			try {
+				mbsc.removeNotificationListener(this.objectNameDebugger, notificationListener);
+			} catch (Exception ex) {
+				// the connection may already be closed
+				Activator.getLogger().info("Unable to unsubscribe from the notifications of the Camel debugger.", ex);
+			}
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see org.fusesource.ide.camel.model.service.core.jmx.camel.ICamelDebuggerMBeanFacade#getRemoteCallCount()
+	 */
+	@Override
+	public long getRemoteCallCount() {
+		return remoteCalls.get();
+	}
+	
+	/**
+	 * returns a configuration attribute of the debugger. All configuration
+	 * attributes are fetched with a single remote call and kept until an
+	 * exchange is resumed or the attribute is set.
+	 * 
+	 * @param attribute	the name of the attribute
+	 * @param operation	the operation to use if the runtime does not expose the attribute
+	 * @return the value of the attribute
+	 * @throws Exception
+	 */
+	private Object getDebuggerAttribute(String attribute, String operation) throws Exception {
+		Object value = debuggerAttributes.get(attribute);
+		if (value == null) {
+			for (Attribute fetched : mbsc.getAttributes(this.objectNameDebugger, DEBUGGER_ATTRIBUTES).asList()) {
+				if (fetched.getValue() != null) {
+					debuggerAttributes.put(fetched.getName(), fetched.getValue());
+				}
+			}
+			value = debuggerAttributes.get(attribute);
+		}
+		if (value == null) {
+			value = mbsc.invoke(this.objectNameDebugger, operation, new Object[] { } , new String[] { });
+			if (value != null) {
+				debuggerAttributes.put(attribute, value);
+			}
+		}
+		return value;
+	}
+	
+	/**
+	 * returns an attribute of a processor which only changes with its route.
+	 * These attributes are fetched with a single remote call and kept until
+	 * the routes are updated.
+	 * 
+	 * @param processorId	the id of the processor
+	 * @param attribute		the name of the attribute
+	 * @return the value of the attribute or null if there is no such processor
+	 * @throws Exception
+	 */
+	private Object getProcessorAttribute(String processorId, String attribute) throws Exception {
+		Map<String, Object> attributes = processorAttributes.get(processorId);
+		if (attributes == null) {
+			ObjectName objName = initializeProcessorMBean(processorId);
+			if (objName == null) {
+				return null;
+			}
+			attributes = new HashMap<>();
+			for (Attribute fetched : mbsc.getAttributes(objName, PROCESSOR_ATTRIBUTES).asList()) {
+				attributes.put(fetched.getName(), fetched.getValue());
+			}
+			processorAttributes.put(processorId, attributes);
+		}
+		return attributes.get(attribute);
+	}
+	
+	/**
+	 * returns an exchange statistic of a processor. All statistics of the
+	 * processor are fetched with a single remote call and kept while the
+	 * exchanges stay suspended.
+	 * 
+	 * @param processorId	the id of the processor
+	 * @param attribute		the name of the attribute
+	 * @return the value of the attribute or null if there is no such processor
+	 * @throws Exception
+	 */
+	private Object getProcessorStatistic(String processorId, String attribute) throws Exception {
+		Map<String, Object> statistics = processorStatistics.get(processorId);
+		if (statistics == null) {
+			ObjectName objName = initializeProcessorMBean(processorId);
+			if (objName == null) {
+				return null;
+			}
+			statistics = new HashMap<>();
+			for (Attribute fetched : mbsc.getAttributes(objName, PROCESSOR_STATISTICS).asList()) {
+				statistics.put(fetched.getName(), fetched.getValue());
+			}
+			if (!suspendedNodeIds.isEmpty()) {
+				processorStatistics.put(processorId, statistics);
+			}
+		}
+		return statistics.get(attribute);
+	}
+	
+	/**
+	 * drops the cached debugger settings, processor statistics and message dumps
+	 */
+	private void invalidateCaches() {
+		suspendedNodeIds = Collections.emptySet();
+		debuggerAttributes.clear();
+		processorStatistics.clear();
+		messageDumps.clear();
+	}
+	
 	private static void log(String logString) {
 		if (DEVELOPER_MODE){
 			System.err.println(logString);
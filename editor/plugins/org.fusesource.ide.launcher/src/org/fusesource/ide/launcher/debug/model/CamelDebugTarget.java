@@ -384,6 +384,9 @@ public class CamelDebugTarget extends CamelDebugElement implements IDebugTarget
 		this.fProcessingActive = true;
 		if(dispatcher == null){
 			scheduleEventDispatcherJob();
+		} else {
+			// check for breakpoints hit in the meantime right away
+			dispatcher.wakeUp();
 		}
 		if(garbageCollector == null){
 			scheduleGarbageCollectorJob();
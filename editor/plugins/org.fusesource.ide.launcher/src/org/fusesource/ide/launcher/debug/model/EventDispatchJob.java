@@ -18,20 +18,44 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.DebugException;
+import org.fusesource.ide.camel.model.service.core.internal.Trace;
 import org.fusesource.ide.camel.model.service.core.jmx.camel.ICamelDebuggerMBeanFacade;
 import org.fusesource.ide.jmx.commons.backlogtracermessage.BacklogTracerEventMessage;
 import org.fusesource.ide.jmx.commons.backlogtracermessage.BacklogTracerEventMessageParser;
 import org.fusesource.ide.launcher.Activator;
 
 /**
- * Listens to events from the CAMEL VM and fires corresponding 
+ * Listens to events from the CAMEL VM and fires corresponding
  * debug events.
+ *
+ * If the debugger of the runtime sends notifications the suspended
+ * breakpoints are fetched as soon as a notification arrives. Otherwise
+ * the runtime is polled, quickly after a breakpoint has been hit and
+ * less and less often while nothing happens.
  */
 class EventDispatchJob extends Job {
-	
-	private static final int TIME_WAIT_BETWEEN_CHECKS = 2000;
-	
+
+	static final long MIN_TIME_WAIT_BETWEEN_CHECKS = 100;
+	static final long MAX_TIME_WAIT_BETWEEN_CHECKS = 2000;
+	/**
+	 * with notifications the runtime is only polled in case one got lost
+	 */
+	static final long TIME_WAIT_BETWEEN_CHECKS_WITH_NOTIFICATIONS = 30000;
+	private static final long STATISTICS_INTERVAL = 60000;
+
 	private final CamelDebugTarget camelDebugTarget;
+	private final Object signal = new Object();
+	private final Runnable notificationListener = this::wakeUp;
+	private boolean signalled;
+	private ICamelDebuggerMBeanFacade subscribedDebugger;
+	private boolean notificationsSupported;
+	private long timeWaitBetweenChecks = MIN_TIME_WAIT_BETWEEN_CHECKS;
+
+	private long statisticsStart;
+	private long remoteCallsAtStatisticsStart;
+	private int hits;
+	private long totalHitLatency;
+	private long maxHitLatency;
 
 	public EventDispatchJob(CamelDebugTarget camelDebugTarget) {
 		super("Camel Debug Event Dispatch");
@@ -41,48 +65,134 @@ class EventDispatchJob extends Job {
 
 	@Override
 	protected IStatus run(IProgressMonitor monitor) {
-		while (!camelDebugTarget.isTerminated() && !monitor.isCanceled()) {
-			checkSuspendedBreakpoints();
+		statisticsStart = System.currentTimeMillis();
+		try {
+			while (!camelDebugTarget.isTerminated() && !monitor.isCanceled() && !Thread.currentThread().isInterrupted()) {
+				ICamelDebuggerMBeanFacade debugger = camelDebugTarget.getDebugger();
+				subscribe(debugger);
+				long timeToWait;
+				if (isCheckPossible(debugger)) {
+					timeToWait = getTimeToWait(checkSuspendedBreakpoints(debugger));
+				} else {
+					// suspended or not yet connected - resume() wakes us up
+					timeToWait = MAX_TIME_WAIT_BETWEEN_CHECKS;
+				}
+				traceStatistics(debugger);
+				await(timeToWait);
+			}
+		} finally {
+			subscribe(null);
 		}
 		return Status.OK_STATUS;
 	}
 
-	private void checkSuspendedBreakpoints() {
-		ICamelDebuggerMBeanFacade debugger = camelDebugTarget.getDebugger();
-		if (debugger != null
+	@Override
+	protected void canceling() {
+		wakeUp();
+	}
+
+	/**
+	 * makes the job check the suspended breakpoints right away
+	 */
+	void wakeUp() {
+		synchronized (signal) {
+			signalled = true;
+			signal.notifyAll();
+		}
+	}
+
+	private void await(long timeToWait) {
+		synchronized (signal) {
+			try {
+				if (!signalled) {
+					signal.wait(timeToWait);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				signalled = false;
+			}
+		}
+	}
+
+	void subscribe(ICamelDebuggerMBeanFacade debugger) {
+		if (debugger == subscribedDebugger) {
+			return;
+		}
+		if (subscribedDebugger != null && notificationsSupported) {
+			subscribedDebugger.removeNotificationListener(notificationListener);
+		}
+		subscribedDebugger = debugger;
+		notificationsSupported = debugger != null && debugger.addNotificationListener(notificationListener);
+		Trace.tracePerformance(() -> debugger != null ? "Camel debugger " + (notificationsSupported ? "sends notifications" : "is polled") : "Camel debugger disconnected"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private boolean isCheckPossible(ICamelDebuggerMBeanFacade debugger) {
+		return debugger != null
 				&& !camelDebugTarget.isSuspended()
 				&& !camelDebugTarget.isDisconnected()
-				&& !camelDebugTarget.isTerminated()) {
+				&& !camelDebugTarget.isTerminated();
+	}
+
+	/**
+	 * @param activity	whether the last check found new suspended breakpoints
+	 * @return the time to wait before the next check
+	 */
+	long getTimeToWait(boolean activity) {
+		if (activity) {
+			// more breakpoints are likely to follow, for instance when stepping
+			timeWaitBetweenChecks = MIN_TIME_WAIT_BETWEEN_CHECKS;
+		} else if (notificationsSupported) {
+			timeWaitBetweenChecks = TIME_WAIT_BETWEEN_CHECKS_WITH_NOTIFICATIONS;
+		} else {
+			timeWaitBetweenChecks = Math.min(MAX_TIME_WAIT_BETWEEN_CHECKS, timeWaitBetweenChecks * 2);
+		}
+		return timeWaitBetweenChecks;
+	}
+
+	/**
+	 * @return true if a breakpoint has been hit since the last check
+	 */
+	boolean checkSuspendedBreakpoints(ICamelDebuggerMBeanFacade debugger) {
+		try {
+			Set<String> suspendedBreakpoints = debugger.getSuspendedBreakpointNodeIds();
+			if (suspendedBreakpoints != null && !suspendedBreakpoints.isEmpty()) {
+				return handleSuspendedBreakpoints(suspendedBreakpoints);
+			}
+		} catch (IOException ioe) {
+			Activator.getLogger().warning("The remote connection has been lost, debugger will be disconnected.", ioe);
 			try {
-				Set<String> suspendedBreakpoints = debugger.getSuspendedBreakpointNodeIds();
-				if (suspendedBreakpoints != null && !suspendedBreakpoints.isEmpty()) {
-					handleSuspendedBreakpoints(suspendedBreakpoints);
-				}
-				// wait a bit to keep jmx traffic lower - if we are too fast sometimes a breakpoint is
-				// hit but no message dump is available yet -> bad coding on camel side?
-				Thread.sleep(TIME_WAIT_BETWEEN_CHECKS);
-			} catch (IOException ioe) {
-				Activator.getLogger().warning("The remote connection has been lost, debugger will be disconnected.", ioe);
-				try {
-					camelDebugTarget.disconnect();
-				} catch (DebugException e) {
-					Activator.getLogger().error(e);
-				}
-			} catch (Exception ex) {
-				Activator.getLogger().error(ex);
-			} 
+				camelDebugTarget.disconnect();
+			} catch (DebugException e) {
+				Activator.getLogger().error(e);
+			}
+		} catch (Exception ex) {
+			Activator.getLogger().error(ex);
 		}
+		return false;
 	}
 
-	private void handleSuspendedBreakpoints(Set<String> suspendedBreakpoints) throws DebugException {
-		// we need to suspend the debug target
-		camelDebugTarget.suspend();
-		
+	/**
+	 * The debug target is only suspended while a breakpoint is processed.
+	 * Otherwise it would stay suspended when none is, for instance because
+	 * the message dump is not available yet, and no further check would be
+	 * made.
+	 *
+	 * @return true if a new breakpoint has been processed or is about to be
+	 */
+	private boolean handleSuspendedBreakpoints(Set<String> suspendedBreakpoints) throws DebugException {
+		boolean activity = false;
 		for (String nodeId : suspendedBreakpoints) {
-			BacklogTracerEventMessage evMsg = new BacklogTracerEventMessageParser().getBacklogTracerEventMessage(camelDebugTarget.getMessagesForNode(nodeId));
+			String messageDump = camelDebugTarget.getMessagesForNode(nodeId);
+			BacklogTracerEventMessage evMsg = messageDump != null && !messageDump.isEmpty() ? new BacklogTracerEventMessageParser().getBacklogTracerEventMessage(messageDump) : null;
+			if (evMsg == null) {
+				// breakpoint is hit but the message dump is not available yet - pick it up with the next check
+				activity = true;
+				continue;
+			}
 			String id = camelDebugTarget.generateKey(evMsg);
 			CamelThread t = camelDebugTarget.getThreadForId(id);
-				
+
 			// now we can access the stack frames
 			CamelStackFrame toStackFrame = t.getTopStackFrame();
 			String endpointId = toStackFrame != null ? toStackFrame.getEndpointId() : null;
@@ -90,14 +200,56 @@ class EventDispatchJob extends Job {
 				// its the same breakpoint we already hit for that exchange - ignore it
 				continue;
 			}
-			
+
 			if (!t.isSuspended()) {
+				// we need to suspend the debug target
+				camelDebugTarget.suspend();
+
 				// process the breakpoint
 				camelDebugTarget.breakpointHit(nodeId, evMsg);
-				
+				recordHit(evMsg);
+				activity = true;
+
 				// now resume
 				camelDebugTarget.resume();
 			}
 		}
+		return activity;
+	}
+
+	/**
+	 * the timestamp of the message is taken by the runtime when the breakpoint
+	 * is hit, so this is the hit-to-UI latency as long as the clocks of the
+	 * runtime and the IDE agree
+	 */
+	private void recordHit(BacklogTracerEventMessage evMsg) {
+		if (evMsg.getTimestamp() != null) {
+			long latency = Math.max(0L, System.currentTimeMillis() - evMsg.getTimestamp().getTime());
+			hits++;
+			totalHitLatency += latency;
+			maxHitLatency = Math.max(maxHitLatency, latency);
+		}
+	}
+
+	private void traceStatistics(ICamelDebuggerMBeanFacade debugger) {
+		long now = System.currentTimeMillis();
+		long elapsed = now - statisticsStart;
+		if (elapsed < STATISTICS_INTERVAL) {
+			return;
+		}
+		long remoteCalls = debugger != null ? debugger.getRemoteCallCount() : -1;
+		if (remoteCalls >= remoteCallsAtStatisticsStart && remoteCallsAtStatisticsStart >= 0) {
+			Trace.tracePerformance(() -> String.format("Camel debugger: %d breakpoint hits, hit-to-UI latency avg %d ms / max %d ms, %d JMX calls per minute (%s)", //$NON-NLS-1$
+					hits,
+					hits > 0 ? totalHitLatency / hits : 0,
+					maxHitLatency,
+					(remoteCalls - remoteCallsAtStatisticsStart) * STATISTICS_INTERVAL / elapsed,
+					notificationsSupported ? "notifications" : "polling")); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		statisticsStart = now;
+		remoteCallsAtStatisticsStart = remoteCalls;
+		hits = 0;
+		totalHitLatency = 0;
+		maxHitLatency = 0;
 	}
-}
\ No newline at end of file
+}
@@ -10,6 +10,9 @@
  ******************************************************************************/
 package org.fusesource.ide.project.decorator;
 
+import java.util.HashMap;
+import java.util.Map;
+
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
@@ -20,6 +23,7 @@ import org.eclipse.jface.viewers.ILightweightLabelDecorator;
 import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.PlatformUI;
 import org.fusesource.ide.camel.editor.navigator.CamelCtxNavRouteNode;
+import org.fusesource.ide.camel.model.service.core.io.CamelFileOutline;
 import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
 import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
 import org.fusesource.ide.camel.validation.diagram.IFuseMarker;
@@ -39,7 +43,7 @@ public class CamelProblemDecorator implements ILightweightLabelDecorator {
 		} else if (element instanceof CamelRouteElement) {
 			decorationForCamelRoute((CamelRouteElement) element, decoration);
 		} else if (element instanceof CamelCtxNavRouteNode) {
-			decorationForCamelRoute(((CamelCtxNavRouteNode) element).getCamelRoute(), decoration);
+			decorationForCamelRouteNode((CamelCtxNavRouteNode) element, decoration);
 		} else if (element instanceof AbstractCamelModelElement) {
 			decorationForCamelModelElement((AbstractCamelModelElement) element, decoration);
 		}
@@ -111,6 +115,71 @@ public class CamelProblemDecorator implements ILightweightLabelDecorator {
 		}
 	}
 
+	/**
+	 * decorates the route from the ids of the outline of the file and an index
+	 * of the markers of the file so that the editable model doesn't need to be
+	 * loaded
+	 * 
+	 * @param routeNode
+	 * @param decoration
+	 */
+	private void decorationForCamelRouteNode(CamelCtxNavRouteNode routeNode, IDecoration decoration) {
+		CamelFileOutline.Element outlineRoute = routeNode.getOutlineRoute();
+		IResource resource = routeNode.getCamelContextFile();
+		if (outlineRoute == null || resource == null || !resource.exists()) {
+			return;
+		}
+		try {
+			Map<String, Integer> severityById = getMaxSeverityById(resource);
+			if (!severityById.isEmpty()) {
+				int severity = getMaxSeverity(outlineRoute, severityById, -1);
+				if (severity != -1) {
+					decoration.addOverlay(getOverlay(severity));
+				}
+			}
+		} catch (CoreException e) {
+			Activator.getLogger().error(e);
+		}
+	}
+
+	/**
+	 * @param resource
+	 * @return the highest severity of the fuse markers of the resource by the
+	 *         id of the Camel element they are reported on
+	 * @throws CoreException
+	 */
+	private Map<String, Integer> getMaxSeverityById(IResource resource) throws CoreException {
+		Map<String, Integer> severityById = new HashMap<>();
+		for (IMarker marker : resource.findMarkers(IFuseMarker.MARKER_TYPE, true, IResource.DEPTH_INFINITE)) {
+			String id = (String) marker.getAttribute(IFuseMarker.CAMEL_ID);
+			if (id != null) {
+				severityById.merge(id, marker.getAttribute(IMarker.SEVERITY, -1), Math::max);
+			}
+		}
+		return severityById;
+	}
+
+	/**
+	 * @param element
+	 * @param severityById
+	 * @param severity	the highest severity found so far
+	 * @return the highest severity of the markers reported on the element or
+	 *         one of its descendants, -1 if there is none
+	 */
+	private int getMaxSeverity(CamelFileOutline.Element element, Map<String, Integer> severityById, int severity) {
+		String id = element.getId();
+		if (id != null) {
+			severity = Math.max(severity, severityById.getOrDefault(id, -1));
+		}
+		for (CamelFileOutline.Element child : element.getChildren()) {
+			if (severity == IMarker.SEVERITY_ERROR) {
+				break;
+			}
+			severity = getMaxSeverity(child, severityById, severity);
+		}
+		return severity;
+	}
+
 	/**
 	 * @param camelRoute
 	 * @param id
@@ -0,0 +1,157 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.features.custom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.eclipse.graphiti.features.IFeatureProvider;
+import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
+import org.eclipse.graphiti.mm.pictograms.Connection;
+import org.eclipse.graphiti.mm.pictograms.ContainerShape;
+import org.eclipse.graphiti.mm.pictograms.Diagram;
+import org.eclipse.graphiti.services.Graphiti;
+import org.fusesource.ide.camel.editor.utils.FigureUIFactory;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DiagramLayoutTest {
+
+	@Mock
+	private IFeatureProvider featureProvider;
+
+	private DiagramLayoutCache cache = new DiagramLayoutCache();
+	private Diagram diagram;
+	private ContainerShape route;
+	private ContainerShape from;
+	private ContainerShape log;
+	private ContainerShape to;
+
+	@Before
+	public void setup() {
+		diagram = Graphiti.getPeCreateService().createDiagram("CamelContext", "DiagramLayoutTest", true); //$NON-NLS-1$ //$NON-NLS-2$
+		route = createFigure(diagram, 300);
+		from = createFigure(route, 100);
+		log = createFigure(route, 100);
+		to = createFigure(route, 100);
+		connect(from, log);
+		connect(log, to);
+	}
+
+	@Test
+	public void testChildrenAreArrangedWithoutOverlapAndContainerFitsThem() {
+		DiagramLayout layout = DiagramLayout.snapshot(route, Collections.singleton(route), cache);
+		layout.compute();
+		layout.apply(featureProvider);
+
+		assertThat(layout.getArrangedContainerCount()).isEqualTo(1);
+		for (ContainerShape child : Arrays.asList(from, log, to)) {
+			GraphicsAlgorithm ga = child.getGraphicsAlgorithm();
+			assertThat(ga.getX() + ga.getWidth()).isLessThanOrEqualTo(route.getGraphicsAlgorithm().getWidth());
+			assertThat(ga.getY() + ga.getHeight()).isLessThanOrEqualTo(route.getGraphicsAlgorithm().getHeight());
+			assertThat(ga.getHeight()).isEqualTo(FigureUIFactory.IMAGE_DEFAULT_HEIGHT);
+		}
+		assertThat(overlap(from, log)).isFalse();
+		assertThat(overlap(log, to)).isFalse();
+		assertThat(overlap(from, to)).isFalse();
+	}
+
+	@Test
+	public void testComputeDoesNotChangeTheDiagram() {
+		int x = log.getGraphicsAlgorithm().getX();
+		int y = log.getGraphicsAlgorithm().getY();
+
+		DiagramLayout.snapshot(route, Collections.singleton(route), cache).compute();
+
+		assertThat(log.getGraphicsAlgorithm().getX()).isEqualTo(x);
+		assertThat(log.getGraphicsAlgorithm().getY()).isEqualTo(y);
+	}
+
+	@Test
+	public void testUnchangedContainerIsTakenFromCache() {
+		layout();
+
+		DiagramLayout layout = layout();
+
+		assertThat(layout.getArrangedContainerCount()).isZero();
+		assertThat(cache.size()).isEqualTo(1);
+	}
+
+	@Test
+	public void testChangedChildSizeIsArrangedAgain() {
+		layout();
+		log.getGraphicsAlgorithm().setWidth(250);
+
+		assertThat(layout().getArrangedContainerCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testChangedConnectionsAreArrangedAgain() {
+		layout();
+		connect(from, to);
+
+		assertThat(layout().getArrangedContainerCount()).isEqualTo(1);
+	}
+
+	@Test
+	public void testAddedChildMakesLayoutStale() {
+		DiagramLayout layout = DiagramLayout.snapshot(route, Collections.singleton(route), cache);
+		layout.compute();
+
+		createFigure(route, 100);
+
+		assertThat(layout.isStale()).isTrue();
+	}
+
+	@Test
+	public void testClearedCacheIsEmpty() {
+		layout();
+
+		cache.clear();
+
+		assertThat(cache.size()).isZero();
+		assertThat(layout().getArrangedContainerCount()).isEqualTo(1);
+	}
+
+	private DiagramLayout layout() {
+		DiagramLayout layout = DiagramLayout.snapshot(route, Collections.singleton(route), cache);
+		assertThat(layout.isStale()).isFalse();
+		layout.apply(featureProvider);
+		return layout;
+	}
+
+	private ContainerShape createFigure(ContainerShape parent, int width) {
+		ContainerShape figure = Graphiti.getPeCreateService().createContainerShape(parent, true);
+		GraphicsAlgorithm ga = Graphiti.getGaService().createRectangle(figure);
+		Graphiti.getGaService().setLocationAndSize(ga, 0, 0, width, FigureUIFactory.IMAGE_DEFAULT_HEIGHT);
+		Graphiti.getPeCreateService().createChopboxAnchor(figure);
+		return figure;
+	}
+
+	private void connect(ContainerShape source, ContainerShape target) {
+		Connection connection = Graphiti.getPeCreateService().createFreeFormConnection(diagram);
+		connection.setStart(source.getAnchors().get(0));
+		connection.setEnd(target.getAnchors().get(0));
+	}
+
+	private boolean overlap(ContainerShape first, ContainerShape second) {
+		GraphicsAlgorithm a = first.getGraphicsAlgorithm();
+		GraphicsAlgorithm b = second.getGraphicsAlgorithm();
+		return a.getX() < b.getX() + b.getWidth() && b.getX() < a.getX() + a.getWidth()
+				&& a.getY() < b.getY() + b.getHeight() && b.getY() < a.getY() + a.getHeight();
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.emf.transaction.TransactionalCommandStack;
+import org.eclipse.emf.transaction.TransactionalEditingDomain;
+import org.eclipse.graphiti.dt.IDiagramTypeProvider;
+import org.eclipse.graphiti.features.IAddFeature;
+import org.eclipse.graphiti.features.IFeatureProvider;
+import org.eclipse.graphiti.features.IResizeShapeFeature;
+import org.eclipse.graphiti.features.context.IAddContext;
+import org.eclipse.graphiti.features.context.IResizeShapeContext;
+import org.eclipse.graphiti.mm.algorithms.GraphicsAlgorithm;
+import org.eclipse.graphiti.mm.pictograms.ContainerShape;
+import org.eclipse.graphiti.mm.pictograms.Diagram;
+import org.eclipse.graphiti.mm.pictograms.PictogramElement;
+import org.eclipse.graphiti.services.Graphiti;
+import org.fusesource.ide.camel.editor.features.custom.CollapseFeature;
+import org.fusesource.ide.camel.model.service.core.model.AbstractCamelModelElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelBasicModelElement;
+import org.fusesource.ide.camel.model.service.core.model.CamelRouteElement;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CamelDiagramLoaderTest {
+
+	@Mock
+	private IFeatureProvider featureProvider;
+	@Mock
+	private IDiagramTypeProvider diagramTypeProvider;
+	@Mock
+	private IAddFeature addFeature;
+	@Mock
+	private IResizeShapeFeature resizeFeature;
+	@Mock
+	private TransactionalEditingDomain editingDomain;
+	@Mock
+	private TransactionalCommandStack commandStack;
+
+	private Map<Object, PictogramElement> figures = new HashMap<>();
+	private Map<PictogramElement, Object> nodes = new HashMap<>();
+	private Diagram diagram;
+	private int initialThreshold;
+
+	private CamelRouteElement route;
+	private AbstractCamelModelElement log;
+	private AbstractCamelModelElement choiceA;
+	private AbstractCamelModelElement choiceB;
+	private AbstractCamelModelElement a2;
+	private AbstractCamelModelElement b1;
+
+	@Before
+	public void setup() {
+		initialThreshold = PreferenceManager.getInstance().loadPreferenceAsInt(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD);
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD, 4);
+
+		diagram = Graphiti.getPeCreateService().createDiagram("CamelContext", "CamelDiagramLoaderTest", true); //$NON-NLS-1$ //$NON-NLS-2$
+		doReturn(diagram).when(diagramTypeProvider).getDiagram();
+		doReturn(diagramTypeProvider).when(featureProvider).getDiagramTypeProvider();
+		doReturn(commandStack).when(editingDomain).getCommandStack();
+		doReturn(addFeature).when(featureProvider).getAddFeature(any(IAddContext.class));
+		doReturn(resizeFeature).when(featureProvider).getResizeShapeFeature(any(IResizeShapeContext.class));
+		doReturn(true).when(addFeature).canAdd(any(IAddContext.class));
+		doAnswer(invocation -> addFigure((IAddContext) invocation.getArguments()[0])).when(addFeature).add(any(IAddContext.class));
+		doAnswer(invocation -> figures.get(invocation.getArguments()[0])).when(featureProvider).getPictogramElementForBusinessObject(any());
+		doAnswer(invocation -> nodes.get(invocation.getArguments()[0])).when(featureProvider).getBusinessObjectForPictogramElement(any(PictogramElement.class));
+
+		// 9 nodes below the route
+		route = new CamelRouteElement((AbstractCamelModelElement) null, null);
+		log = createNode(route);
+		choiceA = createNode(route);
+		createNode(choiceA);
+		a2 = createNode(choiceA);
+		createNode(choiceA);
+		choiceB = createNode(route);
+		b1 = createNode(choiceB);
+		createNode(choiceB);
+		createNode(choiceB);
+	}
+
+	@After
+	public void tearDown() {
+		PreferenceManager.getInstance().savePreference(PreferencesConstants.EDITOR_LAZY_LOADING_THRESHOLD, initialThreshold);
+	}
+
+	@Test
+	public void testChildrenExceedingNodeBudgetAreDeferred() {
+		new CamelDiagramLoader(diagram, featureProvider).loadModel(editingDomain, route);
+
+		PictogramElement routeFigure = figures.get(route);
+		assertThat(routeFigure).isNotNull();
+		assertThat(CamelDiagramLoader.hasDeferredChildren(routeFigure)).isTrue();
+		assertThat(CollapseFeature.isCollapsed(routeFigure)).isTrue();
+		assertThat(figures).doesNotContainKey(log);
+	}
+
+	@Test
+	public void testDeferredChildrenAreAddedOnExpand() {
+		new CamelDiagramLoader(diagram, featureProvider).loadModel(editingDomain, route);
+
+		new CollapseFeature(featureProvider).collapseShape(figures.get(route));
+
+		assertThat(CamelDiagramLoader.hasDeferredChildren(figures.get(route))).isFalse();
+		assertThat(CollapseFeature.isCollapsed(figures.get(route))).isFalse();
+		assertThat(figures).containsKeys(log, choiceA, choiceB);
+		// the children are added within the budget again
+		assertThat(CamelDiagramLoader.hasDeferredChildren(figures.get(choiceA))).isTrue();
+		assertThat(figures).doesNotContainKey(a2);
+	}
+
+	@Test
+	public void testRevealNodeExpandsDeferredParents() {
+		new CamelDiagramLoader(diagram, featureProvider).loadModel(editingDomain, route);
+
+		PictogramElement figure = CamelDiagramLoader.revealNode(featureProvider, a2);
+
+		assertThat(figure).isNotNull().isSameAs(figures.get(a2));
+		assertThat(CamelDiagramLoader.hasDeferredChildren(figures.get(route))).isFalse();
+		assertThat(CamelDiagramLoader.hasDeferredChildren(figures.get(choiceA))).isFalse();
+		assertThat(CamelDiagramLoader.hasDeferredChildren(figures.get(choiceB))).isTrue();
+		assertThat(figures).doesNotContainKey(b1);
+	}
+
+	@Test
+	public void testRevealNodeNotInDiagramReturnsNearestParent() {
+		new CamelDiagramLoader(diagram, featureProvider).loadModel(editingDomain, route);
+		AbstractCamelModelElement notShown = new CamelBasicModelElement(route, null);
+
+		assertThat(CamelDiagramLoader.revealNode(featureProvider, notShown)).isSameAs(figures.get(route));
+	}
+
+	private AbstractCamelModelElement createNode(AbstractCamelModelElement parent) {
+		AbstractCamelModelElement node = new CamelBasicModelElement(parent, null);
+		parent.addChildElement(node);
+		return node;
+	}
+
+	private PictogramElement addFigure(IAddContext context) {
+		ContainerShape figure = Graphiti.getPeCreateService().createContainerShape(context.getTargetContainer(), true);
+		GraphicsAlgorithm ga = Graphiti.getGaService().createRectangle(figure);
+		Graphiti.getGaService().setLocationAndSize(ga, context.getX(), context.getY(), 100, 40);
+		Graphiti.getPeCreateService().createChopboxAnchor(figure);
+		figures.put(context.getNewObject(), figure);
+		nodes.put(figure, context.getNewObject());
+		return figure;
+	}
+}
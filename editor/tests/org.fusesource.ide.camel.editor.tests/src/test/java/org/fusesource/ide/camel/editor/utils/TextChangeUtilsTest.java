@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.camel.editor.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.eclipse.jface.text.Document;
+import org.eclipse.text.edits.ReplaceEdit;
+import org.junit.Test;
+
+public class TextChangeUtilsTest {
+
+	@Test
+	public void testEqualTextsNeedNoEdit() {
+		assertThat(TextChangeUtils.computeReplaceEdit("<route/>", "<route/>")).isNull();
+	}
+
+	@Test
+	public void testOnlyChangedRegionIsReplaced() {
+		ReplaceEdit edit = TextChangeUtils.computeReplaceEdit("<to uri=\"log:a\"/>", "<to uri=\"log:bc\"/>");
+
+		assertThat(edit.getOffset()).isEqualTo(13);
+		assertThat(edit.getLength()).isEqualTo(1);
+		assertThat(edit.getText()).isEqualTo("bc");
+	}
+
+	@Test
+	public void testInsertion() {
+		ReplaceEdit edit = TextChangeUtils.computeReplaceEdit("aaaa", "aaaaa");
+
+		assertThat(edit.getLength()).isZero();
+		assertThat(edit.getText()).isEqualTo("a");
+	}
+
+	@Test
+	public void testEditTurnsOldTextIntoNewText() throws Exception {
+		String oldText = "<route>\n   <from uri=\"timer:a\"/>\n   <to uri=\"log:a\"/>\n</route>";
+		String newText = "<route id=\"r\">\n   <from uri=\"timer:a\"/>\n</route>";
+		Document document = new Document(oldText);
+
+		TextChangeUtils.computeReplaceEdit(oldText, newText).apply(document);
+
+		assertThat(document.get()).isEqualTo(newText);
+	}
+}
@@ -11,13 +11,23 @@
 package org.fusesource.ide.launcher.debug.model;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anySetOf;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doCallRealMethod;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.MBeanServerConnection;
 import javax.management.ObjectInstance;
 import javax.management.ObjectName;
 
@@ -32,6 +42,8 @@ public class CamelDebugFacadeTest {
 	
 	@Mock
 	private CamelDebugFacade cdf;
+	@Mock
+	private MBeanServerConnection mbsc;
 	
 	@Before
 	public void setup() {
@@ -60,4 +72,90 @@ public class CamelDebugFacadeTest {
 		assertThat(found.getKeyProperty(CamelDebugFacade.KEY_PROPERTY_CONTEXT_FOR_DEBUGGER_MBEAN)).contains("cbr-example-context-2");
 	}
 	
+	@Test
+	public void testDebuggerAttributesAreFetchedOnceUntilResume() throws Exception {
+		ObjectName debugger = new ObjectName("org.apache.camel:context=cbr-example-context,type=tracer,name=BacklogDebugger");
+		doReturn(Collections.singleton(new ObjectInstance(debugger, null))).when(mbsc).queryMBeans(any(ObjectName.class), any());
+		AttributeList attributes = new AttributeList();
+		attributes.add(new Attribute("BodyMaxChars", 1000));
+		attributes.add(new Attribute("BodyIncludeFiles", true));
+		attributes.add(new Attribute("LoggingLevel", "INFO"));
+		doReturn(attributes).when(mbsc).getAttributes(eq(debugger), any(String[].class));
+		CamelDebugFacade facade = new CamelDebugFacade(null, mbsc, "cbr-example-context");
+		
+		assertThat(facade.getBodyMaxChars()).isEqualTo(1000);
+		assertThat(facade.isBodyIncludeFiles()).isTrue();
+		assertThat(facade.getLoggingLevel()).isEqualTo("INFO");
+		verify(mbsc, times(1)).getAttributes(eq(debugger), any(String[].class));
+		
+		facade.resumeAll();
+		facade.getBodyMaxChars();
+		verify(mbsc, times(2)).getAttributes(eq(debugger), any(String[].class));
+	}
+	
+	@Test
+	public void testDebugCounterIsReadLive() throws Exception {
+		ObjectName debugger = new ObjectName("org.apache.camel:context=cbr-example-context,type=tracer,name=BacklogDebugger");
+		doReturn(Collections.singleton(new ObjectInstance(debugger, null))).when(mbsc).queryMBeans(any(ObjectName.class), any());
+		AttributeList attributes = new AttributeList();
+		attributes.add(new Attribute("BodyMaxChars", 1000));
+		doReturn(attributes).when(mbsc).getAttributes(eq(debugger), any(String[].class));
+		doReturn(1L, 2L).when(mbsc).invoke(eq(debugger), eq("getDebugCounter"), any(Object[].class), any(String[].class));
+		CamelDebugFacade facade = new CamelDebugFacade(null, mbsc, "cbr-example-context");
+		
+		assertThat(facade.getBodyMaxChars()).isEqualTo(1000);
+		assertThat(facade.getDebugCounter()).isEqualTo(1L);
+		assertThat(facade.getDebugCounter()).isEqualTo(2L);
+		verify(mbsc, times(1)).getAttributes(eq(debugger), any(String[].class));
+	}
+	
+	@Test
+	public void testProcessorStatisticsAreFetchedOncePerSuspension() throws Exception {
+		ObjectName debugger = new ObjectName("org.apache.camel:context=cbr-example-context,type=tracer,name=BacklogDebugger");
+		ObjectName processor = new ObjectName("org.apache.camel:context=cbr-example-context,type=processors,name=\"log1\"");
+		doReturn(Collections.singleton(new ObjectInstance(debugger, null))).when(mbsc).queryMBeans(any(ObjectName.class), any());
+		doReturn(Collections.singleton(new ObjectInstance(processor, null))).when(mbsc).queryMBeans(eq(new ObjectName("org.apache.camel:type=processors,name=\"log1\",*")), any());
+		AttributeList statistics = new AttributeList();
+		statistics.add(new Attribute("ExchangesCompleted", 5L));
+		statistics.add(new Attribute("ExchangesFailed", 1L));
+		doReturn(statistics).when(mbsc).getAttributes(eq(processor), any(String[].class));
+		doReturn(Collections.singleton("log1")).when(mbsc).invoke(eq(debugger), eq("getSuspendedBreakpointNodeIds"), any(Object[].class), any(String[].class));
+		CamelDebugFacade facade = new CamelDebugFacade(null, mbsc, "cbr-example-context");
+		
+		facade.getSuspendedBreakpointNodeIds();
+		assertThat(facade.getCompletedExchanges("log1")).isEqualTo(5L);
+		assertThat(facade.getFailedExchanges("log1")).isEqualTo(1L);
+		facade.getSuspendedBreakpointNodeIds();
+		assertThat(facade.getCompletedExchanges("log1")).isEqualTo(5L);
+		verify(mbsc, times(1)).getAttributes(eq(processor), any(String[].class));
+		verify(mbsc, never()).getAttribute(any(ObjectName.class), anyString());
+		
+		facade.resumeBreakpoint("log1");
+		facade.getSuspendedBreakpointNodeIds();
+		facade.getCompletedExchanges("log1");
+		verify(mbsc, times(2)).getAttributes(eq(processor), any(String[].class));
+	}
+	
+	@Test
+	public void testMessageDumpIsKeptWhileTheNodeStaysSuspended() throws Exception {
+		ObjectName debugger = new ObjectName("org.apache.camel:context=cbr-example-context,type=tracer,name=BacklogDebugger");
+		doReturn(Collections.singleton(new ObjectInstance(debugger, null))).when(mbsc).queryMBeans(any(ObjectName.class), any());
+		doReturn(Collections.singleton("log1"), Collections.singleton("log1"), Collections.emptySet(), Collections.singleton("log1")).when(mbsc).invoke(eq(debugger), eq("getSuspendedBreakpointNodeIds"), any(Object[].class), any(String[].class));
+		doReturn("<dump/>").when(mbsc).invoke(eq(debugger), eq("dumpTracedMessagesAsXml"), any(Object[].class), any(String[].class));
+		CamelDebugFacade facade = new CamelDebugFacade(null, mbsc, "cbr-example-context");
+		
+		facade.getSuspendedBreakpointNodeIds();
+		assertThat(facade.dumpTracedMessagesAsXml("log1")).isEqualTo("<dump/>");
+		facade.getSuspendedBreakpointNodeIds();
+		assertThat(facade.dumpTracedMessagesAsXml("log1")).isEqualTo("<dump/>");
+		verify(mbsc, times(1)).invoke(eq(debugger), eq("dumpTracedMessagesAsXml"), any(Object[].class), any(String[].class));
+		verify(mbsc, never()).getAttribute(any(ObjectName.class), anyString());
+		
+		// resumed by the runtime and hit again
+		facade.getSuspendedBreakpointNodeIds();
+		facade.getSuspendedBreakpointNodeIds();
+		facade.dumpTracedMessagesAsXml("log1");
+		verify(mbsc, times(2)).invoke(eq(debugger), eq("dumpTracedMessagesAsXml"), any(Object[].class), any(String[].class));
+	}
+	
 }
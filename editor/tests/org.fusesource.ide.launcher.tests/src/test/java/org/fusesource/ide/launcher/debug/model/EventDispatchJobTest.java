@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.launcher.debug.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+
+import org.fusesource.ide.camel.model.service.core.jmx.camel.ICamelDebuggerMBeanFacade;
+import org.fusesource.ide.jmx.commons.backlogtracermessage.BacklogTracerEventMessage;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class EventDispatchJobTest {
+
+	@Mock
+	private CamelDebugTarget camelDebugTarget;
+	@Mock
+	private ICamelDebuggerMBeanFacade debugger;
+
+	@Test
+	public void testPollingBacksOffWhileNothingHappens() {
+		EventDispatchJob job = new EventDispatchJob(camelDebugTarget);
+		job.subscribe(debugger);
+
+		assertThat(job.getTimeToWait(false)).isEqualTo(2 * EventDispatchJob.MIN_TIME_WAIT_BETWEEN_CHECKS);
+		for (int i = 0; i < 10; i++) {
+			job.getTimeToWait(false);
+		}
+		assertThat(job.getTimeToWait(false)).isEqualTo(EventDispatchJob.MAX_TIME_WAIT_BETWEEN_CHECKS);
+	}
+
+	@Test
+	public void testPollingIsFastAgainAfterBreakpointHit() {
+		EventDispatchJob job = new EventDispatchJob(camelDebugTarget);
+		job.subscribe(debugger);
+		job.getTimeToWait(false);
+		job.getTimeToWait(false);
+
+		assertThat(job.getTimeToWait(true)).isEqualTo(EventDispatchJob.MIN_TIME_WAIT_BETWEEN_CHECKS);
+	}
+
+	@Test
+	public void testRuntimeIsRarelyPolledWhenItSendsNotifications() {
+		doReturn(true).when(debugger).addNotificationListener(any(Runnable.class));
+		EventDispatchJob job = new EventDispatchJob(camelDebugTarget);
+		job.subscribe(debugger);
+
+		assertThat(job.getTimeToWait(false)).isEqualTo(EventDispatchJob.TIME_WAIT_BETWEEN_CHECKS_WITH_NOTIFICATIONS);
+	}
+
+	@Test
+	public void testBreakpointWithoutMessageDumpIsRetriedWithoutSuspending() throws Exception {
+		doReturn(Collections.singleton("log1")).when(debugger).getSuspendedBreakpointNodeIds();
+		doReturn(null).when(camelDebugTarget).getMessagesForNode("log1");
+		EventDispatchJob job = new EventDispatchJob(camelDebugTarget);
+
+		assertThat(job.checkSuspendedBreakpoints(debugger)).isTrue();
+		verify(camelDebugTarget, never()).suspend();
+		verify(camelDebugTarget, never()).breakpointHit(any(String.class), any(BacklogTracerEventMessage.class));
+	}
+}
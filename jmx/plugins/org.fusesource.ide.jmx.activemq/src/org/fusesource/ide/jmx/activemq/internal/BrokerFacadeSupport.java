@@ -17,10 +17,15 @@ import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.InstanceNotFoundException;
 import javax.management.ObjectName;
 import javax.management.QueryExp;
 import javax.management.openmbean.CompositeData;
@@ -45,8 +50,15 @@ import org.apache.activemq.broker.jmx.TopicViewMBean;
  * 
  */
 public abstract class BrokerFacadeSupport implements BrokerFacade {
+    /**
+     * the attributes of a destination which are read together when listing the destinations
+     */
+    protected static final String[] DESTINATION_STATISTICS_ATTRIBUTES = { "Name", "QueueSize", "EnqueueCount", "DequeueCount", "DispatchCount",
+            "ExpiredCount", "InFlightCount", "ConsumerCount", "ProducerCount", "MemoryPercentUsage" };
+
     public abstract ManagementContext getManagementContext();
     public abstract Set queryNames(ObjectName name, QueryExp query) throws Exception;
+    public abstract AttributeList getAttributes(ObjectName name, String[] attributes) throws Exception;
     public abstract Object newProxyInstance( ObjectName objectName, Class interfaceClass, boolean notificationBroadcaster) throws Exception;
 
     static public <T> T proxy(Class<T> ic, final Object target, final String id) throws Exception {
@@ -61,6 +73,29 @@ public abstract class BrokerFacadeSupport implements BrokerFacade {
         }));
     }
 
+    /**
+     * Like {@link #proxy(Class, Object, String)} but the getters of the given attributes return the values
+     * read beforehand instead of calling the target.
+     */
+    static public <T> T proxy(Class<T> ic, final Object target, final String id, final Map<String, Object> attributes) throws Exception {
+        return ic.cast(Proxy.newProxyInstance(ic.getClassLoader(), new Class[]{ic}, new InvocationHandler() {
+            @Override
+            public Object invoke(Object o, Method method, Object[] objects) throws Throwable {
+                String name = method.getName();
+                if (method.getParameterTypes().length == 0) {
+                    if ("getId".equals(name)) {
+                        return id;
+                    }
+                    String attribute = name.startsWith("get") ? name.substring(3) : name.startsWith("is") ? name.substring(2) : null;
+                    if (attribute != null && attributes.containsKey(attribute)) {
+                        return attributes.get(attribute);
+                    }
+                }
+                return method.invoke(target, objects);
+            }
+        }));
+    }
+
     @Override
 	public Collection<QueueViewFacade> getQueues() throws Exception {
         BrokerViewFacade broker = getBrokerAdmin();
@@ -68,7 +103,7 @@ public abstract class BrokerFacadeSupport implements BrokerFacade {
             return Collections.emptyList();
         }
         ObjectName[] queues = broker.getQueues();
-        return getManagedObjects(queues, QueueViewMBean.class, QueueViewFacade.class);
+        return getManagedDestinations(queues, QueueViewMBean.class, QueueViewFacade.class);
     }
 
     @Override
@@ -78,7 +113,7 @@ public abstract class BrokerFacadeSupport implements BrokerFacade {
             return Collections.emptyList();
         }
         ObjectName[] queues = broker.getTopics();
-        return getManagedObjects(queues, TopicViewMBean.class, TopicViewFacade.class);
+        return getManagedDestinations(queues, TopicViewMBean.class, TopicViewFacade.class);
     }
 
     @Override
@@ -135,6 +170,32 @@ public abstract class BrokerFacadeSupport implements BrokerFacade {
         return answer;
     }
 
+    /**
+     * Creates the views of the given destinations with their statistics, which are read in one request per
+     * destination rather than one request per attribute. The statistics are a snapshot taken when the
+     * destinations are listed.
+     */
+    protected <T> Collection<T> getManagedDestinations(ObjectName[] names, Class<?> type, Class<T> type2) throws Exception {
+        List<T> answer = new ArrayList<T>();
+        for (int i = 0; i < names.length; i++) {
+            ObjectName name = names[i];
+            Map<String, Object> statistics = new HashMap<>();
+            try {
+                for (Attribute attribute : getAttributes(name, DESTINATION_STATISTICS_ATTRIBUTES).asList()) {
+                    statistics.put(attribute.getName(), attribute.getValue());
+                }
+            } catch (InstanceNotFoundException e) {
+                // the destination has been removed since it was listed
+                continue;
+            }
+            Object value = newProxyInstance(name, type, true);
+            if (value != null) {
+                answer.add(proxy(type2, value, name.getCanonicalName(), statistics));
+            }
+        }
+        return answer;
+    }
+
     @Override
 	@SuppressWarnings("unchecked")
     public Collection<ConnectionViewFacade> getConnections() throws Exception {
@@ -13,6 +13,7 @@ package org.fusesource.ide.jmx.activemq.internal;
 
 import java.util.Set;
 
+import javax.management.AttributeList;
 import javax.management.ObjectName;
 import javax.management.QueryExp;
 
@@ -88,6 +89,11 @@ public class LocalBrokerFacade extends BrokerFacadeSupport {
         return getManagementContext().queryNames(name, query);
     }
 
+    @Override
+    public AttributeList getAttributes(ObjectName name, String[] attributes) throws Exception {
+        return getManagementContext().getMBeanServer().getAttributes(name, attributes);
+    }
+
     @Override
     public Object newProxyInstance(ObjectName objectName, Class interfaceClass, boolean notificationBroadcaster) {
         return getManagementContext().newProxyInstance(objectName, interfaceClass, notificationBroadcaster);
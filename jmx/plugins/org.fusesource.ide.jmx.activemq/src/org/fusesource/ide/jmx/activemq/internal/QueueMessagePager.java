@@ -0,0 +1,62 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+
+package org.fusesource.ide.jmx.activemq.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import javax.management.openmbean.CompositeData;
+
+import org.apache.activemq.broker.jmx.QueueViewMBean;
+
+/**
+ * Browses the messages of a queue one page at a time.
+ *
+ * A browse over JMX returns at most the browse page size of the broker
+ * (maxBrowsePageSize, 400 by default) and QueueViewMBean offers no cursor to
+ * continue from there, so paging stops at that browse window: messages beyond
+ * it are not shown. The window is read once, with the first page.
+ */
+public class QueueMessagePager {
+
+	private final QueueViewMBean queue;
+	private final int pageSize;
+	private List<CompositeData> messages;
+
+	public QueueMessagePager(QueueViewMBean queue, int pageSize) {
+		this.queue = queue;
+		this.pageSize = pageSize;
+	}
+
+	public int getPageSize() {
+		return pageSize;
+	}
+
+	/**
+	 * @param page	the index of the page, starting at 0
+	 * @return the messages of the page, empty after the last page of the browse window
+	 * @throws Exception
+	 */
+	public synchronized List<CompositeData> getPage(int page) throws Exception {
+		if (messages == null) {
+			CompositeData[] browsed = queue.browse();
+			messages = browsed != null ? Arrays.asList(browsed) : Collections.<CompositeData> emptyList();
+		}
+		int from = page * pageSize;
+		if (from >= messages.size()) {
+			return Collections.emptyList();
+		}
+		return new ArrayList<>(messages.subList(from, Math.min(from + pageSize, messages.size())));
+	}
+}
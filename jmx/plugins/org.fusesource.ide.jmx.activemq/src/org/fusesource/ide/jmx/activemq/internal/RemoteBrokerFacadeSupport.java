@@ -18,6 +18,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import javax.management.AttributeList;
 import javax.management.MBeanServerConnection;
 import javax.management.MBeanServerInvocationHandler;
 import javax.management.MalformedObjectNameException;
@@ -156,6 +157,11 @@ public abstract class RemoteBrokerFacadeSupport extends BrokerFacadeSupport {
         return getMBeanServerConnection().queryNames(name, query);
     }
 
+    @Override
+    public AttributeList getAttributes(ObjectName name, String[] attributes) throws Exception {
+        return getMBeanServerConnection().getAttributes(name, attributes);
+    }
+
 
     @Override
     public Object newProxyInstance(ObjectName objectName, Class interfaceClass, boolean notificationBroadcaster) throws Exception {
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+
+package org.fusesource.ide.jmx.activemq.navigator;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiFunction;
+
+import org.apache.activemq.broker.jmx.DestinationViewMBean;
+import org.eclipse.swt.graphics.Image;
+import org.fusesource.ide.foundation.ui.propsrc.PropertySourceTableSheetPage;
+import org.fusesource.ide.foundation.ui.tree.RefreshableCollectionNode;
+import org.jboss.tools.jmx.core.tree.Node;
+import org.jboss.tools.jmx.ui.ImageProvider;
+
+/**
+ * A page of the destinations of a broker with many destinations. The nodes of
+ * the destinations are only created when the page is expanded.
+ */
+public class DestinationPageNode<T extends DestinationViewMBean> extends RefreshableCollectionNode implements ImageProvider {
+
+	public static final int PAGE_SIZE = 100;
+
+	private final RefreshableCollectionNode destinationsNode;
+	private final List<T> destinations;
+	private final BiFunction<Node, T, Node> nodeFactory;
+
+	private DestinationPageNode(RefreshableCollectionNode destinationsNode, List<T> destinations, BiFunction<Node, T, Node> nodeFactory) {
+		super(destinationsNode);
+		this.destinationsNode = destinationsNode;
+		this.destinations = destinations;
+		this.nodeFactory = nodeFactory;
+	}
+
+	/**
+	 * creates the children of a destinations node: the destinations themselves
+	 * if there are only a few of them, otherwise pages of destinations sorted by name
+	 *
+	 * @param destinationsNode	the node listing the destinations
+	 * @param destinations	the destinations
+	 * @param nodeFactory	creates the node of a destination below the given parent
+	 * @return the children to add to the destinations node
+	 */
+	public static <T extends DestinationViewMBean> List<Node> createChildren(RefreshableCollectionNode destinationsNode, Collection<T> destinations, BiFunction<Node, T, Node> nodeFactory) {
+		List<Node> answer = new ArrayList<>();
+		if (destinations.size() <= PAGE_SIZE) {
+			for (T destination : destinations) {
+				answer.add(nodeFactory.apply(destinationsNode, destination));
+			}
+			return answer;
+		}
+		List<T> sorted = new ArrayList<>(destinations);
+		sorted.sort(Comparator.comparing(DestinationViewMBean::getName));
+		for (int i = 0; i < sorted.size(); i += PAGE_SIZE) {
+			List<T> page = sorted.subList(i, Math.min(i + PAGE_SIZE, sorted.size()));
+			answer.add(new DestinationPageNode<>(destinationsNode, page, nodeFactory));
+		}
+		return answer;
+	}
+
+	@Override
+	public String toString() {
+		return destinations.get(0).getName() + " .. " + destinations.get(destinations.size() - 1).getName();
+	}
+
+	@Override
+	protected void loadChildren() {
+		for (T destination : destinations) {
+			addChild(nodeFactory.apply(this, destination));
+		}
+	}
+
+	@Override
+	public void refresh() {
+		// the pages are recomputed from the current destinations
+		destinationsNode.refresh();
+	}
+
+	@Override
+	protected PropertySourceTableSheetPage createPropertySourceTableSheetPage() {
+		// use the columns configured for the destinations
+		return new PropertySourceTableSheetPage(this, destinationsNode.getClass().getName());
+	}
+
+	@Override
+	public Image getImage() {
+		if (destinationsNode instanceof ImageProvider) {
+			return ((ImageProvider) destinationsNode).getImage();
+		}
+		return null;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof DestinationPageNode)) {
+			return false;
+		}
+		DestinationPageNode<?> other = (DestinationPageNode<?>) obj;
+		return Objects.equals(getConnection(), other.getConnection())
+				&& Objects.equals(destinationsNode, other.destinationsNode)
+				&& getDestinationNames().equals(other.getDestinationNames());
+	}
+
+	/* (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return Objects.hash(getConnection(), destinationsNode, getDestinationNames());
+	}
+
+	/**
+	 * the destination proxies do not implement equals, so the pages are
+	 * compared by the names of their destinations
+	 */
+	private List<String> getDestinationNames() {
+		List<String> names = new ArrayList<>(destinations.size());
+		for (T destination : destinations) {
+			names.add(destination.getName());
+		}
+		return names;
+	}
+}
@@ -33,22 +33,33 @@ import org.fusesource.ide.jmx.activemq.ActiveMQConverter;
 import org.fusesource.ide.jmx.activemq.ActiveMQJMXPlugin;
 import org.fusesource.ide.jmx.activemq.Messages;
 import org.fusesource.ide.jmx.activemq.internal.BrokerFacade;
+import org.fusesource.ide.jmx.activemq.internal.QueueMessagePager;
 import org.fusesource.ide.jmx.commons.messages.IExchange;
-import org.fusesource.ide.jmx.commons.messages.IExchangeBrowser;
+import org.fusesource.ide.jmx.commons.messages.IPagedExchangeBrowser;
 import org.jboss.tools.jmx.core.tree.Node;
 import org.jboss.tools.jmx.ui.ImageProvider;
 
 
-public class QueueNode extends DestinationNodeSupport implements IExchangeBrowser, ImageProvider, ContextMenuProvider, IPropertySourceProvider, GraphableNode, ConnectedNode {
+public class QueueNode extends DestinationNodeSupport implements IPagedExchangeBrowser, ImageProvider, ContextMenuProvider, IPropertySourceProvider, GraphableNode, ConnectedNode {
+
+	/**
+	 * the number of messages shown at a time
+	 */
+	private static final int PAGE_SIZE = 100;
 
 	private final QueuesNode queuesNode;
 	private final QueueViewMBean queue;
 	private final QueueConsumersNode consumersNode;
 	private final QueueProducersNode producersNode;
 	private ActiveMQConverter converter = new ActiveMQConverter();
+	private QueueMessagePager pager;
 
 	public QueueNode(QueuesNode queuesNode, QueueViewMBean queue) {
-		super(queuesNode, queuesNode.getBrokerNode(), queue);
+		this(queuesNode, queuesNode, queue);
+	}
+
+	public QueueNode(QueuesNode queuesNode, Node parent, QueueViewMBean queue) {
+		super(parent, queuesNode.getBrokerNode(), queue);
 		this.queuesNode = queuesNode;
 		this.queue = queue;
 		consumersNode = new QueueConsumersNode(this);
@@ -89,15 +100,20 @@ public class QueueNode extends DestinationNodeSupport implements IExchangeBrowse
 
 	@Override
 	public List<IExchange> browseExchanges() {
+		return browseExchanges(0);
+	}
+
+	@Override
+	public synchronized List<IExchange> browseExchanges(int page) {
 		List<IExchange> answer = new ArrayList<>();
 		try {
-			CompositeData[] cds = queue.browse();
-			if (cds != null) {
-				for (CompositeData cd : cds) {
-					IExchange exchange = converter.toExchange(cd);
-					if (exchange != null) {
-						answer.add(exchange);
-					}
+			if (page == 0 || pager == null) {
+				pager = new QueueMessagePager(queue, PAGE_SIZE);
+			}
+			for (CompositeData cd : pager.getPage(page)) {
+				IExchange exchange = converter.toExchange(cd);
+				if (exchange != null) {
+					answer.add(exchange);
 				}
 			}
 		} catch (Exception e) {
@@ -106,6 +122,11 @@ public class QueueNode extends DestinationNodeSupport implements IExchangeBrowse
 		return answer;
 	}
 
+	@Override
+	public int getPageSize() {
+		return PAGE_SIZE;
+	}
+
 	@Override
 	public Image getImage() {
 		return ActiveMQJMXPlugin.getDefault().getImage("queue.png");
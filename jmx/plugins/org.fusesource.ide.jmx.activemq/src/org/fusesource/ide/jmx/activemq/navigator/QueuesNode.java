@@ -28,6 +28,7 @@ import org.fusesource.ide.jmx.activemq.ActiveMQJMXPlugin;
 import org.fusesource.ide.jmx.activemq.Messages;
 import org.fusesource.ide.jmx.activemq.internal.BrokerFacade;
 import org.fusesource.ide.jmx.activemq.internal.QueueViewFacade;
+import org.jboss.tools.jmx.core.tree.Node;
 import org.jboss.tools.jmx.ui.ImageProvider;
 
 
@@ -52,8 +53,8 @@ public class QueuesNode extends RefreshableCollectionNode implements ImageProvid
 		try {
 			Collection<QueueViewFacade> queues = facade.getQueues();
 			if (queues != null) {
-				for (QueueViewFacade queue : queues) {
-					addChild(new QueueNode(this, queue));
+				for (Node child : DestinationPageNode.createChildren(this, queues, (parent, queue) -> new QueueNode(this, parent, queue))) {
+					addChild(child);
 				}
 			}
 		} catch (Exception e) {
@@ -42,7 +42,11 @@ public class TopicNode extends DestinationNodeSupport  implements ImageProvider,
 	private final TopicDurableConsumersNode durableConsumersNode;
 		
 	public TopicNode(TopicsNode topicsNode, TopicViewMBean topic) {
-		super(topicsNode, topicsNode.getBrokerNode(), topic);
+		this(topicsNode, topicsNode, topic);
+	}
+
+	public TopicNode(TopicsNode topicsNode, Node parent, TopicViewMBean topic) {
+		super(parent, topicsNode.getBrokerNode(), topic);
 		this.topicsNode = topicsNode;
 		this.topic = topic;
 		consumersNode = new TopicConsumersNode(this);
@@ -28,6 +28,7 @@ import org.fusesource.ide.jmx.activemq.ActiveMQJMXPlugin;
 import org.fusesource.ide.jmx.activemq.Messages;
 import org.fusesource.ide.jmx.activemq.internal.BrokerFacade;
 import org.fusesource.ide.jmx.activemq.internal.TopicViewFacade;
+import org.jboss.tools.jmx.core.tree.Node;
 import org.jboss.tools.jmx.ui.ImageProvider;
 
 
@@ -52,8 +53,8 @@ public class TopicsNode extends RefreshableCollectionNode implements ImageProvid
 		try {
 			Collection<TopicViewFacade> topics = facade.getTopics();
 			if (topics != null) {
-				for (TopicViewFacade topic : topics) {
-					addChild(new TopicNode(this, topic));
+				for (Node child : DestinationPageNode.createChildren(this, topics, (parent, topic) -> new TopicNode(this, parent, topic))) {
+					addChild(child);
 				}
 			}
 		} catch (Exception e) {
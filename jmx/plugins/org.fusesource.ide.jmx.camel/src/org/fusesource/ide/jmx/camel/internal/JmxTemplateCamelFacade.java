@@ -10,7 +10,9 @@
  ******************************************************************************/
 package org.fusesource.ide.jmx.camel.internal;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import javax.management.MBeanServerConnection;
 import javax.management.remote.JMXConnector;
@@ -26,7 +28,10 @@ import org.fusesource.ide.camel.model.service.core.jmx.camel.CamelJMXFacade;
 import org.fusesource.ide.camel.model.service.core.jmx.camel.CamelProcessorMBean;
 import org.fusesource.ide.camel.model.service.core.jmx.camel.CamelRouteMBean;
 import org.fusesource.ide.camel.model.service.core.jmx.camel.CamelThreadPoolMBean;
+import org.fusesource.ide.jmx.commons.JmxRequestExecutor;
 import org.fusesource.ide.jmx.commons.JmxTemplateSupport;
+import org.fusesource.ide.preferences.PreferenceManager;
+import org.fusesource.ide.preferences.PreferencesConstants;
 
 /**
  * @author lhein
@@ -34,9 +39,20 @@ import org.fusesource.ide.jmx.commons.JmxTemplateSupport;
  */
 public class JmxTemplateCamelFacade implements CamelJMXFacade {
     private final JmxTemplateSupport template;
+    private final JmxRequestExecutor requests;
+    private MBeanServerConnection camelFacadeConnection;
+    private CamelJMXFacade camelFacade;
 
     public JmxTemplateCamelFacade(JmxTemplateSupport template) {
         this.template = template;
+        // the preference is read for every request so that a change applies to the open connections
+        this.requests = new JmxRequestExecutor("Camel JMX request", JmxTemplateCamelFacade::getRequestCacheMillis, JmxRequestExecutor.DEFAULT_TIMEOUT_MILLIS);
+    }
+
+    private static long getRequestCacheMillis() {
+        PreferenceManager preferences = PreferenceManager.getInstance();
+        return preferences.containsPreference(PreferencesConstants.JMX_REQUEST_CACHE_MILLIS)
+                ? preferences.loadPreferenceAsInt(PreferencesConstants.JMX_REQUEST_CACHE_MILLIS) : 0;
     }
 
     /**
@@ -46,16 +62,35 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
         return template.execute(new JmxTemplateSupport.JmxConnectorCallback<T>() {
             @Override
 			public T doWithJmxConnector(JMXConnector connector) throws Exception {
-                MBeanServerConnection connection = connector.getMBeanServerConnection();
-                CamelJMXFacade camelFacade = new RemoteJMXCamelFacade(connection);
-                return callback.doWithCamelFacade(camelFacade);
+                return callback.doWithCamelFacade(getCamelFacade(connector.getMBeanServerConnection()));
             }
         });
     }
 
+    /**
+     * Executes a read operation on a background thread of the connection, sharing
+     * the call and its result with the identical operations requested meanwhile
+     */
+    private <T> T executeShared(String key, final CamelFacadeCallback<T> callback) throws Exception {
+        return requests.call(key, () -> execute(callback));
+    }
+
+    private synchronized CamelJMXFacade getCamelFacade(MBeanServerConnection connection) throws Exception {
+        if (camelFacade == null || connection != camelFacadeConnection) {
+            camelFacade = new RemoteJMXCamelFacade(connection);
+            camelFacadeConnection = connection;
+        }
+        return camelFacade;
+    }
+
+    @Override
+    public void invalidateCaches() {
+        requests.invalidate();
+    }
+
     @Override
 	public List<CamelContextMBean> getCamelContexts() throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelContextMBean>>() {
+        return executeShared("getCamelContexts", new CamelFacadeCallback<List<CamelContextMBean>>() {
            @Override
 		public List<CamelContextMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getCamelContexts();
@@ -64,8 +99,8 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
     }
 
     @Override
-	public CamelContextMBean getCamelContext(final String managementName) {
-        return execute(new CamelFacadeCallback<CamelContextMBean>() {
+	public CamelContextMBean getCamelContext(final String managementName) throws Exception {
+        return executeShared("getCamelContext:" + managementName, new CamelFacadeCallback<CamelContextMBean>() {
            @Override
 		public CamelContextMBean doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getCamelContext(managementName);
@@ -75,7 +110,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public CamelFabricTracerMBean getFabricTracer(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<CamelFabricTracerMBean>() {
+        return executeShared("getFabricTracer:" + managementName, new CamelFacadeCallback<CamelFabricTracerMBean>() {
            @Override
 		public CamelFabricTracerMBean doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getFabricTracer(managementName);
@@ -85,7 +120,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
 	@Override
 	public CamelBacklogTracerMBean getCamelTracer(final String managementName) throws Exception {
-		return execute(new CamelFacadeCallback<CamelBacklogTracerMBean>() {
+		return executeShared("getCamelTracer:" + managementName, new CamelFacadeCallback<CamelBacklogTracerMBean>() {
 			@Override
 			public CamelBacklogTracerMBean doWithCamelFacade(CamelJMXFacade camel) throws Exception {
 				return camel.getCamelTracer(managementName);
@@ -95,7 +130,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelComponentMBean> getComponents(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelComponentMBean>>() {
+        return executeShared("getComponents:" + managementName, new CamelFacadeCallback<List<CamelComponentMBean>>() {
            @Override
 		public List<CamelComponentMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getComponents(managementName);
@@ -105,7 +140,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelRouteMBean> getRoutes(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelRouteMBean>>() {
+        return executeShared("getRoutes:" + managementName, new CamelFacadeCallback<List<CamelRouteMBean>>() {
            @Override
 		public List<CamelRouteMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getRoutes(managementName);
@@ -115,7 +150,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelEndpointMBean> getEndpoints(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelEndpointMBean>>() {
+        return executeShared("getEndpoints:" + managementName, new CamelFacadeCallback<List<CamelEndpointMBean>>() {
            @Override
 		public List<CamelEndpointMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getEndpoints(managementName);
@@ -125,7 +160,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelConsumerMBean> getConsumers(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelConsumerMBean>>() {
+        return executeShared("getConsumers:" + managementName, new CamelFacadeCallback<List<CamelConsumerMBean>>() {
            @Override
 		public List<CamelConsumerMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getConsumers(managementName);
@@ -135,7 +170,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelProcessorMBean> getProcessors(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelProcessorMBean>>() {
+        return executeShared("getProcessors:" + managementName, new CamelFacadeCallback<List<CamelProcessorMBean>>() {
            @Override
 		public List<CamelProcessorMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getProcessors(managementName);
@@ -145,7 +180,7 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public List<CamelThreadPoolMBean> getThreadPools(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<List<CamelThreadPoolMBean>>() {
+        return executeShared("getThreadPools:" + managementName, new CamelFacadeCallback<List<CamelThreadPoolMBean>>() {
            @Override
 		public List<CamelThreadPoolMBean> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.getThreadPools(managementName);
@@ -155,11 +190,21 @@ public class JmxTemplateCamelFacade implements CamelJMXFacade {
 
     @Override
 	public String dumpRoutesStatsAsXml(final String managementName) throws Exception {
-        return execute(new CamelFacadeCallback<String>() {
+        return executeShared("dumpRoutesStatsAsXml:" + managementName, new CamelFacadeCallback<String>() {
             @Override
 			public String doWithCamelFacade(CamelJMXFacade camel) throws Exception {
                 return camel.dumpRoutesStatsAsXml(managementName);
             }
         });
     }
+
+    @Override
+	public Map<String, Map<String, Object>> getRoutesStatistics(final String managementName, final Collection<String> routeIds) throws Exception {
+        return executeShared("getRoutesStatistics:" + managementName + ":" + routeIds, new CamelFacadeCallback<Map<String, Map<String, Object>>>() {
+            @Override
+			public Map<String, Map<String, Object>> doWithCamelFacade(CamelJMXFacade camel) throws Exception {
+                return camel.getRoutesStatistics(managementName, routeIds);
+            }
+        });
+    }
 }
@@ -13,12 +13,18 @@ package org.fusesource.ide.jmx.camel.navigator;
 
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.Unmarshaller;
-
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
 import org.fusesource.ide.foundation.ui.propsrc.BeanPropertySource;
 import org.fusesource.ide.jmx.camel.CamelJMXPlugin;
 import org.fusesource.ide.jmx.camel.navigator.stats.model.CamelContextStatistics;
@@ -26,19 +32,92 @@ import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatistics;
 import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatisticsContainer;
 import org.fusesource.ide.jmx.camel.navigator.stats.model.ProcessorStatistics;
 import org.fusesource.ide.jmx.camel.navigator.stats.model.RouteStatistics;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.StatisticsHistory;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.TimeSeries;
+import org.fusesource.ide.jmx.commons.JaxbContexts;
 import org.fusesource.ide.jmx.commons.messages.NodeStatisticsContainer;
 
-
+/**
+ * keeps the statistics of a Camel context up to date in the background. Only
+ * the routes which have been asked for recently are sampled, through their
+ * own MBeans, unless the statistics of the whole context are asked for, which
+ * need a dump of all the routes. The rates are computed from the difference
+ * between two samples and kept in a history, which keeps being sampled once
+ * per bucket of its finest tier while an observer is registered.
+ */
 public class CachingCamelContextNodeStatisticsContainer implements NodeStatisticsContainer, IProcessorStatisticsContainer {
 	private static final long THROTTLE_MILLIS = BeanPropertySource.THROTTLE;
 
+	/**
+	 * a route, or the whole context, which has not been asked for during this
+	 * time is not visible anymore and is no longer sampled
+	 */
+	static final long IDLE_MILLIS = 3 * THROTTLE_MILLIS;
+
+	/**
+	 * the sampling interval of the history while the statistics are observed
+	 * but not asked for
+	 */
+	private static final long OBSERVED_MILLIS = TimeSeries.getBucketMillis(TimeSeries.TIER_1_MINUTE);
+
 	private final CamelContextNode camelContextNode;
+	private final Map<String, Long> routeAccessTimes = new ConcurrentHashMap<>();
+	private final Map<String, RouteStatisticsContainer> routeContainers = new ConcurrentHashMap<>();
+	private final Set<Object> contextObservers = ConcurrentHashMap.newKeySet();
+	private final Map<Object, String> routeObservers = new ConcurrentHashMap<>();
+	private final StatisticsHistory history = new StatisticsHistory();
+	private final Job refreshJob;
 
-	private long lastRequestTime = 0L;
-	private Map<String, IProcessorStatistics> cache = new HashMap<String, IProcessorStatistics>();
+	private volatile long contextAccessTime = 0L;
+	private volatile long lastSampleTime = 0L;
+	private volatile Map<String, IProcessorStatistics> cache = Collections.emptyMap();
 
 	public CachingCamelContextNodeStatisticsContainer(CamelContextNode camelContextNode) {
 		this.camelContextNode = camelContextNode;
+		this.refreshJob = new Job("Refreshing statistics of Camel context " + camelContextNode.getContextId()) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				refresh();
+				if (isVisible(System.currentTimeMillis())) {
+					schedule(THROTTLE_MILLIS);
+				} else if (!contextObservers.isEmpty() || !routeObservers.isEmpty()) {
+					schedule(OBSERVED_MILLIS);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		this.refreshJob.setSystem(true);
+	}
+
+	/**
+	 * @param routeId	the id of the route
+	 * @return the statistics of the context, refreshing only the given route
+	 *         when asked for a node
+	 */
+	public NodeStatisticsContainer forRoute(String routeId) {
+		return routeContainers.computeIfAbsent(routeId, RouteStatisticsContainer::new);
+	}
+
+	@Override
+	public StatisticsHistory getStatisticsHistory() {
+		return history;
+	}
+
+	@Override
+	public void addInterest(Object observer) {
+		contextObservers.add(observer);
+		startObserving();
+	}
+
+	@Override
+	public void removeInterest(Object observer) {
+		contextObservers.remove(observer);
+	}
+
+	private void startObserving() {
+		if (refreshJob.getState() == Job.NONE) {
+			refreshJob.schedule();
+		}
 	}
 
 	@Override
@@ -49,41 +128,186 @@ public class CachingCamelContextNodeStatisticsContainer implements NodeStatistic
 
 	@Override
 	public Map<String, IProcessorStatistics> getNodeStatsMap() {
-		if (shouldQuery()) {
-			// lets load the new data over JMX and unmarshal as XML here...
-			String managementName = camelContextNode.getManagementName();
-			try {
-				String xml = camelContextNode.getFacade().dumpRoutesStatsAsXml(managementName);
-				if (xml != null) {
-					xml = xml.trim();
-					if (xml.length() > 0) {
-						CamelContextStatistics stats = getStatistics(xml);
-						if (stats != null) {
-							ArrayList<RouteStatistics> routeStatisticsList = stats.getRouteStatisticsList();
-							if (routeStatisticsList != null) {
-								Map<String, IProcessorStatistics> map = new HashMap<String, IProcessorStatistics>();
-								for (RouteStatistics stat : routeStatisticsList) {
-									String id = stat.getId();
-									map.put(id, stat);
-
-									ArrayList<ProcessorStatistics> procStats = stat.getProcessorStatisticsList();
-									if (procStats != null) {
-										for (ProcessorStatistics procStat : procStats) {
-											map.put(procStat.getId(), procStat);
-										}
-									}
+		long now = System.currentTimeMillis();
+		boolean visible = now - contextAccessTime < IDLE_MILLIS;
+		contextAccessTime = now;
+		return access(visible);
+	}
+
+	private Map<String, IProcessorStatistics> getRouteStatsMap(String routeId) {
+		long now = System.currentTimeMillis();
+		Long lastAccessTime = routeAccessTimes.put(routeId, now);
+		boolean visible = lastAccessTime != null && now - lastAccessTime < IDLE_MILLIS;
+		return access(visible);
+	}
+
+	/**
+	 * returns the cached statistics without ever sampling on the calling
+	 * thread. When they were not visible so far the cache may be stale, so the
+	 * refresh job is run right away and keeps them up to date afterwards.
+	 */
+	private Map<String, IProcessorStatistics> access(boolean visible) {
+		if (!visible) {
+			refreshJob.schedule();
+		} else if (refreshJob.getState() == Job.NONE) {
+			refreshJob.schedule(THROTTLE_MILLIS);
+		}
+		return cache;
+	}
+
+	private boolean isVisible(long now) {
+		return now - contextAccessTime < IDLE_MILLIS || !getVisibleRouteIds(now).isEmpty();
+	}
+
+	private List<String> getVisibleRouteIds(long now) {
+		routeAccessTimes.values().removeIf(accessTime -> now - accessTime >= IDLE_MILLIS);
+		return new ArrayList<>(routeAccessTimes.keySet());
+	}
+
+	/**
+	 * samples the statistics of the visible or observed routes and computes
+	 * the rates since the previous sample
+	 */
+	synchronized void refresh() {
+		long now = System.currentTimeMillis();
+		String managementName = camelContextNode.getManagementName();
+		try {
+			Map<String, IProcessorStatistics> sample;
+			boolean fullSample = now - contextAccessTime < IDLE_MILLIS || !contextObservers.isEmpty();
+			if (fullSample) {
+				sample = getContextStatistics(managementName);
+			} else {
+				Set<String> routeIds = new LinkedHashSet<>(getVisibleRouteIds(now));
+				routeIds.addAll(routeObservers.values());
+				if (routeIds.isEmpty()) {
+					return;
+				}
+				sample = getRoutesStatistics(managementName, new ArrayList<>(routeIds));
+			}
+			if (sample != null) {
+				computeRates(cache, sample, now - lastSampleTime);
+				for (IProcessorStatistics stat : sample.values()) {
+					if (cache.containsKey(stat.getId())) {
+						history.record(stat, now);
+					}
+				}
+				if (fullSample) {
+					// the nodes of removed routes are not sampled anymore
+					history.retain(sample.keySet());
+				}
+				lastSampleTime = now;
+				this.cache = sample;
+			}
+		} catch (Exception e) {
+			CamelJMXPlugin.getLogger().error("Failed to query the JMX statistics of Camel: " + managementName, e);
+		}
+	}
+
+	private Map<String, IProcessorStatistics> getContextStatistics(String managementName) throws Exception {
+		// lets load the new data over JMX and unmarshal as XML here...
+		String xml = camelContextNode.getFacade().dumpRoutesStatsAsXml(managementName);
+		if (xml != null) {
+			xml = xml.trim();
+			if (xml.length() > 0) {
+				CamelContextStatistics stats = getStatistics(xml);
+				if (stats != null) {
+					ArrayList<RouteStatistics> routeStatisticsList = stats.getRouteStatisticsList();
+					if (routeStatisticsList != null) {
+						Map<String, IProcessorStatistics> map = new HashMap<String, IProcessorStatistics>();
+						for (RouteStatistics stat : routeStatisticsList) {
+							String id = stat.getId();
+							map.put(id, stat);
+
+							ArrayList<ProcessorStatistics> procStats = stat.getProcessorStatisticsList();
+							if (procStats != null) {
+								for (ProcessorStatistics procStat : procStats) {
+									map.put(procStat.getId(), procStat);
 								}
-								this.cache = map;
 							}
 						}
+						return map;
 					}
 				}
-			} catch (Exception e) {
-				CamelJMXPlugin.getLogger().error("Failed to query the JMX statistics of Camel: " + managementName, e);
 			}
 		}
-		Map<String, IProcessorStatistics> statsMap = cache;
-		return statsMap;
+		return null;
+	}
+
+	private Map<String, IProcessorStatistics> getRoutesStatistics(String managementName, List<String> routeIds) throws Exception {
+		Map<String, IProcessorStatistics> map = new HashMap<String, IProcessorStatistics>();
+		for (Map.Entry<String, Map<String, Object>> entry : camelContextNode.getFacade().getRoutesStatistics(managementName, routeIds).entrySet()) {
+			Map<String, Object> counters = entry.getValue();
+			if (counters.containsKey("ProcessorId")) {
+				ProcessorStatistics stat = new ProcessorStatistics();
+				stat.setId(entry.getKey());
+				stat.setExchangesCompleted(counter(counters, "ExchangesCompleted"));
+				stat.setExchangesFailed(counter(counters, "ExchangesFailed"));
+				stat.setFailuresHandled(counter(counters, "FailuresHandled"));
+				stat.setRedeliveries(counter(counters, "Redeliveries"));
+				stat.setExternalRedeliveries(counter(counters, "ExternalRedeliveries"));
+				stat.setMinProcessingTime(counter(counters, "MinProcessingTime"));
+				stat.setMaxProcessingTime(counter(counters, "MaxProcessingTime"));
+				stat.setTotalProcessingTime(counter(counters, "TotalProcessingTime"));
+				stat.setLastProcessingTime(counter(counters, "LastProcessingTime"));
+				stat.setMeanProcessingTime(counter(counters, "MeanProcessingTime"));
+				map.put(stat.getId(), stat);
+			} else {
+				RouteStatistics stat = new RouteStatistics();
+				stat.setId(entry.getKey());
+				stat.setExchangesCompleted(counter(counters, "ExchangesCompleted"));
+				stat.setExchangesFailed(counter(counters, "ExchangesFailed"));
+				stat.setFailuresHandled(counter(counters, "FailuresHandled"));
+				stat.setRedeliveries(counter(counters, "Redeliveries"));
+				stat.setExternalRedeliveries(counter(counters, "ExternalRedeliveries"));
+				stat.setMinProcessingTime(counter(counters, "MinProcessingTime"));
+				stat.setMaxProcessingTime(counter(counters, "MaxProcessingTime"));
+				stat.setTotalProcessingTime(counter(counters, "TotalProcessingTime"));
+				stat.setLastProcessingTime(counter(counters, "LastProcessingTime"));
+				stat.setMeanProcessingTime(counter(counters, "MeanProcessingTime"));
+				map.put(stat.getId(), stat);
+			}
+		}
+		return map;
+	}
+
+	private static long counter(Map<String, Object> counters, String name) {
+		Object value = counters.get(name);
+		return value instanceof Number ? ((Number) value).longValue() : 0L;
+	}
+
+	/**
+	 * sets the throughput and the recent mean processing time of each node
+	 * from the difference with its previous sample
+	 *
+	 * @param previous	the previous sample by node id
+	 * @param current	the new sample by node id
+	 * @param elapsedMillis	the time between both samples
+	 */
+	static void computeRates(Map<String, IProcessorStatistics> previous, Map<String, IProcessorStatistics> current, long elapsedMillis) {
+		if (elapsedMillis <= 0) {
+			return;
+		}
+		for (IProcessorStatistics stat : current.values()) {
+			IProcessorStatistics before = previous.get(stat.getId());
+			if (before == null) {
+				continue;
+			}
+			long completed = stat.getExchangesCompleted() - before.getExchangesCompleted();
+			long failed = stat.getExchangesFailed() - before.getExchangesFailed();
+			if (completed < 0 || failed < 0) {
+				// the counters have been reset in between
+				continue;
+			}
+			double exchangesPerSecond = (completed + failed) * 1000d / elapsedMillis;
+			double recentMeanProcessingTime = completed == 0 ? 0d : (double) (stat.getTotalProcessingTime() - before.getTotalProcessingTime()) / completed;
+			if (stat instanceof ProcessorStatistics) {
+				((ProcessorStatistics) stat).setExchangesPerSecond(exchangesPerSecond);
+				((ProcessorStatistics) stat).setRecentMeanProcessingTime(recentMeanProcessingTime);
+			} else if (stat instanceof RouteStatistics) {
+				((RouteStatistics) stat).setExchangesPerSecond(exchangesPerSecond);
+				((RouteStatistics) stat).setRecentMeanProcessingTime(recentMeanProcessingTime);
+			}
+		}
 	}
 
 	/**
@@ -95,9 +319,7 @@ public class CachingCamelContextNodeStatisticsContainer implements NodeStatistic
 	private CamelContextStatistics getStatistics(String xmlDump) {
 		CamelContextStatistics stats = null;
 		try {
-			JAXBContext context = JAXBContext.newInstance(CamelContextStatistics.class, RouteStatistics.class, ProcessorStatistics.class);
-			Unmarshaller um = context.createUnmarshaller();
-			stats = (CamelContextStatistics) um.unmarshal(new StringReader(xmlDump));
+			stats = (CamelContextStatistics) JaxbContexts.unmarshal(new StringReader(xmlDump), CamelContextStatistics.class, RouteStatistics.class, ProcessorStatistics.class);
 		} catch (Exception ex) {
 			stats = null;
 			CamelJMXPlugin.getLogger().error("Error retrieving the statistics for camel context: " + camelContextNode.getContextId(), ex);
@@ -106,15 +328,40 @@ public class CachingCamelContextNodeStatisticsContainer implements NodeStatistic
 	}
 
 	/**
-	 * Returns true if we should re-query the stats for a JMX Camel Context
+	 * the statistics as seen from a single route, asking for one of its nodes
+	 * only keeps this route visible
 	 */
-	protected boolean shouldQuery() {
-		long now = System.currentTimeMillis();
-		long delta = now - lastRequestTime;
-		lastRequestTime = now;
-		if (delta > THROTTLE_MILLIS || this.cache.isEmpty()) {
-			return true;
+	private class RouteStatisticsContainer implements IProcessorStatisticsContainer {
+		private final String routeId;
+
+		private RouteStatisticsContainer(String routeId) {
+			this.routeId = routeId;
+		}
+
+		@Override
+		public IProcessorStatistics getNodeStats(String nodeId) {
+			return getRouteStatsMap(routeId).get(nodeId);
+		}
+
+		@Override
+		public Map<String, IProcessorStatistics> getNodeStatsMap() {
+			return getRouteStatsMap(routeId);
+		}
+
+		@Override
+		public StatisticsHistory getStatisticsHistory() {
+			return history;
+		}
+
+		@Override
+		public void addInterest(Object observer) {
+			routeObservers.put(observer, routeId);
+			startObserving();
+		}
+
+		@Override
+		public void removeInterest(Object observer) {
+			routeObservers.remove(observer, routeId);
 		}
-		return false;
 	}
 }
@@ -93,7 +93,7 @@ public class CamelContextNode 	extends NodeSupport
 	private CamelRouteContainerElement camelContext;
 	private final RoutesNode routes;
 	private static Map<String, TraceExchangeList> traceMessageMap = new ConcurrentHashMap<>();
-	private NodeStatisticsContainer runtimeNodeStatisticsContainer;
+	private CachingCamelContextNodeStatisticsContainer runtimeNodeStatisticsContainer;
 	private File tempContextFile = null;
 
 	private ILaunch launch = null;
@@ -137,6 +137,7 @@ public class CamelContextNode 	extends NodeSupport
 
 	@Override
 	public void refresh() {
+		getFacade().invalidateCaches();
 		Nodes.refreshParent(this);
 		Display.getDefault().syncExec(new RefreshNodeRunnable(this));
 	}
@@ -482,10 +483,7 @@ public class CamelContextNode 	extends NodeSupport
 		//		if (isTracing()) {
 		//			return getTraceExchangeList(null);
 		//		} else {
-		if (runtimeNodeStatisticsContainer == null) {
-			runtimeNodeStatisticsContainer = new CachingCamelContextNodeStatisticsContainer(this);
-		}
-		return runtimeNodeStatisticsContainer;
+		return getRuntimeNodeStatisticsContainer();
 		//		}
 	}
 
@@ -493,10 +491,20 @@ public class CamelContextNode 	extends NodeSupport
 		//		if (isTracing()) {
 		//			return getTraceExchangeList(routeId);
 		//		} else {
-		return getNodeStatisticsContainer();
+		if (routeId == null) {
+			return getRuntimeNodeStatisticsContainer();
+		}
+		return getRuntimeNodeStatisticsContainer().forRoute(routeId);
 		//		}
 	}
 
+	private synchronized CachingCamelContextNodeStatisticsContainer getRuntimeNodeStatisticsContainer() {
+		if (runtimeNodeStatisticsContainer == null) {
+			runtimeNodeStatisticsContainer = new CachingCamelContextNodeStatisticsContainer(this);
+		}
+		return runtimeNodeStatisticsContainer;
+	}
+
 	public ITraceExchangeList getTraceExchangeList(String id) {
 		if (id != null) {
 			// TODO lets find all the messages and filter them...
@@ -56,6 +56,12 @@ public class CamelContextsNode extends RefreshableCollectionNode implements Imag
 		}
 	}
 
+	@Override
+	public void refresh() {
+		facade.invalidateCaches();
+		super.refresh();
+	}
+
 	@Override
 	public Image getImage() {
 		return CamelJMXPlugin.getDefault().getImage("camel.png");
@@ -112,6 +112,16 @@ public class ProcessorBeanView {
 		return (stats == null) ? null : stats.getMeanProcessingTime();
 	}
 
+	public Double getExchangesPerSecond() {
+		IProcessorStatistics stats = stats();
+		return (stats == null) ? null : stats.getExchangesPerSecond();
+	}
+
+	public Double getRecentMeanProcessingTime() {
+		IProcessorStatistics stats = stats();
+		return (stats == null) ? null : stats.getRecentMeanProcessingTime();
+	}
+
 
 	/**
 	  // TODO stuff from the MBean ommitted for now
@@ -11,22 +11,21 @@
 
 package org.fusesource.ide.jmx.camel.navigator;
 
-import java.io.StringWriter;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedHashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicInteger;
 
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-
-import org.fusesource.ide.foundation.core.util.Strings;
 import org.fusesource.ide.jmx.commons.backlogtracermessage.BacklogTracerEventMessage;
+import org.fusesource.ide.jmx.commons.backlogtracermessage.Header;
+import org.fusesource.ide.jmx.commons.backlogtracermessage.Message;
 import org.fusesource.ide.jmx.commons.messages.Exchange;
 import org.fusesource.ide.jmx.commons.messages.Exchanges;
 import org.fusesource.ide.jmx.commons.messages.IExchange;
@@ -34,49 +33,67 @@ import org.fusesource.ide.jmx.commons.messages.IMessage;
 import org.fusesource.ide.jmx.commons.messages.INodeStatistics;
 import org.fusesource.ide.jmx.commons.messages.ITraceExchangeList;
 import org.fusesource.ide.jmx.commons.messages.NodeStatistics;
-import org.xml.sax.SAXException;
 
 
+/**
+ * the exchanges traced for a Camel context.
+ * 
+ * The list is kept sorted while traced messages are added and it is bounded,
+ * both in the number of exchanges and in the estimated size of their bodies
+ * and headers. Once a bound is exceeded the oldest traced exchanges are
+ * dropped. The node statistics are running totals, so they still count the
+ * dropped exchanges.
+ */
 public class TraceExchangeList implements ITraceExchangeList {
 
+	public static final int DEFAULT_MAX_EXCHANGES = 10000;
+	public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+
+	private final int maxExchanges;
+	private final long maxBytes;
 	private Map<String, ExchangeStepList> stepListMap = new HashMap<String, TraceExchangeList.ExchangeStepList>();
 	private Map<String, NodeStatistics> nodeStatMap = new HashMap<String, NodeStatistics>();
-	private List<ExchangeStepList> stepLists = new ArrayList<ExchangeStepList>();
 	private List<IExchange> exchangeList = new ArrayList<IExchange>();
-	private Map<IExchange, Long> uuidSet = new LinkedHashMap<IExchange, Long>();
+	/**
+	 * the traced exchanges in the order they arrived, oldest first
+	 */
+	private Deque<TracedExchange> tracedExchanges = new ArrayDeque<>();
+	private long bytes;
 	private final AtomicInteger counter = new AtomicInteger();
 
+	public TraceExchangeList() {
+		this(DEFAULT_MAX_EXCHANGES, DEFAULT_MAX_BYTES);
+	}
+
+	/**
+	 * @param maxExchanges	the maximum number of exchanges to keep
+	 * @param maxBytes		the maximum estimated size of the exchanges to keep
+	 */
+	public TraceExchangeList(int maxExchanges, long maxBytes) {
+		this.maxExchanges = maxExchanges;
+		this.maxBytes = maxBytes;
+	}
+
 	@Override
 	public List<IExchange> getExchangeList() {
 		return exchangeList;
 	}
 
-	public void addBackLogTraceMessages(List<BacklogTracerEventMessage> traceMessages) throws JAXBException, SAXException {
-		for (BacklogTracerEventMessage traceMessage : traceMessages) {
-			String exchangeId = traceMessage.getExchangeId();
-			ExchangeStepList stepList = stepListMap.get(exchangeId);
-			if (stepList == null) {
-				stepList = new ExchangeStepList(exchangeId);
-				stepLists.add(stepList);
-				stepListMap.put(exchangeId, stepList);
-			}
-			IExchange exchange = stepList.addExchange(traceMessage);
-			String toNode = traceMessage.getToNode();
-			if (exchange != null && toNode != null) {
-				INodeStatistics nodeStats = getNodeStats(toNode);
-				nodeStats.addExchange(exchange);
-			}
-		}
-		refreshExchangeList(stepLists);
+	public void addBackLogTraceMessages(List<BacklogTracerEventMessage> traceMessages) {
+		addTraceMessages(traceMessages);
 	}
 	
-	public void addFabricTraceMessages(List<BacklogTracerEventMessage> traceMessages) throws JAXBException, SAXException {
+	public void addFabricTraceMessages(List<BacklogTracerEventMessage> traceMessages) {
+		addTraceMessages(traceMessages);
+	}
+
+	private void addTraceMessages(List<BacklogTracerEventMessage> traceMessages) {
+		List<IExchange> added = new ArrayList<IExchange>();
 		for (BacklogTracerEventMessage traceMessage : traceMessages) {
 			String exchangeId = traceMessage.getExchangeId();
 			ExchangeStepList stepList = stepListMap.get(exchangeId);
 			if (stepList == null) {
 				stepList = new ExchangeStepList(exchangeId);
-				stepLists.add(stepList);
 				stepListMap.put(exchangeId, stepList);
 			}
 			IExchange exchange = stepList.addExchange(traceMessage);
@@ -85,21 +102,24 @@ public class TraceExchangeList implements ITraceExchangeList {
 				INodeStatistics nodeStats = getNodeStats(toNode);
 				nodeStats.addExchange(exchange);
 			}
+			if (exchange != null) {
+				added.add(exchange);
+				TracedExchange tracedExchange = new TracedExchange(exchange, stepList, estimateSize(traceMessage));
+				tracedExchanges.addLast(tracedExchange);
+				bytes += tracedExchange.size;
+			}
 		}
-		refreshExchangeList(stepLists);
+		insertSorted(added);
+		evict();
 	}
-	
-	private void refreshExchangeList(List<ExchangeStepList> stepLists) {
-		List<IExchange> temp = new ArrayList<IExchange>();
-		for (ExchangeStepList stepList : stepLists) {
-			temp.addAll(stepList.getExchangeList());
-		}
-		
-		// sort so they are in natural sort order
-		Collections.sort(temp);
-		
-		// then update the exchange index, if missing
-		for (IExchange ie : temp) {
+
+	/**
+	 * inserts the new exchanges into the already sorted list
+	 */
+	private void insertSorted(List<IExchange> added) {
+		// number the new exchanges in their natural sort order
+		Collections.sort(added);
+		for (IExchange ie : added) {
 			if (ie instanceof Exchange) {
 				Exchange exchange = (Exchange) ie;
 				if (exchange.getExchangeIndex() == null) {
@@ -108,8 +128,69 @@ public class TraceExchangeList implements ITraceExchangeList {
 			}
 		}
 
-		exchangeList.clear();
-		exchangeList.addAll(temp);
+		for (IExchange exchange : added) {
+			int index = Collections.binarySearch(exchangeList, exchange);
+			exchangeList.add(index < 0 ? -index - 1 : index + 1, exchange);
+		}
+	}
+
+	/**
+	 * drops the oldest exchanges until the list is within its bounds again
+	 */
+	private void evict() {
+		if (tracedExchanges.size() <= maxExchanges && bytes <= maxBytes) {
+			return;
+		}
+		Set<IExchange> evicted = Collections.newSetFromMap(new IdentityHashMap<IExchange, Boolean>());
+		while (!tracedExchanges.isEmpty() && (tracedExchanges.size() > maxExchanges || bytes > maxBytes)) {
+			TracedExchange oldest = tracedExchanges.removeFirst();
+			bytes -= oldest.size;
+			evicted.add(oldest.exchange);
+			ExchangeStepList stepList = oldest.stepList;
+			stepList.getExchangeList().remove(oldest.exchange);
+			if (stepList.getExchangeList().isEmpty() && stepListMap.get(stepList.exchangeId) == stepList) {
+				stepListMap.remove(stepList.exchangeId);
+			}
+		}
+		exchangeList.removeIf(evicted::contains);
+	}
+
+	/**
+	 * @return a rough estimate of the memory used by the body and headers of the message
+	 */
+	private static long estimateSize(BacklogTracerEventMessage traceMessage) {
+		long chars = 0;
+		Message message = traceMessage.getMessage();
+		if (message != null) {
+			if (message.getBody() != null) {
+				chars += message.getBody().length();
+			}
+			if (message.getHeaders() != null) {
+				for (Header header : message.getHeaders()) {
+					chars += length(header.getKey()) + length(header.getValue()) + length(header.getType());
+				}
+			}
+		}
+		// chars are stored as UTF-16 and the exchange itself needs some space as well
+		return 2 * chars + 512;
+	}
+
+	private static int length(String value) {
+		return value != null ? value.length() : 0;
+	}
+
+	/**
+	 * @return the number of traced exchanges kept
+	 */
+	public int size() {
+		return tracedExchanges.size();
+	}
+
+	/**
+	 * @return the estimated size of the traced exchanges kept
+	 */
+	public long getEstimatedBytes() {
+		return bytes;
 	}
 
 	@Override
@@ -136,33 +217,17 @@ public class TraceExchangeList implements ITraceExchangeList {
 			return exchangeList;
 		}
 
-		public IExchange addExchange(BacklogTracerEventMessage traceMessage) throws JAXBException, SAXException {
+		public IExchange addExchange(BacklogTracerEventMessage traceMessage) {
 			IExchange answer = createExchange(traceMessage);
 			if (answer != null) {
 //				answer.getIn().setExchangeIndex(exchangeList.size() + 1);
 				exchangeList.add(answer);
 			}
-			// remember the uuid of this iexchange
-			uuidSet.put(answer, traceMessage.getUid());
 			return answer;
 		}
 		
-		public IExchange createExchange(BacklogTracerEventMessage traceMessage) throws JAXBException, SAXException {
-
-			StringWriter writer = new StringWriter();
-			JAXBContext context = JAXBContext.newInstance(org.fusesource.ide.jmx.commons.backlogtracermessage.Message.class);
-			Marshaller m = context.createMarshaller();
-			m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			m.marshal(traceMessage.getMessage(), writer);
-			String xml = writer.toString();
-
-			Exchange exchange = null;
-			if (!Strings.isBlank(xml)) {
-				exchange = Exchanges.unmarshalNoNamespaceXmlString(xml);
-			}
-			if (exchange == null) {
-				exchange = new Exchange();
-			}
+		public IExchange createExchange(BacklogTracerEventMessage traceMessage) {
+			Exchange exchange = traceMessage.getMessage() != null ? Exchanges.fromBacklogTracerMessage(traceMessage.getMessage()) : new Exchange();
 			IMessage in = exchange.getIn();
 			in.setToNode(traceMessage.getToNode());
 			in.setUuid(traceMessage.getUid());
@@ -190,4 +255,16 @@ public class TraceExchangeList implements ITraceExchangeList {
 			return exchange;
 		}
 	}
+
+	private static class TracedExchange {
+		private final IExchange exchange;
+		private final ExchangeStepList stepList;
+		private final long size;
+
+		private TracedExchange(IExchange exchange, ExchangeStepList stepList, long size) {
+			this.exchange = exchange;
+			this.stepList = stepList;
+			this.size = size;
+		}
+	}
 }
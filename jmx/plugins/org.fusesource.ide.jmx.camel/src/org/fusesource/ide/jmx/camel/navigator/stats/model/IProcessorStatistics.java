@@ -27,5 +27,15 @@ public interface IProcessorStatistics extends INodeStatistics {
 	public long getLastProcessingTime();
 	public long getMeanProcessingTime();
 
+	/**
+	 * @return the exchanges completed or failed per second since the previous sample
+	 */
+	public double getExchangesPerSecond();
+
+	/**
+	 * @return the mean processing time of the exchanges completed since the previous sample
+	 */
+	public double getRecentMeanProcessingTime();
+
 
 }
\ No newline at end of file
@@ -17,4 +17,23 @@ import org.fusesource.ide.jmx.commons.messages.NodeStatisticsContainer;
 
 public interface IProcessorStatisticsContainer extends NodeStatisticsContainer {
 	public abstract Map<String, IProcessorStatistics> getNodeStatsMap();
+
+	/**
+	 * @return the history of the rates of the nodes
+	 */
+	public abstract StatisticsHistory getStatisticsHistory();
+
+	/**
+	 * keeps the history sampled for as long as the given observer, such as a
+	 * diagram showing the statistics, is registered, even when the statistics
+	 * are not asked for
+	 *
+	 * @param observer	the observer to register
+	 */
+	public abstract void addInterest(Object observer);
+
+	/**
+	 * @param observer	the observer to unregister
+	 */
+	public abstract void removeInterest(Object observer);
 }
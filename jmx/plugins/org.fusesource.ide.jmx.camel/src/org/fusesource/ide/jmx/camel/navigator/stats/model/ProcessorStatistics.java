@@ -12,6 +12,7 @@
 package org.fusesource.ide.jmx.camel.navigator.stats.model;
 
 import javax.xml.bind.annotation.XmlAttribute;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.fusesource.ide.jmx.commons.messages.IExchange;
 
@@ -31,6 +32,8 @@ public class ProcessorStatistics implements IProcessorStatistics  {
 	private long totalProcessingTime;
 	private long lastProcessingTime;
 	private long meanProcessingTime;
+	private double exchangesPerSecond;
+	private double recentMeanProcessingTime;
 
 
 	@Override
@@ -214,6 +217,38 @@ public class ProcessorStatistics implements IProcessorStatistics  {
 		this.meanProcessingTime = meanProcessingTime;
 	}
 
+	/**
+	 * @return the exchangesPerSecond
+	 */
+	@Override
+	@XmlTransient
+	public double getExchangesPerSecond() {
+		return this.exchangesPerSecond;
+	}
+
+	/**
+	 * @param exchangesPerSecond the exchangesPerSecond to set
+	 */
+	public void setExchangesPerSecond(double exchangesPerSecond) {
+		this.exchangesPerSecond = exchangesPerSecond;
+	}
+
+	/**
+	 * @return the recentMeanProcessingTime
+	 */
+	@Override
+	@XmlTransient
+	public double getRecentMeanProcessingTime() {
+		return this.recentMeanProcessingTime;
+	}
+
+	/**
+	 * @param recentMeanProcessingTime the recentMeanProcessingTime to set
+	 */
+	public void setRecentMeanProcessingTime(double recentMeanProcessingTime) {
+		this.recentMeanProcessingTime = recentMeanProcessingTime;
+	}
+
 
 	// INodeStatistics interface
 
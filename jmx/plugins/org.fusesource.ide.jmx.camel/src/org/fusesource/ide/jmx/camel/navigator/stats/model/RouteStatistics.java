@@ -17,6 +17,7 @@ import javax.xml.bind.annotation.XmlAttribute;
 import javax.xml.bind.annotation.XmlElement;
 import javax.xml.bind.annotation.XmlElementWrapper;
 import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlTransient;
 
 import org.fusesource.ide.jmx.commons.messages.IExchange;
 
@@ -36,6 +37,8 @@ public class RouteStatistics implements IProcessorStatistics {
 	private long totalProcessingTime;
 	private long lastProcessingTime;
 	private long meanProcessingTime;
+	private double exchangesPerSecond;
+	private double recentMeanProcessingTime;
 	private ArrayList<ProcessorStatistics> processorStatisticsList;
 
 
@@ -221,6 +224,38 @@ public class RouteStatistics implements IProcessorStatistics {
 		this.meanProcessingTime = meanProcessingTime;
 	}
 
+	/**
+	 * @return the exchangesPerSecond
+	 */
+	@Override
+	@XmlTransient
+	public double getExchangesPerSecond() {
+		return this.exchangesPerSecond;
+	}
+
+	/**
+	 * @param exchangesPerSecond the exchangesPerSecond to set
+	 */
+	public void setExchangesPerSecond(double exchangesPerSecond) {
+		this.exchangesPerSecond = exchangesPerSecond;
+	}
+
+	/**
+	 * @return the recentMeanProcessingTime
+	 */
+	@Override
+	@XmlTransient
+	public double getRecentMeanProcessingTime() {
+		return this.recentMeanProcessingTime;
+	}
+
+	/**
+	 * @param recentMeanProcessingTime the recentMeanProcessingTime to set
+	 */
+	public void setRecentMeanProcessingTime(double recentMeanProcessingTime) {
+		this.recentMeanProcessingTime = recentMeanProcessingTime;
+	}
+
 
 	/**
 	 * @return the processorStatisticsList
@@ -0,0 +1,66 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator.stats.model;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * the throughput and latency history of the routes and processors of a Camel
+ * context. The series of a node are created the first time it is recorded and
+ * then keep a fixed size.
+ */
+public class StatisticsHistory {
+
+	private final Map<String, TimeSeries> throughputs = new ConcurrentHashMap<>();
+	private final Map<String, TimeSeries> latencies = new ConcurrentHashMap<>();
+
+	/**
+	 * records the rates of a sample
+	 *
+	 * @param stats	the statistics of a route or processor, with its rates computed
+	 * @param time	the time of the sample in milliseconds
+	 */
+	public void record(IProcessorStatistics stats, long time) {
+		String id = stats.getId();
+		double exchangesPerSecond = stats.getExchangesPerSecond();
+		throughputs.computeIfAbsent(id, key -> new TimeSeries()).add(time, exchangesPerSecond);
+		// without any exchange there is no processing time to average
+		latencies.computeIfAbsent(id, key -> new TimeSeries()).add(time, exchangesPerSecond > 0 ? stats.getRecentMeanProcessingTime() : Double.NaN);
+	}
+
+	/**
+	 * forgets the nodes which are not part of the context anymore
+	 *
+	 * @param nodeIds	the ids of all the routes and processors of the context
+	 */
+	public void retain(Collection<String> nodeIds) {
+		throughputs.keySet().retainAll(nodeIds);
+		latencies.keySet().retainAll(nodeIds);
+	}
+
+	/**
+	 * @param nodeId	the id of the route or processor
+	 * @return the exchanges per second, or null if the node has not been recorded
+	 */
+	public TimeSeries getThroughput(String nodeId) {
+		return throughputs.get(nodeId);
+	}
+
+	/**
+	 * @param nodeId	the id of the route or processor
+	 * @return the mean processing times, or null if the node has not been recorded
+	 */
+	public TimeSeries getLatency(String nodeId) {
+		return latencies.get(nodeId);
+	}
+}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator.stats.model;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * a fixed-memory time series of one metric. The recorded values are averaged
+ * into buckets of 1 minute, 15 minutes and 1 hour. Each tier is a ring buffer
+ * of primitives so that recording a value never allocates.
+ */
+public class TimeSeries {
+
+	public static final int TIER_1_MINUTE = 0;
+	public static final int TIER_15_MINUTES = 1;
+	public static final int TIER_1_HOUR = 2;
+
+	private static final long[] BUCKET_MILLIS = { TimeUnit.MINUTES.toMillis(1), TimeUnit.MINUTES.toMillis(15), TimeUnit.HOURS.toMillis(1) };
+
+	/**
+	 * the number of buckets of each tier, covering an hour, a day and a week
+	 */
+	private static final int[] CAPACITIES = { 60, 96, 168 };
+
+	private final double[][] sums = new double[CAPACITIES.length][];
+	private final int[][] counts = new int[CAPACITIES.length][];
+	private final long[] lastBuckets = new long[CAPACITIES.length];
+
+	public TimeSeries() {
+		for (int tier = 0; tier < CAPACITIES.length; tier++) {
+			sums[tier] = new double[CAPACITIES[tier]];
+			counts[tier] = new int[CAPACITIES[tier]];
+			lastBuckets[tier] = -1;
+		}
+	}
+
+	/**
+	 * @param tier	one of the TIER_* constants
+	 * @return the number of buckets kept for the tier
+	 */
+	public static int getCapacity(int tier) {
+		return CAPACITIES[tier];
+	}
+
+	/**
+	 * @param tier	one of the TIER_* constants
+	 * @return the time covered by each bucket of the tier in milliseconds
+	 */
+	public static long getBucketMillis(int tier) {
+		return BUCKET_MILLIS[tier];
+	}
+
+	/**
+	 * adds a value to the buckets of all tiers. NaN values are ignored.
+	 *
+	 * @param time	the time of the value in milliseconds
+	 * @param value	the value
+	 */
+	public synchronized void add(long time, double value) {
+		if (Double.isNaN(value)) {
+			return;
+		}
+		for (int tier = 0; tier < CAPACITIES.length; tier++) {
+			// a value older than the newest bucket is counted in that bucket
+			long bucket = Math.max(time / BUCKET_MILLIS[tier], lastBuckets[tier]);
+			advance(tier, bucket);
+			int index = (int) (bucket % CAPACITIES[tier]);
+			sums[tier][index] += value;
+			counts[tier][index]++;
+		}
+	}
+
+	/**
+	 * copies the averages of the newest buckets of a tier, oldest first. The
+	 * buckets without values are NaN.
+	 *
+	 * @param tier	one of the TIER_* constants
+	 * @param now	the current time in milliseconds, which is in the last bucket copied
+	 * @param values	the array to fill, the values are copied to its beginning
+	 * @return the number of values copied
+	 */
+	public synchronized int getValues(int tier, long now, double[] values) {
+		advance(tier, now / BUCKET_MILLIS[tier]);
+		int capacity = CAPACITIES[tier];
+		int length = Math.min(capacity, values.length);
+		long newest = lastBuckets[tier];
+		for (int i = 0; i < length; i++) {
+			long bucket = newest - length + 1 + i;
+			int index = (int) (bucket % capacity);
+			values[i] = bucket < 0 || counts[tier][index] == 0 ? Double.NaN : sums[tier][index] / counts[tier][index];
+		}
+		return length;
+	}
+
+	/**
+	 * clears the buckets which are reused when moving to a newer bucket
+	 */
+	private void advance(int tier, long bucket) {
+		long last = lastBuckets[tier];
+		if (bucket <= last) {
+			return;
+		}
+		int capacity = CAPACITIES[tier];
+		for (long cleared = Math.max(last + 1, bucket - capacity + 1); cleared <= bucket; cleared++) {
+			int index = (int) (cleared % capacity);
+			sums[tier][index] = 0d;
+			counts[tier][index] = 0;
+		}
+		lastBuckets[tier] = bucket;
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons;
+
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * shares the JAXB contexts used to read and write traced messages and
+ * statistics. Creating a context is expensive, so each one is created once
+ * for a set of classes and kept. Contexts are thread-safe while unmarshallers
+ * and marshallers are not, these are pooled instead.
+ */
+public final class JaxbContexts {
+
+	/**
+	 * the number of idle unmarshallers and marshallers kept per context
+	 */
+	private static final int POOL_SIZE = 4;
+
+	private static final Map<List<Class<?>>, PooledContext> CONTEXTS = new ConcurrentHashMap<>();
+
+	private JaxbContexts() {
+		// util class
+	}
+
+	/**
+	 * @param classes	the classes to be recognized by the context
+	 * @return the shared context for these classes
+	 * @throws JAXBException
+	 */
+	public static JAXBContext getContext(Class<?>... classes) throws JAXBException {
+		return getPooledContext(classes).context;
+	}
+
+	/**
+	 * unmarshals the content of the reader with a pooled unmarshaller
+	 *
+	 * @param reader	the xml
+	 * @param classes	the classes to be recognized
+	 * @return the unmarshalled object
+	 * @throws JAXBException
+	 */
+	public static Object unmarshal(Reader reader, Class<?>... classes) throws JAXBException {
+		PooledContext pooledContext = getPooledContext(classes);
+		Unmarshaller unmarshaller = pooledContext.unmarshallers.poll();
+		if (unmarshaller == null) {
+			unmarshaller = pooledContext.context.createUnmarshaller();
+		}
+		try {
+			return unmarshaller.unmarshal(reader);
+		} finally {
+			pooledContext.unmarshallers.offer(unmarshaller);
+		}
+	}
+
+	/**
+	 * marshals the object as formatted xml with a pooled marshaller
+	 *
+	 * @param object	the object to write
+	 * @param writer	the writer to write to
+	 * @param classes	the classes to be recognized
+	 * @throws JAXBException
+	 */
+	public static void marshal(Object object, Writer writer, Class<?>... classes) throws JAXBException {
+		PooledContext pooledContext = getPooledContext(classes);
+		Marshaller marshaller = pooledContext.marshallers.poll();
+		if (marshaller == null) {
+			marshaller = pooledContext.context.createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		}
+		try {
+			marshaller.marshal(object, writer);
+		} finally {
+			pooledContext.marshallers.offer(marshaller);
+		}
+	}
+
+	private static PooledContext getPooledContext(Class<?>... classes) throws JAXBException {
+		List<Class<?>> key = Arrays.asList(classes);
+		PooledContext pooledContext = CONTEXTS.get(key);
+		if (pooledContext == null) {
+			// if two threads get here at the same time one context is thrown away, which is cheaper than locking
+			PooledContext created = new PooledContext(JAXBContext.newInstance(classes));
+			pooledContext = CONTEXTS.putIfAbsent(key, created);
+			if (pooledContext == null) {
+				pooledContext = created;
+			}
+		}
+		return pooledContext;
+	}
+
+	private static class PooledContext {
+		private final JAXBContext context;
+		private final BlockingQueue<Unmarshaller> unmarshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+		private final BlockingQueue<Marshaller> marshallers = new ArrayBlockingQueue<>(POOL_SIZE);
+
+		private PooledContext(JAXBContext context) {
+			this.context = context;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * runs the read requests of one JMX connection on background threads.
+ * Identical requests in flight share a single remote call, and their result
+ * is reused for a short time. Lists and maps are returned as copies, so that
+ * the callers sharing a result do not see each other's changes.
+ */
+public class JmxRequestExecutor {
+
+	/**
+	 * the number of remote calls running at the same time on a connection
+	 */
+	private static final int MAX_THREADS = 2;
+	private static final long KEEP_ALIVE_SECONDS = 30;
+	/**
+	 * how long {@link #call(Object, Callable)} waits for a remote call by default
+	 */
+	public static final long DEFAULT_TIMEOUT_MILLIS = 60000;
+
+	private final LongSupplier cacheMillis;
+	private final long timeoutMillis;
+	private final ThreadPoolExecutor executor;
+	private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+	private final Map<Object, CachedResult> results = new ConcurrentHashMap<>();
+	/**
+	 * incremented on every invalidation, so that the requests which were in
+	 * flight meanwhile do not cache their results
+	 */
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param name	the name of the threads
+	 * @param cacheMillis	how long a result is reused, 0 to only share the requests in flight
+	 */
+	public JmxRequestExecutor(String name, long cacheMillis) {
+		this(name, () -> cacheMillis, DEFAULT_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * @param name	the name of the threads
+	 * @param cacheMillis	how long a result is reused, 0 to only share the requests
+	 * 						in flight. Asked for every request, so it may change meanwhile.
+	 * @param timeoutMillis	how long {@link #call(Object, Callable)} waits for a remote call
+	 */
+	public JmxRequestExecutor(final String name, LongSupplier cacheMillis, long timeoutMillis) {
+		this.cacheMillis = cacheMillis;
+		this.timeoutMillis = timeoutMillis;
+		this.executor = new ThreadPoolExecutor(MAX_THREADS, MAX_THREADS, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>(), runnable -> {
+			Thread thread = new Thread(runnable, name);
+			thread.setDaemon(true);
+			return thread;
+		});
+		// idle connections do not keep any thread
+		this.executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * @param key	identifies the request, requests with equal keys return the same result
+	 * @param request	the remote call
+	 * @return the future result of the request
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> CompletableFuture<T> submit(final Object key, final Callable<T> request) {
+		long now = System.currentTimeMillis();
+		results.values().removeIf(result -> result.expiry <= now);
+		CachedResult cached = results.get(key);
+		if (cached != null) {
+			return CompletableFuture.completedFuture((T) cached.value);
+		}
+		final CompletableFuture<Object> created = new CompletableFuture<>();
+		CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+		if (existing != null) {
+			return (CompletableFuture<T>) existing;
+		}
+		final long requestGeneration = generation.get();
+		executor.execute(() -> {
+			// the request is done before its future completes, so that a failure is never shared with a later request
+			try {
+				Object value = request.call();
+				long millis = cacheMillis.getAsLong();
+				if (millis > 0 && generation.get() == requestGeneration) {
+					CachedResult result = new CachedResult(value, System.currentTimeMillis() + millis);
+					results.put(key, result);
+					if (generation.get() != requestGeneration) {
+						// invalidated meanwhile
+						results.remove(key, result);
+					}
+				}
+				inFlight.remove(key, created);
+				created.complete(value);
+			} catch (Throwable t) {
+				inFlight.remove(key, created);
+				created.completeExceptionally(t);
+			}
+		});
+		return (CompletableFuture<T>) created;
+	}
+
+	/**
+	 * submits the request and waits for its result
+	 *
+	 * @param key	identifies the request, requests with equal keys return the same result
+	 * @param request	the remote call
+	 * @return the result of the request, a copy if it is a list or a map
+	 * @throws TimeoutException if the remote call did not return in time. The
+	 * 			next identical request does not wait for that call anymore.
+	 * @throws Exception the failure of the request
+	 */
+	public <T> T call(Object key, Callable<T> request) throws Exception {
+		CompletableFuture<T> future = submit(key, request);
+		try {
+			return copyOf(future.get(timeoutMillis, TimeUnit.MILLISECONDS));
+		} catch (TimeoutException e) {
+			inFlight.remove(key, future);
+			throw e;
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof Exception) {
+				throw (Exception) cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * forgets the cached results and the requests in flight, for instance after
+	 * a change on the remote side
+	 */
+	public void invalidate() {
+		generation.incrementAndGet();
+		inFlight.clear();
+		results.clear();
+	}
+
+	@SuppressWarnings("unchecked")
+	private static <T> T copyOf(T value) {
+		if (value instanceof List) {
+			return (T) new ArrayList<>((List<?>) value);
+		}
+		if (value instanceof Map) {
+			return (T) new LinkedHashMap<>((Map<?, ?>) value);
+		}
+		return value;
+	}
+
+	private static class CachedResult {
+		private final Object value;
+		private final long expiry;
+
+		private CachedResult(Object value, long expiry) {
+			this.value = value;
+			this.expiry = expiry;
+		}
+	}
+}
@@ -12,11 +12,10 @@ package org.fusesource.ide.jmx.commons.backlogtracermessage;
 
 import java.io.StringReader;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Unmarshaller;
 
 import org.fusesource.ide.jmx.commons.Activator;
+import org.fusesource.ide.jmx.commons.JaxbContexts;
 
 /**
  * @author Aurelien Pupier
@@ -48,9 +47,7 @@ public class BacklogTracerEventMessageParser {
 
 	private Object getUnmarshalledObject(String xmlDump) {
 		try {
-			JAXBContext context = JAXBContext.newInstance(BacklogTracerEventMessages.class, BacklogTracerEventMessage.class, Message.class, Header.class);
-			Unmarshaller um = context.createUnmarshaller();
-			return um.unmarshal(new StringReader(xmlDump));
+			return JaxbContexts.unmarshal(new StringReader(xmlDump), BacklogTracerEventMessages.class, BacklogTracerEventMessage.class, Message.class, Header.class);
 		} catch (JAXBException ex) {
 			Activator.getLogger().error(ex);
 		}
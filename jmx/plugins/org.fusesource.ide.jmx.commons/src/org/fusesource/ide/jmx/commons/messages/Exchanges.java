@@ -14,6 +14,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -27,8 +28,11 @@ import javax.xml.bind.PropertyException;
 import javax.xml.bind.Unmarshaller;
 import javax.xml.transform.sax.SAXSource;
 
+import org.fusesource.ide.camel.model.service.core.jmx.camel.IBacklogTracerHeader;
+import org.fusesource.ide.camel.model.service.core.jmx.camel.IBacklogTracerMessage;
 import org.fusesource.ide.foundation.ui.logging.RiderLogFacade;
 import org.fusesource.ide.jmx.commons.Activator;
+import org.fusesource.ide.jmx.commons.JaxbContexts;
 import org.fusesource.ide.jmx.commons.messages.support.NamespaceFilter;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -41,7 +45,7 @@ public class Exchanges {
 	protected static final Pattern startBodyElementRegex = Pattern.compile("<body type=\"[^\"]*\">");
 
 	public static JAXBContext newJaxbContext() throws JAXBException {
-		return JAXBContext.newInstance(ExchangeList.class, Exchange.class, Message.class, Header.class, Body.class);
+		return JaxbContexts.getContext(ExchangeList.class, Exchange.class, Message.class, Header.class, Body.class);
 	}
 
 	public static Exchange unmarshalXmlString(String message) throws JAXBException {
@@ -64,6 +68,36 @@ public class Exchanges {
 		return asExchange(object);
 	}
 
+	/**
+	 * converts a message of the backlog tracer into an exchange directly, the
+	 * result is the same as marshalling the message and unmarshalling the xml
+	 * with {@link #unmarshalNoNamespaceXmlString(String)}
+	 * 
+	 * @param traceMessage	the traced message
+	 * @return the exchange
+	 */
+	public static Exchange fromBacklogTracerMessage(IBacklogTracerMessage traceMessage) {
+		Message message = new Message();
+		List<? extends IBacklogTracerHeader> traceHeaders = traceMessage.getHeaders();
+		if (traceHeaders != null) {
+			List<Header> headerList = new ArrayList<>(traceHeaders.size());
+			for (IBacklogTracerHeader traceHeader : traceHeaders) {
+				Header header = new Header();
+				header.setName(traceHeader.getKey());
+				header.setType(traceHeader.getType());
+				header.setText(traceHeader.getValue());
+				headerList.add(header);
+			}
+			message.setHeaderList(headerList);
+		}
+		if (traceMessage.getBody() != null) {
+			Body body = new Body();
+			body.setValue(traceMessage.getBody());
+			message.setTextBodyMarkup(body);
+		}
+		return new Exchange(message);
+	}
+
 	/**
 	 * Lets wrap the XML in a CDATA statement if it starts with a "<" as there is an XML encoding bug in Camel 2.7.x
 	 */
@@ -0,0 +1,28 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons.messages;
+
+import java.util.List;
+
+/**
+ * Supports browsing of exchanges one page at a time, such as the messages of deep queues.
+ * {@link #browseExchanges()} returns the first page.
+ */
+public interface IPagedExchangeBrowser extends IExchangeBrowser {
+
+	/**
+	 * @param page	the index of the page, starting at 0. Browsing the first page reloads the exchanges.
+	 * @return at most {@link #getPageSize()} exchanges, empty after the last page
+	 */
+	public List<IExchange> browseExchanges(int page);
+
+	public int getPageSize();
+}
@@ -185,6 +185,16 @@ public class Message implements IMessage, TextFilter, PreMarshalHook {
 		this.bodyMarkup = bodyMarkup;
 	}
 
+	/**
+	 * sets the body as it would have been read from the xml of the message
+	 * 
+	 * @param textBodyMarkup
+	 */
+	void setTextBodyMarkup(Body textBodyMarkup) {
+		this.textBodyMarkup = textBodyMarkup;
+		this.bodyValue = null;
+	}
+
 	@Override
 	public String getToNode() {
 		return toNode;
@@ -16,14 +16,17 @@ import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
 
+import org.eclipse.jface.action.Action;
 import org.eclipse.jface.viewers.ArrayContentProvider;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.ui.ISelectionListener;
+import org.eclipse.ui.ISharedImages;
 import org.eclipse.ui.IViewSite;
 import org.eclipse.ui.PartInitException;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.views.properties.IPropertySheetPage;
 import org.fusesource.ide.foundation.core.functions.Function1;
 import org.fusesource.ide.foundation.core.functions.FunctionLong;
@@ -35,6 +38,7 @@ import org.fusesource.ide.jmx.commons.messages.Exchanges;
 import org.fusesource.ide.jmx.commons.messages.IExchange;
 import org.fusesource.ide.jmx.commons.messages.IExchangeBrowser;
 import org.fusesource.ide.jmx.commons.messages.IMessage;
+import org.fusesource.ide.jmx.commons.messages.IPagedExchangeBrowser;
 import org.fusesource.ide.jmx.commons.messages.ITraceExchangeBrowser;
 
 
@@ -55,8 +59,34 @@ public class MessagesView extends TableViewSupport {
 	private boolean showTraceExchangeId = true;
 	private boolean showElapsedTime = true;
 	private ISelectionListener selectionListener = new SelectionListenerForMessageView(this);
+	private int page;
+	private Action previousPageAction;
+	private Action nextPageAction;
 
 	public MessagesView() {
+		previousPageAction = new Action() {
+			@Override
+			public void run() {
+				showPage(page - 1);
+			}
+		};
+		previousPageAction.setId(getClass().getName() + ".previousPage");
+		previousPageAction.setText("Previous Page");
+		previousPageAction.setToolTipText("Shows the previous page of messages");
+		previousPageAction.setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_TOOL_BACK));
+		previousPageAction.setEnabled(false);
+
+		nextPageAction = new Action() {
+			@Override
+			public void run() {
+				showPage(page + 1);
+			}
+		};
+		nextPageAction.setId(getClass().getName() + ".nextPage");
+		nextPageAction.setText("Next Page");
+		nextPageAction.setToolTipText("Shows the next page of messages");
+		nextPageAction.setImageDescriptor(PlatformUI.getWorkbench().getSharedImages().getImageDescriptor(ISharedImages.IMG_TOOL_FORWARD));
+		nextPageAction.setEnabled(false);
 	}
 
 	@Override
@@ -122,6 +152,7 @@ public class MessagesView extends TableViewSupport {
 	@Override
     public void createPartControl(Composite parent) {
         super.createPartControl(parent);
+        addToolBarActions(previousPageAction, nextPageAction);
         aboutToBeShown();
     }
 
@@ -144,8 +175,18 @@ public class MessagesView extends TableViewSupport {
 
 	@Override
 	public void refresh() {
+		previousPageAction.setEnabled(false);
+		nextPageAction.setEnabled(false);
 		if (browser != null) {
-			List<IExchange> list = browser.browseExchanges();
+			List<IExchange> list;
+			if (browser instanceof IPagedExchangeBrowser) {
+				IPagedExchangeBrowser pagedBrowser = (IPagedExchangeBrowser) browser;
+				list = pagedBrowser.browseExchanges(page);
+				previousPageAction.setEnabled(page > 0);
+				nextPageAction.setEnabled(list != null && list.size() >= pagedBrowser.getPageSize());
+			} else {
+				list = browser.browseExchanges();
+			}
 			if (list != null) {
 				// FabricPlugin.getLogger().debug("==== Browsed exchanges: " + list);
 				this.exchanges = list;
@@ -315,6 +356,12 @@ public class MessagesView extends TableViewSupport {
 
 	public void setExchangeBrowser(IExchangeBrowser browser) {
 		this.browser = browser;
+		this.page = 0;
+		refresh();
+	}
+
+	protected void showPage(int page) {
+		this.page = Math.max(0, page);
 		refresh();
 	}
 
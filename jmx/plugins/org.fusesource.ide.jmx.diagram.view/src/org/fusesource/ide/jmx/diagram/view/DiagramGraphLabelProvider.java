@@ -15,8 +15,10 @@ import java.text.NumberFormat;
 import java.util.HashSet;
 import java.util.Set;
 
+import org.eclipse.draw2d.Figure;
 import org.eclipse.draw2d.IFigure;
 import org.eclipse.draw2d.Label;
+import org.eclipse.draw2d.ToolbarLayout;
 import org.eclipse.jface.viewers.ILabelProvider;
 import org.eclipse.jface.viewers.ILabelProviderListener;
 import org.eclipse.jface.viewers.ISelection;
@@ -37,6 +39,9 @@ import org.fusesource.ide.camel.model.service.core.model.CamelElementConnection;
 import org.fusesource.ide.foundation.core.util.Strings;
 import org.fusesource.ide.graph.GraphLabelProviderSupport;
 import org.fusesource.ide.jmx.camel.navigator.ProcessorNode;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatisticsContainer;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.StatisticsHistory;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.TimeSeries;
 import org.fusesource.ide.jmx.commons.messages.INodeStatistics;
 import org.fusesource.ide.jmx.commons.messages.NodeStatisticsContainer;
 import org.jboss.tools.jmx.core.HasName;
@@ -220,13 +225,13 @@ ISelectionChangedListener {
 				label = "[" + id + "] " + label;
 			}
 			// TODO add link to docs!
-			return new Label(label);
+			return withSparklines(new Label(label), id);
 		} else if (entity instanceof CamelElementConnection) {
 			CamelElementConnection flow = (CamelElementConnection) entity;
 			if(flow.getTarget() != null){
 				INodeStatistics stats = getStatsFor(flow.getTarget().getId());
 				if (stats != null) {
-					return statsToolTip(stats);
+					return withSparklines(statsToolTip(stats), flow.getTarget().getId());
 				}
 			}
 		}  else if(entity instanceof EntityConnectionData) {
@@ -237,14 +242,42 @@ ISelectionChangedListener {
 	}
 	
 	private IFigure getTooltip(EntityConnectionData entity){
-		INodeStatistics stats = getStatsFor(getNodeId(entity));
+		String nodeId = getNodeId(entity);
+		INodeStatistics stats = getStatsFor(nodeId);
 		if (stats != null) {
-			return statsToolTip(stats);
+			return withSparklines(statsToolTip(stats), nodeId);
 		} else {
 			return null;
 		}
 	}
 
+	/**
+	 * adds the throughput and latency of the last hour below the tooltip
+	 * when the node has a recorded history
+	 */
+	protected IFigure withSparklines(IFigure tooltip, String nodeId) {
+		NodeStatisticsContainer container = view.getNodeStatisticsContainer();
+		if (nodeId == null || !(container instanceof IProcessorStatisticsContainer)) {
+			return tooltip;
+		}
+		StatisticsHistory history = ((IProcessorStatisticsContainer) container).getStatisticsHistory();
+		TimeSeries throughput = history.getThroughput(nodeId);
+		TimeSeries latency = history.getLatency(nodeId);
+		if (throughput == null || latency == null) {
+			return tooltip;
+		}
+		Figure figure = new Figure();
+		figure.setLayoutManager(new ToolbarLayout());
+		if (tooltip != null) {
+			figure.add(tooltip);
+		}
+		figure.add(new Label("Exchanges per second over the last hour:"));
+		figure.add(new SparklineFigure(throughput));
+		figure.add(new Label("Mean time over the last hour:"));
+		figure.add(new SparklineFigure(latency));
+		return figure;
+	}
+
 	protected INodeStatistics getStatsFor(String nodeId) {
 		NodeStatisticsContainer traceExchangeList = view.getNodeStatisticsContainer();
 		if (traceExchangeList != null) {
@@ -32,6 +32,7 @@ import org.fusesource.ide.jmx.camel.navigator.CamelContextNode;
 import org.fusesource.ide.jmx.camel.navigator.EndpointNode;
 import org.fusesource.ide.jmx.camel.navigator.ProcessorNode;
 import org.fusesource.ide.jmx.camel.navigator.RouteNode;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatisticsContainer;
 import org.fusesource.ide.jmx.commons.messages.Exchanges;
 import org.fusesource.ide.jmx.commons.messages.HasNodeStatisticsContainer;
 import org.fusesource.ide.jmx.commons.messages.IMessage;
@@ -79,6 +80,29 @@ public class DiagramView extends GraphViewSupport {
 		return nodeStatisticsContainer;
 	}
 
+	/**
+	 * shows the statistics of the given container, the history of which keeps
+	 * being sampled for the sparklines of the tooltips while it is shown
+	 */
+	private void setNodeStatisticsContainer(NodeStatisticsContainer container) {
+		if (container == nodeStatisticsContainer) {
+			return;
+		}
+		if (nodeStatisticsContainer instanceof IProcessorStatisticsContainer) {
+			((IProcessorStatisticsContainer) nodeStatisticsContainer).removeInterest(this);
+		}
+		nodeStatisticsContainer = container;
+		if (container instanceof IProcessorStatisticsContainer) {
+			((IProcessorStatisticsContainer) container).addInterest(this);
+		}
+	}
+
+	@Override
+	public void dispose() {
+		setNodeStatisticsContainer(null);
+		super.dispose();
+	}
+
 	@Override
 	protected GraphFilter createGraphFilter() {
 		return new GraphFilter(this) {
@@ -190,17 +214,18 @@ public class DiagramView extends GraphViewSupport {
 
 	protected void updateselection(Object firstSelection) {
 		if (firstSelection != null) {
-			nodeStatisticsContainer = null;
+			NodeStatisticsContainer container = null;
 			if (firstSelection instanceof HasNodeStatisticsContainer) {
 				HasNodeStatisticsContainer hasNodeStatisticsContainer = (HasNodeStatisticsContainer) firstSelection;
-				nodeStatisticsContainer = hasNodeStatisticsContainer.getNodeStatisticsContainer();
+				container = hasNodeStatisticsContainer.getNodeStatisticsContainer();
 			} else if (firstSelection instanceof NodeStatisticsContainer) {
-				nodeStatisticsContainer = (NodeStatisticsContainer) firstSelection;
+				container = (NodeStatisticsContainer) firstSelection;
 			}
+			setNodeStatisticsContainer(container);
 		} else {
 			this.selectedNode = null;
 			this.node = null;
-			this.nodeStatisticsContainer = null;
+			setNodeStatisticsContainer(null);
 			clearDiagramGraph();
 		}
 	}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.diagram.view;
+
+import org.eclipse.draw2d.Figure;
+import org.eclipse.draw2d.Graphics;
+import org.eclipse.draw2d.geometry.PointList;
+import org.eclipse.draw2d.geometry.Rectangle;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.TimeSeries;
+
+/**
+ * draws the last hour of a time series as a small line scaled to its maximum,
+ * leaving gaps for the minutes without values
+ */
+public class SparklineFigure extends Figure {
+
+	private static final int WIDTH = 120;
+	private static final int HEIGHT = 24;
+
+	private final TimeSeries series;
+	private final double[] values = new double[TimeSeries.getCapacity(TimeSeries.TIER_1_MINUTE)];
+
+	public SparklineFigure(TimeSeries series) {
+		this.series = series;
+		setPreferredSize(WIDTH, HEIGHT);
+		setForegroundColor(Display.getDefault().getSystemColor(SWT.COLOR_DARK_BLUE));
+	}
+
+	@Override
+	protected void paintFigure(Graphics graphics) {
+		super.paintFigure(graphics);
+		int count = series.getValues(TimeSeries.TIER_1_MINUTE, System.currentTimeMillis(), values);
+		double max = 0d;
+		for (int i = 0; i < count; i++) {
+			if (!Double.isNaN(values[i])) {
+				max = Math.max(max, values[i]);
+			}
+		}
+		Rectangle area = getClientArea();
+		int bottom = area.bottom() - 1;
+		PointList segment = new PointList(count);
+		for (int i = 0; i < count; i++) {
+			if (Double.isNaN(values[i])) {
+				drawSegment(graphics, segment);
+				continue;
+			}
+			int x = area.x + (count > 1 ? i * (area.width - 1) / (count - 1) : 0);
+			int y = max > 0d ? bottom - (int) Math.round(values[i] / max * (area.height - 1)) : bottom;
+			segment.addPoint(x, y);
+		}
+		drawSegment(graphics, segment);
+	}
+
+	private void drawSegment(Graphics graphics, PointList segment) {
+		if (segment.size() == 1) {
+			graphics.drawPoint(segment.getFirstPoint().x, segment.getFirstPoint().y);
+		} else if (segment.size() > 1) {
+			graphics.drawPolyline(segment);
+		}
+		segment.removeAllPoints();
+	}
+}
@@ -12,9 +12,15 @@
 package org.fusesource.ide.jmx.karaf.navigator.osgi;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import javax.management.Notification;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
 import javax.management.openmbean.TabularData;
 
 import org.eclipse.swt.dnd.DropTargetEvent;
@@ -32,11 +38,29 @@ import org.fusesource.ide.foundation.ui.views.ViewPropertySheetPage;
 import org.fusesource.ide.jmx.karaf.KarafJMXPlugin;
 import org.jboss.tools.jmx.core.tree.Node;
 import org.jboss.tools.jmx.ui.ImageProvider;
+import org.osgi.framework.BundleEvent;
+import org.osgi.jmx.framework.BundleStateMBean;
 
 public class BundlesNode extends RefreshableCollectionNode implements ImageProvider, /** ProjectDropTarget **/ DropHandlerFactory {
 	private final OsgiFacade facade;
 	private String bundlefilterText;
 
+	/**
+	 * the rows of the bundles by id, loaded once and then kept up to date from the bundle events
+	 */
+	private final Map<Long, IPropertySource> bundles = new LinkedHashMap<>();
+	private volatile boolean bundlesLoaded;
+	private final List<Runnable> bundleChangeListeners = new CopyOnWriteArrayList<>();
+	private final NotificationListener notificationListener = new NotificationListener() {
+		@Override
+		public void handleNotification(Notification notification, Object handback) {
+			applyBundleEvent(notification);
+			for (Runnable listener : bundleChangeListeners) {
+				listener.run();
+			}
+		}
+	};
+
 	public BundlesNode(Node parent, OsgiFacade facade) {
 		super(parent);
 		this.facade = facade;
@@ -91,14 +115,88 @@ public class BundlesNode extends RefreshableCollectionNode implements ImageProvi
 
 	@Override
 	public List<IPropertySource> getPropertySourceList() {
-		List<IPropertySource> answer = new ArrayList<>();
-		try {
-			final TabularData tabularData = facade.listBundles();
-			return TabularDataHelper.toPropertySources(tabularData);
-		} catch (Exception e) {
-			KarafJMXPlugin.getLogger().error("Failed to fetch bundle state: " + e, e);
+		synchronized (bundles) {
+			if (!bundlesLoaded) {
+				try {
+					final TabularData tabularData = facade.listBundles();
+					for (IPropertySource bundle : TabularDataHelper.toPropertySources(tabularData)) {
+						bundles.put(new BundleStateFacade(bundle).getId(), bundle);
+					}
+					bundlesLoaded = tabularData != null;
+				} catch (Exception e) {
+					KarafJMXPlugin.getLogger().error("Failed to fetch bundle state: " + e, e);
+				}
+			}
+			return new ArrayList<>(bundles.values());
+		}
+	}
+
+	/**
+	 * drops the rows of the bundles so that they are listed again the next time
+	 */
+	public void invalidateBundles() {
+		synchronized (bundles) {
+			bundles.clear();
+			bundlesLoaded = false;
+		}
+	}
+
+	/**
+	 * updates the row of the bundle of a bundle event. Only the state is read
+	 * again when a bundle is started, stopped or resolved, whereas installed
+	 * and updated bundles need the bundles to be listed again.
+	 */
+	void applyBundleEvent(Notification notification) {
+		Object userData = notification.getUserData();
+		if (!(userData instanceof CompositeData)) {
+			invalidateBundles();
+			return;
+		}
+		CompositeData event = (CompositeData) userData;
+		Long id = (Long) event.get(BundleStateMBean.IDENTIFIER);
+		Integer type = (Integer) event.get(BundleStateMBean.EVENT);
+		if (!bundlesLoaded || id == null || type == null) {
+			invalidateBundles();
+			return;
+		}
+		// read before locking, the rows must not wait for the remote call
+		boolean stateChanged = type != BundleEvent.INSTALLED && type != BundleEvent.UPDATED && type != BundleEvent.UNINSTALLED;
+		String state = stateChanged ? facade.getBundleState(id) : null;
+		synchronized (bundles) {
+			if (!bundlesLoaded) {
+				return;
+			}
+			if (type == BundleEvent.UNINSTALLED) {
+				bundles.remove(id);
+				return;
+			}
+			IPropertySource bundle = bundles.get(id);
+			if (bundle instanceof CompositeDataPropertySource && state != null) {
+				try {
+					bundles.put(id, ((CompositeDataPropertySource) bundle).with(BundleStateMBean.STATE, state));
+					return;
+				} catch (Exception e) {
+					KarafJMXPlugin.getLogger().warning("Failed to update the state of bundle " + id + ": " + e, e);
+				}
+			}
+			invalidateBundles();
+		}
+	}
+
+	/**
+	 * @param listener	notified on a JMX thread when the bundles have changed
+	 */
+	public synchronized void addBundleChangeListener(Runnable listener) {
+		if (bundleChangeListeners.isEmpty()) {
+			facade.addBundleStateNotificationListener(notificationListener, null, null);
+		}
+		bundleChangeListeners.add(listener);
+	}
+
+	public synchronized void removeBundleChangeListener(Runnable listener) {
+		if (bundleChangeListeners.remove(listener) && bundleChangeListeners.isEmpty()) {
+			facade.removeBundleStateNotificationListener(notificationListener, null, null);
 		}
-		return answer;
 	}
 
 	@Override
@@ -108,6 +206,7 @@ public class BundlesNode extends RefreshableCollectionNode implements ImageProvi
 
 	@Override
 	public void refresh() {
+		invalidateBundles();
 		super.refresh();
 
 		IPage currentPage = Workbenches.getPropertySheetPage();
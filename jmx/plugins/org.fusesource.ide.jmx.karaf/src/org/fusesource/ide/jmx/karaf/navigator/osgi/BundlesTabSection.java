@@ -21,9 +21,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
-import javax.management.Notification;
-import javax.management.NotificationListener;
-
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionChangedListener;
@@ -48,7 +45,7 @@ public class BundlesTabSection extends BundlesTableView {
     private Action startBundleAction;
     private Action stopBundleAction;
     private Action uninstallBundleAction;
-    private NotificationListener notificationListener;
+    private Runnable bundleChangeListener;
 
     public BundlesTabSection() {
         super(BundlesTableSheetPage.VIEW_ID, null);
@@ -88,9 +85,9 @@ public class BundlesTabSection extends BundlesTableView {
         stopBundleAction.setEnabled(false);
         uninstallBundleAction.setEnabled(false);
 
-        notificationListener = new NotificationListener() {
+        bundleChangeListener = new Runnable() {
             @Override
-            public void handleNotification(Notification notification, Object handback) {
+            public void run() {
                 refresh();
             }
         };
@@ -120,7 +117,7 @@ public class BundlesTabSection extends BundlesTableView {
             return;
         }
         if (current != null) {
-            current.getFacade().removeBundleStateNotificationListener(notificationListener, null, null);
+            current.removeBundleChangeListener(bundleChangeListener);
         }
         current = bundles;
 		List<IPropertySource> propertySources = bundles == null ? Collections.emptyList() : bundles.getPropertySourceList();
@@ -147,7 +144,7 @@ public class BundlesTabSection extends BundlesTableView {
     @Override
     public void aboutToBeShown() {
         if (current != null) {
-            current.getFacade().addBundleStateNotificationListener(notificationListener, null, null);
+            current.addBundleChangeListener(bundleChangeListener);
         }
         super.aboutToBeShown();
     }
@@ -155,7 +152,7 @@ public class BundlesTabSection extends BundlesTableView {
     @Override
     public void aboutToBeHidden() {
         if (current != null) {
-            current.getFacade().removeBundleStateNotificationListener(notificationListener, null, null);
+            current.removeBundleChangeListener(bundleChangeListener);
         }
         super.aboutToBeHidden();
     }
@@ -209,6 +206,8 @@ public class BundlesTabSection extends BundlesTableView {
             public Boolean call() throws Exception {
                 Boolean answer = callable.call();
                 if (answer != null && answer.booleanValue()) {
+                    // in case the runtime does not send bundle events
+                    current.invalidateBundles();
                     refresh();
                 }
                 return answer;
@@ -20,9 +20,6 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.Callable;
 
-import javax.management.Notification;
-import javax.management.NotificationListener;
-
 import org.eclipse.jface.action.Action;
 import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.action.IToolBarManager;
@@ -54,7 +51,7 @@ public class BundlesTableSheetPage extends PropertySourceTableSheetPage {
 
 	private Action uninstallBundleAction;
 
-	private NotificationListener notificationListener;
+	private Runnable bundleChangeListener;
 
 	public BundlesTableSheetPage(BundlesNode bundlesNode) {
 		super(bundlesNode, VIEW_ID, new BundlesTableView(VIEW_ID, bundlesNode));
@@ -95,15 +92,14 @@ public class BundlesTableSheetPage extends PropertySourceTableSheetPage {
 		stopBundleAction.setEnabled(false);
 		uninstallBundleAction.setEnabled(false);
 
-		notificationListener = new NotificationListener() {
+		bundleChangeListener = new Runnable() {
 
 			@Override
-			public void handleNotification(Notification notification, Object handback) {
-				//FabricPlugin.getLogger().debug("================= notification: " + notification);
+			public void run() {
 				refresh();
 			}
 		};
-		bundlesNode.getFacade().addBundleStateNotificationListener(notificationListener, null, null);
+		bundlesNode.addBundleChangeListener(bundleChangeListener);
 		//FabricPlugin.getLogger().debug("============== added notificationlistener on: "+ this);
 
 	}
@@ -113,7 +109,7 @@ public class BundlesTableSheetPage extends PropertySourceTableSheetPage {
 	@Override
 	public void dispose() {
 		//FabricPlugin.getLogger().debug("============== removing notificationlistener on: "+ this);
-		bundlesNode.getFacade().removeBundleStateNotificationListener(notificationListener, null, null);
+		bundlesNode.removeBundleChangeListener(bundleChangeListener);
 		super.dispose();
 	}
 
@@ -221,6 +217,8 @@ public class BundlesTableSheetPage extends PropertySourceTableSheetPage {
 			public Boolean call() throws Exception {
 				Boolean answer = callable.call();
 				if (answer != null && answer.booleanValue()) {
+					// in case the runtime does not send bundle events
+					bundlesNode.invalidateBundles();
 					refresh();
 				}
 				return answer;
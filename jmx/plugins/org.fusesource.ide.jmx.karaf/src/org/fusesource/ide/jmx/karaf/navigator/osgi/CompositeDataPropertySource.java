@@ -21,7 +21,9 @@ import java.util.Map;
 import java.util.Set;
 
 import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
 import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
 import javax.management.openmbean.OpenType;
 
 import org.eclipse.ui.views.properties.IPropertyDescriptor;
@@ -94,6 +96,21 @@ public class CompositeDataPropertySource implements IPropertySource {
 				"java.lang.float".equalsIgnoreCase(className);
 	}
 
+	/**
+	 * @param key	the key of the value to replace
+	 * @param value	the new value
+	 * @return a copy of this property source with one value replaced
+	 * @throws OpenDataException if the value does not match the type of the key
+	 */
+	public CompositeDataPropertySource with(String key, Object value) throws OpenDataException {
+		Map<String, Object> values = new HashMap<>();
+		for (String itemName : cd.getCompositeType().keySet()) {
+			values.put(itemName, cd.get(itemName));
+		}
+		values.put(key, value);
+		return new CompositeDataPropertySource(new CompositeDataSupport(cd.getCompositeType(), values));
+	}
+
 	@Override
 	public Object getEditableValue() {
 		return null;
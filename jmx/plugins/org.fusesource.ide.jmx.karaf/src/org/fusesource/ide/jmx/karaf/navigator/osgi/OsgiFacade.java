@@ -12,7 +12,11 @@
 package org.fusesource.ide.jmx.karaf.navigator.osgi;
 
 import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
 import javax.management.MBeanServerConnection;
 import javax.management.MBeanServerInvocationHandler;
@@ -32,7 +36,16 @@ import org.osgi.jmx.framework.ServiceStateMBean;
 
 
 public class OsgiFacade {
+	/**
+	 * the ObjectNames resolved from the queries, per connection. The facades
+	 * are recreated with the navigator nodes, so this outlives them. The names
+	 * do not reference the connection, which can still be collected.
+	 */
+	private static final Map<MBeanServerConnection, Map<ObjectName, ObjectName>> RESOLVED_NAMES = Collections.synchronizedMap(new WeakHashMap<MBeanServerConnection, Map<ObjectName, ObjectName>>());
+
 	private final JmxPluginJmxTemplate template;
+	private MBeanServerConnection proxiedConnection;
+	private final Map<Class<?>, Object> proxies = new HashMap<>();
 	private ObjectName bundleStateQueryObjectName;
 	private ObjectName frameworkQueryObjectName;
 	@SuppressWarnings("unused")
@@ -92,10 +105,9 @@ public class OsgiFacade {
 					return null;
 				}
 				
-				final Set<ObjectName> queryNames = connection.queryNames(bundleStateQueryObjectName, null);
-				for (ObjectName bundleStateObjectName : queryNames) {
+				ObjectName bundleStateObjectName = resolve(connection, bundleStateQueryObjectName);
+				if (bundleStateObjectName != null) {
 					connection.addNotificationListener(bundleStateObjectName, listener, filter, handback);
-					return null;
 				}
 				return null;
 			}
@@ -122,14 +134,13 @@ public class OsgiFacade {
 						KarafJMXPlugin.getLogger().warning(ex);
 					return null;
 				}
-				final Set<ObjectName> queryNames = connection.queryNames(bundleStateQueryObjectName, null);
-				for (ObjectName bundleStateObjectName : queryNames) {
+				ObjectName bundleStateObjectName = resolve(connection, bundleStateQueryObjectName);
+				if (bundleStateObjectName != null) {
 					try {
 						connection.removeNotificationListener(bundleStateObjectName, listener, filter, handback);
 					} catch (Exception ex) {
 						KarafJMXPlugin.getLogger().warning(ex);
 					}
-					return null;
 				}
 				return null;
 			}
@@ -153,12 +164,16 @@ public class OsgiFacade {
 						KarafJMXPlugin.getLogger().warning(ex);
 					return null;
 				}
-				final Set<ObjectName> queryNames = connection.queryNames(bundleStateQueryObjectName, null);
-				for (ObjectName bundleStateObjectName : queryNames) {
-					BundleStateMBean BundleStateMBean = MBeanServerInvocationHandler.newProxyInstance(connection, bundleStateObjectName, BundleStateMBean.class, true);
-					return callback.doWithBundleStateMBean(BundleStateMBean);
+				BundleStateMBean bundleStateMBean = getProxy(connection, bundleStateQueryObjectName, BundleStateMBean.class);
+				if (bundleStateMBean == null) {
+					return null;
+				}
+				try {
+					return callback.doWithBundleStateMBean(bundleStateMBean);
+				} catch (Exception ex) {
+					forget(connection);
+					throw ex;
 				}
-				return null;
 			}
 		});
 	}
@@ -180,12 +195,16 @@ public class OsgiFacade {
 						KarafJMXPlugin.getLogger().warning(ex);
 					return null;
 				}
-				final Set<ObjectName> queryNames = connection.queryNames(serviceStateQueryObjectName, null);
-				for (ObjectName ServiceStateObjectName : queryNames) {
-					ServiceStateMBean serviceStateMBean = MBeanServerInvocationHandler.newProxyInstance(connection, ServiceStateObjectName, ServiceStateMBean.class, true);
+				ServiceStateMBean serviceStateMBean = getProxy(connection, serviceStateQueryObjectName, ServiceStateMBean.class);
+				if (serviceStateMBean == null) {
+					return null;
+				}
+				try {
 					return callback.doWithServiceStateMBean(serviceStateMBean);
+				} catch (Exception ex) {
+					forget(connection);
+					throw ex;
 				}
-				return null;
 			}
 		});
 	}
@@ -207,16 +226,72 @@ public class OsgiFacade {
 						KarafJMXPlugin.getLogger().warning(ex);
 					return null;
 				}
-				final Set<ObjectName> queryNames = connection.queryNames(frameworkQueryObjectName, null);
-				for (ObjectName FrameworkObjectName : queryNames) {
-					FrameworkMBean mbean = MBeanServerInvocationHandler.newProxyInstance(connection, FrameworkObjectName, FrameworkMBean.class, true);
+				FrameworkMBean mbean = getProxy(connection, frameworkQueryObjectName, FrameworkMBean.class);
+				if (mbean == null) {
+					return null;
+				}
+				try {
 					return callback.doWithFrameworkMBean(mbean);
+				} catch (Exception ex) {
+					forget(connection);
+					throw ex;
 				}
-				return null;
 			}
 		});
 	}
 
+	/**
+	 * @return the first MBean matching the query, resolved once per connection
+	 */
+	private static ObjectName resolve(MBeanServerConnection connection, ObjectName query) throws IOException {
+		Map<ObjectName, ObjectName> names;
+		synchronized (RESOLVED_NAMES) {
+			names = RESOLVED_NAMES.computeIfAbsent(connection, key -> new HashMap<>());
+		}
+		synchronized (names) {
+			ObjectName name = names.get(query);
+			if (name == null) {
+				Set<ObjectName> queryNames = connection.queryNames(query, null);
+				if (!queryNames.isEmpty()) {
+					name = queryNames.iterator().next();
+					names.put(query, name);
+				}
+			}
+			return name;
+		}
+	}
+
+	/**
+	 * @return the proxy of the first MBean matching the query, created once per connection
+	 */
+	private synchronized <M> M getProxy(MBeanServerConnection connection, ObjectName query, Class<M> type) throws IOException {
+		if (connection != proxiedConnection) {
+			proxies.clear();
+			proxiedConnection = connection;
+		}
+		Object proxy = proxies.get(type);
+		if (proxy == null) {
+			ObjectName name = resolve(connection, query);
+			if (name == null) {
+				return null;
+			}
+			proxy = MBeanServerInvocationHandler.newProxyInstance(connection, name, type, true);
+			proxies.put(type, proxy);
+		}
+		return type.cast(proxy);
+	}
+
+	/**
+	 * drops what has been resolved for the connection, in case the MBeans
+	 * have been registered again
+	 */
+	private synchronized void forget(MBeanServerConnection connection) {
+		RESOLVED_NAMES.remove(connection);
+		if (connection == proxiedConnection) {
+			proxies.clear();
+		}
+	}
+
 	/**
 	 * Lists the mbean data for the bundles
 	 */
@@ -229,6 +304,18 @@ public class OsgiFacade {
 		});
 	}
 
+	/**
+	 * @return the state of a single bundle
+	 */
+	public String getBundleState(final long bundleIdentifier) {
+		return execute(new BundleStateMBeanCallback<String>() {
+			@Override
+			public String doWithBundleStateMBean(BundleStateMBean bean) throws Exception {
+				return bean.getState(bundleIdentifier);
+			}
+		});
+	}
+
 	public void startBundle(final long bundleIdentifier) throws Exception {
 		execute(new FrameworkMBeanCallback<Void>() {
 			@Override
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.fusesource.ide.camel.model.service.core.jmx.camel.CamelJMXFacade;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatistics;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.IProcessorStatisticsContainer;
+import org.fusesource.ide.jmx.camel.navigator.stats.model.ProcessorStatistics;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class CachingCamelContextNodeStatisticsContainerTest {
+
+	@Mock
+	private CamelContextNode camelContextNode;
+	@Mock
+	private CamelJMXFacade facade;
+
+	@Test
+	public void testOnlyTheCountersOfTheRouteAreRead() throws Exception {
+		Map<String, Object> counters = new HashMap<>();
+		counters.put("RouteId", "route1");
+		counters.put("ProcessorId", "log1");
+		counters.put("ExchangesCompleted", 5L);
+		doReturn(facade).when(camelContextNode).getFacade();
+		doReturn("management").when(camelContextNode).getManagementName();
+		doReturn(Collections.singletonMap("log1", counters)).when(facade).getRoutesStatistics("management", Collections.singletonList("route1"));
+
+		CachingCamelContextNodeStatisticsContainer container = new CachingCamelContextNodeStatisticsContainer(camelContextNode);
+		container.forRoute("route1").getNodeStats("log1");
+		container.refresh();
+
+		assertThat(container.forRoute("route1").getNodeStats("log1").getCounter()).isEqualTo(5L);
+		verify(facade, never()).dumpRoutesStatsAsXml(anyString());
+	}
+
+	@Test
+	public void testTheFirstAccessDoesNotSampleOnTheCallingThread() throws Exception {
+		AtomicReference<Thread> samplingThread = new AtomicReference<>();
+		CountDownLatch sampled = new CountDownLatch(1);
+		doReturn(facade).when(camelContextNode).getFacade();
+		doReturn("management").when(camelContextNode).getManagementName();
+		doAnswer(invocation -> {
+			samplingThread.set(Thread.currentThread());
+			sampled.countDown();
+			return null;
+		}).when(facade).dumpRoutesStatsAsXml("management");
+
+		CachingCamelContextNodeStatisticsContainer container = new CachingCamelContextNodeStatisticsContainer(camelContextNode);
+
+		assertThat(container.getNodeStatsMap()).isEmpty();
+		assertThat(sampled.await(5, TimeUnit.SECONDS)).isTrue();
+		assertThat(samplingThread.get()).isNotSameAs(Thread.currentThread());
+	}
+
+	@Test
+	public void testObservedRouteIsSampledWithoutBeingAskedFor() throws Exception {
+		doReturn(facade).when(camelContextNode).getFacade();
+		doReturn("management").when(camelContextNode).getManagementName();
+		doReturn(Collections.emptyMap()).when(facade).getRoutesStatistics("management", Collections.singletonList("route1"));
+		CachingCamelContextNodeStatisticsContainer container = new CachingCamelContextNodeStatisticsContainer(camelContextNode);
+		IProcessorStatisticsContainer routeContainer = (IProcessorStatisticsContainer) container.forRoute("route1");
+
+		routeContainer.addInterest(this);
+		try {
+			container.refresh();
+		} finally {
+			routeContainer.removeInterest(this);
+		}
+
+		verify(facade, atLeastOnce()).getRoutesStatistics("management", Collections.singletonList("route1"));
+		verify(facade, never()).dumpRoutesStatsAsXml(anyString());
+	}
+
+	@Test
+	public void testRatesAreComputedFromTheDifferenceBetweenSamples() {
+		ProcessorStatistics before = processorStatistics(10, 2, 100);
+		ProcessorStatistics after = processorStatistics(30, 2, 500);
+
+		CachingCamelContextNodeStatisticsContainer.computeRates(Collections.<String, IProcessorStatistics> singletonMap("log1", before), Collections.<String, IProcessorStatistics> singletonMap("log1", after), 2000);
+
+		assertThat(after.getExchangesPerSecond()).isEqualTo(10d);
+		assertThat(after.getRecentMeanProcessingTime()).isEqualTo(20d);
+	}
+
+	@Test
+	public void testRatesAreNotComputedWhenCountersWereReset() {
+		ProcessorStatistics before = processorStatistics(10, 0, 100);
+		ProcessorStatistics after = processorStatistics(1, 0, 5);
+
+		CachingCamelContextNodeStatisticsContainer.computeRates(Collections.<String, IProcessorStatistics> singletonMap("log1", before), Collections.<String, IProcessorStatistics> singletonMap("log1", after), 2000);
+
+		assertThat(after.getExchangesPerSecond()).isZero();
+	}
+
+	private ProcessorStatistics processorStatistics(long completed, long failed, long totalProcessingTime) {
+		ProcessorStatistics stats = new ProcessorStatistics();
+		stats.setId("log1");
+		stats.setExchangesCompleted(completed);
+		stats.setExchangesFailed(failed);
+		stats.setTotalProcessingTime(totalProcessingTime);
+		return stats;
+	}
+}
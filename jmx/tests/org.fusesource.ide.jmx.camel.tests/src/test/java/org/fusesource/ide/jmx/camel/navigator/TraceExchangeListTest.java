@@ -0,0 +1,75 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.fusesource.ide.jmx.commons.backlogtracermessage.BacklogTracerEventMessage;
+import org.fusesource.ide.jmx.commons.backlogtracermessage.Message;
+import org.fusesource.ide.jmx.commons.messages.IExchange;
+import org.junit.Test;
+
+public class TraceExchangeListTest {
+
+	@Test
+	public void testExchangesAreKeptSorted() throws Exception {
+		TraceExchangeList traceList = new TraceExchangeList();
+
+		traceList.addBackLogTraceMessages(Arrays.asList(traceMessage("ID-2", 3, "b"), traceMessage("ID-1", 1, "a")));
+		traceList.addBackLogTraceMessages(Arrays.asList(traceMessage("ID-1", 2, "a")));
+
+		List<IExchange> exchanges = traceList.getExchangeList();
+		List<IExchange> sorted = new ArrayList<>(exchanges);
+		Collections.sort(sorted);
+		assertThat(exchanges).hasSize(3).containsExactlyElementsOf(sorted);
+	}
+
+	@Test
+	public void testOldestExchangesAreDroppedWhenFull() throws Exception {
+		TraceExchangeList traceList = new TraceExchangeList(2, Long.MAX_VALUE);
+
+		traceList.addBackLogTraceMessages(Arrays.asList(traceMessage("ID-1", 1, "a"), traceMessage("ID-2", 2, "a"), traceMessage("ID-3", 3, "a")));
+
+		assertThat(traceList.size()).isEqualTo(2);
+		assertThat(traceList.getExchangeList()).extracting("id").containsOnly("ID-2", "ID-3");
+		assertThat(traceList.getNodeStats("a").getCounter()).isEqualTo(3);
+	}
+
+	@Test
+	public void testOldestExchangesAreDroppedWhenTooLarge() throws Exception {
+		TraceExchangeList traceList = new TraceExchangeList(Integer.MAX_VALUE, 1);
+
+		traceList.addBackLogTraceMessages(Arrays.asList(traceMessage("ID-1", 1, "a"), traceMessage("ID-2", 2, "a")));
+
+		assertThat(traceList.getExchangeList()).isEmpty();
+		assertThat(traceList.getEstimatedBytes()).isZero();
+		assertThat(traceList.getNodeStats("a").getCounter()).isEqualTo(2);
+	}
+
+	private BacklogTracerEventMessage traceMessage(String exchangeId, long uid, String toNode) {
+		Message message = new Message();
+		message.setExchangeId(exchangeId);
+		message.setBody("body of " + exchangeId);
+		BacklogTracerEventMessage traceMessage = new BacklogTracerEventMessage();
+		traceMessage.setExchangeId(exchangeId);
+		traceMessage.setUid(uid);
+		traceMessage.setToNode(toNode);
+		traceMessage.setTimestamp(new Date(uid));
+		traceMessage.setMessage(message);
+		return traceMessage;
+	}
+}
@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator.stats.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+public class StatisticsHistoryTest {
+
+	@Test
+	public void testNodesAbsentFromASampleAreForgotten() {
+		StatisticsHistory history = new StatisticsHistory();
+		history.record(processorStatistics("log1"), 0L);
+		history.record(processorStatistics("log2"), 0L);
+
+		history.retain(Collections.singleton("log1"));
+
+		assertThat(history.getThroughput("log1")).isNotNull();
+		assertThat(history.getLatency("log1")).isNotNull();
+		assertThat(history.getThroughput("log2")).isNull();
+		assertThat(history.getLatency("log2")).isNull();
+	}
+
+	private ProcessorStatistics processorStatistics(String id) {
+		ProcessorStatistics stats = new ProcessorStatistics();
+		stats.setId(id);
+		stats.setExchangesPerSecond(1d);
+		return stats;
+	}
+}
@@ -0,0 +1,65 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.camel.navigator.stats.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+public class TimeSeriesTest {
+
+	private static final long MINUTE = TimeUnit.MINUTES.toMillis(1);
+
+	@Test
+	public void testValuesAreAveragedPerBucket() {
+		TimeSeries series = new TimeSeries();
+		series.add(0, 2d);
+		series.add(10000, 4d);
+		series.add(MINUTE, 10d);
+
+		double[] values = new double[3];
+		assertThat(series.getValues(TimeSeries.TIER_1_MINUTE, 2 * MINUTE, values)).isEqualTo(3);
+
+		assertThat(values[0]).isEqualTo(3d);
+		assertThat(values[1]).isEqualTo(10d);
+		assertThat(values[2]).isNaN();
+	}
+
+	@Test
+	public void testCoarserTiersDownsample() {
+		TimeSeries series = new TimeSeries();
+		series.add(0, 2d);
+		series.add(14 * MINUTE, 4d);
+
+		double[] values = new double[1];
+		series.getValues(TimeSeries.TIER_15_MINUTES, 14 * MINUTE, values);
+
+		assertThat(values[0]).isEqualTo(3d);
+	}
+
+	@Test
+	public void testOldBucketsAreReused() {
+		TimeSeries series = new TimeSeries();
+		series.add(0, 2d);
+		long later = TimeSeries.getCapacity(TimeSeries.TIER_1_MINUTE) * MINUTE;
+		series.add(later, 4d);
+
+		double[] values = new double[TimeSeries.getCapacity(TimeSeries.TIER_1_MINUTE)];
+		series.getValues(TimeSeries.TIER_1_MINUTE, later, values);
+
+		assertThat(values[values.length - 1]).isEqualTo(4d);
+		for (int i = 0; i < values.length - 1; i++) {
+			assertThat(values[i]).isNaN();
+		}
+	}
+}
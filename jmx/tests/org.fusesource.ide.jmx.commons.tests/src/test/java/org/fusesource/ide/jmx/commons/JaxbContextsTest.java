@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import org.fusesource.ide.jmx.commons.backlogtracermessage.Header;
+import org.fusesource.ide.jmx.commons.backlogtracermessage.Message;
+import org.junit.Test;
+
+public class JaxbContextsTest {
+
+	@Test
+	public void testContextIsSharedForSameClasses() throws Exception {
+		assertThat(JaxbContexts.getContext(Message.class, Header.class)).isSameAs(JaxbContexts.getContext(Message.class, Header.class));
+	}
+
+	@Test
+	public void testMarshalledMessageCanBeUnmarshalledAgain() throws Exception {
+		Message message = new Message();
+		message.setExchangeId("ID-1");
+		StringWriter writer = new StringWriter();
+
+		JaxbContexts.marshal(message, writer, Message.class);
+		Message unmarshalled = (Message) JaxbContexts.unmarshal(new StringReader(writer.toString()), Message.class);
+
+		assertThat(unmarshalled.getExchangeId()).isEqualTo("ID-1");
+	}
+}
@@ -0,0 +1,132 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.Test;
+
+public class JmxRequestExecutorTest {
+
+	@Test
+	public void testIdenticalRequestsInFlightShareOneCall() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", 0);
+		AtomicInteger calls = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+
+		CompletableFuture<Integer> first = executor.submit("getRoutes:camel-1", () -> {
+			release.await();
+			return calls.incrementAndGet();
+		});
+		CompletableFuture<Integer> second = executor.submit("getRoutes:camel-1", calls::incrementAndGet);
+		release.countDown();
+
+		assertThat(first.get()).isEqualTo(1);
+		assertThat(second.get()).isEqualTo(1);
+		assertThat(calls.get()).isEqualTo(1);
+	}
+
+	@Test
+	public void testResultIsReusedWhileCached() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", 60000);
+		AtomicInteger calls = new AtomicInteger();
+
+		executor.call("getRoutes:camel-1", calls::incrementAndGet);
+		assertThat(executor.call("getRoutes:camel-1", calls::incrementAndGet)).isEqualTo(1);
+		assertThat(executor.call("getRoutes:camel-2", calls::incrementAndGet)).isEqualTo(2);
+
+		executor.invalidate();
+		assertThat(executor.call("getRoutes:camel-1", calls::incrementAndGet)).isEqualTo(3);
+	}
+
+	@Test(expected = IOException.class)
+	public void testFailureIsRethrownAndNotCached() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", 60000);
+		try {
+			executor.call("getRoutes:camel-1", () -> {
+				throw new IOException("Connection closed");
+			});
+		} finally {
+			assertThat(executor.call("getRoutes:camel-1", () -> 1)).isEqualTo(1);
+		}
+	}
+
+	@Test
+	public void testCallTimesOutAndIsNotSharedAnymore() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", () -> 0, 100);
+		CountDownLatch release = new CountDownLatch(1);
+		try {
+			executor.call("getRoutes:camel-1", () -> {
+				release.await();
+				return 1;
+			});
+			fail("the call should time out");
+		} catch (TimeoutException e) {
+			// expected
+		}
+
+		assertThat(executor.call("getRoutes:camel-1", () -> 2)).isEqualTo(2);
+		release.countDown();
+	}
+
+	@Test
+	public void testResultOfRequestInFlightIsNotCachedAfterInvalidate() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", 60000);
+		CountDownLatch release = new CountDownLatch(1);
+		CompletableFuture<Integer> beforeInvalidate = executor.submit("getRoutes:camel-1", () -> {
+			release.await();
+			return 1;
+		});
+
+		executor.invalidate();
+		CompletableFuture<Integer> afterInvalidate = executor.submit("getRoutes:camel-1", () -> 2);
+		release.countDown();
+
+		assertThat(beforeInvalidate.get()).isEqualTo(1);
+		assertThat(afterInvalidate.get()).isEqualTo(2);
+		assertThat(executor.call("getRoutes:camel-1", () -> 3)).isEqualTo(2);
+	}
+
+	@Test
+	public void testListResultsAreCopies() throws Exception {
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", 60000);
+
+		List<String> first = executor.call("getRoutes:camel-1", () -> new ArrayList<>(Arrays.asList("route1", "route2")));
+		first.clear();
+
+		assertThat(executor.call("getRoutes:camel-1", () -> new ArrayList<String>())).containsExactly("route1", "route2");
+	}
+
+	@Test
+	public void testCacheDurationIsReadForEveryRequest() throws Exception {
+		AtomicLong cacheMillis = new AtomicLong(0);
+		JmxRequestExecutor executor = new JmxRequestExecutor("test", cacheMillis::get, JmxRequestExecutor.DEFAULT_TIMEOUT_MILLIS);
+		AtomicInteger calls = new AtomicInteger();
+
+		executor.call("getRoutes:camel-1", calls::incrementAndGet);
+		assertThat(executor.call("getRoutes:camel-1", calls::incrementAndGet)).isEqualTo(2);
+
+		cacheMillis.set(60000);
+		executor.call("getRoutes:camel-1", calls::incrementAndGet);
+		assertThat(executor.call("getRoutes:camel-1", calls::incrementAndGet)).isEqualTo(3);
+	}
+}
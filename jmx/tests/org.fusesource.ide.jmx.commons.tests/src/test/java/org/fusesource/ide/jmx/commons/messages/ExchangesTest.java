@@ -0,0 +1,50 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.commons.messages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+
+import org.fusesource.ide.jmx.commons.JaxbContexts;
+import org.junit.Test;
+
+public class ExchangesTest {
+
+	@Test
+	public void testBacklogTracerMessageIsConvertedLikeItsXml() throws Exception {
+		org.fusesource.ide.jmx.commons.backlogtracermessage.Message traceMessage = new org.fusesource.ide.jmx.commons.backlogtracermessage.Message();
+		traceMessage.setExchangeId("ID-1");
+		traceMessage.setBody("<order id=\"1\"/>");
+		traceMessage.setHeaders(Arrays.asList(
+				new org.fusesource.ide.jmx.commons.backlogtracermessage.Header("count", "42", Integer.class.getName()),
+				new org.fusesource.ide.jmx.commons.backlogtracermessage.Header("name", "camel", String.class.getName())));
+		StringWriter writer = new StringWriter();
+		JaxbContexts.marshal(traceMessage, writer, org.fusesource.ide.jmx.commons.backlogtracermessage.Message.class);
+
+		IMessage direct = Exchanges.fromBacklogTracerMessage(traceMessage).getIn();
+		IMessage fromXml = Exchanges.unmarshalNoNamespaceXmlString(writer.toString()).getIn();
+
+		assertThat(direct.getBody()).isEqualTo(fromXml.getBody()).isEqualTo("<order id=\"1\"/>");
+		assertThat(direct.getHeaders()).isEqualTo(fromXml.getHeaders()).containsEntry("count", 42);
+	}
+
+	@Test
+	public void testBacklogTracerMessageWithoutBody() throws Exception {
+		org.fusesource.ide.jmx.commons.backlogtracermessage.Message traceMessage = new org.fusesource.ide.jmx.commons.backlogtracermessage.Message();
+
+		IMessage message = Exchanges.fromBacklogTracerMessage(traceMessage).getIn();
+
+		assertThat(message.getBody()).isNull();
+		assertThat(message.getHeaders()).isEmpty();
+	}
+}
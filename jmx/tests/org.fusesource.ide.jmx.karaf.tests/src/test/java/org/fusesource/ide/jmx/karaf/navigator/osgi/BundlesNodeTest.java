@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * Copyright (c) 2021 Red Hat, Inc.
+ * Distributed under license by Red Hat, Inc. All rights reserved.
+ * This program is made available under the terms of the
+ * Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at https://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     Red Hat, Inc. - initial API and implementation
+ ******************************************************************************/
+package org.fusesource.ide.jmx.karaf.navigator.osgi;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.anyLong;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.Notification;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.OpenDataException;
+import javax.management.openmbean.OpenType;
+import javax.management.openmbean.SimpleType;
+import javax.management.openmbean.TabularDataSupport;
+import javax.management.openmbean.TabularType;
+
+import org.eclipse.ui.views.properties.IPropertySource;
+import org.jboss.tools.jmx.core.tree.Node;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.osgi.framework.BundleEvent;
+import org.osgi.jmx.framework.BundleStateMBean;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BundlesNodeTest {
+
+	private CompositeType bundleType;
+	private CompositeType eventType;
+
+	@Mock
+	private Node parent;
+	@Mock
+	private OsgiFacade facade;
+
+	private BundlesNode bundlesNode;
+
+	@Before
+	public void setup() throws Exception {
+		bundleType = new CompositeType("Bundle", "Bundle", new String[] { BundleStateMBean.IDENTIFIER, BundleStateMBean.STATE },
+				new String[] { "id", "state" }, new OpenType<?>[] { SimpleType.LONG, SimpleType.STRING });
+		eventType = new CompositeType("BundleEvent", "BundleEvent", new String[] { BundleStateMBean.IDENTIFIER, BundleStateMBean.EVENT },
+				new String[] { "id", "event" }, new OpenType<?>[] { SimpleType.LONG, SimpleType.INTEGER });
+		doReturn(bundles(bundle(1L, "ACTIVE"), bundle(2L, "RESOLVED"))).when(facade).listBundles();
+		bundlesNode = new BundlesNode(parent, facade);
+		assertThat(bundlesNode.getPropertySourceList()).hasSize(2);
+	}
+
+	@Test
+	public void testInstalledBundleIsAddedWhenListedAgain() throws Exception {
+		doReturn(bundles(bundle(1L, "ACTIVE"), bundle(2L, "RESOLVED"), bundle(3L, "INSTALLED"))).when(facade).listBundles();
+
+		bundlesNode.applyBundleEvent(bundleEvent(3L, BundleEvent.INSTALLED));
+
+		assertThat(ids(bundlesNode.getPropertySourceList())).containsOnly(1L, 2L, 3L);
+		verify(facade, times(2)).listBundles();
+		verify(facade, never()).getBundleState(anyLong());
+	}
+
+	@Test
+	public void testStartedBundleOnlyReadsItsState() throws Exception {
+		doReturn("ACTIVE").when(facade).getBundleState(2L);
+
+		bundlesNode.applyBundleEvent(bundleEvent(2L, BundleEvent.STARTED));
+
+		assertThat(ids(bundlesNode.getPropertySourceList())).containsOnly(1L, 2L);
+		assertThat(getState(2L)).isEqualTo("ACTIVE");
+		verify(facade, times(1)).listBundles();
+	}
+
+	@Test
+	public void testUpdatedBundleIsListedAgain() throws Exception {
+		doReturn(bundles(bundle(1L, "ACTIVE"), bundle(2L, "INSTALLED"))).when(facade).listBundles();
+
+		bundlesNode.applyBundleEvent(bundleEvent(2L, BundleEvent.UPDATED));
+
+		assertThat(getState(2L)).isEqualTo("INSTALLED");
+		verify(facade, times(2)).listBundles();
+		verify(facade, never()).getBundleState(anyLong());
+	}
+
+	@Test
+	public void testUninstalledBundleIsRemoved() throws Exception {
+		bundlesNode.applyBundleEvent(bundleEvent(1L, BundleEvent.UNINSTALLED));
+
+		assertThat(ids(bundlesNode.getPropertySourceList())).containsOnly(2L);
+		verify(facade, times(1)).listBundles();
+		verify(facade, never()).getBundleState(anyLong());
+	}
+
+	private CompositeDataSupport bundle(long id, String state) throws OpenDataException {
+		return new CompositeDataSupport(bundleType, new String[] { BundleStateMBean.IDENTIFIER, BundleStateMBean.STATE }, new Object[] { id, state });
+	}
+
+	private TabularDataSupport bundles(CompositeDataSupport... bundles) throws OpenDataException {
+		TabularDataSupport tabularData = new TabularDataSupport(new TabularType("Bundles", "Bundles", bundleType, new String[] { BundleStateMBean.IDENTIFIER }));
+		for (CompositeDataSupport bundle : bundles) {
+			tabularData.put(bundle);
+		}
+		return tabularData;
+	}
+
+	private Notification bundleEvent(long id, int type) throws OpenDataException {
+		Notification notification = new Notification(BundleStateMBean.EVENT, BundleStateMBean.OBJECTNAME, 1L);
+		notification.setUserData(new CompositeDataSupport(eventType, new String[] { BundleStateMBean.IDENTIFIER, BundleStateMBean.EVENT }, new Object[] { id, type }));
+		return notification;
+	}
+
+	private String getState(long id) {
+		for (IPropertySource row : bundlesNode.getPropertySourceList()) {
+			BundleStateFacade bundle = new BundleStateFacade(row);
+			if (bundle.getId() == id) {
+				return bundle.getState();
+			}
+		}
+		return null;
+	}
+
+	private static List<Long> ids(List<IPropertySource> rows) {
+		List<Long> ids = new ArrayList<>();
+		for (IPropertySource row : rows) {
+			ids.add(new BundleStateFacade(row).getId());
+		}
+		return ids;
+	}
+}